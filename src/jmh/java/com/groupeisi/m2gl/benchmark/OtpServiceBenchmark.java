@@ -0,0 +1,65 @@
+package com.groupeisi.m2gl.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.groupeisi.m2gl.service.OtpService;
+import com.groupeisi.m2gl.service.otp.CaffeineOtpStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark of {@link OtpService#generateAndSendOtp(String)} and {@link OtpService#verifyOtp(String, String)} with
+ * several threads sharing the same store, as under a login peak.
+ * <p>
+ * The INFO log of each generated code is turned off, so that the console does not dominate the measure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class OtpServiceBenchmark {
+
+    private static final AtomicInteger THREAD_SEQUENCE = new AtomicInteger();
+
+    private OtpService otpService;
+
+    @Setup
+    public void setup() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(OtpService.class)).setLevel(Level.WARN);
+        otpService = new OtpService(new CaffeineOtpStore(100_000, new SimpleMeterRegistry()));
+    }
+
+    /**
+     * Each thread works on its own phone number, like concurrent users.
+     */
+    @State(Scope.Thread)
+    public static class Telephone {
+
+        private String value;
+
+        @Setup
+        public void setup() {
+            value = "+22177" + (1_000_000 + THREAD_SEQUENCE.incrementAndGet());
+        }
+    }
+
+    @Benchmark
+    public String generateAndSendOtp(Telephone telephone) {
+        return otpService.generateAndSendOtp(telephone.value);
+    }
+
+    @Benchmark
+    public boolean generateAndVerifyOtp(Telephone telephone) {
+        String otp = otpService.generateAndSendOtp(telephone.value);
+        return otpService.verifyOtp(telephone.value, otp);
+    }
+}
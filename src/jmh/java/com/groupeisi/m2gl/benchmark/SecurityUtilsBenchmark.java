@@ -0,0 +1,47 @@
+package com.groupeisi.m2gl.benchmark;
+
+import com.groupeisi.m2gl.security.AuthoritiesConstants;
+import com.groupeisi.m2gl.security.SecurityUtils;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Benchmark of {@link SecurityUtils#extractAuthorityFromClaims(Map)}, called on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SecurityUtilsBenchmark {
+
+    private final Map<String, Object> groupsClaims = Map.of(
+        "sub",
+        "550e8400-e29b-41d4-a716-446655440000",
+        "groups",
+        List.of(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN, "offline_access", "uma_authorization")
+    );
+
+    private final Map<String, Object> namespacedClaims = Map.of(
+        "sub",
+        "550e8400-e29b-41d4-a716-446655440000",
+        SecurityUtils.CLAIMS_NAMESPACE + "roles",
+        List.of(AuthoritiesConstants.USER)
+    );
+
+    @Benchmark
+    public List<GrantedAuthority> extractFromGroups() {
+        return SecurityUtils.extractAuthorityFromClaims(groupsClaims);
+    }
+
+    @Benchmark
+    public List<GrantedAuthority> extractFromNamespacedRoles() {
+        return SecurityUtils.extractAuthorityFromClaims(namespacedClaims);
+    }
+}
@@ -0,0 +1,79 @@
+package com.groupeisi.m2gl.benchmark;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Time to serve a burst of requests that block on I/O, on the platform worker pool or on virtual threads
+ * ({@code virtual-threads} profile).
+ * <p>
+ * The platform pool has the size of the Undertow default worker pool, 8 threads per core. The {@code virtual} mode
+ * needs Java 21: run it with {@code ./mvnw -Pjmh,virtual-threads -DskipTests verify -Djmh.benchmarks=ThreadMode}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ThreadModeBenchmark {
+
+    private static final int REQUESTS = 2_000;
+
+    @Param({ "platform", "virtual" })
+    public String mode;
+
+    @Param({ "10" })
+    public long ioMillis;
+
+    private ExecutorService platformExecutor;
+    private VirtualThreadTaskExecutor virtualExecutor;
+
+    @Setup
+    public void setup() {
+        if ("virtual".equals(mode)) {
+            virtualExecutor = new VirtualThreadTaskExecutor("benchmark-vt-");
+        } else {
+            platformExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 8);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (platformExecutor != null) {
+            platformExecutor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public void serveBurst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        Runnable request = () -> {
+            try {
+                // Attente d'une requête SQL ou d'un appel Feign
+                Thread.sleep(ioMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+        };
+        for (int i = 0; i < REQUESTS; i++) {
+            if (virtualExecutor != null) {
+                virtualExecutor.execute(request);
+            } else {
+                platformExecutor.execute(request);
+            }
+        }
+        done.await();
+    }
+}
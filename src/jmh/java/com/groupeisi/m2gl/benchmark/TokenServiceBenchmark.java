@@ -0,0 +1,49 @@
+package com.groupeisi.m2gl.benchmark;
+
+import com.groupeisi.m2gl.domain.Authority;
+import com.groupeisi.m2gl.domain.User;
+import com.groupeisi.m2gl.security.AuthoritiesConstants;
+import com.groupeisi.m2gl.service.TokenService;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark of {@link TokenService#generateToken(User)} and {@link TokenService#validateToken(String)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TokenServiceBenchmark {
+
+    private TokenService tokenService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        tokenService = new TokenService("MySecretKeyForJWTTokenGenerationThatShouldBeAtLeast256BitsLong");
+        user = new User();
+        user.setId("550e8400-e29b-41d4-a716-446655440000");
+        user.setLogin("221771234567");
+        user.setTelephone("+221771234567");
+        user.setAuthorities(Set.of(new Authority().name(AuthoritiesConstants.USER)));
+        token = tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenService.validateToken(token);
+    }
+}
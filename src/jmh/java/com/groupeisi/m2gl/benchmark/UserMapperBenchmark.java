@@ -0,0 +1,78 @@
+package com.groupeisi.m2gl.benchmark;
+
+import com.groupeisi.m2gl.domain.Authority;
+import com.groupeisi.m2gl.domain.User;
+import com.groupeisi.m2gl.security.AuthoritiesConstants;
+import com.groupeisi.m2gl.service.dto.AdminUserDTO;
+import com.groupeisi.m2gl.service.dto.UserDTO;
+import com.groupeisi.m2gl.service.mapper.UserMapper;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark of the {@link UserMapper} conversions, one user and a page of users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UserMapperBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private final UserMapper userMapper = new UserMapper();
+
+    private User user;
+    private AdminUserDTO adminUserDTO;
+    private List<User> users;
+
+    @Setup
+    public void setup() {
+        user = newUser(0);
+        adminUserDTO = new AdminUserDTO(user);
+        users = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            users.add(newUser(i));
+        }
+    }
+
+    @Benchmark
+    public AdminUserDTO userToAdminUserDTO() {
+        return userMapper.userToAdminUserDTO(user);
+    }
+
+    @Benchmark
+    public User userDTOToUser() {
+        return userMapper.userDTOToUser(adminUserDTO);
+    }
+
+    @Benchmark
+    public List<UserDTO> usersToUserDTOs() {
+        return userMapper.usersToUserDTOs(users);
+    }
+
+    private static User newUser(int i) {
+        User user = new User();
+        user.setId("user-" + i);
+        user.setLogin("22177" + (1_000_000 + i));
+        user.setFirstName("Amadou");
+        user.setLastName("DIOP");
+        user.setEmail("amadou.diop" + i + "@example.com");
+        user.setActivated(true);
+        user.setLangKey("fr");
+        user.setTelephone("+22177" + (1_000_000 + i));
+        user.setCreatedBy("system");
+        user.setCreatedDate(Instant.parse("2024-01-01T00:00:00Z"));
+        user.setAuthorities(Set.of(new Authority().name(AuthoritiesConstants.USER)));
+        return user;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * JMH micro-benchmarks of the authentication and transfer hot paths, run with the {@code jmh} Maven profile.
+ */
+package com.groupeisi.m2gl.benchmark;
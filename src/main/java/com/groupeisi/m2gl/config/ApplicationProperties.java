@@ -1,5 +1,7 @@
 package com.groupeisi.m2gl.config;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +15,84 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Transfert transfert = new Transfert();
+
+    private final Compte compte = new Compte();
+
+    private final Otp otp = new Otp();
+
+    private final Inscription inscription = new Inscription();
+
+    private final Security security = new Security();
+
+    private final VirtualThreads virtualThreads = new VirtualThreads();
+
+    private final Outbox outbox = new Outbox();
+
+    private final Ledger ledger = new Ledger();
+
+    private final Reconciliation reconciliation = new Reconciliation();
+
+    private final RateLimit rateLimit = new RateLimit();
+
+    private final SqlStatistics sqlStatistics = new SqlStatistics();
+
+    private final ReadReplica readReplica = new ReadReplica();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Transfert getTransfert() {
+        return transfert;
+    }
+
+    public Compte getCompte() {
+        return compte;
+    }
+
+    public Otp getOtp() {
+        return otp;
+    }
+
+    public Inscription getInscription() {
+        return inscription;
+    }
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public VirtualThreads getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public Ledger getLedger() {
+        return ledger;
+    }
+
+    public Reconciliation getReconciliation() {
+        return reconciliation;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public SqlStatistics getSqlStatistics() {
+        return sqlStatistics;
+    }
+
+    public ReadReplica getReadReplica() {
+        return readReplica;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +107,779 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Transfert {
+
+        private final Pipeline pipeline = new Pipeline();
+
+        private final Idempotency idempotency = new Idempotency();
+
+        private int importFlushSize = 1_000;
+
+        public Pipeline getPipeline() {
+            return pipeline;
+        }
+
+        public Idempotency getIdempotency() {
+            return idempotency;
+        }
+
+        public int getImportFlushSize() {
+            return importFlushSize;
+        }
+
+        public void setImportFlushSize(int importFlushSize) {
+            this.importFlushSize = importFlushSize;
+        }
+    }
+
+    /**
+     * Storage of OTP codes: {@code memory} and {@code caffeine} are local to the instance,
+     * {@code redis} is shared by all instances behind the load balancer.
+     */
+    public static class Otp {
+
+        public enum StoreType {
+            MEMORY,
+            CAFFEINE,
+            REDIS,
+        }
+
+        private StoreType store = StoreType.CAFFEINE;
+
+        private String redisUri = "redis://localhost:6379";
+
+        private long maxSize = 100_000;
+
+        public StoreType getStore() {
+            return store;
+        }
+
+        public void setStore(StoreType store) {
+            this.store = store;
+        }
+
+        public String getRedisUri() {
+            return redisUri;
+        }
+
+        public void setRedisUri(String redisUri) {
+            this.redisUri = redisUri;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    /**
+     * Transactional outbox and its relay.
+     */
+    public static class Outbox {
+
+        public enum PublisherType {
+            MEMORY,
+            KAFKA,
+        }
+
+        private PublisherType publisher = PublisherType.MEMORY;
+
+        private String kafkaBootstrapServers = "localhost:9092";
+
+        private String topicPrefix = "transactional-engine";
+
+        private int batchSize = 500;
+
+        private long pollIntervalMs = 500;
+
+        private long publishTimeoutMs = 10_000;
+
+        private int memoryCapacity = 10_000;
+
+        public PublisherType getPublisher() {
+            return publisher;
+        }
+
+        public void setPublisher(PublisherType publisher) {
+            this.publisher = publisher;
+        }
+
+        public String getKafkaBootstrapServers() {
+            return kafkaBootstrapServers;
+        }
+
+        public void setKafkaBootstrapServers(String kafkaBootstrapServers) {
+            this.kafkaBootstrapServers = kafkaBootstrapServers;
+        }
+
+        public String getTopicPrefix() {
+            return topicPrefix;
+        }
+
+        public void setTopicPrefix(String topicPrefix) {
+            this.topicPrefix = topicPrefix;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getPollIntervalMs() {
+            return pollIntervalMs;
+        }
+
+        public void setPollIntervalMs(long pollIntervalMs) {
+            this.pollIntervalMs = pollIntervalMs;
+        }
+
+        public long getPublishTimeoutMs() {
+            return publishTimeoutMs;
+        }
+
+        public void setPublishTimeoutMs(long publishTimeoutMs) {
+            this.publishTimeoutMs = publishTimeoutMs;
+        }
+
+        public int getMemoryCapacity() {
+            return memoryCapacity;
+        }
+
+        public void setMemoryCapacity(int memoryCapacity) {
+            this.memoryCapacity = memoryCapacity;
+        }
+    }
+
+    public static class Ledger {
+
+        private long checkpointIntervalMs = 3_600_000;
+
+        public long getCheckpointIntervalMs() {
+            return checkpointIntervalMs;
+        }
+
+        public void setCheckpointIntervalMs(long checkpointIntervalMs) {
+            this.checkpointIntervalMs = checkpointIntervalMs;
+        }
+    }
+
+    /**
+     * Balance reconciliation job: the account id space is checked in ranges of range-size ids, parallelism at a time.
+     */
+    public static class Reconciliation {
+
+        private String cron = "0 0 3 * * *";
+
+        private int parallelism = 4;
+
+        private long rangeSize = 100_000;
+
+        private int fetchSize = 1_000;
+
+        private int maxReportedMismatches = 1_000;
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public long getRangeSize() {
+            return rangeSize;
+        }
+
+        public void setRangeSize(long rangeSize) {
+            this.rangeSize = rangeSize;
+        }
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+
+        public int getMaxReportedMismatches() {
+            return maxReportedMismatches;
+        }
+
+        public void setMaxReportedMismatches(int maxReportedMismatches) {
+            this.maxReportedMismatches = maxReportedMismatches;
+        }
+    }
+
+    /**
+     * Token buckets of the signup and login endpoints, per phone number and per client IP: {@code memory} is local to
+     * the instance, {@code redis} is shared by all instances behind the load balancer.
+     */
+    public static class RateLimit {
+
+        public enum StoreType {
+            MEMORY,
+            REDIS,
+        }
+
+        private boolean enabled = true;
+
+        private StoreType store = StoreType.MEMORY;
+
+        private String redisUri = "redis://localhost:6379";
+
+        private long maxBuckets = 100_000;
+
+        private final Bandwidth otpTelephone = new Bandwidth(3, 900);
+
+        private final Bandwidth otpIp = new Bandwidth(30, 900);
+
+        private final Bandwidth connexionTelephone = new Bandwidth(5, 300);
+
+        private final Bandwidth connexionIp = new Bandwidth(50, 300);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public StoreType getStore() {
+            return store;
+        }
+
+        public void setStore(StoreType store) {
+            this.store = store;
+        }
+
+        public String getRedisUri() {
+            return redisUri;
+        }
+
+        public void setRedisUri(String redisUri) {
+            this.redisUri = redisUri;
+        }
+
+        public long getMaxBuckets() {
+            return maxBuckets;
+        }
+
+        public void setMaxBuckets(long maxBuckets) {
+            this.maxBuckets = maxBuckets;
+        }
+
+        public Bandwidth getOtpTelephone() {
+            return otpTelephone;
+        }
+
+        public Bandwidth getOtpIp() {
+            return otpIp;
+        }
+
+        public Bandwidth getConnexionTelephone() {
+            return connexionTelephone;
+        }
+
+        public Bandwidth getConnexionIp() {
+            return connexionIp;
+        }
+    }
+
+    /**
+     * A bucket of capacity tokens, refilled at the rate of capacity tokens per period-seconds.
+     */
+    public static class Bandwidth {
+
+        private long capacity;
+
+        private long periodSeconds;
+
+        public Bandwidth(long capacity, long periodSeconds) {
+            this.capacity = capacity;
+            this.periodSeconds = periodSeconds;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public long getPeriodSeconds() {
+            return periodSeconds;
+        }
+
+        public void setPeriodSeconds(long periodSeconds) {
+            this.periodSeconds = periodSeconds;
+        }
+    }
+
+    public static class Security {
+
+        private final JwtCache jwtCache = new JwtCache();
+
+        private final Password password = new Password();
+
+        public JwtCache getJwtCache() {
+            return jwtCache;
+        }
+
+        public Password getPassword() {
+            return password;
+        }
+    }
+
+    /**
+     * Password hashing: BCrypt cost and the executor running it off the request threads.
+     */
+    public static class Password {
+
+        private int bcryptStrength = 10;
+
+        private int hashingThreads = 0;
+
+        private int hashingQueueCapacity = 100;
+
+        public int getBcryptStrength() {
+            return bcryptStrength;
+        }
+
+        public void setBcryptStrength(int bcryptStrength) {
+            this.bcryptStrength = bcryptStrength;
+        }
+
+        public int getHashingThreads() {
+            return hashingThreads;
+        }
+
+        public void setHashingThreads(int hashingThreads) {
+            this.hashingThreads = hashingThreads;
+        }
+
+        public int getHashingQueueCapacity() {
+            return hashingQueueCapacity;
+        }
+
+        public void setHashingQueueCapacity(int hashingQueueCapacity) {
+            this.hashingQueueCapacity = hashingQueueCapacity;
+        }
+    }
+
+    /**
+     * Cache of bearer tokens already verified by the resource server.
+     */
+    public static class JwtCache {
+
+        private boolean enabled = false;
+
+        private long maxSize = 10_000;
+
+        private long ttlSeconds = 300;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public long getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+    }
+
+    /**
+     * Limits of the {@code virtual-threads} profile: at most max-concurrent-connections connections are borrowed at the
+     * same time, whatever the request or task that borrows them.
+     */
+    public static class VirtualThreads {
+
+        private int maxConcurrentConnections = 0;
+
+        private long acquireTimeoutMs = 30_000;
+
+        private long pinnedThresholdMs = 20;
+
+        public int getMaxConcurrentConnections() {
+            return maxConcurrentConnections;
+        }
+
+        public void setMaxConcurrentConnections(int maxConcurrentConnections) {
+            this.maxConcurrentConnections = maxConcurrentConnections;
+        }
+
+        public long getAcquireTimeoutMs() {
+            return acquireTimeoutMs;
+        }
+
+        public void setAcquireTimeoutMs(long acquireTimeoutMs) {
+            this.acquireTimeoutMs = acquireTimeoutMs;
+        }
+
+        public long getPinnedThresholdMs() {
+            return pinnedThresholdMs;
+        }
+
+        public void setPinnedThresholdMs(long pinnedThresholdMs) {
+            this.pinnedThresholdMs = pinnedThresholdMs;
+        }
+    }
+
+    /**
+     * Personal information kept between signup steps 2 and 3.
+     */
+    public static class Inscription {
+
+        private long pendingMaxSize = 100_000;
+
+        private long pendingTtlMinutes = 30;
+
+        public long getPendingMaxSize() {
+            return pendingMaxSize;
+        }
+
+        public void setPendingMaxSize(long pendingMaxSize) {
+            this.pendingMaxSize = pendingMaxSize;
+        }
+
+        public long getPendingTtlMinutes() {
+            return pendingTtlMinutes;
+        }
+
+        public void setPendingTtlMinutes(long pendingTtlMinutes) {
+            this.pendingTtlMinutes = pendingTtlMinutes;
+        }
+    }
+
+    public static class Compte {
+
+        private long cacheMaxSize = 100_000;
+
+        private long cacheTtlSeconds = 60;
+
+        private int releveFetchSize = 1000;
+
+        private int workerId = -1;
+
+        public long getCacheMaxSize() {
+            return cacheMaxSize;
+        }
+
+        public void setCacheMaxSize(long cacheMaxSize) {
+            this.cacheMaxSize = cacheMaxSize;
+        }
+
+        public long getCacheTtlSeconds() {
+            return cacheTtlSeconds;
+        }
+
+        public void setCacheTtlSeconds(long cacheTtlSeconds) {
+            this.cacheTtlSeconds = cacheTtlSeconds;
+        }
+
+        public int getReleveFetchSize() {
+            return releveFetchSize;
+        }
+
+        public void setReleveFetchSize(int releveFetchSize) {
+            this.releveFetchSize = releveFetchSize;
+        }
+
+        public int getWorkerId() {
+            return workerId;
+        }
+
+        public void setWorkerId(int workerId) {
+            this.workerId = workerId;
+        }
+    }
+
+    /**
+     * Sharded single-writer execution mode for transfers.
+     */
+    public static class Pipeline {
+
+        private boolean enabled = false;
+
+        private int shards = 8;
+
+        private int queueCapacity = 10_000;
+
+        private int maxBatchSize = 200;
+
+        private long timeoutMs = 5_000;
+
+        private long creditRecoveryIntervalMs = 60_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getShards() {
+            return shards;
+        }
+
+        public void setShards(int shards) {
+            this.shards = shards;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+
+        public long getCreditRecoveryIntervalMs() {
+            return creditRecoveryIntervalMs;
+        }
+
+        public void setCreditRecoveryIntervalMs(long creditRecoveryIntervalMs) {
+            this.creditRecoveryIntervalMs = creditRecoveryIntervalMs;
+        }
+    }
+
+    /**
+     * Replay of transfers submitted with an {@code Idempotency-Key} header.
+     */
+    public static class Idempotency {
+
+        private long cacheMaxSize = 100_000;
+
+        private int ttlHours = 24;
+
+        public long getCacheMaxSize() {
+            return cacheMaxSize;
+        }
+
+        public void setCacheMaxSize(long cacheMaxSize) {
+            this.cacheMaxSize = cacheMaxSize;
+        }
+
+        public int getTtlHours() {
+            return ttlHours;
+        }
+
+        public void setTtlHours(int ttlHours) {
+            this.ttlHours = ttlHours;
+        }
+    }
+
+    /**
+     * Timing of the SQL statements run through the datasource: statements slower than slow-query-threshold-ms are
+     * logged, and at most max-queries distinct statements get their own statistics. The time each
+     * connection is held longer than caller-threshold-ms is measured per calling method, for at most max-callers of
+     * them.
+     */
+    public static class SqlStatistics {
+
+        private long slowQueryThresholdMs = 200;
+
+        private int maxQueries = 200;
+
+        private int topQueries = 20;
+
+        private int maxCallers = 100;
+
+        private long callerThresholdMs = 20;
+
+        public long getSlowQueryThresholdMs() {
+            return slowQueryThresholdMs;
+        }
+
+        public void setSlowQueryThresholdMs(long slowQueryThresholdMs) {
+            this.slowQueryThresholdMs = slowQueryThresholdMs;
+        }
+
+        public int getMaxQueries() {
+            return maxQueries;
+        }
+
+        public void setMaxQueries(int maxQueries) {
+            this.maxQueries = maxQueries;
+        }
+
+        public int getTopQueries() {
+            return topQueries;
+        }
+
+        public void setTopQueries(int topQueries) {
+            this.topQueries = topQueries;
+        }
+
+        public int getMaxCallers() {
+            return maxCallers;
+        }
+
+        public void setMaxCallers(int maxCallers) {
+            this.maxCallers = maxCallers;
+        }
+
+        public long getCallerThresholdMs() {
+            return callerThresholdMs;
+        }
+
+        public void setCallerThresholdMs(long callerThresholdMs) {
+            this.callerThresholdMs = callerThresholdMs;
+        }
+    }
+
+    /**
+     * Routing of read-only transactions to MySQL read replicas, each with its own pool. A replica is skipped while its
+     * replication lag exceeds max-lag-seconds, checked every lag-check-interval-ms. For read-your-writes-ms after a
+     * committed transaction that wrote, the reads of the same user stay on the primary (0 disables it). Cached account reads,
+     * logins and signup checks always read from the primary.
+     */
+    public static class ReadReplica {
+
+        private boolean enabled = false;
+
+        private List<Replica> replicas = new ArrayList<>();
+
+        private long maxLagSeconds = 5;
+
+        private long lagCheckIntervalMs = 5000;
+
+        private long readYourWritesMs = 0;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<Replica> getReplicas() {
+            return replicas;
+        }
+
+        public void setReplicas(List<Replica> replicas) {
+            this.replicas = replicas;
+        }
+
+        public long getMaxLagSeconds() {
+            return maxLagSeconds;
+        }
+
+        public void setMaxLagSeconds(long maxLagSeconds) {
+            this.maxLagSeconds = maxLagSeconds;
+        }
+
+        public long getLagCheckIntervalMs() {
+            return lagCheckIntervalMs;
+        }
+
+        public void setLagCheckIntervalMs(long lagCheckIntervalMs) {
+            this.lagCheckIntervalMs = lagCheckIntervalMs;
+        }
+
+        public long getReadYourWritesMs() {
+            return readYourWritesMs;
+        }
+
+        public void setReadYourWritesMs(long readYourWritesMs) {
+            this.readYourWritesMs = readYourWritesMs;
+        }
+    }
+
+    /**
+     * A read replica; without a username, it is reached with the credentials of spring.datasource.
+     */
+    public static class Replica {
+
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -0,0 +1,161 @@
+package com.groupeisi.m2gl.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Caps the number of connections borrowed at the same time.
+ * <p>
+ * With virtual threads nothing bounds the number of requests and {@code @Async} tasks in flight any more, so without
+ * this limit a burst makes thousands of threads wait on the connection pool until its timeout. Here every borrow,
+ * whatever the endpoint or task it comes from, waits for a permit instead, in arrival order, and fails with a
+ * {@link PermitTimeoutException} (answered with a 503) if none is released within the acquire timeout. The permit is
+ * given back when the connection is closed.
+ * <p>
+ * Borrowed connections are exposed by the {@code db.connection.permits.active} gauge, and rejected borrows by the
+ * {@code db.connection.permits.rejected} counter.
+ */
+public class ConnectionLimitDataSource extends DelegatingDataSource {
+
+    private final int maxConnections;
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final Counter rejectedCounter;
+
+    public ConnectionLimitDataSource(
+        DataSource targetDataSource,
+        int maxConnections,
+        Duration acquireTimeout,
+        MeterRegistry meterRegistry
+    ) {
+        super(targetDataSource);
+        this.maxConnections = maxConnections;
+        this.permits = new Semaphore(maxConnections, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        Gauge.builder("db.connection.permits.active", permits, p -> maxConnections - p.availablePermits())
+            .description("Connections holding a permit of the connection limiter")
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("db.connection.permits.rejected")
+            .description("Connection borrows rejected because no permit was released in time")
+            .register(meterRegistry);
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return limit(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return limit(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PermitTimeoutException("Interrupted while waiting for a connection permit");
+        }
+        if (!acquired) {
+            rejectedCounter.increment();
+            throw new PermitTimeoutException(
+                "No connection permit released within " + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos) + " ms"
+            );
+        }
+    }
+
+    private Connection limit(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+            ConnectionLimitDataSource.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            new PermitHandler(connection)
+        );
+    }
+
+    /**
+     * Thrown when no permit is released within the acquire timeout: too many connections are already borrowed.
+     */
+    @ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Too many concurrent database requests")
+    public static class PermitTimeoutException extends SQLTransientConnectionException {
+
+        private static final long serialVersionUID = 1L;
+
+        PermitTimeoutException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Delegates everything to the borrowed connection and gives the permit back on its first close.
+     */
+    private final class PermitHandler implements InvocationHandler {
+
+        private final Connection target;
+        private boolean closed;
+
+        private PermitHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        try {
+                            target.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
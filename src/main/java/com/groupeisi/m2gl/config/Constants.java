@@ -11,5 +11,8 @@ public final class Constants {
     public static final String SYSTEM = "system";
     public static final String DEFAULT_LANGUAGE = "fr";
 
+    // Spring profile serving requests and @Async tasks on virtual threads
+    public static final String SPRING_PROFILE_VIRTUAL_THREADS = "virtual-threads";
+
     private Constants() {}
 }
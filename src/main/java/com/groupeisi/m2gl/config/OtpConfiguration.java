@@ -0,0 +1,31 @@
+package com.groupeisi.m2gl.config;
+
+import com.groupeisi.m2gl.service.otp.CaffeineOtpStore;
+import com.groupeisi.m2gl.service.otp.InMemoryOtpStore;
+import com.groupeisi.m2gl.service.otp.OtpStore;
+import com.groupeisi.m2gl.service.otp.RedisOtpStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the {@link OtpStore} implementation from {@code application.otp.store}.
+ */
+@Configuration
+public class OtpConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OtpConfiguration.class);
+
+    @Bean
+    public OtpStore otpStore(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Otp properties = applicationProperties.getOtp();
+        LOG.debug("Using {} OTP store", properties.getStore());
+        return switch (properties.getStore()) {
+            case MEMORY -> new InMemoryOtpStore();
+            case CAFFEINE -> new CaffeineOtpStore(properties.getMaxSize(), meterRegistry);
+            case REDIS -> new RedisOtpStore(properties.getRedisUri());
+        };
+    }
+}
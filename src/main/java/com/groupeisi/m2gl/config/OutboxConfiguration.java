@@ -0,0 +1,28 @@
+package com.groupeisi.m2gl.config;
+
+import com.groupeisi.m2gl.service.outbox.InMemoryOutboxPublisher;
+import com.groupeisi.m2gl.service.outbox.KafkaOutboxPublisher;
+import com.groupeisi.m2gl.service.outbox.OutboxPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the {@link OutboxPublisher} implementation from {@code application.outbox.publisher}.
+ */
+@Configuration
+public class OutboxConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutboxConfiguration.class);
+
+    @Bean
+    public OutboxPublisher outboxPublisher(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Outbox properties = applicationProperties.getOutbox();
+        LOG.debug("Using {} outbox publisher", properties.getPublisher());
+        return switch (properties.getPublisher()) {
+            case MEMORY -> new InMemoryOutboxPublisher(properties.getMemoryCapacity());
+            case KAFKA -> new KafkaOutboxPublisher(properties.getKafkaBootstrapServers());
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package com.groupeisi.m2gl.config;
+
+import com.groupeisi.m2gl.service.ratelimit.InMemoryRateLimiter;
+import com.groupeisi.m2gl.service.ratelimit.RateLimiter;
+import com.groupeisi.m2gl.service.ratelimit.RedisRateLimiter;
+import com.groupeisi.m2gl.web.filter.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Rate limits the signup and login endpoints, unless {@code application.rate-limit.enabled} is false.
+ * Selects the {@link RateLimiter} implementation from {@code application.rate-limit.store}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RateLimitConfiguration.class);
+
+    @Bean
+    public RateLimiter rateLimiter(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.RateLimit properties = applicationProperties.getRateLimit();
+        LOG.debug("Using {} rate limiter", properties.getStore());
+        return switch (properties.getStore()) {
+            case MEMORY -> new InMemoryRateLimiter(properties.getMaxBuckets(), meterRegistry);
+            case REDIS -> new RedisRateLimiter(properties.getRedisUri());
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+        RateLimiter rateLimiter,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.RateLimit properties = applicationProperties.getRateLimit();
+        RateLimitFilter.Policy otp = new RateLimitFilter.Policy(
+            "otp",
+            limit(properties.getOtpTelephone()),
+            limit(properties.getOtpIp())
+        );
+        RateLimitFilter.Policy connexion = new RateLimitFilter.Policy(
+            "connexion",
+            limit(properties.getConnexionTelephone()),
+            limit(properties.getConnexionIp())
+        );
+        Map<String, RateLimitFilter.Policy> policies = Map.of(
+            "/api/auth/inscription/etape1",
+            otp,
+            "/api/auth/connexion/otp",
+            otp,
+            "/api/auth/connexion",
+            connexion
+        );
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+            new RateLimitFilter(rateLimiter, policies, meterRegistry)
+        );
+        registration.setUrlPatterns(policies.keySet());
+        // Right after the concurrency limiter of the virtual-threads profile, before Spring Security
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    private static RateLimiter.Limit limit(ApplicationProperties.Bandwidth bandwidth) {
+        return new RateLimiter.Limit(bandwidth.getCapacity(), Duration.ofSeconds(bandwidth.getPeriodSeconds()));
+    }
+}
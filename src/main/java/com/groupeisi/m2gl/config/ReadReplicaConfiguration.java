@@ -0,0 +1,114 @@
+package com.groupeisi.m2gl.config;
+
+import com.groupeisi.m2gl.service.replica.ReplicaLagMonitor;
+import com.groupeisi.m2gl.service.replica.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+/**
+ * Sends read-only transactions to the read replicas, when {@code application.read-replica.enabled} is true.
+ * <p>
+ * Replaces Spring Boot's datasource with a {@link ReplicaRoutingDataSource} over one Hikari pool per target, all
+ * configured from {@code spring.datasource.hikari} and reporting {@code hikaricp.*} meters under their own pool name.
+ * The pools are not beans, so that the datasource is the only one and is wrapped once by
+ * {@link SqlStatisticsConfiguration}; they are closed with this configuration.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfiguration implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadReplicaConfiguration.class);
+
+    private final Environment environment;
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    public ReadReplicaConfiguration(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+        ApplicationProperties applicationProperties,
+        DataSourceProperties dataSourceProperties,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.ReadReplica properties = applicationProperties.getReadReplica();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (ApplicationProperties.Replica replica : properties.getReplicas()) {
+            boolean ownCredentials = StringUtils.hasText(replica.getUsername());
+            String username = ownCredentials ? replica.getUsername() : dataSourceProperties.determineUsername();
+            String password = ownCredentials ? replica.getPassword() : dataSourceProperties.determinePassword();
+            replicas.put(
+                replica.getName(),
+                pool(replica.getName(), replica.getUrl(), username, password, dataSourceProperties, meterRegistry)
+            );
+        }
+        LOG.debug("Routing read-only transactions to replicas {}", replicas.keySet());
+        return new ReplicaLagMonitor(replicas, properties.getMaxLagSeconds(), meterRegistry);
+    }
+
+    @Bean
+    public DataSource dataSource(
+        ApplicationProperties applicationProperties,
+        DataSourceProperties dataSourceProperties,
+        ReplicaLagMonitor replicaLagMonitor,
+        MeterRegistry meterRegistry
+    ) {
+        HikariDataSource primary = pool(
+            ReplicaRoutingDataSource.PRIMARY,
+            dataSourceProperties.determineUrl(),
+            dataSourceProperties.determineUsername(),
+            dataSourceProperties.determinePassword(),
+            dataSourceProperties,
+            meterRegistry
+        );
+        Duration readYourWrites = Duration.ofMillis(applicationProperties.getReadReplica().getReadYourWritesMs());
+        // The target is only chosen at the first statement, once the transaction is marked read-only
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replicaLagMonitor, readYourWrites, meterRegistry));
+    }
+
+    private HikariDataSource pool(
+        String name,
+        String url,
+        String username,
+        String password,
+        DataSourceProperties dataSourceProperties,
+        MeterRegistry meterRegistry
+    ) {
+        HikariDataSource pool = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        pools.add(pool);
+        return pool;
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -7,10 +7,17 @@ import static org.springframework.security.web.util.matcher.AntPathRequestMatche
 import com.groupeisi.m2gl.security.*;
 import com.groupeisi.m2gl.security.SecurityUtils;
 import com.groupeisi.m2gl.security.oauth2.AudienceValidator;
+import com.groupeisi.m2gl.security.oauth2.CachingJwtDecoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import java.util.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
@@ -19,6 +26,9 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
 import org.springframework.security.oauth2.core.OAuth2TokenValidator;
 import org.springframework.security.oauth2.jwt.*;
@@ -33,16 +43,29 @@ import tech.jhipster.config.JHipsterProperties;
 @EnableMethodSecurity(securedEnabled = true)
 public class SecurityConfiguration {
 
+    private static final Logger LOG = LoggerFactory.getLogger(SecurityConfiguration.class);
+
+    /**
+     * Signed JWT whose key id matches no key of the issuer: decoding it makes the decoder fetch the JWK set.
+     * Header: {"alg":"RS256","kid":"jwk-set-prewarm"}, empty payload.
+     */
+    private static final String JWK_SET_PREWARM_TOKEN = "eyJhbGciOiJSUzI1NiIsImtpZCI6Imp3ay1zZXQtcHJld2FybSJ9.e30.AA";
+
     private final Environment env;
 
     private final JHipsterProperties jHipsterProperties;
 
+    private final ApplicationProperties applicationProperties;
+
     @Value("${spring.security.oauth2.client.provider.oidc.issuer-uri}")
     private String issuerUri;
 
-    public SecurityConfiguration(Environment env, JHipsterProperties jHipsterProperties) {
+    private JwtDecoder issuerJwtDecoder;
+
+    public SecurityConfiguration(Environment env, JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         this.env = env;
         this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
     }
 
     @Bean
@@ -95,7 +118,7 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    JwtDecoder jwtDecoder() {
+    JwtDecoder jwtDecoder(MeterRegistry meterRegistry) {
         NimbusJwtDecoder jwtDecoder = JwtDecoders.fromOidcIssuerLocation(issuerUri);
 
         OAuth2TokenValidator<Jwt> audienceValidator = new AudienceValidator(jHipsterProperties.getSecurity().getOauth2().getAudience());
@@ -103,12 +126,46 @@ public class SecurityConfiguration {
         OAuth2TokenValidator<Jwt> withAudience = new DelegatingOAuth2TokenValidator<>(withIssuer, audienceValidator);
 
         jwtDecoder.setJwtValidator(withAudience);
+        issuerJwtDecoder = jwtDecoder;
 
-        return jwtDecoder;
+        ApplicationProperties.JwtCache jwtCache = applicationProperties.getSecurity().getJwtCache();
+        return new CachingJwtDecoder(
+            jwtDecoder,
+            jwtCache.isEnabled() ? jwtCache.getMaxSize() : 0,
+            Duration.ofSeconds(jwtCache.getTtlSeconds()),
+            meterRegistry
+        );
+    }
+
+    /**
+     * Fetches the issuer JWK set once the application is ready, so that the first authenticated request
+     * after a deployment does not wait for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarmJwkSet() {
+        if (issuerJwtDecoder == null) {
+            return;
+        }
+        try {
+            issuerJwtDecoder.decode(JWK_SET_PREWARM_TOKEN);
+        } catch (BadJwtException e) {
+            // Attendu : aucune clé ne correspond, mais le jeu de clés a été chargé
+            LOG.debug("JWK set of {} loaded", issuerUri);
+        } catch (JwtException e) {
+            LOG.warn("Could not load the JWK set of {}: {}", issuerUri, e.getMessage());
+        }
     }
 
+    /**
+     * BCrypt encoder with the configured cost, behind a {@link DelegatingPasswordEncoder} so that
+     * {@link PasswordEncoder#upgradeEncoding(String)} reports the hashes to rewrite: those without the {@code {bcrypt}}
+     * prefix and those of a lower cost. Hashes stored without prefix are still matched by BCrypt.
+     */
     @Bean
-    public org.springframework.security.crypto.password.PasswordEncoder passwordEncoder() {
-        return new org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(applicationProperties.getSecurity().getPassword().getBcryptStrength());
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
     }
 }
@@ -0,0 +1,62 @@
+package com.groupeisi.m2gl.config;
+
+import com.groupeisi.m2gl.service.sqlstatistics.ConnectionHoldTimeDataSource;
+import com.groupeisi.m2gl.service.sqlstatistics.ConnectionHoldTimeRecorder;
+import com.groupeisi.m2gl.service.sqlstatistics.SqlStatisticsRecorder;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Times every SQL statement run through the {@link DataSource}: the datasource is wrapped in a proxy that reports
+ * each execution to the {@link SqlStatisticsRecorder}, around another that reports how long each connection is held,
+ * and, for the longest holds, by which method, to the {@link ConnectionHoldTimeRecorder}.
+ * <p>
+ * Hibernate's own statistics ({@code hibernate.generate_statistics}) are bound to Micrometer by Spring Boot, as
+ * {@code hibernate.*} meters, through {@code hibernate-micrometer}.
+ */
+@Configuration
+public class SqlStatisticsConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SqlStatisticsConfiguration.class);
+
+    @Bean
+    public SqlStatisticsRecorder sqlStatisticsRecorder(ApplicationProperties applicationProperties) {
+        ApplicationProperties.SqlStatistics properties = applicationProperties.getSqlStatistics();
+        return new SqlStatisticsRecorder(properties.getSlowQueryThresholdMs(), properties.getMaxQueries());
+    }
+
+    @Bean
+    public ConnectionHoldTimeRecorder connectionHoldTimeRecorder(ApplicationProperties applicationProperties) {
+        ApplicationProperties.SqlStatistics properties = applicationProperties.getSqlStatistics();
+        return new ConnectionHoldTimeRecorder(properties.getMaxCallers(), properties.getCallerThresholdMs());
+    }
+
+    /**
+     * Static, so that it does not force the early creation of this configuration; the recorders are only looked up
+     * when the datasource is created.
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatisticsDataSourcePostProcessor(
+        ObjectProvider<SqlStatisticsRecorder> recorder,
+        ObjectProvider<ConnectionHoldTimeRecorder> holdTimeRecorder
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    LOG.debug("Timing the SQL statements of datasource {}", beanName);
+                    DataSource holdTimeDataSource = new ConnectionHoldTimeDataSource(dataSource, holdTimeRecorder.getObject());
+                    return ProxyDataSourceBuilder.create(holdTimeDataSource).name(beanName).listener(recorder.getObject()).build();
+                }
+                return bean;
+            }
+        };
+    }
+}
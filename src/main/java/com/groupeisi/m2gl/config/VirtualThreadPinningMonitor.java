@@ -0,0 +1,78 @@
+package com.groupeisi.m2gl.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} events into the {@code jvm.threads.virtual.pinned} timer.
+ * <p>
+ * A virtual thread is pinned when it blocks inside a {@code synchronized} block or a native frame: it then holds its
+ * carrier thread, and enough of them starve every other virtual thread. The top frames of each event are logged at
+ * DEBUG level to find the offending lock.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int LOGGED_FRAMES = 5;
+
+    private final Duration threshold;
+    private final Timer pinnedTimer;
+
+    private RecordingStream recordingStream;
+
+    VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+            .description("Duration while a virtual thread was pinned to its carrier thread")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        LOG.debug("Recording {} events longer than {}", PINNED_EVENT, threshold);
+    }
+
+    @Override
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+        if (LOG.isDebugEnabled() && event.getStackTrace() != null) {
+            LOG.debug(
+                "Virtual thread pinned for {}: {}",
+                event.getDuration(),
+                event
+                    .getStackTrace()
+                    .getFrames()
+                    .stream()
+                    .limit(LOGGED_FRAMES)
+                    .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber())
+                    .collect(Collectors.joining(" <- "))
+            );
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.groupeisi.m2gl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.SQLException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.embedded.undertow.UndertowDeploymentInfoCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Serves servlet requests on virtual threads; the connections they borrow are bounded by the size of the connection
+ * pool, through a {@link ConnectionLimitDataSource}.
+ * <p>
+ * Active with the {@code virtual-threads} profile, on Java 21. {@code @Async} tasks are moved to virtual threads by
+ * {@link AsyncConfiguration}.
+ */
+@Configuration
+@Profile(Constants.SPRING_PROFILE_VIRTUAL_THREADS)
+public class VirtualThreadsConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadsConfiguration.class);
+
+    private final ApplicationProperties.VirtualThreads properties;
+
+    public VirtualThreadsConfiguration(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getVirtualThreads();
+    }
+
+    /**
+     * Dispatches servlet requests to a new virtual thread each, instead of the Undertow worker pool.
+     */
+    @Bean
+    public UndertowDeploymentInfoCustomizer virtualThreadsDeploymentInfoCustomizer() {
+        return deploymentInfo -> deploymentInfo.setExecutor(new VirtualThreadTaskExecutor("undertow-vt-"));
+    }
+
+    /**
+     * Static, so that it does not force the early creation of this configuration; the properties and the registry are
+     * only looked up when the datasource is created.
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimitDataSourcePostProcessor(
+        ObjectProvider<ApplicationProperties> applicationProperties,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitDataSource)) {
+                    ApplicationProperties.VirtualThreads properties = applicationProperties.getObject().getVirtualThreads();
+                    int maxConnections = properties.getMaxConcurrentConnections() > 0
+                        ? properties.getMaxConcurrentConnections()
+                        : connectionPoolSize(dataSource);
+                    LOG.info("Serving requests on virtual threads, at most {} connections borrowed from {}", maxConnections, beanName);
+                    return new ConnectionLimitDataSource(
+                        dataSource,
+                        maxConnections,
+                        Duration.ofMillis(properties.getAcquireTimeoutMs()),
+                        meterRegistry.getObject()
+                    );
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(properties.getPinnedThresholdMs()), meterRegistry);
+    }
+
+    private static int connectionPoolSize(DataSource dataSource) {
+        try {
+            return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Set application.virtual-threads.max-concurrent-connections: the pool size is unknown", e);
+        }
+    }
+}
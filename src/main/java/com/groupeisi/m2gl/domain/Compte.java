@@ -10,13 +10,27 @@ import java.time.LocalDate;
 /**
  * Entité Compte représentant un compte bancaire.
  * Relation 1-1 avec User.
+ * <p>
+ * Le solde est une projection du grand livre ({@link LedgerEntry}) : il est mis à jour dans la transaction qui écrit
+ * les écritures du compte, et égal au solde de sa dernière écriture.
+ * <p>
+ * Le compte n'est pas dans le cache de second niveau : les soldes sont modifiés par des UPDATE JPQL, qui videraient
+ * toute la région à chaque transfert. Les lectures passent par le cache de {@code CompteService}.
  */
 @Entity
 @Table(name = "compte")
 public class Compte extends AbstractAuditingEntity<Long> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "compteIdGenerator")
+    @TableGenerator(
+        name = "compteIdGenerator",
+        table = "id_generator",
+        pkColumnName = "sequence_name",
+        valueColumnName = "next_val",
+        pkColumnValue = "compte",
+        allocationSize = 50
+    )
     private Long id;
 
     @NotNull
@@ -32,7 +46,7 @@ public class Compte extends AbstractAuditingEntity<Long> {
     @Column(name = "date_creation", nullable = false)
     private LocalDate dateCreation;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", unique = true, nullable = false)
     @JsonIgnoreProperties(value = { "compte", "authorities" }, allowSetters = true)
     private User user;
@@ -0,0 +1,132 @@
+package com.groupeisi.m2gl.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Crédit d'un transfert du mode partitionné, déjà débité au compte émetteur mais pas encore crédité au compte
+ * récepteur.
+ * <p>
+ * La ligne est insérée dans la transaction du débit et supprimée dans celle du crédit, qui insère le
+ * {@link DetailsTransaction} du transfert : un crédit interrompu par un arrêt de l'application est retrouvé ici et
+ * appliqué à la reprise.
+ */
+@Entity
+@Table(name = "credit_en_attente")
+public class CreditEnAttente implements Serializable, Persistable<Long> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "transfert_id", nullable = false, updatable = false)
+    private Long transfertId;
+
+    @NotNull
+    @Column(name = "compte_emetteur_id", nullable = false, updatable = false)
+    private Long compteEmetteurId;
+
+    @NotNull
+    @Column(name = "compte_recepteur_id", nullable = false, updatable = false)
+    private Long compteRecepteurId;
+
+    @NotNull
+    @Column(name = "montant", nullable = false, precision = 21, scale = 2, updatable = false)
+    private BigDecimal montant;
+
+    @NotNull
+    @Column(name = "date_transfert", nullable = false, updatable = false)
+    private LocalDateTime dateTransfert;
+
+    @org.springframework.data.annotation.Transient
+    @Transient
+    private boolean isPersisted;
+
+    public Long getTransfertId() {
+        return transfertId;
+    }
+
+    public void setTransfertId(Long transfertId) {
+        this.transfertId = transfertId;
+    }
+
+    public Long getCompteEmetteurId() {
+        return compteEmetteurId;
+    }
+
+    public void setCompteEmetteurId(Long compteEmetteurId) {
+        this.compteEmetteurId = compteEmetteurId;
+    }
+
+    public Long getCompteRecepteurId() {
+        return compteRecepteurId;
+    }
+
+    public void setCompteRecepteurId(Long compteRecepteurId) {
+        this.compteRecepteurId = compteRecepteurId;
+    }
+
+    public BigDecimal getMontant() {
+        return montant;
+    }
+
+    public void setMontant(BigDecimal montant) {
+        this.montant = montant;
+    }
+
+    public LocalDateTime getDateTransfert() {
+        return dateTransfert;
+    }
+
+    public void setDateTransfert(LocalDateTime dateTransfert) {
+        this.dateTransfert = dateTransfert;
+    }
+
+    @PostLoad
+    @PostPersist
+    public void updateEntityState() {
+        this.isPersisted = true;
+    }
+
+    @Override
+    public Long getId() {
+        return transfertId;
+    }
+
+    @org.springframework.data.annotation.Transient
+    @Transient
+    @Override
+    public boolean isNew() {
+        return !this.isPersisted;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CreditEnAttente)) {
+            return false;
+        }
+        return transfertId != null && transfertId.equals(((CreditEnAttente) o).transfertId);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CreditEnAttente{" +
+            "transfertId=" + transfertId +
+            ", compteEmetteurId=" + compteEmetteurId +
+            ", compteRecepteurId=" + compteRecepteurId +
+            ", montant=" + montant +
+            ", dateTransfert=" + dateTransfert +
+            "}";
+    }
+}
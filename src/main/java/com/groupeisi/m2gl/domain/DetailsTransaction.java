@@ -3,37 +3,61 @@ package com.groupeisi.m2gl.domain;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
  * Entité associative Details_Transaction liant un Transfert à deux Comptes
  * (compte émetteur et compte récepteur).
+ * <p>
+ * La date et le montant du transfert y sont recopiés : l'historique d'un compte est lu uniquement dans les index
+ * de cette table, sans jointure sur {@code transfert}.
+ * <p>
+ * Les associations sont paresseuses : les lectures passent par des projections, et charger un détail ne charge ni
+ * ses comptes ni son transfert.
  */
 @Entity
 @Table(name = "details_transaction")
 public class DetailsTransaction extends AbstractAuditingEntity<Long> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "detailsTransactionIdGenerator")
+    @TableGenerator(
+        name = "detailsTransactionIdGenerator",
+        table = "id_generator",
+        pkColumnName = "sequence_name",
+        valueColumnName = "next_val",
+        pkColumnValue = "details_transaction",
+        allocationSize = 50
+    )
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @NotNull
     @JoinColumn(name = "compte_emetteur_id", nullable = false)
     @JsonIgnoreProperties(value = { "user", "detailsTransactions" }, allowSetters = true)
     private Compte compteEmetteur;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @NotNull
     @JoinColumn(name = "compte_recepteur_id", nullable = false)
     @JsonIgnoreProperties(value = { "user", "detailsTransactions" }, allowSetters = true)
     private Compte compteRecepteur;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @NotNull
     @JoinColumn(name = "transfert_id", nullable = false)
     @JsonIgnoreProperties(value = { "detailsTransactions" }, allowSetters = true)
     private Transfert transfert;
 
+    @NotNull
+    @Column(name = "date_transfert", nullable = false)
+    private LocalDateTime dateTransfert;
+
+    @NotNull
+    @Column(name = "montant", nullable = false, precision = 21, scale = 2)
+    private BigDecimal montant;
+
     public Long getId() {
         return id;
     }
@@ -66,6 +90,22 @@ public class DetailsTransaction extends AbstractAuditingEntity<Long> {
         this.transfert = transfert;
     }
 
+    public LocalDateTime getDateTransfert() {
+        return dateTransfert;
+    }
+
+    public void setDateTransfert(LocalDateTime dateTransfert) {
+        this.dateTransfert = dateTransfert;
+    }
+
+    public BigDecimal getMontant() {
+        return montant;
+    }
+
+    public void setMontant(BigDecimal montant) {
+        this.montant = montant;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -94,6 +134,10 @@ public class DetailsTransaction extends AbstractAuditingEntity<Long> {
             (compteRecepteur != null ? compteRecepteur.getId() : null) +
             ", transfert=" +
             (transfert != null ? transfert.getId() : null) +
+            ", dateTransfert=" +
+            dateTransfert +
+            ", montant=" +
+            montant +
             '}'
         );
     }
@@ -0,0 +1,174 @@
+package com.groupeisi.m2gl.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Clé d'idempotence d'une demande de transfert, avec le résultat du transfert exécuté.
+ * <p>
+ * La clé est propre à l'utilisateur qui l'a choisie : deux utilisateurs peuvent utiliser la même.
+ * <p>
+ * La ligne est insérée dans la même transaction que le transfert, ce qui permet de rejouer
+ * la réponse d'origine sans relire ni modifier les comptes.
+ */
+@Entity
+@Table(name = "idempotency_key")
+@IdClass(IdempotencyKeyId.class)
+public class IdempotencyKey implements Serializable, Persistable<IdempotencyKeyId> {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    @Size(max = 100)
+    @Id
+    @Column(name = "user_id", length = 100, nullable = false)
+    private String userId;
+
+    @NotNull
+    @Size(max = 100)
+    @Id
+    @Column(name = "cle", length = 100, nullable = false)
+    private String cle;
+
+    @NotNull
+    @Column(name = "transfert_id", nullable = false)
+    private Long transfertId;
+
+    @NotNull
+    @Column(name = "compte_emetteur_id", nullable = false)
+    private Long compteEmetteurId;
+
+    @NotNull
+    @Column(name = "compte_recepteur_id", nullable = false)
+    private Long compteRecepteurId;
+
+    @NotNull
+    @Column(name = "montant", nullable = false, precision = 21, scale = 2)
+    private BigDecimal montant;
+
+    @NotNull
+    @Column(name = "date_transfert", nullable = false)
+    private LocalDateTime dateTransfert;
+
+    @NotNull
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate = Instant.now();
+
+    @org.springframework.data.annotation.Transient
+    @Transient
+    private boolean isPersisted;
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getCle() {
+        return cle;
+    }
+
+    public void setCle(String cle) {
+        this.cle = cle;
+    }
+
+    public Long getTransfertId() {
+        return transfertId;
+    }
+
+    public void setTransfertId(Long transfertId) {
+        this.transfertId = transfertId;
+    }
+
+    public Long getCompteEmetteurId() {
+        return compteEmetteurId;
+    }
+
+    public void setCompteEmetteurId(Long compteEmetteurId) {
+        this.compteEmetteurId = compteEmetteurId;
+    }
+
+    public Long getCompteRecepteurId() {
+        return compteRecepteurId;
+    }
+
+    public void setCompteRecepteurId(Long compteRecepteurId) {
+        this.compteRecepteurId = compteRecepteurId;
+    }
+
+    public BigDecimal getMontant() {
+        return montant;
+    }
+
+    public void setMontant(BigDecimal montant) {
+        this.montant = montant;
+    }
+
+    public LocalDateTime getDateTransfert() {
+        return dateTransfert;
+    }
+
+    public void setDateTransfert(LocalDateTime dateTransfert) {
+        this.dateTransfert = dateTransfert;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    @PostLoad
+    @PostPersist
+    public void updateEntityState() {
+        this.isPersisted = true;
+    }
+
+    @Override
+    public IdempotencyKeyId getId() {
+        return new IdempotencyKeyId(this.userId, this.cle);
+    }
+
+    @org.springframework.data.annotation.Transient
+    @Transient
+    @Override
+    public boolean isNew() {
+        return !this.isPersisted;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IdempotencyKey)) {
+            return false;
+        }
+        return cle != null && userId != null && getId().equals(((IdempotencyKey) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyKey{" +
+            "userId='" + userId + '\'' +
+            ", cle='" + cle + '\'' +
+            ", transfertId=" + transfertId +
+            ", createdDate=" + createdDate +
+            "}";
+    }
+}
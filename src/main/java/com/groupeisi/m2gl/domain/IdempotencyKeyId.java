@@ -0,0 +1,61 @@
+package com.groupeisi.m2gl.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Identifiant d'une {@link IdempotencyKey} : la clé choisie par le client n'est unique que pour son utilisateur.
+ */
+public class IdempotencyKeyId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String userId;
+
+    private String cle;
+
+    public IdempotencyKeyId() {}
+
+    public IdempotencyKeyId(String userId, String cle) {
+        this.userId = userId;
+        this.cle = cle;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getCle() {
+        return cle;
+    }
+
+    public void setCle(String cle) {
+        this.cle = cle;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IdempotencyKeyId)) {
+            return false;
+        }
+        IdempotencyKeyId other = (IdempotencyKeyId) o;
+        return Objects.equals(userId, other.userId) && Objects.equals(cle, other.cle);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, cle);
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyKeyId{" + "userId='" + userId + '\'' + ", cle='" + cle + '\'' + '}';
+    }
+}
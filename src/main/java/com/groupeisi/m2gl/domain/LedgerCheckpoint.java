@@ -0,0 +1,102 @@
+package com.groupeisi.m2gl.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Point de contrôle du solde d'un compte : le solde après l'écriture {@code entryId} du grand livre, à la date de
+ * cette écriture.
+ * <p>
+ * Le point de contrôle d'ouverture d'un compte ({@code entryId = 0}) porte son solde initial. Le solde à une date
+ * donnée est celui du dernier point de contrôle antérieur, augmenté des écritures suivantes jusqu'à cette date.
+ */
+@Entity
+@Table(name = "ledger_checkpoint")
+public class LedgerCheckpoint implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "compte_id", nullable = false, updatable = false)
+    private Long compteId;
+
+    @NotNull
+    @Column(name = "entry_id", nullable = false, updatable = false)
+    private Long entryId;
+
+    @NotNull
+    @Column(name = "solde", nullable = false, precision = 21, scale = 2, updatable = false)
+    private BigDecimal solde;
+
+    @NotNull
+    @Column(name = "date", nullable = false, updatable = false)
+    private LocalDateTime date;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCompteId() {
+        return compteId;
+    }
+
+    public void setCompteId(Long compteId) {
+        this.compteId = compteId;
+    }
+
+    public Long getEntryId() {
+        return entryId;
+    }
+
+    public void setEntryId(Long entryId) {
+        this.entryId = entryId;
+    }
+
+    public BigDecimal getSolde() {
+        return solde;
+    }
+
+    public void setSolde(BigDecimal solde) {
+        this.solde = solde;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LedgerCheckpoint)) {
+            return false;
+        }
+        return id != null && id.equals(((LedgerCheckpoint) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "LedgerCheckpoint{" + "id=" + id + ", compteId=" + compteId + ", entryId=" + entryId + ", solde=" + solde + '}';
+    }
+}
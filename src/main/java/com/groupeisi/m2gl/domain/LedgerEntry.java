@@ -0,0 +1,114 @@
+package com.groupeisi.m2gl.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Écriture du grand livre : un mouvement d'un compte, jamais modifié ni supprimé.
+ * <p>
+ * Chaque transfert produit deux écritures : le débit de l'émetteur (montant négatif) et le crédit du récepteur
+ * (montant positif). Le solde du compte après l'écriture y est conservé. Les écritures d'un compte sont insérées sous
+ * le verrou de sa ligne : leurs identifiants, attribués par la base, suivent l'ordre des mouvements du compte.
+ */
+@Entity
+@Table(name = "ledger_entry")
+public class LedgerEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "compte_id", nullable = false, updatable = false)
+    private Long compteId;
+
+    @NotNull
+    @Column(name = "transfert_id", nullable = false, updatable = false)
+    private Long transfertId;
+
+    @NotNull
+    @Column(name = "montant", nullable = false, precision = 21, scale = 2, updatable = false)
+    private BigDecimal montant;
+
+    @NotNull
+    @Column(name = "solde", nullable = false, precision = 21, scale = 2, updatable = false)
+    private BigDecimal solde;
+
+    @NotNull
+    @Column(name = "date", nullable = false, updatable = false)
+    private LocalDateTime date;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCompteId() {
+        return compteId;
+    }
+
+    public void setCompteId(Long compteId) {
+        this.compteId = compteId;
+    }
+
+    public Long getTransfertId() {
+        return transfertId;
+    }
+
+    public void setTransfertId(Long transfertId) {
+        this.transfertId = transfertId;
+    }
+
+    public BigDecimal getMontant() {
+        return montant;
+    }
+
+    public void setMontant(BigDecimal montant) {
+        this.montant = montant;
+    }
+
+    public BigDecimal getSolde() {
+        return solde;
+    }
+
+    public void setSolde(BigDecimal solde) {
+        this.solde = solde;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LedgerEntry)) {
+            return false;
+        }
+        return id != null && id.equals(((LedgerEntry) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "LedgerEntry{" + "id=" + id + ", compteId=" + compteId + ", montant=" + montant + ", solde=" + solde + '}';
+    }
+}
@@ -0,0 +1,118 @@
+package com.groupeisi.m2gl.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Événement métier en attente de publication (outbox transactionnelle).
+ * <p>
+ * L'événement est inséré dans la même transaction que le changement qu'il décrit, puis publié et supprimé par le
+ * relais. L'identifiant, attribué par la base à l'insertion, donne l'ordre de publication, et donc l'ordre des
+ * événements d'un même agrégat.
+ */
+@Entity
+@Table(name = "outbox_event")
+public class OutboxEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Size(max = 50)
+    @Column(name = "aggregate_type", length = 50, nullable = false)
+    private String aggregateType;
+
+    @NotNull
+    @Size(max = 50)
+    @Column(name = "aggregate_id", length = 50, nullable = false)
+    private String aggregateId;
+
+    @NotNull
+    @Size(max = 50)
+    @Column(name = "event_type", length = 50, nullable = false)
+    private String eventType;
+
+    @NotNull
+    @Size(max = 4000)
+    @Column(name = "payload", length = 4000, nullable = false)
+    private String payload;
+
+    @NotNull
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate = Instant.now();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public void setAggregateType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public void setAggregateId(String aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OutboxEvent)) {
+            return false;
+        }
+        return id != null && id.equals(((OutboxEvent) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxEvent{" + "id=" + id + ", aggregateId=" + aggregateId + ", eventType=" + eventType + '}';
+    }
+}
@@ -16,7 +16,15 @@ import java.util.Set;
 public class Transfert extends AbstractAuditingEntity<Long> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "transfertIdGenerator")
+    @TableGenerator(
+        name = "transfertIdGenerator",
+        table = "id_generator",
+        pkColumnName = "sequence_name",
+        valueColumnName = "next_val",
+        pkColumnValue = "transfert",
+        allocationSize = 50
+    )
     private Long id;
 
     @NotNull
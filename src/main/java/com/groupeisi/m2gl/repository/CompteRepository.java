@@ -1,8 +1,16 @@
 package com.groupeisi.m2gl.repository;
 
 import com.groupeisi.m2gl.domain.Compte;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -13,4 +21,90 @@ public interface CompteRepository extends JpaRepository<Compte, Long> {
     Optional<Compte> findByNumCompte(String numCompte);
 
     Optional<Compte> findByUserId(String userId);
+
+    @Query("select c.id from Compte c where c.numCompte = :numCompte")
+    Optional<Long> findIdByNumCompte(@Param("numCompte") String numCompte);
+
+    @Query("select c.id from Compte c where c.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") String userId);
+
+    /**
+     * Lit un compte sans charger d'entité : l'identifiant du titulaire est la clé étrangère, sans jointure.
+     *
+     * @return le compte, s'il existe.
+     */
+    @Query(
+        "select c.id as id, c.numCompte as numCompte, c.solde as solde, c.dateCreation as dateCreation, c.user.id as userId" +
+        " from Compte c where c.id = :id"
+    )
+    Optional<CompteInfo> findInfoById(@Param("id") Long id);
+
+    /**
+     * Débite le compte si son solde est suffisant. La ligne est verrouillée par l'UPDATE lui-même.
+     *
+     * @return le nombre de lignes modifiées (0 si le compte n'existe pas ou si le solde est insuffisant).
+     */
+    @Modifying
+    @Query(
+        "update Compte c set c.solde = c.solde - :montant, c.lastModifiedDate = :now where c.id = :id and c.solde >= :montant"
+    )
+    int debit(@Param("id") Long id, @Param("montant") BigDecimal montant, @Param("now") Instant now);
+
+    /**
+     * Crédite le compte. La ligne est verrouillée par l'UPDATE lui-même.
+     *
+     * @return le nombre de lignes modifiées (0 si le compte n'existe pas).
+     */
+    @Modifying
+    @Query("update Compte c set c.solde = c.solde + :montant, c.lastModifiedDate = :now where c.id = :id")
+    int credit(@Param("id") Long id, @Param("montant") BigDecimal montant, @Param("now") Instant now);
+
+    /**
+     * Ajoute un delta (positif ou négatif) au solde du compte, sans condition.
+     *
+     * @return le nombre de lignes modifiées (0 si le compte n'existe pas).
+     */
+    @Modifying
+    @Query("update Compte c set c.solde = c.solde + :delta, c.lastModifiedDate = :now where c.id = :id")
+    int adjustSolde(@Param("id") Long id, @Param("delta") BigDecimal delta, @Param("now") Instant now);
+
+    /**
+     * Verrouille les comptes demandés dans l'ordre croissant des identifiants.
+     *
+     * @return l'identifiant et le solde des comptes existants, verrouillés jusqu'à la fin de la transaction.
+     */
+    @Query(value = "select id, solde from compte where id in (:ids) order by id for update", nativeQuery = true)
+    List<CompteSolde> lockAllByIdOrderById(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lit le solde des comptes demandés, sans les verrouiller.
+     *
+     * @return l'identifiant et le solde des comptes existants.
+     */
+    @Query("select c.id as id, c.solde as solde from Compte c where c.id in :ids")
+    List<CompteSolde> findSoldesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Projection en lecture seule d'un compte.
+     */
+    interface CompteInfo {
+        Long getId();
+
+        String getNumCompte();
+
+        BigDecimal getSolde();
+
+        LocalDate getDateCreation();
+
+        String getUserId();
+    }
+
+    /**
+     * Projection en lecture seule de l'identifiant et du solde d'un compte.
+     */
+    interface CompteSolde {
+        Long getId();
+
+        BigDecimal getSolde();
+    }
 }
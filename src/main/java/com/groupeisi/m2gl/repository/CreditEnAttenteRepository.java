@@ -0,0 +1,27 @@
+package com.groupeisi.m2gl.repository;
+
+import com.groupeisi.m2gl.domain.CreditEnAttente;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link CreditEnAttente} entity.
+ */
+@Repository
+public interface CreditEnAttenteRepository extends JpaRepository<CreditEnAttente, Long> {
+    /**
+     * Verrouille les crédits demandés qui sont encore en attente. Un crédit déjà appliqué par une autre transaction,
+     * qui l'a supprimé, n'est pas renvoyé.
+     *
+     * @return les crédits encore en attente, verrouillés jusqu'à la fin de la transaction.
+     */
+    @Query(value = "select * from credit_en_attente where transfert_id in (:ids) order by transfert_id for update", nativeQuery = true)
+    List<CreditEnAttente> lockAllByTransfertIdIn(@Param("ids") Collection<Long> ids);
+
+    List<CreditEnAttente> findAllByDateTransfertBeforeOrderByTransfertId(LocalDateTime date);
+}
@@ -1,11 +1,64 @@
 package com.groupeisi.m2gl.repository;
 
 import com.groupeisi.m2gl.domain.DetailsTransaction;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data JPA repository for the {@link DetailsTransaction} entity.
  */
 @Repository
-public interface DetailsTransactionRepository extends JpaRepository<DetailsTransaction, Long> {}
+public interface DetailsTransactionRepository extends JpaRepository<DetailsTransaction, Long> {
+    /**
+     * Débits du compte antérieurs à la position ({@code date}, {@code transfertId}), du plus récent au plus ancien.
+     * La requête ne lit que l'index {@code idx_details_transaction_emetteur_historique}.
+     */
+    @Query(
+        "select d.transfert.id as transfertId, d.dateTransfert as dateTransfert, d.montant as montant, " +
+        "d.compteRecepteur.id as contrepartieId from DetailsTransaction d where d.compteEmetteur.id = :compteId " +
+        "and (d.dateTransfert < :date or (d.dateTransfert = :date and d.transfert.id < :transfertId)) " +
+        "order by d.dateTransfert desc, d.transfert.id desc"
+    )
+    List<Mouvement> findDebitsBefore(
+        @Param("compteId") Long compteId,
+        @Param("date") LocalDateTime date,
+        @Param("transfertId") Long transfertId,
+        Limit limit
+    );
+
+    /**
+     * Crédits du compte antérieurs à la position ({@code date}, {@code transfertId}), du plus récent au plus ancien.
+     * La requête ne lit que l'index {@code idx_details_transaction_recepteur_historique}.
+     */
+    @Query(
+        "select d.transfert.id as transfertId, d.dateTransfert as dateTransfert, d.montant as montant, " +
+        "d.compteEmetteur.id as contrepartieId from DetailsTransaction d where d.compteRecepteur.id = :compteId " +
+        "and (d.dateTransfert < :date or (d.dateTransfert = :date and d.transfert.id < :transfertId)) " +
+        "order by d.dateTransfert desc, d.transfert.id desc"
+    )
+    List<Mouvement> findCreditsBefore(
+        @Param("compteId") Long compteId,
+        @Param("date") LocalDateTime date,
+        @Param("transfertId") Long transfertId,
+        Limit limit
+    );
+
+    /**
+     * Projection en lecture seule d'un mouvement d'un compte : le transfert et le compte de l'autre côté.
+     */
+    interface Mouvement {
+        Long getTransfertId();
+
+        LocalDateTime getDateTransfert();
+
+        BigDecimal getMontant();
+
+        Long getContrepartieId();
+    }
+}
@@ -0,0 +1,20 @@
+package com.groupeisi.m2gl.repository;
+
+import com.groupeisi.m2gl.domain.IdempotencyKey;
+import com.groupeisi.m2gl.domain.IdempotencyKeyId;
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link IdempotencyKey} entity.
+ */
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, IdempotencyKeyId> {
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.createdDate < :date")
+    int deleteByCreatedDateBefore(@Param("date") Instant date);
+}
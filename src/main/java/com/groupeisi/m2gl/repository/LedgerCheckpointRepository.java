@@ -0,0 +1,36 @@
+package com.groupeisi.m2gl.repository;
+
+import com.groupeisi.m2gl.domain.LedgerCheckpoint;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link LedgerCheckpoint} entity.
+ */
+@Repository
+public interface LedgerCheckpointRepository extends JpaRepository<LedgerCheckpoint, Long> {
+    Optional<LedgerCheckpoint> findFirstByCompteIdAndDateLessThanEqualOrderByDateDescIdDesc(Long compteId, LocalDateTime date);
+
+    @Query("select coalesce(max(c.entryId), 0) from LedgerCheckpoint c")
+    Long findMaxEntryId();
+
+    /**
+     * Crée un point de contrôle pour chaque compte ayant des écritures postérieures à l'écriture {@code apresId},
+     * à partir de sa dernière écriture.
+     *
+     * @return le nombre de points de contrôle créés.
+     */
+    @Modifying
+    @Query(
+        value = "insert into ledger_checkpoint (compte_id, entry_id, solde, date) " +
+        "select e.compte_id, e.id, e.solde, e.date from ledger_entry e " +
+        "where e.id in (select max(l.id) from ledger_entry l where l.id > :apresId group by l.compte_id)",
+        nativeQuery = true
+    )
+    int insertFromLastEntries(@Param("apresId") Long apresId);
+}
@@ -0,0 +1,27 @@
+package com.groupeisi.m2gl.repository;
+
+import com.groupeisi.m2gl.domain.LedgerEntry;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link LedgerEntry} entity.
+ */
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+    List<LedgerEntry> findAllByCompteIdOrderById(Long compteId);
+
+    /**
+     * Somme des écritures du compte postérieures à l'écriture {@code apresId}, jusqu'à la date {@code date} incluse.
+     * La requête parcourt l'intervalle ({@code compteId}, {@code id > apresId}) de l'index {@code idx_ledger_entry_compte}.
+     */
+    @Query(
+        "select coalesce(sum(e.montant), 0) from LedgerEntry e where e.compteId = :compteId and e.id > :apresId and e.date <= :date"
+    )
+    BigDecimal sumMontant(@Param("compteId") Long compteId, @Param("apresId") Long apresId, @Param("date") LocalDateTime date);
+}
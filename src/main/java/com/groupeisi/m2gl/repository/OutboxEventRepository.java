@@ -0,0 +1,31 @@
+package com.groupeisi.m2gl.repository;
+
+import com.groupeisi.m2gl.domain.OutboxEvent;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link OutboxEvent} entity.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    /**
+     * Verrouille les plus anciens événements en attente, dans l'ordre de leur identifiant.
+     * <p>
+     * Un second relais exécuté en parallèle attend la fin de la transaction : les événements sont donc publiés par un
+     * seul relais à la fois, dans l'ordre.
+     *
+     * @return au plus {@code limit} événements, verrouillés jusqu'à la fin de la transaction.
+     */
+    @Query(value = "select * from outbox_event order by id limit :limit for update", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
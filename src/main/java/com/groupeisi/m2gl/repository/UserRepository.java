@@ -1,10 +1,15 @@
 package com.groupeisi.m2gl.repository;
 
 import com.groupeisi.m2gl.domain.User;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -17,9 +22,65 @@ public interface UserRepository extends JpaRepository<User, String> {
     @EntityGraph(attributePaths = "authorities")
     Optional<User> findOneWithAuthoritiesByLogin(String login);
 
-    Optional<User> findOneByTelephone(String telephone);
+    boolean existsByTelephone(String telephone);
 
-    Optional<User> findOneByNin(String nin);
+    boolean existsByNin(String nin);
 
-    Page<User> findAllByIdNotNullAndActivatedIsTrue(Pageable pageable);
+    Page<UserPublic> findAllPublicByIdNotNullAndActivatedIsTrue(Pageable pageable);
+
+    /**
+     * Lit en une seule requête tout ce qu'il faut pour connecter un utilisateur : son mot de passe, son activation,
+     * son compte et ses rôles, sans charger d'entité.
+     *
+     * @return une ligne par rôle de l'utilisateur (une seule s'il n'en a aucun), vide s'il n'existe pas.
+     */
+    @Query(
+        "select u.id as id, u.login as login, u.telephone as telephone, u.password as password, u.activated as activated," +
+        " u.lastName as lastName, u.firstName as firstName, c.id as compteId, c.numCompte as numCompte, a.name as authority" +
+        " from User u left join u.compte c left join u.authorities a where u.telephone = :telephone"
+    )
+    List<UserConnexion> findConnexionByTelephone(@Param("telephone") String telephone);
+
+    /**
+     * Remplace le hash du mot de passe de l'utilisateur.
+     *
+     * @return le nombre de lignes modifiées (0 si l'utilisateur n'existe pas).
+     */
+    @Modifying
+    @Query("update User u set u.password = :password, u.lastModifiedDate = :now where u.id = :id")
+    int updatePassword(@Param("id") String id, @Param("password") String password, @Param("now") Instant now);
+
+    /**
+     * Projection en lecture seule des informations publiques d'un utilisateur.
+     */
+    interface UserPublic {
+        String getId();
+
+        String getLogin();
+    }
+
+    /**
+     * Projection en lecture seule d'un utilisateur et de son compte, pour la connexion.
+     */
+    interface UserConnexion {
+        String getId();
+
+        String getLogin();
+
+        String getTelephone();
+
+        String getPassword();
+
+        Boolean getActivated();
+
+        String getLastName();
+
+        String getFirstName();
+
+        Long getCompteId();
+
+        String getNumCompte();
+
+        String getAuthority();
+    }
 }
@@ -36,6 +36,18 @@ public final class SecurityUtils {
         return Optional.ofNullable(extractPrincipal(securityContext.getAuthentication()));
     }
 
+    /**
+     * Get the id of the current user: the subject of the JWT issued by the application.
+     *
+     * @return the id of the current user, empty if the user was not authenticated with a JWT.
+     */
+    public static Optional<String> getCurrentUserId() {
+        if (SecurityContextHolder.getContext().getAuthentication() instanceof JwtAuthenticationToken jwtAuthenticationToken) {
+            return Optional.ofNullable(jwtAuthenticationToken.getToken().getSubject());
+        }
+        return Optional.empty();
+    }
+
     private static String extractPrincipal(Authentication authentication) {
         if (authentication == null) {
             return null;
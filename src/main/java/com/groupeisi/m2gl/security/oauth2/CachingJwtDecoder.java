@@ -0,0 +1,163 @@
+package com.groupeisi.m2gl.security.oauth2;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * {@link JwtDecoder} that keeps the tokens already verified by its delegate, so that a bearer token sent many times
+ * is only verified (signature, issuer, audience) once.
+ * <p>
+ * Entries are keyed by the SHA-256 hash of the token, and live until the token expires or for the configured TTL,
+ * whichever comes first. Tokens without expiry are not cached. Rejected tokens are never cached. The cache reads the
+ * time from the given {@link Clock}, so that the expiry of an entry and the {@code exp} of its token are compared on
+ * the same clock.
+ * <p>
+ * Every call is timed by {@code security.jwt.decode}, tagged {@code cache=hit|miss|off}, and the cache itself
+ * is instrumented as {@code security.jwt.decoder}.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> cache;
+
+    private final Timer hitTimer;
+    private final Timer missTimer;
+    private final Timer offTimer;
+
+    /**
+     * @param delegate the decoder verifying the tokens
+     * @param maximumSize the maximum number of cached tokens, or {@code 0} to disable the cache
+     * @param ttl the maximum time a verified token is kept
+     * @param meterRegistry the registry of the latency timers and cache metrics
+     */
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize, Duration ttl, MeterRegistry meterRegistry) {
+        this(delegate, maximumSize, ttl, Clock.systemUTC(), meterRegistry);
+    }
+
+    /**
+     * @param delegate the decoder verifying the tokens
+     * @param maximumSize the maximum number of cached tokens, or {@code 0} to disable the cache
+     * @param ttl the maximum time a verified token is kept
+     * @param clock the clock of the cache entries
+     * @param meterRegistry the registry of the latency timers and cache metrics
+     */
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize, Duration ttl, Clock clock, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        if (maximumSize > 0) {
+            this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .ticker(epochNanos(clock))
+                .expireAfter(new TokenExpiry(ttl))
+                .recordStats()
+                .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "security.jwt.decoder");
+        } else {
+            this.cache = null;
+        }
+        this.hitTimer = decodeTimer(meterRegistry, "hit");
+        this.missTimer = decodeTimer(meterRegistry, "miss");
+        this.offTimer = decodeTimer(meterRegistry, "off");
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        long start = System.nanoTime();
+        if (cache == null) {
+            try {
+                return delegate.decode(token);
+            } finally {
+                offTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+        String key = hash(token);
+        Jwt jwt = cache.getIfPresent(key);
+        if (jwt != null) {
+            hitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return jwt;
+        }
+        try {
+            jwt = delegate.decode(token);
+            if (jwt.getExpiresAt() != null) {
+                cache.put(key, jwt);
+            }
+            return jwt;
+        } finally {
+            missTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * A ticker reading the nanoseconds since the epoch, so that {@link TokenExpiry} can compare it with {@code exp}.
+     */
+    private static Ticker epochNanos(Clock clock) {
+        return () -> {
+            Instant now = clock.instant();
+            return TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+        };
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Timer decodeTimer(MeterRegistry meterRegistry, String cache) {
+        return Timer.builder("security.jwt.decode")
+            .description("Time to decode and verify a bearer token")
+            .tag("cache", cache)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    /**
+     * Expires each token at min(exp, now + ttl), {@code currentTime} being read from {@link #epochNanos(Clock)}.
+     */
+    private static final class TokenExpiry implements Expiry<String, Jwt> {
+
+        private final Duration ttl;
+
+        TokenExpiry(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            Instant expiresAt = jwt.getExpiresAt();
+            long untilExpiry = TimeUnit.SECONDS.toNanos(expiresAt.getEpochSecond()) + expiresAt.getNano() - currentTime;
+            if (untilExpiry < 0) {
+                return 0;
+            }
+            return Math.min(untilExpiry, ttl.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
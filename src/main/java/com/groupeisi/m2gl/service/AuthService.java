@@ -1,5 +1,7 @@
 package com.groupeisi.m2gl.service;
 
+import static com.groupeisi.m2gl.service.replica.ReplicaRoutingDataSource.readFromPrimary;
+
 import com.groupeisi.m2gl.domain.Authority;
 import com.groupeisi.m2gl.domain.Compte;
 import com.groupeisi.m2gl.domain.User;
@@ -10,24 +12,35 @@ import com.groupeisi.m2gl.service.dto.AuthResponseDTO;
 import com.groupeisi.m2gl.service.dto.ConnexionDTO;
 import com.groupeisi.m2gl.service.dto.InscriptionEtape2DTO;
 import com.groupeisi.m2gl.service.dto.InscriptionEtape3DTO;
+import com.groupeisi.m2gl.service.ledger.LedgerService;
+import com.groupeisi.m2gl.service.outbox.OutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service pour la gestion de l'authentification mobile.
+ * <p>
+ * La création d'un compte est enregistrée dans l'outbox ({@code CompteCree}), et son solde initial au grand livre.
+ * Les connexions sont comptées par {@code auth.logins} ({@code result=success|failure}). Une connexion lit
+ * l'utilisateur, son compte et ses rôles en une seule requête, sous forme de projection.
+ * <p>
+ * Ce service n'est pas transactionnel : la vérification de l'OTP, le hachage BCrypt et la signature du token JWT
+ * se font sans connexion à la base. Chaque lecture prend une connexion le temps de sa requête, et les écritures
+ * d'une inscription ou d'une mise à jour de hash se font dans une transaction courte ({@link TransactionTemplate}).
  */
 @Service
-@Transactional
 public class AuthService {
 
     private static final Logger log = LoggerFactory.getLogger(AuthService.class);
@@ -37,23 +50,46 @@ public class AuthService {
     private final CompteRepository compteRepository;
     private final AuthorityRepository authorityRepository;
     private final OtpService otpService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final TokenService tokenService;
+    private final PendingInscriptionStore personalInfoStore;
+    private final OutboxService outboxService;
+    private final LedgerService ledgerService;
+    private final NumCompteGenerator numCompteGenerator;
+    private final UuidV7Generator uuidV7Generator;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter loginSuccessCounter;
+    private final Counter loginFailureCounter;
 
     public AuthService(
         UserRepository userRepository,
         CompteRepository compteRepository,
         AuthorityRepository authorityRepository,
         OtpService otpService,
-        PasswordEncoder passwordEncoder,
-        TokenService tokenService
+        PasswordHashingService passwordHashingService,
+        TokenService tokenService,
+        PendingInscriptionStore personalInfoStore,
+        OutboxService outboxService,
+        LedgerService ledgerService,
+        NumCompteGenerator numCompteGenerator,
+        UuidV7Generator uuidV7Generator,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
     ) {
         this.userRepository = userRepository;
         this.compteRepository = compteRepository;
         this.authorityRepository = authorityRepository;
         this.otpService = otpService;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.tokenService = tokenService;
+        this.personalInfoStore = personalInfoStore;
+        this.outboxService = outboxService;
+        this.ledgerService = ledgerService;
+        this.numCompteGenerator = numCompteGenerator;
+        this.uuidV7Generator = uuidV7Generator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.loginSuccessCounter = loginCounter(meterRegistry, "success");
+        this.loginFailureCounter = loginCounter(meterRegistry, "failure");
     }
 
     /**
@@ -63,23 +99,18 @@ public class AuthService {
         return otpService.verifyOtp(telephone, codeOtp);
     }
 
-    // Stockage temporaire des informations personnelles (en production, utiliser Redis)
-    private final Map<String, InscriptionEtape2DTO> personalInfoStore = new ConcurrentHashMap<>();
-
     /**
      * Enregistre les informations personnelles (étape 2 de l'inscription).
      * Vérifie que le téléphone a été validé et que l'utilisateur n'existe pas déjà.
      */
     public void savePersonalInfo(InscriptionEtape2DTO dto) {
         // Vérifier que l'utilisateur n'existe pas déjà
-        Optional<User> existingUser = userRepository.findOneByTelephone(dto.getTelephone());
-        if (existingUser.isPresent()) {
+        if (readFromPrimary(() -> userRepository.existsByTelephone(dto.getTelephone()))) {
             throw new RuntimeException("Un utilisateur avec ce numéro de téléphone existe déjà");
         }
 
         // Vérifier que le NIN n'est pas déjà utilisé
-        Optional<User> existingUserByNin = userRepository.findOneByNin(dto.getNin());
-        if (existingUserByNin.isPresent()) {
+        if (readFromPrimary(() -> userRepository.existsByNin(dto.getNin()))) {
             throw new RuntimeException("Un utilisateur avec ce NIN existe déjà");
         }
 
@@ -93,8 +124,7 @@ public class AuthService {
      */
     public AuthResponseDTO completeInscription(InscriptionEtape3DTO dto) {
         // Vérifier que l'utilisateur n'existe pas déjà
-        Optional<User> existingUser = userRepository.findOneByTelephone(dto.getTelephone());
-        if (existingUser.isPresent()) {
+        if (readFromPrimary(() -> userRepository.existsByTelephone(dto.getTelephone()))) {
             throw new RuntimeException("Un utilisateur avec ce numéro de téléphone existe déjà");
         }
 
@@ -104,14 +134,18 @@ public class AuthService {
         }
 
         // Récupérer les informations personnelles de l'étape 2
-        InscriptionEtape2DTO personalInfo = personalInfoStore.get(dto.getTelephone());
-        if (personalInfo == null) {
-            throw new RuntimeException("Les informations personnelles n'ont pas été enregistrées. Veuillez recommencer l'inscription.");
-        }
+        InscriptionEtape2DTO personalInfo = personalInfoStore
+            .get(dto.getTelephone())
+            .orElseThrow(() ->
+                new RuntimeException("Les informations personnelles n'ont pas été enregistrées. Veuillez recommencer l'inscription.")
+            );
+
+        // Hacher le mot de passe avant d'ouvrir la transaction
+        String passwordHash = passwordHashingService.encode(dto.getPassword());
 
         // Créer l'utilisateur
         User user = new User();
-        user.setId(UUID.randomUUID().toString());
+        user.setId(uuidV7Generator.nextId());
         // Créer un login valide à partir du téléphone (enlever le + et autres caractères non autorisés)
         String login = dto.getTelephone().replaceAll("[^a-zA-Z0-9_.@-]", "").toLowerCase();
         if (login.isEmpty() || !login.matches("^[_.@A-Za-z0-9-]+$")) {
@@ -124,33 +158,21 @@ public class AuthService {
         user.setFirstName(personalInfo.getPrenom());
         user.setNin(personalInfo.getNin());
         user.setDateNaissance(personalInfo.getDateNaissance());
-        user.setPassword(passwordEncoder.encode(dto.getPassword()));
+        user.setPassword(passwordHash);
         user.setActivated(true);
         user.setLangKey("fr");
 
-        // Ajouter le rôle USER
-        Authority userAuthority = authorityRepository
-            .findById(ROLE_USER)
-            .orElseThrow(() -> new RuntimeException("Le rôle USER n'existe pas"));
-        Set<Authority> authorities = new HashSet<>();
-        authorities.add(userAuthority);
-        user.setAuthorities(authorities);
-
-        user = userRepository.save(user);
-
         // Créer le compte associé
-        Compte compte = new Compte();
-        compte.setUser(user);
-        compte.setSolde(java.math.BigDecimal.ZERO);
-        compte.setDateCreation(LocalDate.now());
-        compte.setNumCompte(generateNumCompte());
-        compte = compteRepository.save(compte);
+        Compte nouveauCompte = new Compte();
+        nouveauCompte.setSolde(java.math.BigDecimal.ZERO);
+        nouveauCompte.setDateCreation(LocalDate.now());
+        nouveauCompte.setNumCompte(numCompteGenerator.nextNumCompte());
 
-        user.setCompte(compte);
-        user = userRepository.save(user);
+        // Enregistrer l'utilisateur, son compte, l'événement et l'ouverture au grand livre dans une même transaction
+        Compte compte = transactionTemplate.execute(status -> creerUtilisateurEtCompte(user, nouveauCompte));
 
         // Générer le token JWT
-        String token = tokenService.generateToken(user);
+        String token = tokenService.generateToken(user.getId(), user.getLogin(), user.getTelephone(), List.of(ROLE_USER));
 
         // Supprimer les informations temporaires
         personalInfoStore.remove(dto.getTelephone());
@@ -168,33 +190,81 @@ public class AuthService {
         );
     }
 
+    private Compte creerUtilisateurEtCompte(User user, Compte compte) {
+        // Ajouter le rôle USER
+        Authority userAuthority = authorityRepository
+            .findById(ROLE_USER)
+            .orElseThrow(() -> new RuntimeException("Le rôle USER n'existe pas"));
+        Set<Authority> authorities = new HashSet<>();
+        authorities.add(userAuthority);
+        user.setAuthorities(authorities);
+
+        User savedUser = userRepository.save(user);
+
+        compte.setUser(savedUser);
+        Compte savedCompte = compteRepository.save(compte);
+        savedUser.setCompte(savedCompte);
+
+        outboxService.compteCree(savedCompte, savedUser.getId(), savedUser.getTelephone());
+        ledgerService.ouvrirCompte(savedCompte.getId(), savedCompte.getSolde());
+        return savedCompte;
+    }
+
     /**
      * Authentifie un utilisateur (connexion).
+     * Le hash du mot de passe est recalculé au coût courant s'il a été produit avec un coût inférieur, une fois
+     * l'authentification réussie.
      */
     public AuthResponseDTO authenticate(ConnexionDTO dto) {
+        try {
+            AuthResponseDTO response = doAuthenticate(dto);
+            loginSuccessCounter.increment();
+            return response;
+        } catch (RuntimeException e) {
+            loginFailureCounter.increment();
+            throw e;
+        }
+    }
+
+    private AuthResponseDTO doAuthenticate(ConnexionDTO dto) {
         // Vérifier le code OTP
         if (!otpService.verifyOtp(dto.getTelephone(), dto.getCodeOtp())) {
             throw new RuntimeException("Code OTP invalide ou expiré");
         }
 
-        // Trouver l'utilisateur
-        User user = userRepository.findOneByTelephone(dto.getTelephone()).orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+        // Trouver l'utilisateur, son compte et ses rôles en une seule requête, sur le primaire : une réplique en retard
+        // ignorerait une inscription ou un changement de mot de passe récents
+        List<UserRepository.UserConnexion> lignes = readFromPrimary(() -> userRepository.findConnexionByTelephone(dto.getTelephone()));
+        if (lignes.isEmpty()) {
+            throw new RuntimeException("Utilisateur non trouvé");
+        }
+        UserRepository.UserConnexion user = lignes.get(0);
 
         // Vérifier le mot de passe
-        if (!passwordEncoder.matches(dto.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(dto.getPassword(), user.getPassword())) {
             throw new RuntimeException("Mot de passe incorrect");
         }
 
         // Vérifier que l'utilisateur est activé
-        if (!user.isActivated()) {
+        if (!Boolean.TRUE.equals(user.getActivated())) {
             throw new RuntimeException("Compte utilisateur désactivé");
         }
 
-        // Récupérer le compte
-        Compte compte = compteRepository.findByUserId(user.getId()).orElseThrow(() -> new RuntimeException("Compte non trouvé"));
+        // Vérifier le compte
+        if (user.getCompteId() == null) {
+            throw new RuntimeException("Compte non trouvé");
+        }
+
+        // Authentification réussie : le hash n'est recalculé, et écrit en base, qu'à ce moment
+        if (passwordHashingService.upgradeEncoding(user.getPassword())) {
+            String passwordHash = passwordHashingService.encode(dto.getPassword());
+            transactionTemplate.executeWithoutResult(status -> userRepository.updatePassword(user.getId(), passwordHash, Instant.now()));
+            log.debug("Hash du mot de passe mis à jour pour le téléphone {}", user.getTelephone());
+        }
 
         // Générer le token JWT
-        String token = tokenService.generateToken(user);
+        List<String> authorities = lignes.stream().map(UserRepository.UserConnexion::getAuthority).filter(Objects::nonNull).toList();
+        String token = tokenService.generateToken(user.getId(), user.getLogin(), user.getTelephone(), authorities);
 
         log.info("Utilisateur authentifié avec succès : {}", user.getTelephone());
 
@@ -204,8 +274,8 @@ public class AuthService {
             user.getTelephone(),
             user.getLastName(),
             user.getFirstName(),
-            compte.getId(),
-            compte.getNumCompte()
+            user.getCompteId(),
+            user.getNumCompte()
         );
     }
 
@@ -228,13 +298,17 @@ public class AuthService {
     }
 
     /**
-     * Génère un numéro de compte unique.
+     * Déconnecte l'utilisateur identifié par son token JWT, validé et lu en un seul parsing.
+     *
+     * @param token le token JWT de l'utilisateur
      */
-    private String generateNumCompte() {
-        String numCompte;
-        do {
-            numCompte = "ACC" + System.currentTimeMillis() + (int) (Math.random() * 1000);
-        } while (compteRepository.findByNumCompte(numCompte).isPresent());
-        return numCompte;
+    public void logoutWithToken(String token) {
+        tokenService
+            .validateAndGetUserId(token)
+            .ifPresentOrElse(this::logout, () -> log.warn("Tentative de déconnexion avec un token invalide ou expiré"));
+    }
+
+    private static Counter loginCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.logins").description("Nombre de tentatives de connexion").tag("result", result).register(meterRegistry);
     }
 }
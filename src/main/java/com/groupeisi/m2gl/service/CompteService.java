@@ -0,0 +1,140 @@
+package com.groupeisi.m2gl.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.groupeisi.m2gl.config.ApplicationProperties;
+import com.groupeisi.m2gl.repository.CompteRepository;
+import com.groupeisi.m2gl.service.dto.CompteDTO;
+import com.groupeisi.m2gl.service.replica.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service de lecture des comptes, avec un cache Caffeine.
+ * <p>
+ * Les comptes sont mis en cache par identifiant. Les index par {@code numCompte} et par {@code userId} ne contiennent
+ * que l'identifiant du compte, qui ne change jamais : seul le cache par identifiant doit être invalidé quand un solde
+ * change. Les transferts invalident les comptes qu'ils modifient après la validation de leur transaction
+ * ({@link #evictAfterCommit(Collection)}). Un chargement en cours pour un compte bloque son invalidation jusqu'à la
+ * fin du chargement ; la durée de vie {@code application.compte.cache-ttl-seconds} borne le cas restant d'une
+ * lecture faite dans une transaction ouverte avant le transfert. Les comptes sont chargés depuis le primaire, même
+ * quand les lectures sont envoyées aux répliques : une réplique en retard remettrait en cache un solde périmé juste
+ * après son invalidation.
+ * <p>
+ * Les statistiques des caches sont exposées sous les noms {@code compte.by-id}, {@code compte.by-num-compte} et
+ * {@code compte.by-user-id}.
+ */
+@Service
+@Transactional
+public class CompteService {
+
+    private static final Logger log = LoggerFactory.getLogger(CompteService.class);
+
+    private final CompteRepository compteRepository;
+
+    private final Cache<Long, CompteDTO> comptesById;
+    private final Cache<String, Long> idsByNumCompte;
+    private final Cache<String, Long> idsByUserId;
+
+    public CompteService(CompteRepository compteRepository, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.compteRepository = compteRepository;
+        ApplicationProperties.Compte properties = applicationProperties.getCompte();
+        this.comptesById = newCache(properties);
+        this.idsByNumCompte = newCache(properties);
+        this.idsByUserId = newCache(properties);
+        CaffeineCacheMetrics.monitor(meterRegistry, comptesById, "compte.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByNumCompte, "compte.by-num-compte");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByUserId, "compte.by-user-id");
+    }
+
+    /**
+     * Recherche un compte par son identifiant.
+     *
+     * @param id l'identifiant du compte
+     * @return le compte, s'il existe
+     */
+    @Transactional(readOnly = true)
+    public Optional<CompteDTO> findOne(Long id) {
+        return Optional.ofNullable(
+            comptesById.get(id, key -> readFromPrimary(() -> compteRepository.findInfoById(key).map(CompteDTO::new)))
+        );
+    }
+
+    /**
+     * Recherche un compte par son numéro.
+     *
+     * @param numCompte le numéro du compte
+     * @return le compte, s'il existe
+     */
+    @Transactional(readOnly = true)
+    public Optional<CompteDTO> findByNumCompte(String numCompte) {
+        return Optional.ofNullable(
+            idsByNumCompte.get(numCompte, key -> readFromPrimary(() -> compteRepository.findIdByNumCompte(key)))
+        ).flatMap(this::findOne);
+    }
+
+    /**
+     * Recherche le compte d'un utilisateur.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @return le compte, s'il existe
+     */
+    @Transactional(readOnly = true)
+    public Optional<CompteDTO> findByUserId(String userId) {
+        return findIdByUserId(userId).flatMap(this::findOne);
+    }
+
+    /**
+     * Recherche l'identifiant du compte d'un utilisateur, sans charger le compte.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @return l'identifiant du compte, s'il existe
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findIdByUserId(String userId) {
+        return Optional.ofNullable(idsByUserId.get(userId, key -> readFromPrimary(() -> compteRepository.findIdByUserId(key))));
+    }
+
+    /**
+     * Retire les comptes du cache une fois la transaction courante validée, ou immédiatement hors transaction.
+     *
+     * @param compteIds les identifiants des comptes modifiés
+     */
+    public void evictAfterCommit(Collection<Long> compteIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            comptesById.invalidateAll(compteIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    comptesById.invalidateAll(compteIds);
+                    log.trace("Comptes {} retirés du cache", compteIds);
+                }
+            }
+        );
+    }
+
+    private static <V> V readFromPrimary(Supplier<Optional<V>> lecture) {
+        return ReplicaRoutingDataSource.readFromPrimary(lecture).orElse(null);
+    }
+
+    private static <K, V> Cache<K, V> newCache(ApplicationProperties.Compte properties) {
+        return Caffeine.newBuilder()
+            .maximumSize(properties.getCacheMaxSize())
+            .expireAfterWrite(Duration.ofSeconds(properties.getCacheTtlSeconds()))
+            .recordStats()
+            .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.groupeisi.m2gl.service;
+
+import com.groupeisi.m2gl.repository.DetailsTransactionRepository;
+import com.groupeisi.m2gl.repository.DetailsTransactionRepository.Mouvement;
+import com.groupeisi.m2gl.service.dto.HistoriqueDTO;
+import com.groupeisi.m2gl.service.dto.MouvementDTO;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service de lecture de l'historique des transferts d'un compte.
+ * <p>
+ * L'historique est paginé par position (« keyset ») sur le couple ({@code date}, {@code transfertId}), du plus récent
+ * au plus ancien : le curseur opaque de la page suivante encode la position du dernier mouvement renvoyé. Chaque page
+ * lit au plus {@code limit + 1} entrées de chacun des deux index couvrants de {@code details_transaction} (débits et
+ * crédits du compte), puis fusionne les deux listes déjà triées. Le coût d'une page ne dépend donc pas de sa
+ * position dans l'historique, et aucun {@code COUNT(*)} n'est exécuté.
+ */
+@Service
+@Transactional(readOnly = true)
+public class HistoriqueService {
+
+    /**
+     * Position de départ de la première page, postérieure à tout transfert (et acceptée par MySQL et H2).
+     */
+    private static final LocalDateTime DEBUT_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private static final char SEPARATEUR = '|';
+
+    private final DetailsTransactionRepository detailsTransactionRepository;
+
+    public HistoriqueService(DetailsTransactionRepository detailsTransactionRepository) {
+        this.detailsTransactionRepository = detailsTransactionRepository;
+    }
+
+    /**
+     * Récupère une page de l'historique d'un compte.
+     *
+     * @param compteId l'identifiant du compte
+     * @param curseur le curseur renvoyé par la page précédente, ou {@code null} pour la première page
+     * @param limit le nombre maximal de mouvements de la page
+     * @return les mouvements de la page et le curseur de la page suivante
+     */
+    public HistoriqueDTO findHistorique(Long compteId, String curseur, int limit) {
+        Position position = curseur == null ? new Position(DEBUT_DATE, Long.MAX_VALUE) : decode(curseur);
+
+        Limit parCote = Limit.of(limit + 1);
+        LocalDateTime date = position.date();
+        List<Mouvement> debits = detailsTransactionRepository.findDebitsBefore(compteId, date, position.transfertId(), parCote);
+        List<Mouvement> credits = detailsTransactionRepository.findCreditsBefore(compteId, date, position.transfertId(), parCote);
+
+        List<MouvementDTO> mouvements = new ArrayList<>(limit);
+        int d = 0;
+        int c = 0;
+        while (mouvements.size() < limit && (d < debits.size() || c < credits.size())) {
+            if (c == credits.size() || (d < debits.size() && isAfter(debits.get(d), credits.get(c)))) {
+                mouvements.add(toDto(debits.get(d++), MouvementDTO.Sens.DEBIT));
+            } else {
+                mouvements.add(toDto(credits.get(c++), MouvementDTO.Sens.CREDIT));
+            }
+        }
+
+        String curseurSuivant = null;
+        if (d < debits.size() || c < credits.size()) {
+            MouvementDTO dernier = mouvements.get(mouvements.size() - 1);
+            curseurSuivant = encode(dernier.getDate(), dernier.getTransfertId());
+        }
+        return new HistoriqueDTO(mouvements, curseurSuivant);
+    }
+
+    private static boolean isAfter(Mouvement a, Mouvement b) {
+        int compare = a.getDateTransfert().compareTo(b.getDateTransfert());
+        return compare > 0 || (compare == 0 && a.getTransfertId() > b.getTransfertId());
+    }
+
+    private static MouvementDTO toDto(Mouvement mouvement, MouvementDTO.Sens sens) {
+        return new MouvementDTO(
+            mouvement.getTransfertId(),
+            mouvement.getDateTransfert(),
+            sens,
+            mouvement.getMontant(),
+            mouvement.getContrepartieId()
+        );
+    }
+
+    private static String encode(LocalDateTime date, Long transfertId) {
+        String position = date + SEPARATEUR + transfertId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decode(String curseur) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(curseur), StandardCharsets.UTF_8);
+            int separateur = position.indexOf(SEPARATEUR);
+            if (separateur > 0) {
+                LocalDateTime date = LocalDateTime.parse(position.substring(0, separateur));
+                return new Position(date, Long.parseLong(position.substring(separateur + 1)));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Curseur invalide, traité ci-dessous
+        }
+        throw new RuntimeException("Curseur d'historique invalide");
+    }
+
+    private record Position(LocalDateTime date, long transfertId) {}
+}
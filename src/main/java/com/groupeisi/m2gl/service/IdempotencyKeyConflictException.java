@@ -0,0 +1,13 @@
+package com.groupeisi.m2gl.service;
+
+/**
+ * Levée quand une clé d'idempotence déjà utilisée est rejouée avec un autre transfert.
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,133 @@
+package com.groupeisi.m2gl.service;
+
+import com.groupeisi.m2gl.config.ApplicationProperties;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Générateur de numéros de compte uniques, sans accès à la base de données.
+ * <p>
+ * Chaque numéro encode un identifiant de 63 bits à la manière de Snowflake : 41 bits de millisecondes depuis le
+ * 1er janvier 2025, 10 bits d'identifiant d'instance et 12 bits de séquence dans la milliseconde. Deux instances
+ * d'identifiants différents ne peuvent donc pas produire le même numéro, et une instance en produit jusqu'à 4096 par
+ * milliseconde, sans verrou : l'horodatage et la séquence tiennent dans un seul {@link AtomicLong}. Si l'horloge
+ * recule ou si la séquence est épuisée, l'horodatage avance d'une milliseconde au lieu d'attendre.
+ * <p>
+ * L'identifiant d'instance est {@code application.compte.worker-id}, propre à chaque instance en cours d'exécution
+ * (par exemple {@code APPLICATION_COMPTE_WORKER_ID} dérivé de l'ordinal d'un StatefulSet). Il n'est jamais deviné :
+ * sans lui, l'application ne démarre pas, plutôt que de risquer deux instances au même identifiant.
+ * <p>
+ * Le numéro est {@code ACC} suivi de l'identifiant sur 19 chiffres et de 2 chiffres de contrôle (ISO 7064 modulo
+ * 97-10, comme l'IBAN), qui détectent toute erreur sur un chiffre et toute inversion de deux chiffres.
+ */
+@Service
+public class NumCompteGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(NumCompteGenerator.class);
+
+    static final String PREFIX = "ACC";
+
+    private static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    private static final int WORKER_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    static final int MAX_WORKER_ID = (1 << WORKER_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final int ID_DIGITS = 19;
+
+    private final long workerId;
+    private final LongSupplier clock;
+
+    // Horodatage (depuis EPOCH_MILLIS) et séquence du dernier identifiant émis
+    private final AtomicLong last = new AtomicLong();
+
+    public NumCompteGenerator(ApplicationProperties applicationProperties) {
+        this(workerId(applicationProperties.getCompte().getWorkerId()), System::currentTimeMillis);
+    }
+
+    NumCompteGenerator(long workerId, LongSupplier clock) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("L'identifiant d'instance doit être compris entre 0 et " + MAX_WORKER_ID);
+        }
+        this.workerId = workerId;
+        this.clock = clock;
+    }
+
+    /**
+     * @return un nouveau numéro de compte
+     */
+    public String nextNumCompte() {
+        long id = nextId();
+        StringBuilder numCompte = new StringBuilder(PREFIX.length() + ID_DIGITS + 2).append(PREFIX);
+        String digits = Long.toString(id);
+        numCompte.append("0".repeat(ID_DIGITS - digits.length())).append(digits);
+        long check = checkDigits(id);
+        return numCompte.append(check < 10 ? "0" : "").append(check).toString();
+    }
+
+    /**
+     * Vérifie le format et les chiffres de contrôle d'un numéro de compte émis par ce générateur.
+     *
+     * @param numCompte le numéro de compte
+     * @return {@code true} si le numéro est bien formé
+     */
+    public static boolean isValid(String numCompte) {
+        if (numCompte == null || numCompte.length() != PREFIX.length() + ID_DIGITS + 2 || !numCompte.startsWith(PREFIX)) {
+            return false;
+        }
+        for (int i = PREFIX.length(); i < numCompte.length(); i++) {
+            if (numCompte.charAt(i) < '0' || numCompte.charAt(i) > '9') {
+                return false;
+            }
+        }
+        String digits = numCompte.substring(PREFIX.length(), PREFIX.length() + ID_DIGITS);
+        if (digits.compareTo(String.valueOf(Long.MAX_VALUE)) > 0) {
+            return false;
+        }
+        long check = Long.parseLong(numCompte.substring(PREFIX.length() + ID_DIGITS));
+        return checkDigits(Long.parseLong(digits)) == check;
+    }
+
+    long nextId() {
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        while (true) {
+            long previous = last.get();
+            long timestamp = previous >>> SEQUENCE_BITS;
+            long next;
+            if (now > timestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if ((previous & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = previous + 1;
+            } else {
+                next = (timestamp + 1) << SEQUENCE_BITS;
+            }
+            if (last.compareAndSet(previous, next)) {
+                long sequence = next & SEQUENCE_MASK;
+                return ((next >>> SEQUENCE_BITS) << (WORKER_BITS + SEQUENCE_BITS)) | (workerId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+
+    /**
+     * Chiffres de contrôle ISO 7064 modulo 97-10 : le nombre formé de l'identifiant suivi d'eux est congru à 1
+     * modulo 97.
+     */
+    private static long checkDigits(long id) {
+        return 98 - ((id % 97) * 100) % 97;
+    }
+
+    static long workerId(int configured) {
+        if (configured < 0) {
+            throw new IllegalStateException(
+                "application.compte.worker-id doit être défini, entre 0 et " + MAX_WORKER_ID + ", différent pour chaque instance"
+            );
+        }
+        log.info("Numéros de compte générés avec l'identifiant d'instance {}", configured);
+        return configured;
+    }
+}
@@ -1,8 +1,8 @@
 package com.groupeisi.m2gl.service;
 
-import java.util.Map;
+import com.groupeisi.m2gl.service.otp.OtpStore;
+import java.time.Duration;
 import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -10,18 +10,23 @@ import org.springframework.stereotype.Service;
 /**
  * Service pour la gestion des codes OTP (One-Time Password).
  * En production, ce service devrait intégrer un service SMS réel.
+ * <p>
+ * Les codes sont conservés par un {@link OtpStore} ({@code application.otp.store}) qui gère leur expiration.
  */
 @Service
 public class OtpService {
 
     private static final Logger log = LoggerFactory.getLogger(OtpService.class);
     private static final int OTP_LENGTH = 4;
-    private static final long OTP_EXPIRY_TIME_MS = 5 * 60 * 1000; // 5 minutes
+    private static final Duration OTP_EXPIRY_TIME = Duration.ofMinutes(5);
 
-    // Stockage temporaire des codes OTP (en production, utiliser Redis ou une base de données)
-    private final Map<String, OtpData> otpStore = new ConcurrentHashMap<>();
+    private final OtpStore otpStore;
     private final Random random = new Random();
 
+    public OtpService(OtpStore otpStore) {
+        this.otpStore = otpStore;
+    }
+
     /**
      * Génère et envoie un code OTP au numéro de téléphone.
      *
@@ -30,9 +35,8 @@ public class OtpService {
      */
     public String generateAndSendOtp(String telephone) {
         String otp = generateOtp();
-        long expiryTime = System.currentTimeMillis() + OTP_EXPIRY_TIME_MS;
 
-        otpStore.put(telephone, new OtpData(otp, expiryTime));
+        otpStore.put(telephone, otp, OTP_EXPIRY_TIME);
 
         // En production, envoyer le SMS via un service SMS (Twilio, AWS SNS, etc.)
         log.info("Code OTP généré pour le téléphone {} : {}", telephone, otp);
@@ -48,27 +52,16 @@ public class OtpService {
      * @return true si le code est valide, false sinon
      */
     public boolean verifyOtp(String telephone, String otp) {
-        OtpData otpData = otpStore.get(telephone);
-
-        if (otpData == null) {
-            log.warn("Aucun code OTP trouvé pour le téléphone {}", telephone);
-            return false;
-        }
-
-        if (System.currentTimeMillis() > otpData.expiryTime) {
-            log.warn("Code OTP expiré pour le téléphone {}", telephone);
-            otpStore.remove(telephone);
-            return false;
-        }
-
-        if (!otpData.otp.equals(otp)) {
-            log.warn("Code OTP invalide pour le téléphone {}", telephone);
-            return false;
+        switch (otpStore.verifyAndConsume(telephone, otp)) {
+            case VALID:
+                return true;
+            case INVALID:
+                log.warn("Code OTP invalide pour le téléphone {}", telephone);
+                return false;
+            default:
+                log.warn("Aucun code OTP trouvé ou code expiré pour le téléphone {}", telephone);
+                return false;
         }
-
-        // Supprimer le code après vérification réussie
-        otpStore.remove(telephone);
-        return true;
     }
 
     /**
@@ -81,18 +74,4 @@ public class OtpService {
         }
         return otp.toString();
     }
-
-    /**
-     * Classe interne pour stocker les données OTP.
-     */
-    private static class OtpData {
-
-        final String otp;
-        final long expiryTime;
-
-        OtpData(String otp, long expiryTime) {
-            this.otp = otp;
-            this.expiryTime = expiryTime;
-        }
-    }
 }
@@ -0,0 +1,149 @@
+package com.groupeisi.m2gl.service;
+
+import com.groupeisi.m2gl.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Hachage et vérification des mots de passe sur un exécuteur dédié.
+ * <p>
+ * BCrypt occupe un cœur pendant toute sa durée : l'exécuteur compte autant de threads que de cœurs
+ * ({@code application.security.password.hashing-threads}) et une file bornée
+ * ({@code application.security.password.hashing-queue-capacity}). Lors d'un pic de connexions, les threads HTTP
+ * attendent leur tour dans cette file au lieu de se disputer les cœurs, et au-delà de sa capacité la demande est
+ * rejetée immédiatement.
+ * <p>
+ * L'attente dans la file est mesurée par {@code security.password.hash.queue.wait}, le calcul par
+ * {@code security.password.hash} ({@code operation=encode|matches}) et les rejets par
+ * {@code security.password.hash.rejected}. L'exécuteur est instrumenté sous le nom {@code password-hash}.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer queueWaitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        ApplicationProperties.Password properties = applicationProperties.getSecurity().getPassword();
+        int threads = properties.getHashingThreads() > 0 ? properties.getHashingThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getHashingQueueCapacity()),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hash");
+        this.queueWaitTimer = Timer.builder("security.password.hash.queue.wait")
+            .description("Temps d'attente d'une demande de hachage dans la file")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.rejectedCounter = Counter.builder("security.password.hash.rejected")
+            .description("Demandes de hachage rejetées, file pleine")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Hache un mot de passe.
+     *
+     * @param rawPassword le mot de passe en clair
+     * @return le hash encodé
+     */
+    public String encode(String rawPassword) {
+        return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Vérifie un mot de passe.
+     *
+     * @param rawPassword le mot de passe en clair
+     * @param encodedPassword le hash enregistré
+     * @return true si le mot de passe correspond
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Indique si un hash doit être recalculé : hash sans préfixe d'algorithme, ou de coût inférieur au coût configuré.
+     * Ne fait aucun calcul BCrypt, et s'exécute donc sur le thread appelant.
+     *
+     * @param encodedPassword le hash enregistré
+     * @return true si le hash doit être recalculé
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Timer timer, Callable<T> task) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                queueWaitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new RuntimeException("Trop de demandes d'authentification en cours, veuillez réessayer");
+        }
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Erreur lors du hachage du mot de passe", e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Hachage du mot de passe interrompu");
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("security.password.hash")
+            .description("Durée du hachage ou de la vérification d'un mot de passe")
+            .tag("operation", operation)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,74 @@
+package com.groupeisi.m2gl.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.groupeisi.m2gl.config.ApplicationProperties;
+import com.groupeisi.m2gl.service.dto.InscriptionEtape2DTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Informations personnelles saisies à l'étape 2 de l'inscription, en attente de l'étape 3.
+ * <p>
+ * Les inscriptions abandonnées expirent après {@code application.inscription.pending-ttl-minutes} et sont retirées
+ * activement par le {@link Scheduler} système. Leur nombre est borné par {@code application.inscription.pending-max-size}.
+ * Le cache est instrumenté sous le nom {@code inscription.pending}, et chaque éviction est comptée par
+ * {@code inscription.pending.evictions} (tag {@code cause} : {@code expired} ou {@code size}).
+ */
+@Service
+public class PendingInscriptionStore {
+
+    private final Cache<String, InscriptionEtape2DTO> cache;
+
+    @Autowired
+    public PendingInscriptionStore(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this(
+            applicationProperties.getInscription().getPendingMaxSize(),
+            Duration.ofMinutes(applicationProperties.getInscription().getPendingTtlMinutes()),
+            Ticker.systemTicker(),
+            meterRegistry
+        );
+    }
+
+    PendingInscriptionStore(long maximumSize, Duration ttl, Ticker ticker, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .ticker(ticker)
+            .scheduler(Scheduler.systemScheduler())
+            .evictionListener((String telephone, InscriptionEtape2DTO dto, RemovalCause cause) ->
+                meterRegistry.counter("inscription.pending.evictions", "cause", cause.name().toLowerCase(Locale.ROOT)).increment()
+            )
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "inscription.pending");
+    }
+
+    public void put(String telephone, InscriptionEtape2DTO dto) {
+        cache.put(telephone, dto);
+    }
+
+    public Optional<InscriptionEtape2DTO> get(String telephone) {
+        return Optional.ofNullable(cache.getIfPresent(telephone));
+    }
+
+    public void remove(String telephone) {
+        cache.invalidate(telephone);
+    }
+
+    /**
+     * Nombre approximatif d'inscriptions en attente.
+     */
+    public long estimatedSize() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,179 @@
+package com.groupeisi.m2gl.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groupeisi.m2gl.config.ApplicationProperties;
+import com.groupeisi.m2gl.service.dto.MouvementDTO;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.Iterator;
+import java.util.TimeZone;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service d'export des relevés de compte, en CSV ou en NDJSON (un objet JSON par ligne).
+ * <p>
+ * Les mouvements de la période sont lus par un curseur JDBC en avant seulement, par paquets de
+ * {@code application.compte.releve-fetch-size} lignes, et écrits au fil de la lecture : la mémoire utilisée ne
+ * dépend pas de la taille du relevé. La période porte sur la date du transfert, recopiée dans
+ * {@code details_transaction} et couverte par les index de l'historique.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ReleveService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReleveService.class);
+
+    /**
+     * Format d'un relevé.
+     */
+    public enum Format {
+        CSV,
+        NDJSON,
+    }
+
+    static final String CSV_HEADER = "transfertId,date,sens,montant,contrepartieId\n";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String RELEVE_SQL =
+        "select transfert_id, date_transfert, 'DEBIT' as sens, montant, compte_recepteur_id as contrepartie_id " +
+        "from details_transaction where compte_emetteur_id = ? and date_transfert >= ? and date_transfert < ? " +
+        "union all " +
+        "select transfert_id, date_transfert, 'CREDIT' as sens, montant, compte_emetteur_id as contrepartie_id " +
+        "from details_transaction where compte_recepteur_id = ? and date_transfert >= ? and date_transfert < ? " +
+        "order by date_transfert, transfert_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public ReleveService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.fetchSize = applicationProperties.getCompte().getReleveFetchSize();
+    }
+
+    /**
+     * Écrit le relevé d'un compte sur une période.
+     *
+     * @param compteId l'identifiant du compte
+     * @param debut le début de la période, inclus
+     * @param fin la fin de la période, exclue
+     * @param format le format du relevé
+     * @param out le flux de sortie, qui n'est pas fermé
+     * @return le nombre de mouvements écrits
+     */
+    public long export(Long compteId, LocalDateTime debut, LocalDateTime fin, Format format, OutputStream out) {
+        long start = System.nanoTime();
+        // Même conversion que Hibernate pour un LocalDateTime (hibernate.jdbc.time_zone: UTC)
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        Timestamp debutTimestamp = Timestamp.valueOf(debut);
+        Timestamp finTimestamp = Timestamp.valueOf(fin);
+        long count;
+        try (
+            Stream<MouvementDTO> mouvements = jdbcTemplate.queryForStream(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(RELEVE_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(fetchSize);
+                    for (int offset : new int[] { 0, 3 }) {
+                        ps.setLong(offset + 1, compteId);
+                        ps.setTimestamp(offset + 2, debutTimestamp, utc);
+                        ps.setTimestamp(offset + 3, finTimestamp, utc);
+                    }
+                    return ps;
+                },
+                (rs, rowNum) ->
+                    new MouvementDTO(
+                        rs.getLong(1),
+                        rs.getTimestamp(2, utc).toLocalDateTime(),
+                        MouvementDTO.Sens.valueOf(rs.getString(3).trim()),
+                        rs.getBigDecimal(4),
+                        rs.getLong(5)
+                    )
+            )
+        ) {
+            count = write(mouvements, format, out);
+        }
+        log.info(
+            "Relevé du compte {} exporté en {} : {} mouvements en {} ms",
+            compteId,
+            format,
+            count,
+            (System.nanoTime() - start) / 1_000_000
+        );
+        return count;
+    }
+
+    /**
+     * Écrit les mouvements au fil de leur lecture, au travers d'un tampon de taille fixe.
+     *
+     * @return le nombre de mouvements écrits
+     */
+    long write(Stream<MouvementDTO> mouvements, Format format, OutputStream out) {
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            long count = format == Format.CSV ? writeCsv(mouvements.iterator(), writer) : writeNdjson(mouvements.iterator(), writer);
+            writer.flush();
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long writeCsv(Iterator<MouvementDTO> mouvements, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        long count = 0;
+        while (mouvements.hasNext()) {
+            MouvementDTO mouvement = mouvements.next();
+            writer.write(String.valueOf(mouvement.getTransfertId()));
+            writer.write(',');
+            writer.write(mouvement.getDate().toString());
+            writer.write(',');
+            writer.write(mouvement.getSens().name());
+            writer.write(',');
+            writer.write(mouvement.getMontant().toPlainString());
+            writer.write(',');
+            writer.write(String.valueOf(mouvement.getContrepartieId()));
+            writer.write('\n');
+            count++;
+        }
+        return count;
+    }
+
+    private long writeNdjson(Iterator<MouvementDTO> mouvements, Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        long count = 0;
+        while (mouvements.hasNext()) {
+            MouvementDTO mouvement = mouvements.next();
+            generator.writeStartObject();
+            generator.writeNumberField("transfertId", mouvement.getTransfertId());
+            generator.writeStringField("date", mouvement.getDate().toString());
+            generator.writeStringField("sens", mouvement.getSens().name());
+            generator.writeNumberField("montant", mouvement.getMontant());
+            generator.writeNumberField("contrepartieId", mouvement.getContrepartieId());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            count++;
+        }
+        generator.flush();
+        return count;
+    }
+}
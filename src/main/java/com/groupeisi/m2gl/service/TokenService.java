@@ -1,38 +1,70 @@
 package com.groupeisi.m2gl.service;
 
+import com.groupeisi.m2gl.domain.Authority;
 import com.groupeisi.m2gl.domain.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
 import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
  * Service pour la génération et la validation de tokens JWT.
+ * <p>
+ * La clé de signature et le parseur sont construits une seule fois : ils sont immuables et partagés
+ * entre les threads.
  */
 @Service
 public class TokenService {
 
     private static final long JWT_EXPIRATION_MS = 24 * 60 * 60 * 1000; // 24 heures
 
-    @Value("${jwt.secret:MySecretKeyForJWTTokenGenerationThatShouldBeAtLeast256BitsLong}")
-    private String jwtSecret;
+    private final SecretKey key;
+    private final JwtParser parser;
+
+    public TokenService(@Value("${jwt.secret:MySecretKeyForJWTTokenGenerationThatShouldBeAtLeast256BitsLong}") String jwtSecret) {
+        this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
+    }
 
     /**
      * Génère un token JWT pour un utilisateur.
      */
     public String generateToken(User user) {
+        return generateToken(
+            user.getId(),
+            user.getLogin(),
+            user.getTelephone(),
+            user.getAuthorities().stream().map(Authority::getName).toList()
+        );
+    }
+
+    /**
+     * Génère un token JWT à partir des informations de l'utilisateur, sans passer par l'entité.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @param login le login de l'utilisateur
+     * @param telephone le numéro de téléphone de l'utilisateur
+     * @param authorities le nom des rôles de l'utilisateur
+     */
+    public String generateToken(String userId, String login, String telephone, Collection<String> authorities) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + JWT_EXPIRATION_MS);
 
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-
         return Jwts.builder()
-            .subject(user.getId())
-            .claim("login", user.getLogin())
-            .claim("telephone", user.getTelephone())
-            .claim("authorities", user.getAuthorities())
+            .subject(userId)
+            .claim("login", login)
+            .claim("telephone", telephone)
+            // Même forme que la sérialisation de l'entité Authority : [{"name": "ROLE_USER"}]
+            .claim("authorities", authorities.stream().map(name -> Map.of("name", name)).toList())
             .issuedAt(now)
             .expiration(expiryDate)
             .signWith(key)
@@ -40,27 +72,46 @@ public class TokenService {
     }
 
     /**
-     * Valide un token JWT.
+     * Vérifie la signature et l'expiration du token, et renvoie ses claims.
+     * <p>
+     * À utiliser lorsqu'on a besoin à la fois de valider le token et d'en lire le contenu : le token n'est parsé
+     * qu'une seule fois.
+     *
+     * @param token le token JWT
+     * @return les claims du token, ou vide si le token est invalide ou expiré
      */
-    public boolean validateToken(String token) {
+    public Optional<Claims> parseClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            return Optional.of(parser.parseSignedClaims(token).getPayload());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
         }
     }
 
+    /**
+     * Valide un token JWT et extrait l'ID de l'utilisateur en un seul parsing.
+     *
+     * @param token le token JWT
+     * @return l'ID de l'utilisateur, ou vide si le token est invalide ou expiré
+     */
+    public Optional<String> validateAndGetUserId(String token) {
+        return parseClaims(token).map(Claims::getSubject);
+    }
+
+    /**
+     * Valide un token JWT.
+     */
+    public boolean validateToken(String token) {
+        return parseClaims(token).isPresent();
+    }
+
     /**
      * Extrait l'ID de l'utilisateur depuis le token.
      */
     public String getUserIdFromToken(String token) {
-        try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-            return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload().getSubject();
-        } catch (Exception e) {
-            return null;
-        }
+        return validateAndGetUserId(token).orElse(null);
     }
 }
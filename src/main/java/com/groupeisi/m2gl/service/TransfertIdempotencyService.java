@@ -0,0 +1,158 @@
+package com.groupeisi.m2gl.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.groupeisi.m2gl.config.ApplicationProperties;
+import com.groupeisi.m2gl.domain.IdempotencyKey;
+import com.groupeisi.m2gl.domain.IdempotencyKeyId;
+import com.groupeisi.m2gl.repository.IdempotencyKeyRepository;
+import com.groupeisi.m2gl.service.dto.TransfertDTO;
+import com.groupeisi.m2gl.service.dto.TransfertResponseDTO;
+import com.groupeisi.m2gl.service.replica.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Exécution idempotente des transferts soumis avec un en-tête {@code Idempotency-Key}.
+ * <p>
+ * La clé est enregistrée dans la table {@code idempotency_key} dans la même transaction que le transfert, avec sa
+ * réponse et l'utilisateur qui l'a choisie : les clés de deux utilisateurs sont indépendantes, et une clé ne rejoue que
+ * les transferts de son utilisateur. Une requête rejouée avec la même clé reçoit la réponse d'origine sans que les
+ * comptes soient relus ni modifiés : d'abord depuis un cache Caffeine borné, puis depuis la table. Deux requêtes
+ * concurrentes avec la même clé sont départagées par la clé primaire de la table : la seconde est annulée et reçoit la
+ * réponse de la première.
+ * <p>
+ * Les recherches sont comptées par {@code transfert.idempotency.lookups} (tag {@code result} :
+ * {@code cache_hit}, {@code database_hit} ou {@code miss}), et le cache est instrumenté sous le nom
+ * {@code transfert.idempotency}.
+ */
+@Service
+public class TransfertIdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransfertIdempotencyService.class);
+
+    private final TransfertPipeline transfertPipeline;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Duration ttl;
+
+    private final Cache<IdempotencyKeyId, TransfertResponseDTO> cache;
+
+    private final Counter cacheHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+
+    public TransfertIdempotencyService(
+        TransfertPipeline transfertPipeline,
+        IdempotencyKeyRepository idempotencyKeyRepository,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.transfertPipeline = transfertPipeline;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        ApplicationProperties.Idempotency properties = applicationProperties.getTransfert().getIdempotency();
+        this.ttl = Duration.ofHours(properties.getTtlHours());
+        this.cache = Caffeine.newBuilder().maximumSize(properties.getCacheMaxSize()).expireAfterWrite(ttl).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "transfert.idempotency");
+        this.cacheHits = lookupCounter(meterRegistry, "cache_hit");
+        this.databaseHits = lookupCounter(meterRegistry, "database_hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+    }
+
+    /**
+     * Exécute un transfert, ou renvoie le résultat d'origine si la clé d'idempotence a déjà été utilisée.
+     *
+     * @param dto la demande de transfert
+     * @param userId l'identifiant de l'utilisateur qui soumet la demande
+     * @param cle la clé d'idempotence de la demande, ou {@code null}
+     * @return le transfert exécuté
+     */
+    public TransfertResponseDTO execute(TransfertDTO dto, String userId, String cle) {
+        if (cle == null) {
+            return transfertPipeline.execute(dto);
+        }
+        IdempotencyKeyId idempotencyKey = new IdempotencyKeyId(userId, cle);
+
+        TransfertResponseDTO response = cache.getIfPresent(idempotencyKey);
+        if (response != null) {
+            cacheHits.increment();
+            return replay(response, dto);
+        }
+        Optional<TransfertResponseDTO> stored = findStored(idempotencyKey);
+        if (stored.isPresent()) {
+            databaseHits.increment();
+            return replay(stored.orElseThrow(), dto);
+        }
+        misses.increment();
+
+        try {
+            response = transfertPipeline.execute(dto, idempotencyKey);
+        } catch (DataIntegrityViolationException e) {
+            // Une requête concurrente avec la même clé a été validée en premier
+            log.debug("Clé d'idempotence {} enregistrée par une requête concurrente", idempotencyKey);
+            return replay(findStored(idempotencyKey).orElseThrow(() -> e), dto);
+        }
+        cache.put(idempotencyKey, response);
+        return response;
+    }
+
+    /**
+     * Supprime les clés d'idempotence plus anciennes que {@code application.transfert.idempotency.ttl-hours}.
+     */
+    @Scheduled(cron = "0 0 * * * ?")
+    @Transactional
+    public void removeExpiredKeys() {
+        int count = idempotencyKeyRepository.deleteByCreatedDateBefore(Instant.now().minus(ttl));
+        if (count > 0) {
+            log.debug("{} clés d'idempotence expirées supprimées", count);
+        }
+    }
+
+    private Optional<TransfertResponseDTO> findStored(IdempotencyKeyId idempotencyKey) {
+        // Depuis le primaire : une réplique en retard ferait rejouer une clé déjà validée comme une nouvelle demande
+        return ReplicaRoutingDataSource.readFromPrimary(() -> idempotencyKeyRepository.findById(idempotencyKey))
+            .map(this::toResponse)
+            .map(response -> {
+                cache.put(idempotencyKey, response);
+                return response;
+            });
+    }
+
+    private TransfertResponseDTO replay(TransfertResponseDTO response, TransfertDTO dto) {
+        if (
+            !response.getCompteEmetteurId().equals(dto.getCompteEmetteurId()) ||
+            !response.getCompteRecepteurId().equals(dto.getCompteRecepteurId()) ||
+            response.getMontant().compareTo(dto.getMontant()) != 0
+        ) {
+            throw new IdempotencyKeyConflictException("Clé d'idempotence déjà utilisée pour un autre transfert");
+        }
+        log.debug("Transfert {} rejoué", response.getTransfertId());
+        return response;
+    }
+
+    private TransfertResponseDTO toResponse(IdempotencyKey idempotencyKey) {
+        return new TransfertResponseDTO(
+            idempotencyKey.getTransfertId(),
+            idempotencyKey.getCompteEmetteurId(),
+            idempotencyKey.getCompteRecepteurId(),
+            idempotencyKey.getMontant(),
+            idempotencyKey.getDateTransfert()
+        );
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("transfert.idempotency.lookups")
+            .description("Recherches de clés d'idempotence de transfert")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
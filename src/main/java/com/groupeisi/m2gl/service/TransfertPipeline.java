@@ -0,0 +1,353 @@
+package com.groupeisi.m2gl.service;
+
+import com.groupeisi.m2gl.config.ApplicationProperties;
+import com.groupeisi.m2gl.domain.CreditEnAttente;
+import com.groupeisi.m2gl.domain.IdempotencyKeyId;
+import com.groupeisi.m2gl.service.dto.TransfertDTO;
+import com.groupeisi.m2gl.service.dto.TransfertResponseDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Point d'entrée de l'exécution des transferts.
+ * <p>
+ * Par défaut, chaque transfert est exécuté directement par {@link TransfertService} sur le thread appelant.
+ * Lorsque {@code application.transfert.pipeline.enabled} est activé, chaque compte appartient à l'une des N
+ * partitions, selon son identifiant, et n'est modifié que par l'unique thread écrivain de sa partition. Un transfert
+ * s'exécute en deux étapes : le débit, dans la partition du compte émetteur, puis le crédit, dans celle du compte
+ * récepteur. Chaque partition vide sa file par micro-lots et valide chaque lot dans une seule transaction JDBC :
+ * les débits par {@link TransfertService#debiterLot(List, List)}, qui enregistre le crédit en attente du transfert,
+ * et les crédits par {@link TransfertService#crediterLot(java.util.Collection)}, qui met à jour chaque récepteur une
+ * seule fois par lot. Les débits d'un même compte sont donc appliqués dans leur ordre d'arrivée, et ni un émetteur
+ * ni un récepteur très sollicité (un marchand, par exemple) ne provoque de file d'attente de verrous sur la table
+ * {@code compte}.
+ * <p>
+ * Le résultat d'un transfert est rendu une fois son crédit validé. Le débit validé, le transfert est acquis : si son
+ * crédit échoue, ou si l'application s'arrête avant, le crédit en attente est appliqué par la reprise périodique
+ * ({@code application.transfert.pipeline.credit-recovery-interval-ms}).
+ * <p>
+ * La profondeur de chaque file et la taille du dernier lot sont exposées par les jauges
+ * {@code transfert.pipeline.queue.depth} et {@code transfert.pipeline.batch.size}.
+ */
+@Service
+public class TransfertPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(TransfertPipeline.class);
+
+    private final TransfertService transfertService;
+    private final ApplicationProperties.Pipeline properties;
+    private final MeterRegistry meterRegistry;
+
+    private final List<Shard> shards = new ArrayList<>();
+
+    public TransfertPipeline(TransfertService transfertService, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.transfertService = transfertService;
+        this.properties = applicationProperties.getTransfert().getPipeline();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (int i = 0; i < properties.getShards(); i++) {
+            Shard shard = new Shard(i);
+            shards.add(shard);
+            shard.thread.start();
+        }
+        log.info(
+            "Pipeline de transferts démarré : {} partitions, lots de {} transferts au maximum",
+            properties.getShards(),
+            properties.getMaxBatchSize()
+        );
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (Shard shard : shards) {
+            shard.thread.interrupt();
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join(properties.getTimeoutMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return !shards.isEmpty();
+    }
+
+    /**
+     * Exécute un transfert et attend son résultat.
+     *
+     * @param dto la demande de transfert
+     * @return le transfert exécuté
+     */
+    public TransfertResponseDTO execute(TransfertDTO dto) {
+        return execute(dto, null);
+    }
+
+    /**
+     * Exécute un transfert, en enregistrant sa clé d'idempotence dans la même transaction, et attend son résultat.
+     *
+     * @param dto la demande de transfert
+     * @param idempotencyKey la clé d'idempotence de la demande et son utilisateur, ou {@code null}
+     * @return le transfert exécuté
+     */
+    public TransfertResponseDTO execute(TransfertDTO dto, IdempotencyKeyId idempotencyKey) {
+        if (!isEnabled()) {
+            return transfertService.executeTransfert(dto, idempotencyKey);
+        }
+        try {
+            return submit(dto, idempotencyKey).get(properties.getTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Erreur lors de l'exécution du transfert", e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Délai d'exécution du transfert dépassé");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Exécution du transfert interrompue");
+        }
+    }
+
+    /**
+     * Applique les crédits en attente depuis plus de {@code application.transfert.pipeline.credit-recovery-interval-ms},
+     * dans la partition de leur compte récepteur, ou directement si le mode partitionné n'est pas activé. Un crédit
+     * appliqué entre-temps par sa partition est ignoré.
+     */
+    @Scheduled(fixedDelayString = "${application.transfert.pipeline.credit-recovery-interval-ms:60000}")
+    public void reprendreCreditsEnAttente() {
+        List<CreditEnAttente> credits = transfertService.findCreditsEnAttente(
+            LocalDateTime.now().minus(Duration.ofMillis(properties.getCreditRecoveryIntervalMs()))
+        );
+        if (credits.isEmpty()) {
+            return;
+        }
+        log.warn("Reprise de {} crédits de transferts en attente", credits.size());
+        if (!isEnabled()) {
+            List<Long> transfertIds = credits.stream().map(CreditEnAttente::getTransfertId).toList();
+            for (int i = 0; i < transfertIds.size(); i += properties.getMaxBatchSize()) {
+                transfertService.crediterLot(transfertIds.subList(i, Math.min(i + properties.getMaxBatchSize(), transfertIds.size())));
+            }
+            return;
+        }
+        for (CreditEnAttente credit : credits) {
+            shardOf(credit.getCompteRecepteurId()).queue.add(new PendingCredit(credit.getTransfertId(), null, null));
+        }
+    }
+
+    /**
+     * Place un transfert dans la file de la partition de son compte émetteur.
+     *
+     * @param dto la demande de transfert
+     * @return le résultat, complété par le thread écrivain de la partition
+     */
+    public CompletableFuture<TransfertResponseDTO> submit(TransfertDTO dto) {
+        return submit(dto, null);
+    }
+
+    /**
+     * Place un transfert et sa clé d'idempotence dans la file de la partition de son compte émetteur.
+     *
+     * @param dto la demande de transfert
+     * @param idempotencyKey la clé d'idempotence de la demande et son utilisateur, ou {@code null}
+     * @return le résultat, complété par le thread écrivain de la partition
+     */
+    public CompletableFuture<TransfertResponseDTO> submit(TransfertDTO dto, IdempotencyKeyId idempotencyKey) {
+        PendingTransfert pending = new PendingTransfert(dto, idempotencyKey);
+        Shard shard = shardOf(dto.getCompteEmetteurId());
+        // Seuls les transferts sont bornés : un crédit, dont le débit est validé, est toujours accepté
+        if (shard.transferts.incrementAndGet() > properties.getQueueCapacity()) {
+            shard.transferts.decrementAndGet();
+            pending.future.completeExceptionally(new TransfertQueueFullException("Trop de transferts en attente, veuillez réessayer"));
+        } else {
+            shard.queue.add(pending);
+        }
+        return pending.future;
+    }
+
+    private Shard shardOf(Long compteId) {
+        return shards.get(Math.floorMod(Long.hashCode(compteId), shards.size()));
+    }
+
+    private final class Shard implements Runnable {
+
+        private final int index;
+        private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+        private final AtomicInteger transferts = new AtomicInteger();
+        private final AtomicInteger lastBatchSize = new AtomicInteger();
+        private final Thread thread;
+
+        Shard(int index) {
+            this.index = index;
+            this.thread = new Thread(this, "transfert-shard-" + index);
+            this.thread.setDaemon(true);
+            Gauge.builder("transfert.pipeline.queue.depth", queue, BlockingQueue::size)
+                .description("Nombre de transferts et de crédits en attente dans la partition")
+                .tag("shard", String.valueOf(index))
+                .register(meterRegistry);
+            Gauge.builder("transfert.pipeline.batch.size", lastBatchSize, AtomicInteger::get)
+                .description("Taille du dernier lot validé par la partition")
+                .tag("shard", String.valueOf(index))
+                .register(meterRegistry);
+        }
+
+        @Override
+        public void run() {
+            List<Object> batch = new ArrayList<>(properties.getMaxBatchSize());
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                queue.drainTo(batch, properties.getMaxBatchSize() - 1);
+                lastBatchSize.set(batch.size());
+                process(batch);
+                batch.clear();
+            }
+            List<Object> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            for (Object operation : remaining) {
+                if (operation instanceof PendingTransfert pending) {
+                    pending.future.completeExceptionally(new RuntimeException("Pipeline de transferts arrêté"));
+                } else {
+                    // Le débit est validé : le crédit reste en attente et sera repris
+                    ((PendingCredit) operation).complete();
+                }
+            }
+        }
+
+        private void process(List<Object> batch) {
+            List<PendingTransfert> debits = new ArrayList<>(batch.size());
+            List<PendingCredit> credits = new ArrayList<>(batch.size());
+            for (Object operation : batch) {
+                if (operation instanceof PendingTransfert pending) {
+                    debits.add(pending);
+                } else {
+                    credits.add((PendingCredit) operation);
+                }
+            }
+            // Les crédits d'abord : l'argent reçu peut couvrir les débits du même lot
+            if (!credits.isEmpty()) {
+                crediter(credits);
+            }
+            if (!debits.isEmpty()) {
+                transferts.addAndGet(-debits.size());
+                debiter(debits);
+            }
+        }
+
+        private void crediter(List<PendingCredit> credits) {
+            try {
+                transfertService.crediterLot(credits.stream().map(credit -> credit.transfertId).toList());
+            } catch (RuntimeException e) {
+                log.error("Échec du lot de {} crédits sur la partition {}, repris plus tard : {}", credits.size(), index, e.getMessage());
+            }
+            credits.forEach(PendingCredit::complete);
+        }
+
+        private void debiter(List<PendingTransfert> batch) {
+            List<TransfertDTO> dtos = new ArrayList<>(batch.size());
+            List<IdempotencyKeyId> idempotencyKeys = new ArrayList<>(batch.size());
+            for (PendingTransfert pending : batch) {
+                dtos.add(pending.dto);
+                idempotencyKeys.add(pending.idempotencyKey);
+            }
+            List<TransfertService.BatchResult> results;
+            try {
+                results = transfertService.debiterLot(dtos, idempotencyKeys);
+            } catch (RuntimeException e) {
+                // Le lot a été annulé : rejouer chaque transfert individuellement, dans le même ordre
+                log.warn(
+                    "Échec du lot de {} transferts sur la partition {}, exécution unitaire : {}",
+                    batch.size(),
+                    index,
+                    e.getMessage()
+                );
+                for (PendingTransfert pending : batch) {
+                    try {
+                        List<IdempotencyKeyId> idempotencyKey = Collections.singletonList(pending.idempotencyKey);
+                        accept(pending, transfertService.debiterLot(List.of(pending.dto), idempotencyKey).get(0));
+                    } catch (RuntimeException ex) {
+                        pending.future.completeExceptionally(ex);
+                    }
+                }
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                accept(batch.get(i), results.get(i));
+            }
+        }
+
+        private void accept(PendingTransfert pending, TransfertService.BatchResult result) {
+            if (!result.isSuccess()) {
+                pending.future.completeExceptionally(new TransfertRefusedException(result.getErreur()));
+                return;
+            }
+            TransfertResponseDTO response = result.getResponse();
+            shardOf(response.getCompteRecepteurId()).queue.add(new PendingCredit(response.getTransfertId(), response, pending.future));
+        }
+    }
+
+    private static final class PendingTransfert {
+
+        private final TransfertDTO dto;
+        private final IdempotencyKeyId idempotencyKey;
+        private final CompletableFuture<TransfertResponseDTO> future = new CompletableFuture<>();
+
+        PendingTransfert(TransfertDTO dto, IdempotencyKeyId idempotencyKey) {
+            this.dto = dto;
+            this.idempotencyKey = idempotencyKey;
+        }
+    }
+
+    /**
+     * Crédit d'un transfert débité, à appliquer par la partition du compte récepteur. La réponse et le résultat à
+     * compléter sont absents pour un crédit repris.
+     */
+    private static final class PendingCredit {
+
+        private final Long transfertId;
+        private final TransfertResponseDTO response;
+        private final CompletableFuture<TransfertResponseDTO> future;
+
+        PendingCredit(Long transfertId, TransfertResponseDTO response, CompletableFuture<TransfertResponseDTO> future) {
+            this.transfertId = transfertId;
+            this.response = response;
+            this.future = future;
+        }
+
+        void complete() {
+            if (future != null) {
+                future.complete(response);
+            }
+        }
+    }
+}
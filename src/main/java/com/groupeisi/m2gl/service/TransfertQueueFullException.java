@@ -0,0 +1,14 @@
+package com.groupeisi.m2gl.service;
+
+/**
+ * Levée quand la file d'un shard du pipeline de transferts est pleine : la demande n'a pas été exécutée et peut être
+ * réessayée un peu plus tard.
+ */
+public class TransfertQueueFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TransfertQueueFullException(String message) {
+        super(message);
+    }
+}
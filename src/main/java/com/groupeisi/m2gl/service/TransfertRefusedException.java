@@ -0,0 +1,14 @@
+package com.groupeisi.m2gl.service;
+
+/**
+ * Levée quand un transfert est refusé à cause de la demande elle-même : solde insuffisant, compte inexistant, montant
+ * invalide. Rejouer la même demande donnera le même refus.
+ */
+public class TransfertRefusedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TransfertRefusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,655 @@
+package com.groupeisi.m2gl.service;
+
+import com.groupeisi.m2gl.config.ApplicationProperties;
+import com.groupeisi.m2gl.domain.CreditEnAttente;
+import com.groupeisi.m2gl.domain.DetailsTransaction;
+import com.groupeisi.m2gl.domain.IdempotencyKey;
+import com.groupeisi.m2gl.domain.IdempotencyKeyId;
+import com.groupeisi.m2gl.domain.LedgerEntry;
+import com.groupeisi.m2gl.domain.OutboxEvent;
+import com.groupeisi.m2gl.domain.Transfert;
+import com.groupeisi.m2gl.repository.CompteRepository;
+import com.groupeisi.m2gl.repository.CreditEnAttenteRepository;
+import com.groupeisi.m2gl.repository.DetailsTransactionRepository;
+import com.groupeisi.m2gl.repository.IdempotencyKeyRepository;
+import com.groupeisi.m2gl.repository.TransfertRepository;
+import com.groupeisi.m2gl.service.dto.TransfertDTO;
+import com.groupeisi.m2gl.service.dto.TransfertImportResponseDTO;
+import com.groupeisi.m2gl.service.dto.TransfertResponseDTO;
+import com.groupeisi.m2gl.service.ledger.LedgerService;
+import com.groupeisi.m2gl.service.outbox.OutboxService;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service pour l'exécution des transferts d'argent entre comptes.
+ * <p>
+ * Le débit et le crédit sont appliqués dans la même transaction par des UPDATE conditionnels :
+ * aucune entité {@code Compte} n'est chargée, et chaque ligne est verrouillée par son UPDATE.
+ * Les UPDATE sont toujours émis dans l'ordre croissant des identifiants de compte, de sorte que
+ * deux transferts concurrents de sens opposés verrouillent les lignes dans le même ordre et ne
+ * peuvent pas s'interbloquer.
+ * <p>
+ * Les comptes modifiés sont retirés du cache de {@link CompteService} après la validation de la transaction. Chaque
+ * transfert exécuté est inscrit au grand livre ({@link LedgerService}), avec le solde des deux comptes après le
+ * transfert, et enregistré dans l'outbox ({@link OutboxService}), dans la même transaction.
+ * <p>
+ * En mode partitionné ({@link TransfertPipeline}), le débit et le crédit sont validés dans deux transactions, par la
+ * partition de chaque compte : voir {@link #debiterLot(List, List)} et {@link #crediterLot(Collection)}.
+ */
+@Service
+@Transactional
+public class TransfertService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransfertService.class);
+
+    private final CompteRepository compteRepository;
+    private final TransfertRepository transfertRepository;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final CompteService compteService;
+    private final EntityManager entityManager;
+    private final ApplicationProperties applicationProperties;
+    private final OutboxService outboxService;
+    private final LedgerService ledgerService;
+    private final DetailsTransactionRepository detailsTransactionRepository;
+    private final CreditEnAttenteRepository creditEnAttenteRepository;
+
+    public TransfertService(
+        CompteRepository compteRepository,
+        TransfertRepository transfertRepository,
+        IdempotencyKeyRepository idempotencyKeyRepository,
+        CompteService compteService,
+        EntityManager entityManager,
+        ApplicationProperties applicationProperties,
+        OutboxService outboxService,
+        LedgerService ledgerService,
+        DetailsTransactionRepository detailsTransactionRepository,
+        CreditEnAttenteRepository creditEnAttenteRepository
+    ) {
+        this.compteRepository = compteRepository;
+        this.transfertRepository = transfertRepository;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.detailsTransactionRepository = detailsTransactionRepository;
+        this.creditEnAttenteRepository = creditEnAttenteRepository;
+        this.compteService = compteService;
+        this.entityManager = entityManager;
+        this.applicationProperties = applicationProperties;
+        this.outboxService = outboxService;
+        this.ledgerService = ledgerService;
+    }
+
+    /**
+     * Exécute un transfert : débite le compte émetteur et crédite le compte récepteur.
+     *
+     * @param dto la demande de transfert
+     * @return le transfert exécuté
+     */
+    public TransfertResponseDTO executeTransfert(TransfertDTO dto) {
+        return executeTransfert(dto, null);
+    }
+
+    /**
+     * Exécute un transfert et, si une clé d'idempotence est fournie, l'enregistre dans la même transaction.
+     * <p>
+     * Si la clé a déjà été enregistrée par une autre requête, l'insertion échoue sur la clé primaire
+     * ({@link org.springframework.dao.DataIntegrityViolationException}) et le transfert est annulé.
+     *
+     * @param dto la demande de transfert
+     * @param idempotencyKey la clé d'idempotence de la demande et son utilisateur, ou {@code null}
+     * @return le transfert exécuté
+     */
+    public TransfertResponseDTO executeTransfert(TransfertDTO dto, IdempotencyKeyId idempotencyKey) {
+        validate(dto);
+        Long emetteurId = dto.getCompteEmetteurId();
+        Long recepteurId = dto.getCompteRecepteurId();
+        BigDecimal montant = dto.getMontant();
+
+        // Verrouiller les comptes dans l'ordre croissant des identifiants
+        Instant now = Instant.now();
+        if (emetteurId < recepteurId) {
+            debiter(emetteurId, montant, now);
+            crediter(recepteurId, montant, now);
+        } else {
+            crediter(recepteurId, montant, now);
+            debiter(emetteurId, montant, now);
+        }
+        compteService.evictAfterCommit(List.of(emetteurId, recepteurId));
+
+        // Le grand livre et l'outbox sont écrits en JDBC : le transfert doit être inséré avant eux (clé étrangère)
+        Transfert transfert = transfertRepository.saveAndFlush(newTransfert(emetteurId, recepteurId, montant));
+        // Les deux lignes sont verrouillées par les UPDATE : les soldes lus sont ceux du transfert
+        Map<Long, BigDecimal> soldes = new HashMap<>();
+        compteRepository
+            .findSoldesByIdIn(List.of(emetteurId, recepteurId))
+            .forEach(compte -> soldes.put(compte.getId(), compte.getSolde()));
+        ledgerService.transfertExecute(
+            transfert.getId(),
+            emetteurId,
+            soldes.get(emetteurId),
+            recepteurId,
+            soldes.get(recepteurId),
+            montant,
+            transfert.getDate()
+        );
+        outboxService.transfertExecute(transfert.getId(), emetteurId, recepteurId, montant, transfert.getDate());
+
+        TransfertResponseDTO response = toResponse(transfert, dto);
+        if (idempotencyKey != null) {
+            idempotencyKeyRepository.saveAndFlush(newIdempotencyKey(idempotencyKey, response));
+        }
+
+        log.debug("Transfert {} exécuté : {} du compte {} vers le compte {}", transfert.getId(), montant, emetteurId, recepteurId);
+
+        return response;
+    }
+
+    /**
+     * Exécute un lot de transferts dans une seule transaction, dans l'ordre de la liste.
+     * <p>
+     * Tous les comptes du lot sont verrouillés en une requête, dans l'ordre croissant des identifiants,
+     * avant le premier débit : les UPDATE suivants n'acquièrent plus de verrou, et deux lots concurrents
+     * ne peuvent pas s'interbloquer. Un transfert refusé (solde insuffisant, compte inexistant) n'annule
+     * pas les autres transferts du lot.
+     *
+     * @param dtos les demandes de transfert, dans leur ordre d'arrivée
+     * @return un résultat par demande, dans le même ordre
+     */
+    public List<BatchResult> executeBatch(List<TransfertDTO> dtos) {
+        return executeBatch(dtos, Collections.nCopies(dtos.size(), null));
+    }
+
+    /**
+     * Exécute un lot de transferts, en enregistrant la clé d'idempotence de chaque transfert accepté.
+     * <p>
+     * Une clé déjà enregistrée fait échouer tout le lot, qui doit alors être rejoué transfert par transfert.
+     *
+     * @param dtos les demandes de transfert, dans leur ordre d'arrivée
+     * @param idempotencyKeys la clé d'idempotence de chaque demande ({@code null} si absente), dans le même ordre
+     * @return un résultat par demande, dans le même ordre
+     */
+    public List<BatchResult> executeBatch(List<TransfertDTO> dtos, List<IdempotencyKeyId> idempotencyKeys) {
+        Set<Long> compteIds = new TreeSet<>();
+        for (TransfertDTO dto : dtos) {
+            compteIds.add(dto.getCompteEmetteurId());
+            compteIds.add(dto.getCompteRecepteurId());
+        }
+        Map<Long, BigDecimal> soldes = new HashMap<>();
+        compteRepository.lockAllByIdOrderById(compteIds).forEach(compte -> soldes.put(compte.getId(), compte.getSolde()));
+
+        Instant now = Instant.now();
+        Transfert[] executes = new Transfert[dtos.size()];
+        BigDecimal[] soldesEmetteur = new BigDecimal[dtos.size()];
+        BigDecimal[] soldesRecepteur = new BigDecimal[dtos.size()];
+        String[] erreurs = new String[dtos.size()];
+        List<Transfert> transferts = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            TransfertDTO dto = dtos.get(i);
+            try {
+                validate(dto);
+                if (!soldes.containsKey(dto.getCompteEmetteurId())) {
+                    throw new TransfertRefusedException("Compte émetteur non trouvé");
+                }
+                if (!soldes.containsKey(dto.getCompteRecepteurId())) {
+                    throw new TransfertRefusedException("Compte récepteur non trouvé");
+                }
+                // Les lignes sont déjà verrouillées : le débit conditionnel passe en premier pour ne rien modifier en cas de refus
+                if (compteRepository.debit(dto.getCompteEmetteurId(), dto.getMontant(), now) == 0) {
+                    throw new TransfertRefusedException("Solde insuffisant");
+                }
+                compteRepository.credit(dto.getCompteRecepteurId(), dto.getMontant(), now);
+                soldesEmetteur[i] = soldes.merge(dto.getCompteEmetteurId(), dto.getMontant().negate(), BigDecimal::add);
+                soldesRecepteur[i] = soldes.merge(dto.getCompteRecepteurId(), dto.getMontant(), BigDecimal::add);
+                executes[i] = newTransfert(dto.getCompteEmetteurId(), dto.getCompteRecepteurId(), dto.getMontant());
+                transferts.add(executes[i]);
+            } catch (TransfertRefusedException e) {
+                erreurs[i] = e.getMessage();
+            }
+        }
+        // Le grand livre et l'outbox sont écrits en JDBC : les transferts doivent être insérés avant eux (clé étrangère)
+        transfertRepository.saveAllAndFlush(transferts);
+        compteService.evictAfterCommit(compteIds);
+
+        List<BatchResult> results = new ArrayList<>(dtos.size());
+        List<IdempotencyKey> keys = new ArrayList<>();
+        List<LedgerEntry> entries = new ArrayList<>(2 * transferts.size());
+        List<OutboxEvent> events = new ArrayList<>(2 * transferts.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            if (erreurs[i] != null) {
+                results.add(new BatchResult(null, erreurs[i]));
+                continue;
+            }
+            TransfertResponseDTO response = toResponse(executes[i], dtos.get(i));
+            ledgerService.addTransfertExecute(
+                entries,
+                response.getTransfertId(),
+                response.getCompteEmetteurId(),
+                soldesEmetteur[i],
+                response.getCompteRecepteurId(),
+                soldesRecepteur[i],
+                response.getMontant(),
+                response.getDate()
+            );
+            outboxService.addTransfertExecute(
+                events,
+                response.getTransfertId(),
+                response.getCompteEmetteurId(),
+                response.getCompteRecepteurId(),
+                response.getMontant(),
+                response.getDate()
+            );
+            if (idempotencyKeys.get(i) != null) {
+                keys.add(newIdempotencyKey(idempotencyKeys.get(i), response));
+            }
+            results.add(new BatchResult(response, null));
+        }
+        ledgerService.save(entries);
+        outboxService.save(events);
+        if (!keys.isEmpty()) {
+            idempotencyKeyRepository.saveAllAndFlush(keys);
+        }
+
+        log.debug("Lot de {} transferts exécuté ({} acceptés)", dtos.size(), transferts.size());
+
+        return results;
+    }
+
+    /**
+     * Débite un lot de transferts dans une seule transaction, dans l'ordre de la liste : première étape du mode
+     * partitionné de {@link TransfertPipeline}, exécutée par la partition des comptes émetteurs.
+     * <p>
+     * Seuls les comptes émetteurs sont verrouillés, dans l'ordre croissant des identifiants ; l'existence des comptes
+     * récepteurs est vérifiée sans verrou. Chaque transfert accepté est enregistré (transfert, écriture de débit,
+     * événements de l'outbox, clé d'idempotence) avec son crédit en attente, que {@link #crediterLot(Collection)}
+     * applique ensuite dans la partition du compte récepteur. Un transfert refusé n'annule pas les autres transferts du
+     * lot ; une clé d'idempotence déjà enregistrée fait échouer tout le lot.
+     *
+     * @param dtos les demandes de transfert, dans leur ordre d'arrivée
+     * @param idempotencyKeys la clé d'idempotence de chaque demande ({@code null} si absente), dans le même ordre
+     * @return un résultat par demande, dans le même ordre
+     */
+    public List<BatchResult> debiterLot(List<TransfertDTO> dtos, List<IdempotencyKeyId> idempotencyKeys) {
+        Set<Long> emetteurIds = new TreeSet<>();
+        Set<Long> recepteurIds = new HashSet<>();
+        for (TransfertDTO dto : dtos) {
+            emetteurIds.add(dto.getCompteEmetteurId());
+            recepteurIds.add(dto.getCompteRecepteurId());
+        }
+        Map<Long, BigDecimal> soldes = new HashMap<>();
+        compteRepository.lockAllByIdOrderById(emetteurIds).forEach(compte -> soldes.put(compte.getId(), compte.getSolde()));
+        Set<Long> recepteurs = new HashSet<>();
+        compteRepository.findSoldesByIdIn(recepteurIds).forEach(compte -> recepteurs.add(compte.getId()));
+
+        Instant now = Instant.now();
+        Transfert[] executes = new Transfert[dtos.size()];
+        BigDecimal[] soldesEmetteur = new BigDecimal[dtos.size()];
+        String[] erreurs = new String[dtos.size()];
+        List<Transfert> transferts = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            TransfertDTO dto = dtos.get(i);
+            try {
+                validate(dto);
+                if (!soldes.containsKey(dto.getCompteEmetteurId())) {
+                    throw new TransfertRefusedException("Compte émetteur non trouvé");
+                }
+                if (!recepteurs.contains(dto.getCompteRecepteurId())) {
+                    throw new TransfertRefusedException("Compte récepteur non trouvé");
+                }
+                if (compteRepository.debit(dto.getCompteEmetteurId(), dto.getMontant(), now) == 0) {
+                    throw new TransfertRefusedException("Solde insuffisant");
+                }
+                soldesEmetteur[i] = soldes.merge(dto.getCompteEmetteurId(), dto.getMontant().negate(), BigDecimal::add);
+                // Le DetailsTransaction est inséré avec le crédit : sa clé étrangère verrouillerait la ligne du récepteur
+                executes[i] = new Transfert();
+                executes[i].setMontant(dto.getMontant());
+                executes[i].setDate(LocalDateTime.now());
+                transferts.add(executes[i]);
+            } catch (TransfertRefusedException e) {
+                erreurs[i] = e.getMessage();
+            }
+        }
+        transfertRepository.saveAllAndFlush(transferts);
+        compteService.evictAfterCommit(emetteurIds);
+
+        List<BatchResult> results = new ArrayList<>(dtos.size());
+        List<IdempotencyKey> keys = new ArrayList<>();
+        List<LedgerEntry> entries = new ArrayList<>(transferts.size());
+        List<OutboxEvent> events = new ArrayList<>(2 * transferts.size());
+        List<CreditEnAttente> credits = new ArrayList<>(transferts.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            if (erreurs[i] != null) {
+                results.add(new BatchResult(null, erreurs[i]));
+                continue;
+            }
+            TransfertResponseDTO response = toResponse(executes[i], dtos.get(i));
+            ledgerService.addDebit(
+                entries,
+                response.getTransfertId(),
+                response.getCompteEmetteurId(),
+                soldesEmetteur[i],
+                response.getMontant(),
+                response.getDate()
+            );
+            outboxService.addTransfertExecute(
+                events,
+                response.getTransfertId(),
+                response.getCompteEmetteurId(),
+                response.getCompteRecepteurId(),
+                response.getMontant(),
+                response.getDate()
+            );
+            credits.add(newCreditEnAttente(response));
+            if (idempotencyKeys.get(i) != null) {
+                keys.add(newIdempotencyKey(idempotencyKeys.get(i), response));
+            }
+            results.add(new BatchResult(response, null));
+        }
+        ledgerService.save(entries);
+        outboxService.save(events);
+        creditEnAttenteRepository.saveAllAndFlush(credits);
+        if (!keys.isEmpty()) {
+            idempotencyKeyRepository.saveAllAndFlush(keys);
+        }
+
+        log.debug("Lot de {} transferts débité ({} acceptés)", dtos.size(), transferts.size());
+
+        return results;
+    }
+
+    /**
+     * Applique les crédits en attente des transferts demandés dans une seule transaction : seconde étape du mode
+     * partitionné de {@link TransfertPipeline}, exécutée par la partition des comptes récepteurs.
+     * <p>
+     * Les crédits sont verrouillés, puis les comptes récepteurs dans l'ordre croissant des identifiants. Chaque compte
+     * n'est mis à jour qu'une fois, avec la somme de ses crédits : un récepteur très sollicité ne coûte qu'un UPDATE
+     * par lot. Le {@code DetailsTransaction} et l'écriture de crédit de chaque transfert sont insérés dans la même
+     * transaction. Un crédit déjà appliqué, par la reprise des crédits en attente par exemple, est ignoré.
+     *
+     * @param transfertIds les identifiants des transferts à créditer
+     * @return le nombre de crédits appliqués
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public int crediterLot(Collection<Long> transfertIds) {
+        // En READ COMMITTED, les crédits déjà supprimés ne laissent pas de verrou d'intervalle sur la table
+        List<CreditEnAttente> credits = creditEnAttenteRepository.lockAllByTransfertIdIn(transfertIds);
+        if (credits.isEmpty()) {
+            return 0;
+        }
+        Set<Long> compteIds = new TreeSet<>();
+        credits.forEach(credit -> compteIds.add(credit.getCompteRecepteurId()));
+        Map<Long, BigDecimal> soldes = new HashMap<>();
+        compteRepository.lockAllByIdOrderById(compteIds).forEach(compte -> soldes.put(compte.getId(), compte.getSolde()));
+
+        Map<Long, BigDecimal> totaux = new TreeMap<>();
+        List<LedgerEntry> entries = new ArrayList<>(credits.size());
+        for (CreditEnAttente credit : credits) {
+            totaux.merge(credit.getCompteRecepteurId(), credit.getMontant(), BigDecimal::add);
+            ledgerService.addCredit(
+                entries,
+                credit.getTransfertId(),
+                credit.getCompteRecepteurId(),
+                soldes.merge(credit.getCompteRecepteurId(), credit.getMontant(), BigDecimal::add),
+                credit.getMontant(),
+                credit.getDateTransfert()
+            );
+        }
+        Instant now = Instant.now();
+        totaux.forEach((compteId, total) -> compteRepository.credit(compteId, total, now));
+        compteService.evictAfterCommit(compteIds);
+
+        // Les clés étrangères vers les émetteurs sont vérifiées dans l'ordre croissant, comme les verrous des débits
+        List<DetailsTransaction> details = new ArrayList<>(credits.size());
+        credits
+            .stream()
+            .sorted(Comparator.comparing(CreditEnAttente::getCompteEmetteurId))
+            .forEach(credit ->
+                details.add(
+                    newDetailsTransaction(
+                        transfertRepository.getReferenceById(credit.getTransfertId()),
+                        credit.getCompteEmetteurId(),
+                        credit.getCompteRecepteurId(),
+                        credit.getMontant(),
+                        credit.getDateTransfert()
+                    )
+                )
+            );
+        detailsTransactionRepository.saveAllAndFlush(details);
+        ledgerService.save(entries);
+        creditEnAttenteRepository.deleteAllByIdInBatch(credits.stream().map(CreditEnAttente::getTransfertId).toList());
+
+        log.debug("Lot de {} crédits appliqué sur {} comptes", credits.size(), compteIds.size());
+
+        return credits.size();
+    }
+
+    /**
+     * Liste les crédits en attente des transferts débités avant une date.
+     *
+     * @param avant la date limite du débit
+     * @return les crédits en attente, par identifiant de transfert croissant
+     */
+    @Transactional(readOnly = true)
+    public List<CreditEnAttente> findCreditsEnAttente(LocalDateTime avant) {
+        return creditEnAttenteRepository.findAllByDateTransfertBeforeOrderByTransfertId(avant);
+    }
+
+    /**
+     * Importe un ensemble de transferts en une seule transaction : tous sont exécutés, ou aucun.
+     * <p>
+     * Les comptes concernés sont verrouillés en une requête dans l'ordre croissant des identifiants, les transferts
+     * sont vérifiés en mémoire dans l'ordre de la liste, puis chaque solde est mis à jour une seule fois avec la somme
+     * de ses mouvements. Les {@code Transfert} et {@code DetailsTransaction} sont insérés par lots JDBC, avec un flush
+     * tous les {@code application.transfert.import-flush-size} transferts.
+     *
+     * @param dtos les transferts à importer, dans l'ordre
+     * @return le nombre et le montant total des transferts importés
+     */
+    public TransfertImportResponseDTO importTransferts(List<TransfertDTO> dtos) {
+        Set<Long> compteIds = new TreeSet<>();
+        for (TransfertDTO dto : dtos) {
+            compteIds.add(dto.getCompteEmetteurId());
+            compteIds.add(dto.getCompteRecepteurId());
+        }
+        Map<Long, BigDecimal> soldes = new HashMap<>();
+        compteRepository.lockAllByIdOrderById(compteIds).forEach(compte -> soldes.put(compte.getId(), compte.getSolde()));
+
+        Map<Long, BigDecimal> deltas = new TreeMap<>();
+        BigDecimal[] soldesEmetteur = new BigDecimal[dtos.size()];
+        BigDecimal[] soldesRecepteur = new BigDecimal[dtos.size()];
+        BigDecimal montantTotal = BigDecimal.ZERO;
+        for (int i = 0; i < dtos.size(); i++) {
+            TransfertDTO dto = dtos.get(i);
+            validate(dto);
+            BigDecimal soldeEmetteur = soldes.get(dto.getCompteEmetteurId());
+            if (soldeEmetteur == null) {
+                throw new TransfertRefusedException("Compte émetteur non trouvé (transfert n°" + (i + 1) + ")");
+            }
+            if (!soldes.containsKey(dto.getCompteRecepteurId())) {
+                throw new TransfertRefusedException("Compte récepteur non trouvé (transfert n°" + (i + 1) + ")");
+            }
+            if (soldeEmetteur.compareTo(dto.getMontant()) < 0) {
+                throw new TransfertRefusedException("Solde insuffisant (transfert n°" + (i + 1) + ")");
+            }
+            soldesEmetteur[i] = soldeEmetteur.subtract(dto.getMontant());
+            soldes.put(dto.getCompteEmetteurId(), soldesEmetteur[i]);
+            soldesRecepteur[i] = soldes.merge(dto.getCompteRecepteurId(), dto.getMontant(), BigDecimal::add);
+            deltas.merge(dto.getCompteEmetteurId(), dto.getMontant().negate(), BigDecimal::add);
+            deltas.merge(dto.getCompteRecepteurId(), dto.getMontant(), BigDecimal::add);
+            montantTotal = montantTotal.add(dto.getMontant());
+        }
+
+        Instant now = Instant.now();
+        deltas.forEach((compteId, delta) -> {
+            if (delta.signum() != 0) {
+                compteRepository.adjustSolde(compteId, delta, now);
+            }
+        });
+        compteService.evictAfterCommit(deltas.keySet());
+
+        int flushSize = applicationProperties.getTransfert().getImportFlushSize();
+        List<LedgerEntry> entries = new ArrayList<>(2 * Math.min(flushSize, dtos.size()));
+        List<OutboxEvent> events = new ArrayList<>(2 * Math.min(flushSize, dtos.size()));
+        for (int i = 0; i < dtos.size(); i++) {
+            TransfertDTO dto = dtos.get(i);
+            Transfert transfert = newTransfert(dto.getCompteEmetteurId(), dto.getCompteRecepteurId(), dto.getMontant());
+            entityManager.persist(transfert);
+            ledgerService.addTransfertExecute(
+                entries,
+                transfert.getId(),
+                dto.getCompteEmetteurId(),
+                soldesEmetteur[i],
+                dto.getCompteRecepteurId(),
+                soldesRecepteur[i],
+                dto.getMontant(),
+                transfert.getDate()
+            );
+            outboxService.addTransfertExecute(
+                events,
+                transfert.getId(),
+                dto.getCompteEmetteurId(),
+                dto.getCompteRecepteurId(),
+                dto.getMontant(),
+                transfert.getDate()
+            );
+            if ((i + 1) % flushSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                ledgerService.save(entries);
+                entries.clear();
+                outboxService.save(events);
+                events.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        ledgerService.save(entries);
+        outboxService.save(events);
+
+        log.info("Import de {} transferts exécuté pour un montant total de {}", dtos.size(), montantTotal);
+
+        return new TransfertImportResponseDTO(dtos.size(), montantTotal);
+    }
+
+    private void validate(TransfertDTO dto) {
+        if (dto.getMontant() == null || dto.getMontant().signum() <= 0) {
+            throw new TransfertRefusedException("Le montant du transfert doit être strictement positif");
+        }
+        if (dto.getCompteEmetteurId().equals(dto.getCompteRecepteurId())) {
+            throw new TransfertRefusedException("Le compte émetteur et le compte récepteur doivent être différents");
+        }
+    }
+
+    private Transfert newTransfert(Long emetteurId, Long recepteurId, BigDecimal montant) {
+        Transfert transfert = new Transfert();
+        transfert.setMontant(montant);
+        transfert.setDate(LocalDateTime.now());
+        transfert.getDetailsTransactions().add(newDetailsTransaction(transfert, emetteurId, recepteurId, montant, transfert.getDate()));
+        return transfert;
+    }
+
+    private DetailsTransaction newDetailsTransaction(
+        Transfert transfert,
+        Long emetteurId,
+        Long recepteurId,
+        BigDecimal montant,
+        LocalDateTime date
+    ) {
+        DetailsTransaction details = new DetailsTransaction();
+        details.setCompteEmetteur(compteRepository.getReferenceById(emetteurId));
+        details.setCompteRecepteur(compteRepository.getReferenceById(recepteurId));
+        details.setTransfert(transfert);
+        details.setDateTransfert(date);
+        details.setMontant(montant);
+        return details;
+    }
+
+    private CreditEnAttente newCreditEnAttente(TransfertResponseDTO response) {
+        CreditEnAttente credit = new CreditEnAttente();
+        credit.setTransfertId(response.getTransfertId());
+        credit.setCompteEmetteurId(response.getCompteEmetteurId());
+        credit.setCompteRecepteurId(response.getCompteRecepteurId());
+        credit.setMontant(response.getMontant());
+        credit.setDateTransfert(response.getDate());
+        return credit;
+    }
+
+    private IdempotencyKey newIdempotencyKey(IdempotencyKeyId id, TransfertResponseDTO response) {
+        IdempotencyKey idempotencyKey = new IdempotencyKey();
+        idempotencyKey.setUserId(id.getUserId());
+        idempotencyKey.setCle(id.getCle());
+        idempotencyKey.setTransfertId(response.getTransfertId());
+        idempotencyKey.setCompteEmetteurId(response.getCompteEmetteurId());
+        idempotencyKey.setCompteRecepteurId(response.getCompteRecepteurId());
+        idempotencyKey.setMontant(response.getMontant());
+        idempotencyKey.setDateTransfert(response.getDate());
+        return idempotencyKey;
+    }
+
+    private TransfertResponseDTO toResponse(Transfert transfert, TransfertDTO dto) {
+        return new TransfertResponseDTO(
+            transfert.getId(),
+            dto.getCompteEmetteurId(),
+            dto.getCompteRecepteurId(),
+            dto.getMontant(),
+            transfert.getDate()
+        );
+    }
+
+    private void debiter(Long compteId, BigDecimal montant, Instant now) {
+        if (compteRepository.debit(compteId, montant, now) == 0) {
+            if (!compteRepository.existsById(compteId)) {
+                throw new TransfertRefusedException("Compte émetteur non trouvé");
+            }
+            throw new TransfertRefusedException("Solde insuffisant");
+        }
+    }
+
+    private void crediter(Long compteId, BigDecimal montant, Instant now) {
+        if (compteRepository.credit(compteId, montant, now) == 0) {
+            throw new TransfertRefusedException("Compte récepteur non trouvé");
+        }
+    }
+
+    /**
+     * Résultat d'un transfert exécuté dans un lot : soit la réponse, soit le motif du refus.
+     */
+    public static final class BatchResult {
+
+        private final TransfertResponseDTO response;
+        private final String erreur;
+
+        BatchResult(TransfertResponseDTO response, String erreur) {
+            this.response = response;
+            this.erreur = erreur;
+        }
+
+        public boolean isSuccess() {
+            return erreur == null;
+        }
+
+        public TransfertResponseDTO getResponse() {
+            return response;
+        }
+
+        public String getErreur() {
+            return erreur;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.groupeisi.m2gl.service;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Générateur d'UUID version 7 (RFC 9562), ordonnés dans le temps, pour les identifiants des utilisateurs.
+ * <p>
+ * Les 48 premiers bits sont les millisecondes Unix, suivis de 12 bits de séquence dans la milliseconde, puis de
+ * 62 bits aléatoires. Les identifiants successifs sont donc croissants, y compris dans leur forme textuelle : une
+ * clé primaire {@code varchar} reçoit les insertions en fin d'index, au lieu de les disperser dans tout l'index
+ * comme des UUID aléatoires (version 4), qui fragmentent les pages et gonflent le buffer pool.
+ * <p>
+ * Horodatage et séquence tiennent dans un seul {@link AtomicLong} : la génération est sans verrou et strictement
+ * croissante, même si l'horloge recule.
+ */
+@Service
+public class UuidV7Generator {
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final SecureRandom random = new SecureRandom();
+    private final LongSupplier clock;
+
+    // Millisecondes et séquence du dernier UUID émis
+    private final AtomicLong last = new AtomicLong();
+
+    public UuidV7Generator() {
+        this(System::currentTimeMillis);
+    }
+
+    UuidV7Generator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * @return un nouvel UUID version 7
+     */
+    public UUID nextUuid() {
+        long now = clock.getAsLong();
+        long next;
+        while (true) {
+            long previous = last.get();
+            long timestamp = previous >>> SEQUENCE_BITS;
+            if (now > timestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if ((previous & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = previous + 1;
+            } else {
+                next = (timestamp + 1) << SEQUENCE_BITS;
+            }
+            if (last.compareAndSet(previous, next)) {
+                break;
+            }
+        }
+        // unix_ts_ms (48) | ver = 7 (4) | séquence (12)
+        long mostSigBits = ((next >>> SEQUENCE_BITS) << 16) | (0x7L << 12) | (next & SEQUENCE_MASK);
+        // var = 0b10 (2) | aléatoire (62)
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * @return un nouvel identifiant d'utilisateur, forme textuelle d'un UUID version 7
+     */
+    public String nextId() {
+        return nextUuid().toString();
+    }
+}
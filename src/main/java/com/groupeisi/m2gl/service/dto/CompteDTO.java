@@ -0,0 +1,97 @@
+package com.groupeisi.m2gl.service.dto;
+
+import com.groupeisi.m2gl.domain.Compte;
+import com.groupeisi.m2gl.repository.CompteRepository;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO représentant un compte et son solde.
+ */
+@Schema(description = "Compte bancaire et son solde")
+public class CompteDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "Identifiant du compte", example = "1")
+    private Long id;
+
+    @Schema(description = "Numéro du compte", example = "ACC1705312345678123")
+    private String numCompte;
+
+    @Schema(description = "Solde du compte", example = "15000.00")
+    private BigDecimal solde;
+
+    @Schema(description = "Date de création du compte", example = "2025-01-15")
+    private LocalDate dateCreation;
+
+    @Schema(description = "Identifiant du titulaire", example = "550e8400-e29b-41d4-a716-446655440000")
+    private String userId;
+
+    public CompteDTO() {
+        // Constructeur par défaut
+    }
+
+    public CompteDTO(Compte compte) {
+        this.id = compte.getId();
+        this.numCompte = compte.getNumCompte();
+        this.solde = compte.getSolde();
+        this.dateCreation = compte.getDateCreation();
+        this.userId = compte.getUser().getId();
+    }
+
+    public CompteDTO(CompteRepository.CompteInfo compte) {
+        this.id = compte.getId();
+        this.numCompte = compte.getNumCompte();
+        this.solde = compte.getSolde();
+        this.dateCreation = compte.getDateCreation();
+        this.userId = compte.getUserId();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNumCompte() {
+        return numCompte;
+    }
+
+    public void setNumCompte(String numCompte) {
+        this.numCompte = numCompte;
+    }
+
+    public BigDecimal getSolde() {
+        return solde;
+    }
+
+    public void setSolde(BigDecimal solde) {
+        this.solde = solde;
+    }
+
+    public LocalDate getDateCreation() {
+        return dateCreation;
+    }
+
+    public void setDateCreation(LocalDate dateCreation) {
+        this.dateCreation = dateCreation;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    @Override
+    public String toString() {
+        return "CompteDTO{" + "id=" + id + ", numCompte='" + numCompte + '\'' + ", solde=" + solde + ", userId='" + userId + '\'' + '}';
+    }
+}
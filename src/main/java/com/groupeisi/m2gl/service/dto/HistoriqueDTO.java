@@ -0,0 +1,42 @@
+package com.groupeisi.m2gl.service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * DTO représentant une page de l'historique d'un compte.
+ */
+@Schema(description = "Page de l'historique d'un compte, du mouvement le plus récent au plus ancien")
+public class HistoriqueDTO {
+
+    @Schema(description = "Mouvements de la page")
+    private List<MouvementDTO> mouvements;
+
+    @Schema(description = "Curseur de la page suivante, absent sur la dernière page", example = "MjAyNS0wMS0xNVQxMDozMHw0Mg")
+    private String curseurSuivant;
+
+    public HistoriqueDTO() {
+        // Constructeur par défaut
+    }
+
+    public HistoriqueDTO(List<MouvementDTO> mouvements, String curseurSuivant) {
+        this.mouvements = mouvements;
+        this.curseurSuivant = curseurSuivant;
+    }
+
+    public List<MouvementDTO> getMouvements() {
+        return mouvements;
+    }
+
+    public void setMouvements(List<MouvementDTO> mouvements) {
+        this.mouvements = mouvements;
+    }
+
+    public String getCurseurSuivant() {
+        return curseurSuivant;
+    }
+
+    public void setCurseurSuivant(String curseurSuivant) {
+        this.curseurSuivant = curseurSuivant;
+    }
+}
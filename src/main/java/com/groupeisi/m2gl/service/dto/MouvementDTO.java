@@ -0,0 +1,87 @@
+package com.groupeisi.m2gl.service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO représentant un mouvement de l'historique d'un compte.
+ */
+@Schema(description = "Mouvement de l'historique d'un compte")
+public class MouvementDTO {
+
+    /**
+     * Sens du mouvement pour le compte consulté.
+     */
+    public enum Sens {
+        DEBIT,
+        CREDIT,
+    }
+
+    @Schema(description = "Identifiant du transfert", example = "1")
+    private Long transfertId;
+
+    @Schema(description = "Date d'exécution du transfert", example = "2025-01-15T10:30:00")
+    private LocalDateTime date;
+
+    @Schema(description = "Sens du mouvement pour le compte consulté", example = "DEBIT")
+    private Sens sens;
+
+    @Schema(description = "Montant transféré", example = "5000.00")
+    private BigDecimal montant;
+
+    @Schema(description = "Identifiant du compte de l'autre côté du transfert", example = "2")
+    private Long contrepartieId;
+
+    public MouvementDTO() {
+        // Constructeur par défaut
+    }
+
+    public MouvementDTO(Long transfertId, LocalDateTime date, Sens sens, BigDecimal montant, Long contrepartieId) {
+        this.transfertId = transfertId;
+        this.date = date;
+        this.sens = sens;
+        this.montant = montant;
+        this.contrepartieId = contrepartieId;
+    }
+
+    public Long getTransfertId() {
+        return transfertId;
+    }
+
+    public void setTransfertId(Long transfertId) {
+        this.transfertId = transfertId;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+
+    public Sens getSens() {
+        return sens;
+    }
+
+    public void setSens(Sens sens) {
+        this.sens = sens;
+    }
+
+    public BigDecimal getMontant() {
+        return montant;
+    }
+
+    public void setMontant(BigDecimal montant) {
+        this.montant = montant;
+    }
+
+    public Long getContrepartieId() {
+        return contrepartieId;
+    }
+
+    public void setContrepartieId(Long contrepartieId) {
+        this.contrepartieId = contrepartieId;
+    }
+}
@@ -0,0 +1,215 @@
+package com.groupeisi.m2gl.service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO représentant l'état d'un rapprochement des soldes, en cours ou terminé.
+ */
+@Schema(description = "Rapprochement des soldes des comptes avec leurs transferts")
+public class ReconciliationReportDTO {
+
+    /**
+     * État d'un rapprochement.
+     */
+    public enum Statut {
+        EN_COURS,
+        TERMINE,
+        ECHEC,
+    }
+
+    @Schema(description = "État du rapprochement")
+    private Statut statut;
+
+    @Schema(description = "Début du rapprochement")
+    private LocalDateTime debut;
+
+    @Schema(description = "Fin du rapprochement, absente s'il est en cours")
+    private LocalDateTime fin;
+
+    @Schema(description = "Nombre de plages d'identifiants de comptes à vérifier")
+    private int plagesTotal;
+
+    @Schema(description = "Nombre de plages vérifiées")
+    private int plagesTraitees;
+
+    @Schema(description = "Nombre de comptes vérifiés")
+    private long comptesVerifies;
+
+    @Schema(description = "Débit de la vérification, en comptes par seconde")
+    private long comptesParSeconde;
+
+    @Schema(description = "Nombre de comptes dont le solde ne correspond pas à leurs transferts")
+    private long nombreEcarts;
+
+    @Schema(description = "Comptes en écart, dans la limite de application.reconciliation.max-reported-mismatches")
+    private List<Ecart> ecarts;
+
+    @Schema(description = "Somme des soldes des comptes")
+    private BigDecimal totalSoldes;
+
+    @Schema(description = "Somme des soldes d'ouverture des comptes")
+    private BigDecimal totalOuvertures;
+
+    @Schema(description = "Vrai si la somme des soldes est égale à la somme des soldes d'ouverture")
+    private Boolean conservation;
+
+    @Schema(description = "Cause de l'échec du rapprochement")
+    private String erreur;
+
+    public Statut getStatut() {
+        return statut;
+    }
+
+    public void setStatut(Statut statut) {
+        this.statut = statut;
+    }
+
+    public LocalDateTime getDebut() {
+        return debut;
+    }
+
+    public void setDebut(LocalDateTime debut) {
+        this.debut = debut;
+    }
+
+    public LocalDateTime getFin() {
+        return fin;
+    }
+
+    public void setFin(LocalDateTime fin) {
+        this.fin = fin;
+    }
+
+    public int getPlagesTotal() {
+        return plagesTotal;
+    }
+
+    public void setPlagesTotal(int plagesTotal) {
+        this.plagesTotal = plagesTotal;
+    }
+
+    public int getPlagesTraitees() {
+        return plagesTraitees;
+    }
+
+    public void setPlagesTraitees(int plagesTraitees) {
+        this.plagesTraitees = plagesTraitees;
+    }
+
+    public long getComptesVerifies() {
+        return comptesVerifies;
+    }
+
+    public void setComptesVerifies(long comptesVerifies) {
+        this.comptesVerifies = comptesVerifies;
+    }
+
+    public long getComptesParSeconde() {
+        return comptesParSeconde;
+    }
+
+    public void setComptesParSeconde(long comptesParSeconde) {
+        this.comptesParSeconde = comptesParSeconde;
+    }
+
+    public long getNombreEcarts() {
+        return nombreEcarts;
+    }
+
+    public void setNombreEcarts(long nombreEcarts) {
+        this.nombreEcarts = nombreEcarts;
+    }
+
+    public List<Ecart> getEcarts() {
+        return ecarts;
+    }
+
+    public void setEcarts(List<Ecart> ecarts) {
+        this.ecarts = ecarts;
+    }
+
+    public BigDecimal getTotalSoldes() {
+        return totalSoldes;
+    }
+
+    public void setTotalSoldes(BigDecimal totalSoldes) {
+        this.totalSoldes = totalSoldes;
+    }
+
+    public BigDecimal getTotalOuvertures() {
+        return totalOuvertures;
+    }
+
+    public void setTotalOuvertures(BigDecimal totalOuvertures) {
+        this.totalOuvertures = totalOuvertures;
+    }
+
+    public Boolean getConservation() {
+        return conservation;
+    }
+
+    public void setConservation(Boolean conservation) {
+        this.conservation = conservation;
+    }
+
+    public String getErreur() {
+        return erreur;
+    }
+
+    public void setErreur(String erreur) {
+        this.erreur = erreur;
+    }
+
+    /**
+     * Compte dont le solde diffère du solde attendu.
+     */
+    @Schema(description = "Compte dont le solde diffère de son solde d'ouverture plus ses crédits moins ses débits")
+    public static class Ecart {
+
+        @Schema(description = "Identifiant du compte", example = "1")
+        private Long compteId;
+
+        @Schema(description = "Solde du compte", example = "15000.00")
+        private BigDecimal solde;
+
+        @Schema(description = "Solde d'ouverture plus crédits moins débits", example = "14000.00")
+        private BigDecimal soldeAttendu;
+
+        public Ecart() {
+            // Constructeur par défaut
+        }
+
+        public Ecart(Long compteId, BigDecimal solde, BigDecimal soldeAttendu) {
+            this.compteId = compteId;
+            this.solde = solde;
+            this.soldeAttendu = soldeAttendu;
+        }
+
+        public Long getCompteId() {
+            return compteId;
+        }
+
+        public void setCompteId(Long compteId) {
+            this.compteId = compteId;
+        }
+
+        public BigDecimal getSolde() {
+            return solde;
+        }
+
+        public void setSolde(BigDecimal solde) {
+            this.solde = solde;
+        }
+
+        public BigDecimal getSoldeAttendu() {
+            return soldeAttendu;
+        }
+
+        public void setSoldeAttendu(BigDecimal soldeAttendu) {
+            this.soldeAttendu = soldeAttendu;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.groupeisi.m2gl.service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO représentant le solde d'un compte à une date.
+ */
+@Schema(description = "Solde d'un compte à une date")
+public class SoldeDTO {
+
+    @Schema(description = "Identifiant du compte", example = "1")
+    private Long compteId;
+
+    @Schema(description = "Date du solde", example = "2025-01-15T10:30:00")
+    private LocalDateTime date;
+
+    @Schema(description = "Solde du compte à cette date", example = "15000.00")
+    private BigDecimal solde;
+
+    public SoldeDTO() {
+        // Constructeur par défaut
+    }
+
+    public SoldeDTO(Long compteId, LocalDateTime date, BigDecimal solde) {
+        this.compteId = compteId;
+        this.date = date;
+        this.solde = solde;
+    }
+
+    public Long getCompteId() {
+        return compteId;
+    }
+
+    public void setCompteId(Long compteId) {
+        this.compteId = compteId;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+
+    public BigDecimal getSolde() {
+        return solde;
+    }
+
+    public void setSolde(BigDecimal solde) {
+        this.solde = solde;
+    }
+}
@@ -0,0 +1,378 @@
+package com.groupeisi.m2gl.service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO représentant les statistiques des requêtes SQL : compteurs Hibernate, cache de second niveau et requêtes les
+ * plus coûteuses.
+ */
+@Schema(description = "Statistiques des requêtes SQL et du cache de second niveau")
+public class SqlStatisticsDTO {
+
+    @Schema(description = "Vrai si les statistiques Hibernate sont collectées (hibernate.generate_statistics)")
+    private boolean hibernateActif;
+
+    @Schema(description = "Début de la collecte des statistiques Hibernate")
+    private Instant depuis;
+
+    @Schema(description = "Entités chargées depuis la base")
+    private long entitesChargees;
+
+    @Schema(description = "Entités chargées à la demande, par une association paresseuse")
+    private long entitesRecuperees;
+
+    @Schema(description = "Collections chargées depuis la base")
+    private long collectionsChargees;
+
+    @Schema(description = "Collections chargées à la demande")
+    private long collectionsRecuperees;
+
+    @Schema(description = "Requêtes SQL préparées par Hibernate")
+    private long requetesPreparees;
+
+    @Schema(description = "Requêtes HQL et natives exécutées")
+    private long requetesHqlExecutees;
+
+    @Schema(description = "Durée de la requête HQL la plus lente, en millisecondes")
+    private long dureeMaxHqlMs;
+
+    @Schema(description = "Requête HQL la plus lente")
+    private String requeteHqlLaPlusLente;
+
+    @Schema(description = "Lectures servies par le cache de second niveau")
+    private long cacheSucces;
+
+    @Schema(description = "Lectures absentes du cache de second niveau")
+    private long cacheEchecs;
+
+    @Schema(description = "Part des lectures servies par le cache de second niveau, absente sans lecture")
+    private Double cacheRatio;
+
+    @Schema(description = "Cache de second niveau par région")
+    private List<RegionCache> regionsCache;
+
+    @Schema(description = "Requêtes HQL les plus coûteuses en durée cumulée")
+    private List<Requete> requetesHql;
+
+    @Schema(description = "Requêtes SQL normalisées les plus coûteuses en durée cumulée, mesurées sur la source de données")
+    private List<Requete> requetesSql;
+
+    @Schema(description = "Exécutions de requêtes SQL au-delà de application.sql-statistics.max-queries requêtes distinctes")
+    private long executionsSqlNonSuivies;
+
+    public boolean isHibernateActif() {
+        return hibernateActif;
+    }
+
+    public void setHibernateActif(boolean hibernateActif) {
+        this.hibernateActif = hibernateActif;
+    }
+
+    public Instant getDepuis() {
+        return depuis;
+    }
+
+    public void setDepuis(Instant depuis) {
+        this.depuis = depuis;
+    }
+
+    public long getEntitesChargees() {
+        return entitesChargees;
+    }
+
+    public void setEntitesChargees(long entitesChargees) {
+        this.entitesChargees = entitesChargees;
+    }
+
+    public long getEntitesRecuperees() {
+        return entitesRecuperees;
+    }
+
+    public void setEntitesRecuperees(long entitesRecuperees) {
+        this.entitesRecuperees = entitesRecuperees;
+    }
+
+    public long getCollectionsChargees() {
+        return collectionsChargees;
+    }
+
+    public void setCollectionsChargees(long collectionsChargees) {
+        this.collectionsChargees = collectionsChargees;
+    }
+
+    public long getCollectionsRecuperees() {
+        return collectionsRecuperees;
+    }
+
+    public void setCollectionsRecuperees(long collectionsRecuperees) {
+        this.collectionsRecuperees = collectionsRecuperees;
+    }
+
+    public long getRequetesPreparees() {
+        return requetesPreparees;
+    }
+
+    public void setRequetesPreparees(long requetesPreparees) {
+        this.requetesPreparees = requetesPreparees;
+    }
+
+    public long getRequetesHqlExecutees() {
+        return requetesHqlExecutees;
+    }
+
+    public void setRequetesHqlExecutees(long requetesHqlExecutees) {
+        this.requetesHqlExecutees = requetesHqlExecutees;
+    }
+
+    public long getDureeMaxHqlMs() {
+        return dureeMaxHqlMs;
+    }
+
+    public void setDureeMaxHqlMs(long dureeMaxHqlMs) {
+        this.dureeMaxHqlMs = dureeMaxHqlMs;
+    }
+
+    public String getRequeteHqlLaPlusLente() {
+        return requeteHqlLaPlusLente;
+    }
+
+    public void setRequeteHqlLaPlusLente(String requeteHqlLaPlusLente) {
+        this.requeteHqlLaPlusLente = requeteHqlLaPlusLente;
+    }
+
+    public long getCacheSucces() {
+        return cacheSucces;
+    }
+
+    public void setCacheSucces(long cacheSucces) {
+        this.cacheSucces = cacheSucces;
+    }
+
+    public long getCacheEchecs() {
+        return cacheEchecs;
+    }
+
+    public void setCacheEchecs(long cacheEchecs) {
+        this.cacheEchecs = cacheEchecs;
+    }
+
+    public Double getCacheRatio() {
+        return cacheRatio;
+    }
+
+    public void setCacheRatio(Double cacheRatio) {
+        this.cacheRatio = cacheRatio;
+    }
+
+    public List<RegionCache> getRegionsCache() {
+        return regionsCache;
+    }
+
+    public void setRegionsCache(List<RegionCache> regionsCache) {
+        this.regionsCache = regionsCache;
+    }
+
+    public List<Requete> getRequetesHql() {
+        return requetesHql;
+    }
+
+    public void setRequetesHql(List<Requete> requetesHql) {
+        this.requetesHql = requetesHql;
+    }
+
+    public List<Requete> getRequetesSql() {
+        return requetesSql;
+    }
+
+    public void setRequetesSql(List<Requete> requetesSql) {
+        this.requetesSql = requetesSql;
+    }
+
+    public long getExecutionsSqlNonSuivies() {
+        return executionsSqlNonSuivies;
+    }
+
+    public void setExecutionsSqlNonSuivies(long executionsSqlNonSuivies) {
+        this.executionsSqlNonSuivies = executionsSqlNonSuivies;
+    }
+
+    /**
+     * Statistiques cumulées d'une requête.
+     */
+    public static class Requete {
+
+        @Schema(description = "Texte de la requête, normalisé pour le SQL")
+        private String requete;
+
+        @Schema(description = "Nombre d'exécutions")
+        private long executions;
+
+        @Schema(description = "Durée cumulée, en millisecondes")
+        private double dureeTotaleMs;
+
+        @Schema(description = "Durée moyenne, en millisecondes")
+        private double dureeMoyenneMs;
+
+        @Schema(description = "Durée maximale, en millisecondes")
+        private double dureeMaxMs;
+
+        @Schema(description = "Lignes lues (HQL) ou modifiées (SQL)")
+        private long lignes;
+
+        @Schema(description = "Exécutions plus lentes que application.sql-statistics.slow-query-threshold-ms (SQL seulement)")
+        private long executionsLentes;
+
+        public Requete() {
+            // Constructeur par défaut
+        }
+
+        public Requete(
+            String requete,
+            long executions,
+            double dureeTotaleMs,
+            double dureeMoyenneMs,
+            double dureeMaxMs,
+            long lignes,
+            long executionsLentes
+        ) {
+            this.requete = requete;
+            this.executions = executions;
+            this.dureeTotaleMs = dureeTotaleMs;
+            this.dureeMoyenneMs = dureeMoyenneMs;
+            this.dureeMaxMs = dureeMaxMs;
+            this.lignes = lignes;
+            this.executionsLentes = executionsLentes;
+        }
+
+        public String getRequete() {
+            return requete;
+        }
+
+        public void setRequete(String requete) {
+            this.requete = requete;
+        }
+
+        public long getExecutions() {
+            return executions;
+        }
+
+        public void setExecutions(long executions) {
+            this.executions = executions;
+        }
+
+        public double getDureeTotaleMs() {
+            return dureeTotaleMs;
+        }
+
+        public void setDureeTotaleMs(double dureeTotaleMs) {
+            this.dureeTotaleMs = dureeTotaleMs;
+        }
+
+        public double getDureeMoyenneMs() {
+            return dureeMoyenneMs;
+        }
+
+        public void setDureeMoyenneMs(double dureeMoyenneMs) {
+            this.dureeMoyenneMs = dureeMoyenneMs;
+        }
+
+        public double getDureeMaxMs() {
+            return dureeMaxMs;
+        }
+
+        public void setDureeMaxMs(double dureeMaxMs) {
+            this.dureeMaxMs = dureeMaxMs;
+        }
+
+        public long getLignes() {
+            return lignes;
+        }
+
+        public void setLignes(long lignes) {
+            this.lignes = lignes;
+        }
+
+        public long getExecutionsLentes() {
+            return executionsLentes;
+        }
+
+        public void setExecutionsLentes(long executionsLentes) {
+            this.executionsLentes = executionsLentes;
+        }
+    }
+
+    /**
+     * Statistiques d'une région du cache de second niveau.
+     */
+    public static class RegionCache {
+
+        @Schema(description = "Nom de la région")
+        private String nom;
+
+        @Schema(description = "Lectures servies par la région")
+        private long succes;
+
+        @Schema(description = "Lectures absentes de la région")
+        private long echecs;
+
+        @Schema(description = "Entrées ajoutées à la région")
+        private long ajouts;
+
+        @Schema(description = "Part des lectures servies par la région, absente sans lecture")
+        private Double ratio;
+
+        public RegionCache() {
+            // Constructeur par défaut
+        }
+
+        public RegionCache(String nom, long succes, long echecs, long ajouts, Double ratio) {
+            this.nom = nom;
+            this.succes = succes;
+            this.echecs = echecs;
+            this.ajouts = ajouts;
+            this.ratio = ratio;
+        }
+
+        public String getNom() {
+            return nom;
+        }
+
+        public void setNom(String nom) {
+            this.nom = nom;
+        }
+
+        public long getSucces() {
+            return succes;
+        }
+
+        public void setSucces(long succes) {
+            this.succes = succes;
+        }
+
+        public long getEchecs() {
+            return echecs;
+        }
+
+        public void setEchecs(long echecs) {
+            this.echecs = echecs;
+        }
+
+        public long getAjouts() {
+            return ajouts;
+        }
+
+        public void setAjouts(long ajouts) {
+            this.ajouts = ajouts;
+        }
+
+        public Double getRatio() {
+            return ratio;
+        }
+
+        public void setRatio(Double ratio) {
+            this.ratio = ratio;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.groupeisi.m2gl.service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+
+/**
+ * DTO pour une demande de transfert entre deux comptes.
+ */
+@Schema(description = "DTO pour une demande de transfert d'argent entre deux comptes")
+public class TransfertDTO {
+
+    @Schema(description = "Identifiant du compte émetteur (débité)", example = "1", required = true)
+    @NotNull(message = "Le compte émetteur est obligatoire")
+    private Long compteEmetteurId;
+
+    @Schema(description = "Identifiant du compte récepteur (crédité)", example = "2", required = true)
+    @NotNull(message = "Le compte récepteur est obligatoire")
+    private Long compteRecepteurId;
+
+    @Schema(description = "Montant du transfert", example = "5000.00", required = true)
+    @NotNull(message = "Le montant est obligatoire")
+    @DecimalMin(value = "0.01", message = "Le montant doit être strictement positif")
+    @Digits(integer = 19, fraction = 2, message = "Le montant doit avoir au plus 2 décimales")
+    private BigDecimal montant;
+
+    public TransfertDTO() {
+        // Constructeur par défaut
+    }
+
+    public TransfertDTO(Long compteEmetteurId, Long compteRecepteurId, BigDecimal montant) {
+        this.compteEmetteurId = compteEmetteurId;
+        this.compteRecepteurId = compteRecepteurId;
+        this.montant = montant;
+    }
+
+    public Long getCompteEmetteurId() {
+        return compteEmetteurId;
+    }
+
+    public void setCompteEmetteurId(Long compteEmetteurId) {
+        this.compteEmetteurId = compteEmetteurId;
+    }
+
+    public Long getCompteRecepteurId() {
+        return compteRecepteurId;
+    }
+
+    public void setCompteRecepteurId(Long compteRecepteurId) {
+        this.compteRecepteurId = compteRecepteurId;
+    }
+
+    public BigDecimal getMontant() {
+        return montant;
+    }
+
+    public void setMontant(BigDecimal montant) {
+        this.montant = montant;
+    }
+}
@@ -0,0 +1,39 @@
+package com.groupeisi.m2gl.service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO pour l'import en masse de transferts.
+ */
+@Schema(description = "DTO pour l'import en masse de transferts, exécutés en une seule transaction")
+public class TransfertImportDTO {
+
+    public static final int MAX_TRANSFERTS = 10_000;
+
+    @Schema(description = "Transferts à exécuter, dans l'ordre", required = true)
+    @NotEmpty(message = "La liste des transferts est obligatoire")
+    @Size(max = MAX_TRANSFERTS, message = "Un import ne peut pas dépasser 10000 transferts")
+    @Valid
+    private List<TransfertDTO> transferts = new ArrayList<>();
+
+    public TransfertImportDTO() {
+        // Constructeur par défaut
+    }
+
+    public TransfertImportDTO(List<TransfertDTO> transferts) {
+        this.transferts = transferts;
+    }
+
+    public List<TransfertDTO> getTransferts() {
+        return transferts;
+    }
+
+    public void setTransferts(List<TransfertDTO> transferts) {
+        this.transferts = transferts;
+    }
+}
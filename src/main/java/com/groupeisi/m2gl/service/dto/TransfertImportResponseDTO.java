@@ -0,0 +1,42 @@
+package com.groupeisi.m2gl.service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+
+/**
+ * DTO pour la réponse d'un import en masse de transferts.
+ */
+@Schema(description = "Réponse d'un import en masse de transferts")
+public class TransfertImportResponseDTO {
+
+    @Schema(description = "Nombre de transferts exécutés", example = "5000")
+    private int nombreTransferts;
+
+    @Schema(description = "Somme des montants transférés", example = "2500000.00")
+    private BigDecimal montantTotal;
+
+    public TransfertImportResponseDTO() {
+        // Constructeur par défaut
+    }
+
+    public TransfertImportResponseDTO(int nombreTransferts, BigDecimal montantTotal) {
+        this.nombreTransferts = nombreTransferts;
+        this.montantTotal = montantTotal;
+    }
+
+    public int getNombreTransferts() {
+        return nombreTransferts;
+    }
+
+    public void setNombreTransferts(int nombreTransferts) {
+        this.nombreTransferts = nombreTransferts;
+    }
+
+    public BigDecimal getMontantTotal() {
+        return montantTotal;
+    }
+
+    public void setMontantTotal(BigDecimal montantTotal) {
+        this.montantTotal = montantTotal;
+    }
+}
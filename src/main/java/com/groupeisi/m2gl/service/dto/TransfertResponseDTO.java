@@ -0,0 +1,79 @@
+package com.groupeisi.m2gl.service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO pour la réponse d'un transfert exécuté.
+ */
+@Schema(description = "Réponse d'un transfert exécuté")
+public class TransfertResponseDTO {
+
+    @Schema(description = "Identifiant du transfert", example = "1")
+    private Long transfertId;
+
+    @Schema(description = "Identifiant du compte émetteur", example = "1")
+    private Long compteEmetteurId;
+
+    @Schema(description = "Identifiant du compte récepteur", example = "2")
+    private Long compteRecepteurId;
+
+    @Schema(description = "Montant transféré", example = "5000.00")
+    private BigDecimal montant;
+
+    @Schema(description = "Date d'exécution du transfert", example = "2025-01-15T10:30:00")
+    private LocalDateTime date;
+
+    public TransfertResponseDTO() {
+        // Constructeur par défaut
+    }
+
+    public TransfertResponseDTO(Long transfertId, Long compteEmetteurId, Long compteRecepteurId, BigDecimal montant, LocalDateTime date) {
+        this.transfertId = transfertId;
+        this.compteEmetteurId = compteEmetteurId;
+        this.compteRecepteurId = compteRecepteurId;
+        this.montant = montant;
+        this.date = date;
+    }
+
+    public Long getTransfertId() {
+        return transfertId;
+    }
+
+    public void setTransfertId(Long transfertId) {
+        this.transfertId = transfertId;
+    }
+
+    public Long getCompteEmetteurId() {
+        return compteEmetteurId;
+    }
+
+    public void setCompteEmetteurId(Long compteEmetteurId) {
+        this.compteEmetteurId = compteEmetteurId;
+    }
+
+    public Long getCompteRecepteurId() {
+        return compteRecepteurId;
+    }
+
+    public void setCompteRecepteurId(Long compteRecepteurId) {
+        this.compteRecepteurId = compteRecepteurId;
+    }
+
+    public BigDecimal getMontant() {
+        return montant;
+    }
+
+    public void setMontant(BigDecimal montant) {
+        this.montant = montant;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+}
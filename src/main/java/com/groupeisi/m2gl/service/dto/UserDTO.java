@@ -1,6 +1,7 @@
 package com.groupeisi.m2gl.service.dto;
 
 import com.groupeisi.m2gl.domain.User;
+import com.groupeisi.m2gl.repository.UserRepository;
 import java.io.Serializable;
 import java.util.Objects;
 
@@ -25,6 +26,11 @@ public class UserDTO implements Serializable {
         this.login = user.getLogin();
     }
 
+    public UserDTO(UserRepository.UserPublic user) {
+        this.id = user.getId();
+        this.login = user.getLogin();
+    }
+
     public String getId() {
         return id;
     }
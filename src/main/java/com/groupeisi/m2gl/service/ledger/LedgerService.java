@@ -0,0 +1,198 @@
+package com.groupeisi.m2gl.service.ledger;
+
+import com.groupeisi.m2gl.domain.LedgerCheckpoint;
+import com.groupeisi.m2gl.domain.LedgerEntry;
+import com.groupeisi.m2gl.repository.LedgerCheckpointRepository;
+import com.groupeisi.m2gl.repository.LedgerEntryRepository;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Grand livre des comptes, en partie double et en ajout seul.
+ * <p>
+ * Chaque transfert écrit une écriture de débit et une écriture de crédit, dans la transaction qui met à jour les
+ * soldes. Le solde de {@code compte} reste la valeur lue par l'application : c'est une projection du grand livre,
+ * mise à jour dans la même transaction que les écritures, sous le verrou de la ligne du compte.
+ * <p>
+ * Un point de contrôle est écrit périodiquement ({@code application.ledger.checkpoint-interval-ms}) pour chaque
+ * compte ayant de nouvelles écritures. Le solde à une date ({@link #soldeAt(Long, LocalDateTime)}) se calcule à
+ * partir du dernier point de contrôle antérieur, en ne parcourant que les écritures suivantes.
+ */
+@Service
+@Transactional
+public class LedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerService.class);
+
+    private static final String INSERT_ENTRY_SQL =
+        "insert into ledger_entry (compte_id, transfert_id, montant, solde, date) values (?, ?, ?, ?, ?)";
+
+    private static final long OUVERTURE_ENTRY_ID = 0L;
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final LedgerCheckpointRepository ledgerCheckpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public LedgerService(
+        LedgerEntryRepository ledgerEntryRepository,
+        LedgerCheckpointRepository ledgerCheckpointRepository,
+        JdbcTemplate jdbcTemplate
+    ) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.ledgerCheckpointRepository = ledgerCheckpointRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Enregistre le solde initial d'un compte qui vient d'être créé.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ouvrirCompte(Long compteId, BigDecimal solde) {
+        LedgerCheckpoint checkpoint = new LedgerCheckpoint();
+        checkpoint.setCompteId(compteId);
+        checkpoint.setEntryId(OUVERTURE_ENTRY_ID);
+        checkpoint.setSolde(solde);
+        checkpoint.setDate(LocalDateTime.now());
+        ledgerCheckpointRepository.save(checkpoint);
+    }
+
+    /**
+     * Enregistre les écritures d'un transfert exécuté.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void transfertExecute(
+        Long transfertId,
+        Long emetteurId,
+        BigDecimal soldeEmetteur,
+        Long recepteurId,
+        BigDecimal soldeRecepteur,
+        BigDecimal montant,
+        LocalDateTime date
+    ) {
+        List<LedgerEntry> entries = new ArrayList<>(2);
+        addTransfertExecute(entries, transfertId, emetteurId, soldeEmetteur, recepteurId, soldeRecepteur, montant, date);
+        save(entries);
+    }
+
+    /**
+     * Ajoute à {@code entries} les écritures d'un transfert exécuté : le débit de l'émetteur et le crédit du
+     * récepteur, chacune avec le solde du compte après le transfert. Les écritures sont insérées par
+     * {@link #save(List)}.
+     */
+    public void addTransfertExecute(
+        List<LedgerEntry> entries,
+        Long transfertId,
+        Long emetteurId,
+        BigDecimal soldeEmetteur,
+        Long recepteurId,
+        BigDecimal soldeRecepteur,
+        BigDecimal montant,
+        LocalDateTime date
+    ) {
+        addDebit(entries, transfertId, emetteurId, soldeEmetteur, montant, date);
+        addCredit(entries, transfertId, recepteurId, soldeRecepteur, montant, date);
+    }
+
+    /**
+     * Ajoute à {@code entries} l'écriture de débit d'un transfert, avec le solde de l'émetteur après le débit.
+     */
+    public void addDebit(
+        List<LedgerEntry> entries,
+        Long transfertId,
+        Long emetteurId,
+        BigDecimal solde,
+        BigDecimal montant,
+        LocalDateTime date
+    ) {
+        entries.add(newEntry(emetteurId, transfertId, montant.negate(), solde, date));
+    }
+
+    /**
+     * Ajoute à {@code entries} l'écriture de crédit d'un transfert, avec le solde du récepteur après le crédit.
+     */
+    public void addCredit(
+        List<LedgerEntry> entries,
+        Long transfertId,
+        Long recepteurId,
+        BigDecimal solde,
+        BigDecimal montant,
+        LocalDateTime date
+    ) {
+        entries.add(newEntry(recepteurId, transfertId, montant, solde, date));
+    }
+
+    /**
+     * Insère les écritures en un lot JDBC, dans l'ordre de la liste.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void save(List<LedgerEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        // Même conversion que Hibernate pour un LocalDateTime (hibernate.jdbc.time_zone: UTC)
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        jdbcTemplate.batchUpdate(INSERT_ENTRY_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getCompteId());
+            ps.setLong(2, entry.getTransfertId());
+            ps.setBigDecimal(3, entry.getMontant());
+            ps.setBigDecimal(4, entry.getSolde());
+            ps.setTimestamp(5, Timestamp.valueOf(entry.getDate()), utc);
+        });
+    }
+
+    /**
+     * Calcule le solde d'un compte à une date : le solde du dernier point de contrôle antérieur, plus les écritures
+     * suivantes jusqu'à cette date. Avant son ouverture, le solde d'un compte est nul.
+     *
+     * @param compteId l'identifiant du compte
+     * @param date la date du solde
+     * @return le solde du compte à cette date
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal soldeAt(Long compteId, LocalDateTime date) {
+        BigDecimal solde = BigDecimal.ZERO;
+        long apresId = OUVERTURE_ENTRY_ID;
+        LedgerCheckpoint checkpoint = ledgerCheckpointRepository
+            .findFirstByCompteIdAndDateLessThanEqualOrderByDateDescIdDesc(compteId, date)
+            .orElse(null);
+        if (checkpoint != null) {
+            solde = checkpoint.getSolde();
+            apresId = checkpoint.getEntryId();
+        }
+        return solde.add(ledgerEntryRepository.sumMontant(compteId, apresId, date));
+    }
+
+    /**
+     * Écrit un point de contrôle pour chaque compte ayant des écritures depuis le dernier passage.
+     * <p>
+     * Une écriture validée après le passage avec un identifiant inférieur n'est pas perdue : elle est comptée par le
+     * calcul du solde à partir du point de contrôle précédent du compte, puis par le point de contrôle suivant.
+     */
+    @Scheduled(fixedDelayString = "${application.ledger.checkpoint-interval-ms:3600000}")
+    public void checkpoint() {
+        int created = ledgerCheckpointRepository.insertFromLastEntries(ledgerCheckpointRepository.findMaxEntryId());
+        log.info("{} points de contrôle du grand livre écrits", created);
+    }
+
+    private LedgerEntry newEntry(Long compteId, Long transfertId, BigDecimal montant, BigDecimal solde, LocalDateTime date) {
+        LedgerEntry entry = new LedgerEntry();
+        entry.setCompteId(compteId);
+        entry.setTransfertId(transfertId);
+        entry.setMontant(montant);
+        entry.setSolde(solde);
+        entry.setDate(date);
+        return entry;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Append-only double-entry ledger: one debit and one credit entry per transfer, with balance checkpoints.
+ */
+package com.groupeisi.m2gl.service.ledger;
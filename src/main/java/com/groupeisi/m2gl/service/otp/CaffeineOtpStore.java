@@ -0,0 +1,98 @@
+package com.groupeisi.m2gl.service.otp;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * {@link OtpStore} dans un cache Caffeine local à l'instance, où chaque code expire après sa propre durée de validité.
+ * <p>
+ * Le nombre de codes en attente est borné : sous un afflux de demandes (pompage de SMS), les codes les moins
+ * susceptibles d'être vérifiés sont évincés au lieu de faire grossir le tas. Les codes expirés sont retirés
+ * activement par le {@link Scheduler} système, sans attendre une nouvelle lecture. Le cache est instrumenté sous
+ * le nom {@code otp.store}, et chaque éviction est comptée par {@code otp.store.evictions} (tag {@code cause}).
+ */
+public class CaffeineOtpStore implements OtpStore {
+
+    private final Cache<String, Entry> cache;
+    private final Ticker ticker;
+
+    public CaffeineOtpStore(long maximumSize, MeterRegistry meterRegistry) {
+        this(maximumSize, Ticker.systemTicker(), meterRegistry);
+    }
+
+    public CaffeineOtpStore(long maximumSize, Ticker ticker, MeterRegistry meterRegistry) {
+        this.ticker = ticker;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .ticker(ticker)
+            .expireAfter(new EntryExpiry())
+            .scheduler(Scheduler.systemScheduler())
+            .evictionListener((String key, Entry entry, RemovalCause cause) ->
+                meterRegistry.counter("otp.store.evictions", "cause", cause.name().toLowerCase(Locale.ROOT)).increment()
+            )
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "otp.store");
+    }
+
+    @Override
+    public void put(String telephone, String otp, Duration ttl) {
+        cache.put(telephone, new Entry(otp, ticker.read() + ttl.toNanos()));
+    }
+
+    @Override
+    public Verification verifyAndConsume(String telephone, String otp) {
+        Verification[] result = { Verification.NOT_FOUND };
+        cache
+            .asMap()
+            .computeIfPresent(telephone, (key, entry) -> {
+                if (!entry.otp.equals(otp)) {
+                    result[0] = Verification.INVALID;
+                    return entry;
+                }
+                result[0] = Verification.VALID;
+                return null;
+            });
+        return result[0];
+    }
+
+    /**
+     * Nombre approximatif de codes en attente.
+     */
+    public long estimatedSize() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private record Entry(String otp, long expiryNanos) {}
+
+    /**
+     * Expiration à l'échéance propre à chaque code : une tentative invalide ne prolonge pas sa validité,
+     * un nouveau code repart de sa propre durée.
+     */
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return Math.max(0, entry.expiryNanos - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return Math.max(0, entry.expiryNanos - currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.groupeisi.m2gl.service.otp;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link OtpStore} dans une {@link ConcurrentHashMap} locale à l'instance.
+ * <p>
+ * Les codes expirés ne sont supprimés que lorsqu'ils sont relus, et la map n'est pas bornée : à réserver aux tests
+ * et au développement.
+ */
+public class InMemoryOtpStore implements OtpStore {
+
+    private final Map<String, Entry> store = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public InMemoryOtpStore() {
+        this(Clock.systemUTC());
+    }
+
+    public InMemoryOtpStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void put(String telephone, String otp, Duration ttl) {
+        store.put(telephone, new Entry(otp, clock.millis() + ttl.toMillis()));
+    }
+
+    @Override
+    public Verification verifyAndConsume(String telephone, String otp) {
+        Verification[] result = { Verification.NOT_FOUND };
+        store.computeIfPresent(telephone, (key, entry) -> {
+            if (clock.millis() > entry.expiryTime) {
+                return null;
+            }
+            if (!entry.otp.equals(otp)) {
+                result[0] = Verification.INVALID;
+                return entry;
+            }
+            result[0] = Verification.VALID;
+            return null;
+        });
+        return result[0];
+    }
+
+    private record Entry(String otp, long expiryTime) {}
+}
@@ -0,0 +1,41 @@
+package com.groupeisi.m2gl.service.otp;
+
+import java.time.Duration;
+
+/**
+ * Stockage des codes OTP en attente de vérification, indexés par numéro de téléphone.
+ * <p>
+ * L'expiration est à la charge de l'implémentation : un code expiré n'est plus jamais renvoyé comme valide,
+ * sans que l'appelant ait à comparer des dates.
+ */
+public interface OtpStore {
+    /**
+     * Résultat de la vérification d'un code.
+     */
+    enum Verification {
+        /** Le code correspond : il a été consommé. */
+        VALID,
+        /** Un code est en attente pour ce téléphone, mais il ne correspond pas. */
+        INVALID,
+        /** Aucun code en attente pour ce téléphone, ou le code a expiré. */
+        NOT_FOUND,
+    }
+
+    /**
+     * Enregistre un code, en remplaçant le code en attente pour ce téléphone.
+     *
+     * @param telephone le numéro de téléphone
+     * @param otp le code OTP
+     * @param ttl la durée de validité du code
+     */
+    void put(String telephone, String otp, Duration ttl);
+
+    /**
+     * Vérifie un code et le supprime s'il correspond, de façon atomique : un même code ne peut être validé qu'une fois.
+     *
+     * @param telephone le numéro de téléphone
+     * @param otp le code à vérifier
+     * @return le résultat de la vérification
+     */
+    Verification verifyAndConsume(String telephone, String otp);
+}
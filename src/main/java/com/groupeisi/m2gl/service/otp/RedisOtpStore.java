@@ -0,0 +1,55 @@
+package com.groupeisi.m2gl.service.otp;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import java.time.Duration;
+
+/**
+ * {@link OtpStore} partagé entre les instances, dans Redis ou tout serveur compatible avec le protocole Redis.
+ * <p>
+ * Chaque code est écrit avec {@code SET ... PX} : c'est le serveur qui le fait expirer. La vérification compare
+ * et supprime le code dans un script Lua, exécuté de façon atomique par le serveur.
+ */
+public class RedisOtpStore implements OtpStore, AutoCloseable {
+
+    private static final String KEY_PREFIX = "otp:";
+
+    private static final String VERIFY_AND_CONSUME_SCRIPT =
+        "local otp = redis.call('GET', KEYS[1]) " +
+        "if not otp then return 0 end " +
+        "if otp == ARGV[1] then redis.call('DEL', KEYS[1]) return 1 end " +
+        "return 2";
+
+    private final RedisClient client;
+    private final StatefulRedisConnection<String, String> connection;
+    private final RedisCommands<String, String> commands;
+
+    public RedisOtpStore(String redisUri) {
+        this.client = RedisClient.create(redisUri);
+        this.connection = client.connect();
+        this.commands = connection.sync();
+    }
+
+    @Override
+    public void put(String telephone, String otp, Duration ttl) {
+        commands.set(KEY_PREFIX + telephone, otp, SetArgs.Builder.px(ttl.toMillis()));
+    }
+
+    @Override
+    public Verification verifyAndConsume(String telephone, String otp) {
+        Long result = commands.eval(VERIFY_AND_CONSUME_SCRIPT, ScriptOutputType.INTEGER, new String[] { KEY_PREFIX + telephone }, otp);
+        if (result == 1L) {
+            return Verification.VALID;
+        }
+        return result == 2L ? Verification.INVALID : Verification.NOT_FOUND;
+    }
+
+    @Override
+    public void close() {
+        connection.close();
+        client.shutdown();
+    }
+}
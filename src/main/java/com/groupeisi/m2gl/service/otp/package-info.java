@@ -0,0 +1,4 @@
+/**
+ * Storage of OTP codes.
+ */
+package com.groupeisi.m2gl.service.otp;
@@ -0,0 +1,83 @@
+package com.groupeisi.m2gl.service.outbox;
+
+import com.groupeisi.m2gl.domain.OutboxEvent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link OutboxPublisher} gardant en mémoire les derniers messages publiés, à la place d'un broker.
+ * <p>
+ * Destiné aux tests et au développement : seuls les {@code capacity} derniers messages sont conservés.
+ */
+public class InMemoryOutboxPublisher implements OutboxPublisher {
+
+    private final int capacity;
+    private final Deque<Message> messages = new ArrayDeque<>();
+
+    public InMemoryOutboxPublisher(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized CompletableFuture<Void> publish(String topic, OutboxEvent event) {
+        if (messages.size() == capacity) {
+            messages.removeFirst();
+        }
+        messages.addLast(new Message(topic, event.getAggregateId(), event.getEventType(), event.getId(), event.getPayload()));
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * @return les messages publiés, dans l'ordre de publication
+     */
+    public synchronized List<Message> getMessages() {
+        return new ArrayList<>(messages);
+    }
+
+    public synchronized void clear() {
+        messages.clear();
+    }
+
+    /**
+     * Message publié.
+     */
+    public static final class Message {
+
+        private final String topic;
+        private final String key;
+        private final String eventType;
+        private final Long eventId;
+        private final String payload;
+
+        Message(String topic, String key, String eventType, Long eventId, String payload) {
+            this.topic = topic;
+            this.key = key;
+            this.eventType = eventType;
+            this.eventId = eventId;
+            this.payload = payload;
+        }
+
+        public String getTopic() {
+            return topic;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getEventType() {
+            return eventType;
+        }
+
+        public Long getEventId() {
+            return eventId;
+        }
+
+        public String getPayload() {
+            return payload;
+        }
+    }
+}
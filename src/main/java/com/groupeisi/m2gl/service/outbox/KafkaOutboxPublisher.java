@@ -0,0 +1,55 @@
+package com.groupeisi.m2gl.service.outbox;
+
+import com.groupeisi.m2gl.domain.OutboxEvent;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+/**
+ * {@link OutboxPublisher} Kafka.
+ * <p>
+ * La clé du message est l'identifiant de l'agrégat : tous les événements d'un compte vont dans la même partition.
+ * Le producteur est idempotent, ce qui conserve l'ordre dans la partition malgré les renvois. Le type et
+ * l'identifiant de l'événement sont passés en en-têtes {@code event-type} et {@code event-id}, ce dernier permettant
+ * aux consommateurs d'écarter les doublons.
+ */
+public class KafkaOutboxPublisher implements OutboxPublisher, AutoCloseable {
+
+    private final KafkaProducer<String, String> producer;
+
+    public KafkaOutboxPublisher(String bootstrapServers) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        config.put(ProducerConfig.CLIENT_ID_CONFIG, "outbox-relay");
+        this.producer = new KafkaProducer<>(config, new StringSerializer(), new StringSerializer());
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(String topic, OutboxEvent event) {
+        ProducerRecord<String, String> record = new ProducerRecord<>(topic, event.getAggregateId(), event.getPayload());
+        record.headers().add("event-type", event.getEventType().getBytes(StandardCharsets.UTF_8));
+        record.headers().add("event-id", String.valueOf(event.getId()).getBytes(StandardCharsets.UTF_8));
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        producer.send(record, (metadata, exception) -> {
+            if (exception != null) {
+                future.completeExceptionally(exception);
+            } else {
+                future.complete(null);
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public void close() {
+        producer.close();
+    }
+}
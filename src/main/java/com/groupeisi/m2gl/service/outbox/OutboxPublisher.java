@@ -0,0 +1,21 @@
+package com.groupeisi.m2gl.service.outbox;
+
+import com.groupeisi.m2gl.domain.OutboxEvent;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Publication des événements de l'outbox vers le broker.
+ * <p>
+ * L'implémentation est choisie par {@code application.outbox.publisher}. Les événements d'un même agrégat sont
+ * publiés avec la même clé, dans l'ordre des appels : l'implémentation doit conserver cet ordre.
+ */
+public interface OutboxPublisher {
+    /**
+     * Publie un événement, de façon asynchrone.
+     *
+     * @param topic le topic de destination
+     * @param event l'événement, dont l'identifiant de l'agrégat sert de clé
+     * @return complété lorsque le broker a accusé réception de l'événement
+     */
+    CompletableFuture<Void> publish(String topic, OutboxEvent event);
+}
@@ -0,0 +1,157 @@
+package com.groupeisi.m2gl.service.outbox;
+
+import com.groupeisi.m2gl.config.ApplicationProperties;
+import com.groupeisi.m2gl.domain.OutboxEvent;
+import com.groupeisi.m2gl.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Relais de l'outbox : publie les événements en attente par lots, puis les supprime.
+ * <p>
+ * Chaque lot ({@code application.outbox.batch-size} événements au plus) est traité dans une transaction : les
+ * événements sont verrouillés dans l'ordre de leur identifiant, publiés, et seuls ceux dont le broker a accusé
+ * réception sont supprimés. Un événement publié mais non supprimé (arrêt, échec de la validation) est republié au
+ * lot suivant : la livraison est « au moins une fois ». Lorsqu'un événement échoue, les événements suivants du même
+ * agrégat restent aussi dans l'outbox, pour être republiés après lui.
+ * <p>
+ * La transaction est en READ COMMITTED : le verrou des lignes lues ne bloque pas l'insertion de nouveaux événements
+ * par les transactions métier.
+ * <p>
+ * Métriques : {@code outbox.events.published} et {@code outbox.events.failed} (débit), {@code outbox.lag} (âge du
+ * plus ancien événement en attente, en secondes) et {@code outbox.relay.batch} (durée d'un lot).
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final ApplicationProperties.Outbox properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+
+    public OutboxRelay(
+        OutboxEventRepository outboxEventRepository,
+        OutboxPublisher outboxPublisher,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.properties = applicationProperties.getOutbox();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        Gauge.builder("outbox.lag", lagMillis, lag -> lag.get() / 1000d)
+            .description("Âge du plus ancien événement en attente de publication")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        this.publishedCounter = Counter.builder("outbox.events.published").description("Événements publiés").register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.events.failed")
+            .description("Événements dont la publication a échoué")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch").description("Durée de publication d'un lot").register(meterRegistry);
+    }
+
+    /**
+     * Vide l'outbox, lot par lot, jusqu'à ce qu'un lot soit incomplet ou qu'une publication échoue.
+     */
+    @Scheduled(fixedDelayString = "${application.outbox.poll-interval-ms:500}")
+    public void relay() {
+        int published;
+        do {
+            published = relayBatch();
+        } while (published == properties.getBatchSize());
+    }
+
+    /**
+     * Publie le prochain lot d'événements.
+     *
+     * @return le nombre d'événements publiés et supprimés, ou {@code -1} si une publication a échoué
+     */
+    public int relayBatch() {
+        Integer published = batchTimer.record(() -> transactionTemplate.execute(status -> publishNextBatch()));
+        return published == null ? 0 : published;
+    }
+
+    private int publishNextBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(properties.getBatchSize());
+        if (batch.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+        lagMillis.set(Math.max(0, Duration.between(batch.get(0).getCreatedDate(), Instant.now()).toMillis()));
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            futures.add(outboxPublisher.publish(properties.getTopicPrefix() + "." + event.getAggregateType(), event));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getPublishTimeoutMs());
+        Set<String> failedAggregates = new HashSet<>();
+        List<Long> delivered = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            String aggregate = event.getAggregateType() + ":" + event.getAggregateId();
+            boolean acknowledged = awaitAcknowledgement(futures.get(i), deadline, event);
+            if (acknowledged && !failedAggregates.contains(aggregate)) {
+                delivered.add(event.getId());
+            } else {
+                failedAggregates.add(aggregate);
+            }
+        }
+        if (!delivered.isEmpty()) {
+            outboxEventRepository.deleteByIdIn(delivered);
+        }
+        publishedCounter.increment(delivered.size());
+        failedCounter.increment(batch.size() - delivered.size());
+        if (delivered.size() < batch.size()) {
+            log.warn(
+                "{} événements de l'outbox non publiés sur un lot de {}, nouvel essai au prochain passage",
+                batch.size() - delivered.size(),
+                batch.size()
+            );
+            return -1;
+        }
+        return delivered.size();
+    }
+
+    private boolean awaitAcknowledgement(CompletableFuture<Void> future, long deadline, OutboxEvent event) {
+        try {
+            future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("Échec de la publication de l'événement {} : {}", event, e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.groupeisi.m2gl.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.groupeisi.m2gl.domain.Compte;
+import com.groupeisi.m2gl.domain.OutboxEvent;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Écriture des événements métier dans l'outbox, dans la transaction du changement qu'ils décrivent.
+ * <p>
+ * Les événements sont insérés en un seul lot JDBC par appel. L'identifiant est attribué par la base à l'insertion :
+ * comme les modifications d'un même compte sont sérialisées par le verrou de sa ligne, les événements d'un compte
+ * reçoivent des identifiants croissants dans l'ordre de leurs transactions, quel que soit le nombre d'instances.
+ * <p>
+ * Événements de l'agrégat {@code compte} : {@code CompteCree}, {@code CompteDebite} et {@code CompteCredite}.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    public static final String AGGREGATE_COMPTE = "compte";
+
+    public static final String COMPTE_CREE = "CompteCree";
+    public static final String COMPTE_DEBITE = "CompteDebite";
+    public static final String COMPTE_CREDITE = "CompteCredite";
+
+    private static final String INSERT_SQL =
+        "insert into outbox_event (aggregate_type, aggregate_id, event_type, payload, created_date) values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Enregistre la création d'un compte.
+     */
+    public void compteCree(Compte compte, String userId, String telephone) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("compteId", compte.getId());
+        payload.put("numCompte", compte.getNumCompte());
+        payload.put("userId", userId);
+        payload.put("telephone", telephone);
+        payload.put("dateCreation", String.valueOf(compte.getDateCreation()));
+        save(List.of(newEvent(compte.getId(), COMPTE_CREE, payload)));
+    }
+
+    /**
+     * Enregistre un transfert exécuté.
+     */
+    public void transfertExecute(Long transfertId, Long emetteurId, Long recepteurId, BigDecimal montant, LocalDateTime date) {
+        List<OutboxEvent> events = new ArrayList<>(2);
+        addTransfertExecute(events, transfertId, emetteurId, recepteurId, montant, date);
+        save(events);
+    }
+
+    /**
+     * Ajoute à {@code events} les événements d'un transfert exécuté : le débit de l'émetteur et le crédit du récepteur,
+     * chacun publié avec la clé de son compte. Les événements sont écrits par {@link #save(List)}.
+     */
+    public void addTransfertExecute(
+        List<OutboxEvent> events,
+        Long transfertId,
+        Long emetteurId,
+        Long recepteurId,
+        BigDecimal montant,
+        LocalDateTime date
+    ) {
+        events.add(newEvent(emetteurId, COMPTE_DEBITE, mouvement(transfertId, emetteurId, recepteurId, montant, date)));
+        events.add(newEvent(recepteurId, COMPTE_CREDITE, mouvement(transfertId, recepteurId, emetteurId, montant, date)));
+    }
+
+    /**
+     * Insère les événements en un lot JDBC, dans l'ordre de la liste.
+     */
+    public void save(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.getAggregateType());
+            ps.setString(2, event.getAggregateId());
+            ps.setString(3, event.getEventType());
+            ps.setString(4, event.getPayload());
+            // Même convention que Hibernate (hibernate.jdbc.time_zone: UTC)
+            ps.setObject(5, LocalDateTime.ofInstant(event.getCreatedDate(), ZoneOffset.UTC));
+        });
+    }
+
+    private ObjectNode mouvement(Long transfertId, Long compteId, Long contrepartieId, BigDecimal montant, LocalDateTime date) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("transfertId", transfertId);
+        payload.put("compteId", compteId);
+        payload.put("contrepartieId", contrepartieId);
+        payload.put("montant", montant);
+        payload.put("date", String.valueOf(date));
+        return payload;
+    }
+
+    private OutboxEvent newEvent(Long compteId, String eventType, ObjectNode payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(AGGREGATE_COMPTE);
+        event.setAggregateId(String.valueOf(compteId));
+        event.setEventType(eventType);
+        event.setPayload(payload.toString());
+        event.setCreatedDate(Instant.now());
+        return event;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Transactional outbox: business events written with the change they describe, then relayed to the broker.
+ */
+package com.groupeisi.m2gl.service.outbox;
@@ -0,0 +1,93 @@
+package com.groupeisi.m2gl.service.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link RateLimiter} local à l'instance, sans verrou : chaque seau est un {@link AtomicLong} portant l'instant
+ * auquel il sera plein, mis à jour par compare-and-set.
+ * <p>
+ * Un seau inutilisé pendant toute sa période est de nouveau plein : il est alors retiré du cache, sans rien perdre.
+ * Le nombre de seaux est de plus borné, pour qu'un balayage d'adresses IP ou de numéros ne fasse pas grossir le tas.
+ * Le cache est instrumenté sous le nom {@code rate.limit.buckets}.
+ */
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private final Cache<String, Bucket> buckets;
+    private final Ticker ticker;
+
+    public InMemoryRateLimiter(long maximumSize, MeterRegistry meterRegistry) {
+        this(maximumSize, Ticker.systemTicker(), meterRegistry);
+    }
+
+    public InMemoryRateLimiter(long maximumSize, Ticker ticker, MeterRegistry meterRegistry) {
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .ticker(ticker)
+            .expireAfter(new BucketExpiry())
+            .scheduler(Scheduler.systemScheduler())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate.limit.buckets");
+    }
+
+    @Override
+    public boolean tryAcquire(String key, Limit limit) {
+        long now = ticker.read();
+        long periodNanos = limit.period().toNanos();
+        long intervalNanos = limit.intervalNanos();
+        Bucket bucket = buckets.get(key, k -> new Bucket(now, periodNanos));
+        while (true) {
+            long full = bucket.full.get();
+            long next = (full - now < 0 ? now : full) + intervalNanos;
+            if (next - now > periodNanos) {
+                return false;
+            }
+            if (bucket.full.compareAndSet(full, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Nombre approximatif de seaux en mémoire.
+     */
+    public long estimatedSize() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private record Bucket(AtomicLong full, long periodNanos) {
+        Bucket(long now, long periodNanos) {
+            this(new AtomicLong(now), periodNanos);
+        }
+    }
+
+    /**
+     * Expiration après une période sans appel, à partir de laquelle le seau est plein.
+     */
+    private static final class BucketExpiry implements Expiry<String, Bucket> {
+
+        @Override
+        public long expireAfterCreate(String key, Bucket bucket, long currentTime) {
+            return bucket.periodNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Bucket bucket, long currentTime, long currentDuration) {
+            return bucket.periodNanos;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Bucket bucket, long currentTime, long currentDuration) {
+            return bucket.periodNanos;
+        }
+    }
+}
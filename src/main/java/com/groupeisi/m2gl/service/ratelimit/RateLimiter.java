@@ -0,0 +1,33 @@
+package com.groupeisi.m2gl.service.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Limiteur de débit par clé, en seau à jetons.
+ * <p>
+ * Un seau contient au plus {@code capacity} jetons, rechargés au rythme de {@code capacity} jetons par
+ * {@code period} : au plus {@code capacity} appels en rafale, puis un appel tous les {@code period / capacity}.
+ * L'état d'un seau tient dans une seule valeur, l'instant auquel il sera de nouveau plein (algorithme GCRA).
+ */
+public interface RateLimiter {
+    /**
+     * Capacité et période de recharge d'un seau.
+     */
+    record Limit(long capacity, Duration period) {
+        /**
+         * @return le délai de recharge d'un jeton, en nanosecondes
+         */
+        public long intervalNanos() {
+            return period.toNanos() / capacity;
+        }
+    }
+
+    /**
+     * Consomme un jeton du seau de la clé, de façon atomique.
+     *
+     * @param key la clé du seau
+     * @param limit la capacité et la période de recharge du seau
+     * @return {@code true} si un jeton a été consommé, {@code false} si le seau est vide
+     */
+    boolean tryAcquire(String key, Limit limit);
+}
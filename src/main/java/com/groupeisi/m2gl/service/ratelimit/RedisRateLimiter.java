@@ -0,0 +1,56 @@
+package com.groupeisi.m2gl.service.ratelimit;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+
+/**
+ * {@link RateLimiter} partagé entre les instances, dans Redis ou tout serveur compatible avec le protocole Redis.
+ * <p>
+ * Chaque appel est un script Lua exécuté de façon atomique par le serveur, sur son horloge : les instances n'ont
+ * pas à avoir des horloges synchronisées. La clé d'un seau expire lorsqu'il est de nouveau plein.
+ */
+public class RedisRateLimiter implements RateLimiter, AutoCloseable {
+
+    private static final String KEY_PREFIX = "rate:";
+
+    // Instants en microsecondes : moins de 2^53, exacts dans les nombres Lua
+    private static final String TRY_ACQUIRE_SCRIPT =
+        "local time = redis.call('TIME') " +
+        "local now = tonumber(time[1]) * 1000000 + tonumber(time[2]) " +
+        "local full = tonumber(redis.call('GET', KEYS[1]) or now) " +
+        "if full < now then full = now end " +
+        "local nxt = full + tonumber(ARGV[1]) " +
+        "if nxt - now > tonumber(ARGV[2]) then return 0 end " +
+        "redis.call('SET', KEYS[1], string.format('%.0f', nxt), 'PX', math.ceil((nxt - now) / 1000)) " +
+        "return 1";
+
+    private final RedisClient client;
+    private final StatefulRedisConnection<String, String> connection;
+    private final RedisCommands<String, String> commands;
+
+    public RedisRateLimiter(String redisUri) {
+        this.client = RedisClient.create(redisUri);
+        this.connection = client.connect();
+        this.commands = connection.sync();
+    }
+
+    @Override
+    public boolean tryAcquire(String key, Limit limit) {
+        Long result = commands.eval(
+            TRY_ACQUIRE_SCRIPT,
+            ScriptOutputType.INTEGER,
+            new String[] { KEY_PREFIX + key },
+            String.valueOf(limit.intervalNanos() / 1_000),
+            String.valueOf(limit.period().toNanos() / 1_000)
+        );
+        return result == 1L;
+    }
+
+    @Override
+    public void close() {
+        connection.close();
+        client.shutdown();
+    }
+}
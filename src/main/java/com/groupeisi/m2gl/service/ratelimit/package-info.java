@@ -0,0 +1,4 @@
+/**
+ * Token-bucket rate limiting of the signup and login endpoints, in memory or in a shared Redis store.
+ */
+package com.groupeisi.m2gl.service.ratelimit;
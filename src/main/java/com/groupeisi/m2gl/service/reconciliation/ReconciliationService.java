@@ -0,0 +1,399 @@
+package com.groupeisi.m2gl.service.reconciliation;
+
+import com.groupeisi.m2gl.config.ApplicationProperties;
+import com.groupeisi.m2gl.service.dto.ReconciliationReportDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Rapprochement des soldes : vérifie que le solde de chaque compte est égal à son solde d'ouverture (point de
+ * contrôle d'ouverture du grand livre) plus ses crédits moins ses débits de {@code details_transaction}, et que la
+ * somme des soldes est égale à la somme des soldes d'ouverture (aucun transfert ne crée ni ne détruit d'argent).
+ * <p>
+ * L'espace des identifiants de comptes est découpé en plages de {@code application.reconciliation.range-size}
+ * identifiants, vérifiées en parallèle sur un pool fork-join de {@code application.reconciliation.parallelism}
+ * threads. Chaque plage est lue par une seule requête, dans une transaction en lecture seule et en REPEATABLE READ :
+ * le solde d'un compte et ses transferts sont lus dans le même instantané. Les débits et les crédits de la plage sont
+ * agrégés par compte sur les index couvrants de l'historique, et le résultat est parcouru par un curseur en avant
+ * seulement : la mémoire utilisée ne dépend pas du nombre de comptes. La conservation est vérifiée à part, dans un
+ * seul instantané, puisque les plages sont lues à des instants différents.
+ * <p>
+ * Un transfert du mode partitionné dont le crédit est en attente ({@code credit_en_attente}) est déjà débité, mais
+ * n'a pas encore de {@code details_transaction} : il est compté dans les débits de l'émetteur, et dans la somme des
+ * soldes pour la conservation.
+ * <p>
+ * Le rapprochement s'exécute selon {@code application.reconciliation.cron} et à la demande
+ * ({@code POST /management/reconciliation}) ; un seul rapprochement s'exécute à la fois.
+ * <p>
+ * Métriques : {@code reconciliation.accounts} (comptes vérifiés, dont le débit donne la vitesse),
+ * {@code reconciliation.progress} (part des plages vérifiées), {@code reconciliation.mismatches} (écarts du dernier
+ * rapprochement) et {@code reconciliation.duration}.
+ */
+@Service
+public class ReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliationService.class);
+
+    private static final String BORNES_SQL = "select min(id), max(id) from compte";
+
+    private static final String PLAGE_SQL =
+        "select c.id, c.solde, o.solde, d.total, r.total, a.total from compte c " +
+        "left join ledger_checkpoint o on o.compte_id = c.id and o.entry_id = 0 " +
+        "left join (select dt.compte_emetteur_id as compte_id, sum(dt.montant) as total from details_transaction dt " +
+        "join ledger_checkpoint oe on oe.compte_id = dt.compte_emetteur_id and oe.entry_id = 0 " +
+        "where dt.compte_emetteur_id >= ? and dt.compte_emetteur_id < ? and dt.date_transfert >= oe.date " +
+        "group by dt.compte_emetteur_id) d on d.compte_id = c.id " +
+        "left join (select dt.compte_recepteur_id as compte_id, sum(dt.montant) as total from details_transaction dt " +
+        "join ledger_checkpoint orc on orc.compte_id = dt.compte_recepteur_id and orc.entry_id = 0 " +
+        "where dt.compte_recepteur_id >= ? and dt.compte_recepteur_id < ? and dt.date_transfert >= orc.date " +
+        "group by dt.compte_recepteur_id) r on r.compte_id = c.id " +
+        "left join (select ce.compte_emetteur_id as compte_id, sum(ce.montant) as total from credit_en_attente ce " +
+        "where ce.compte_emetteur_id >= ? and ce.compte_emetteur_id < ? " +
+        "group by ce.compte_emetteur_id) a on a.compte_id = c.id " +
+        "where c.id >= ? and c.id < ? " +
+        "order by c.id";
+
+    private static final String TOTAUX_SQL =
+        "select (select coalesce(sum(solde), 0) from compte) + (select coalesce(sum(montant), 0) from credit_en_attente), " +
+        "(select coalesce(sum(solde), 0) from ledger_checkpoint where entry_id = 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationProperties.Reconciliation properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool pool;
+
+    private final Counter comptesCounter;
+    private final Timer durationTimer;
+
+    private volatile Execution derniere;
+
+    public ReconciliationService(
+        JdbcTemplate jdbcTemplate,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = applicationProperties.getReconciliation();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.pool = new ForkJoinPool(
+            properties.getParallelism(),
+            forkJoinPool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName("reconciliation-" + thread.getPoolIndex());
+                return thread;
+            },
+            null,
+            false
+        );
+        this.comptesCounter = Counter.builder("reconciliation.accounts").description("Comptes vérifiés").register(meterRegistry);
+        this.durationTimer = Timer.builder("reconciliation.duration").description("Durée d'un rapprochement").register(meterRegistry);
+        Gauge.builder("reconciliation.progress", this, service -> service.progress())
+            .description("Part des plages de comptes vérifiées par le rapprochement en cours ou le dernier")
+            .register(meterRegistry);
+        Gauge.builder("reconciliation.mismatches", this, service -> service.mismatches())
+            .description("Comptes en écart au dernier rapprochement")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+
+    @Scheduled(cron = "${application.reconciliation.cron:0 0 3 * * *}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Exécute un rapprochement et attend sa fin. Si un rapprochement est déjà en cours, renvoie son état sans en
+     * démarrer un autre.
+     *
+     * @return le rapport du rapprochement
+     */
+    public ReconciliationReportDTO reconcile() {
+        Execution execution = begin();
+        if (execution == null) {
+            return derniere.report();
+        }
+        run(execution);
+        return execution.report();
+    }
+
+    /**
+     * Démarre un rapprochement sur le pool, sans attendre sa fin. Si un rapprochement est déjà en cours, renvoie son
+     * état sans en démarrer un autre.
+     *
+     * @return l'état du rapprochement démarré ou en cours
+     */
+    public ReconciliationReportDTO start() {
+        Execution execution = begin();
+        if (execution == null) {
+            return derniere.report();
+        }
+        pool.execute(() -> run(execution));
+        return execution.report();
+    }
+
+    /**
+     * @return l'état du rapprochement en cours ou du dernier rapprochement, ou {@code null} s'il n'y en a pas eu
+     */
+    public ReconciliationReportDTO getDernierRapport() {
+        Execution execution = derniere;
+        return execution == null ? null : execution.report();
+    }
+
+    private synchronized Execution begin() {
+        if (derniere != null && derniere.statut == ReconciliationReportDTO.Statut.EN_COURS) {
+            log.info("Un rapprochement des soldes est déjà en cours");
+            return null;
+        }
+        derniere = new Execution(properties.getMaxReportedMismatches());
+        return derniere;
+    }
+
+    private void run(Execution execution) {
+        try {
+            long[] bornes = jdbcTemplate.queryForObject(BORNES_SQL, (rs, rowNum) -> {
+                long min = rs.getLong(1);
+                return rs.wasNull() ? null : new long[] { min, rs.getLong(2) };
+            });
+            if (bornes != null) {
+                long min = bornes[0];
+                long max = bornes[1];
+                long rangeSize = properties.getRangeSize();
+                int plages = (int) ((max - min) / rangeSize + 1);
+                execution.plagesTotal = plages;
+                log.info("Rapprochement des soldes des comptes {} à {} : {} plages", min, max, plages);
+                pool.invoke(new PlagesTask(execution, min, max, 0, plages));
+            }
+            verifierConservation(execution);
+            execution.terminer(ReconciliationReportDTO.Statut.TERMINE, null);
+        } catch (RuntimeException e) {
+            log.error("Échec du rapprochement des soldes", e);
+            execution.terminer(ReconciliationReportDTO.Statut.ECHEC, e.getMessage());
+        }
+        durationTimer.record(execution.elapsedNanos(), TimeUnit.NANOSECONDS);
+        ReconciliationReportDTO report = execution.report();
+        log.info(
+            "Rapprochement des soldes {} : {} comptes vérifiés ({} comptes/s), {} écarts, conservation {}",
+            report.getStatut(),
+            report.getComptesVerifies(),
+            report.getComptesParSeconde(),
+            report.getNombreEcarts(),
+            report.getConservation()
+        );
+    }
+
+    private void verifierPlage(Execution execution, long debut, long fin) {
+        long comptes = transactionTemplate.execute(status -> {
+            long count = 0;
+            try (
+                Stream<CompteVerifie> rows = jdbcTemplate.queryForStream(
+                    con -> {
+                        PreparedStatement ps = con.prepareStatement(PLAGE_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        ps.setFetchSize(properties.getFetchSize());
+                        for (int i = 1; i <= 8; i += 2) {
+                            ps.setLong(i, debut);
+                            ps.setLong(i + 1, fin);
+                        }
+                        return ps;
+                    },
+                    (rs, rowNum) ->
+                        new CompteVerifie(
+                            rs.getLong(1),
+                            rs.getBigDecimal(2),
+                            rs.getBigDecimal(3),
+                            rs.getBigDecimal(4),
+                            rs.getBigDecimal(5),
+                            rs.getBigDecimal(6)
+                        )
+                )
+            ) {
+                for (CompteVerifie compte : (Iterable<CompteVerifie>) rows::iterator) {
+                    BigDecimal attendu = compte.soldeAttendu();
+                    if (compte.solde().compareTo(attendu) != 0) {
+                        execution.ecart(new ReconciliationReportDTO.Ecart(compte.id(), compte.solde(), attendu));
+                    }
+                    count++;
+                }
+            }
+            return count;
+        });
+        execution.comptes.add(comptes);
+        comptesCounter.increment(comptes);
+        int traitees = execution.plagesTraitees.incrementAndGet();
+        log.debug("Plage [{}, {}) rapprochée : {} comptes ({}/{})", debut, fin, comptes, traitees, execution.plagesTotal);
+    }
+
+    private void verifierConservation(Execution execution) {
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.query(TOTAUX_SQL, rs -> {
+                execution.totalSoldes = rs.getBigDecimal(1);
+                execution.totalOuvertures = rs.getBigDecimal(2);
+            })
+        );
+    }
+
+    private double progress() {
+        Execution execution = derniere;
+        if (execution == null || execution.plagesTotal == 0) {
+            return execution != null && execution.statut != ReconciliationReportDTO.Statut.EN_COURS ? 1 : 0;
+        }
+        return (double) execution.plagesTraitees.get() / execution.plagesTotal;
+    }
+
+    private double mismatches() {
+        Execution execution = derniere;
+        return execution == null ? 0 : execution.ecarts.sum();
+    }
+
+    /**
+     * Vérifie les plages {@code [from, to)}, en partageant l'intervalle en deux jusqu'à une plage par tâche.
+     */
+    private final class PlagesTask extends RecursiveAction {
+
+        private final transient Execution execution;
+        private final long min;
+        private final long max;
+        private final int from;
+        private final int to;
+
+        private PlagesTask(Execution execution, long min, long max, int from, int to) {
+            this.execution = execution;
+            this.min = min;
+            this.max = max;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                long debut = min + from * properties.getRangeSize();
+                verifierPlage(execution, debut, Math.min(debut + properties.getRangeSize(), max + 1));
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PlagesTask(execution, min, max, from, middle), new PlagesTask(execution, min, max, middle, to));
+        }
+    }
+
+    private record CompteVerifie(
+        long id,
+        BigDecimal solde,
+        BigDecimal ouverture,
+        BigDecimal debits,
+        BigDecimal credits,
+        BigDecimal debitsEnAttente
+    ) {
+        /**
+         * Solde d'ouverture plus crédits moins débits, y compris les transferts débités dont le crédit est en attente ;
+         * un compte sans point de contrôle d'ouverture est ouvert à zéro.
+         */
+        BigDecimal soldeAttendu() {
+            return zeroIfNull(ouverture).add(zeroIfNull(credits)).subtract(zeroIfNull(debits)).subtract(zeroIfNull(debitsEnAttente));
+        }
+
+        private static BigDecimal zeroIfNull(BigDecimal value) {
+            return value == null ? BigDecimal.ZERO : value;
+        }
+    }
+
+    /**
+     * État d'un rapprochement, mis à jour par les tâches des plages.
+     */
+    private static final class Execution {
+
+        private final LocalDateTime debut = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final int maxEcarts;
+
+        private volatile ReconciliationReportDTO.Statut statut = ReconciliationReportDTO.Statut.EN_COURS;
+        private volatile LocalDateTime fin;
+        private volatile long endNanos;
+        private volatile String erreur;
+        private volatile int plagesTotal;
+        private final AtomicInteger plagesTraitees = new AtomicInteger();
+        private final LongAdder comptes = new LongAdder();
+        private final LongAdder ecarts = new LongAdder();
+        private final ConcurrentLinkedQueue<ReconciliationReportDTO.Ecart> echantillon = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger tailleEchantillon = new AtomicInteger();
+        private volatile BigDecimal totalSoldes;
+        private volatile BigDecimal totalOuvertures;
+
+        private Execution(int maxEcarts) {
+            this.maxEcarts = maxEcarts;
+        }
+
+        private void ecart(ReconciliationReportDTO.Ecart ecart) {
+            ecarts.increment();
+            if (tailleEchantillon.incrementAndGet() <= maxEcarts) {
+                echantillon.add(ecart);
+            }
+        }
+
+        private void terminer(ReconciliationReportDTO.Statut statut, String erreur) {
+            this.endNanos = System.nanoTime();
+            this.fin = LocalDateTime.now();
+            this.erreur = erreur;
+            this.statut = statut;
+        }
+
+        private long elapsedNanos() {
+            return (statut == ReconciliationReportDTO.Statut.EN_COURS ? System.nanoTime() : endNanos) - startNanos;
+        }
+
+        private ReconciliationReportDTO report() {
+            ReconciliationReportDTO report = new ReconciliationReportDTO();
+            report.setStatut(statut);
+            report.setDebut(debut);
+            report.setFin(fin);
+            report.setErreur(erreur);
+            report.setPlagesTotal(plagesTotal);
+            report.setPlagesTraitees(plagesTraitees.get());
+            long verifies = comptes.sum();
+            report.setComptesVerifies(verifies);
+            report.setComptesParSeconde(verifies * 1_000_000_000L / Math.max(1, elapsedNanos()));
+            report.setNombreEcarts(ecarts.sum());
+            List<ReconciliationReportDTO.Ecart> liste = new ArrayList<>(echantillon);
+            liste.sort(Comparator.comparing(ReconciliationReportDTO.Ecart::getCompteId));
+            report.setEcarts(liste);
+            report.setTotalSoldes(totalSoldes);
+            report.setTotalOuvertures(totalOuvertures);
+            if (totalSoldes != null && totalOuvertures != null) {
+                report.setConservation(totalSoldes.compareTo(totalOuvertures) == 0);
+            }
+            return report;
+        }
+    }
+}
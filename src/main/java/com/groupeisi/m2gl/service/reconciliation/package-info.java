@@ -0,0 +1,4 @@
+/**
+ * Reconciliation of account balances with their transfers, run in parallel over ranges of account ids.
+ */
+package com.groupeisi.m2gl.service.reconciliation;
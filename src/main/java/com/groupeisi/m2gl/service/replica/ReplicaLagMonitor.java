@@ -0,0 +1,117 @@
+package com.groupeisi.m2gl.service.replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Surveille le retard de réplication des répliques MySQL et tient la liste de celles qui peuvent servir les lectures.
+ * <p>
+ * Le retard est lu par {@code SHOW REPLICA STATUS} ({@code Seconds_Behind_Source}) toutes les
+ * {@code application.read-replica.lag-check-interval-ms} millisecondes. Une réplique est écartée tant que son retard
+ * dépasse {@code maxLagSeconds}, que sa réplication est arrêtée ou qu'elle ne répond pas. Avant le premier contrôle,
+ * aucune réplique n'est utilisée. Le retard est exposé par la jauge {@code db.replica.lag} (tag {@code replica}, en
+ * secondes, NaN s'il est inconnu).
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final Map<String, DataSource> replicas;
+    private final long maxLagSeconds;
+
+    private final Map<String, Double> lags = new ConcurrentHashMap<>();
+    private volatile List<String> healthyReplicas = List.of();
+
+    /**
+     * @param replicas les pools des répliques, par nom, dans l'ordre de la configuration
+     * @param maxLagSeconds le retard au-delà duquel une réplique est écartée
+     * @param meterRegistry le registre des jauges de retard
+     */
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, long maxLagSeconds, MeterRegistry meterRegistry) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.maxLagSeconds = maxLagSeconds;
+        for (String name : this.replicas.keySet()) {
+            Gauge.builder("db.replica.lag", lags, l -> l.getOrDefault(name, Double.NaN))
+                .description("Retard de réplication de la réplique")
+                .baseUnit("seconds")
+                .tag("replica", name)
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * @return les pools des répliques, par nom
+     */
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * @return les répliques dont le retard est connu et acceptable, au dernier contrôle
+     */
+    public List<String> getHealthyReplicas() {
+        return healthyReplicas;
+    }
+
+    /**
+     * Lit le retard de chaque réplique et met à jour la liste des répliques utilisables.
+     */
+    @Scheduled(fixedDelayString = "${application.read-replica.lag-check-interval-ms:5000}")
+    public void check() {
+        Map<String, Long> lagSeconds = new LinkedHashMap<>();
+        replicas.forEach((name, dataSource) -> lagSeconds.put(name, lagSeconds(name, dataSource)));
+        update(lagSeconds);
+    }
+
+    /**
+     * @param lagSeconds le retard de chaque réplique, {@code null} s'il est inconnu
+     */
+    void update(Map<String, Long> lagSeconds) {
+        List<String> healthy = new ArrayList<>();
+        for (String name : replicas.keySet()) {
+            Long lag = lagSeconds.get(name);
+            lags.put(name, lag == null ? Double.NaN : lag.doubleValue());
+            if (lag != null && lag <= maxLagSeconds) {
+                healthy.add(name);
+            } else if (healthyReplicas.contains(name)) {
+                log.warn("Réplique {} écartée des lectures, retard de réplication : {} s", name, lag == null ? "inconnu" : lag);
+            }
+        }
+        if (!healthy.equals(healthyReplicas)) {
+            log.info("Répliques utilisées pour les lectures : {}", healthy);
+        }
+        healthyReplicas = List.copyOf(healthy);
+    }
+
+    private static Long lagSeconds(String name, DataSource dataSource) {
+        try (
+            Connection connection = dataSource.getConnection();
+            Statement statement = connection.createStatement();
+            ResultSet resultSet = statement.executeQuery("SHOW REPLICA STATUS")
+        ) {
+            if (!resultSet.next()) {
+                log.warn("La réplique {} n'a pas de réplication configurée", name);
+                return null;
+            }
+            long lag = resultSet.getLong("Seconds_Behind_Source");
+            // NULL lorsque la réplication est arrêtée
+            return resultSet.wasNull() ? null : lag;
+        } catch (SQLException e) {
+            log.warn("Impossible de lire le retard de la réplique {} : {}", name, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.groupeisi.m2gl.service.replica;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.groupeisi.m2gl.security.SecurityUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Source de données qui envoie les transactions en lecture seule aux répliques, et tout le reste au primaire.
+ * <p>
+ * Les répliques utilisables, données par le {@link ReplicaLagMonitor}, sont choisies à tour de rôle ; sans réplique
+ * utilisable, la lecture va au primaire. Pendant {@code readYourWrites} après une transaction qui a écrit, les
+ * lectures du même utilisateur vont aussi au primaire, pour qu'il relise ce qu'il vient d'écrire. Une transaction
+ * a écrit quand elle a préparé ou exécuté une requête autre qu'une lecture sur sa connexion ; l'utilisateur n'est
+ * retenu qu'après sa validation, ou dès l'écriture hors transaction. Une transaction en lecture-écriture qui ne fait
+ * que lire ne renvoie donc pas les lectures suivantes au primaire. Ce suivi est propre à chaque instance : il suppose
+ * que les requêtes d'un utilisateur arrivent à la même instance.
+ * <p>
+ * Les lectures dont le résultat ne peut pas être en retard sur le primaire (soldes et index mis en cache,
+ * authentification, contrôles d'unicité de l'inscription) sont exécutées dans {@link #readFromPrimary(Supplier)}.
+ * <p>
+ * La cible est choisie à l'obtention de la connexion : cette source doit être enveloppée dans un
+ * {@link LazyConnectionDataSourceProxy}, qui ne l'obtient qu'à la première requête, une fois la transaction
+ * marquée en lecture seule. Les choix sont comptés par {@code datasource.routing} (tags {@code target} et
+ * {@code reason} : write, read, read-your-writes, primary-only ou lag).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private static final int MAX_RECENT_WRITERS = 100_000;
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Cache<String, Boolean> recentWriters;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * @param primary le pool du primaire
+     * @param lagMonitor le moniteur des répliques, qui porte leurs pools
+     * @param readYourWrites la durée pendant laquelle un utilisateur lit sur le primaire après une écriture, zéro
+     *                       pour ne pas suivre les écritures
+     * @param meterRegistry le registre du compteur de routage
+     */
+    public ReplicaRoutingDataSource(
+        DataSource primary,
+        ReplicaLagMonitor lagMonitor,
+        Duration readYourWrites,
+        MeterRegistry meterRegistry
+    ) {
+        this.lagMonitor = lagMonitor;
+        this.recentWriters = readYourWrites.isZero()
+            ? null
+            : Caffeine.newBuilder().maximumSize(MAX_RECENT_WRITERS).expireAfterWrite(readYourWrites).build();
+        this.meterRegistry = meterRegistry;
+        Map<Object, Object> targets = new HashMap<>(lagMonitor.getReplicas());
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return trackWrites(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return trackWrites(super.getConnection(username, password));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return route(PRIMARY, "write");
+        }
+        if (Boolean.TRUE.equals(PRIMARY_ONLY.get())) {
+            return route(PRIMARY, "primary-only");
+        }
+        if (recentWriters != null && currentUser().map(recentWriters::getIfPresent).isPresent()) {
+            return route(PRIMARY, "read-your-writes");
+        }
+        List<String> replicas = lagMonitor.getHealthyReplicas();
+        if (replicas.isEmpty()) {
+            return route(PRIMARY, "lag");
+        }
+        return route(replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size())), "read");
+    }
+
+    /**
+     * Exécute une lecture sur le primaire, même dans une transaction en lecture seule.
+     * <p>
+     * La cible n'est choisie qu'à l'obtention de la connexion : la lecture doit être la première requête de sa
+     * transaction, ou ouvrir la sienne. Sans répliques, la lecture est simplement exécutée.
+     *
+     * @param lecture la lecture à exécuter
+     * @param <T> le type du résultat
+     * @return le résultat de la lecture
+     */
+    public static <T> T readFromPrimary(Supplier<T> lecture) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return lecture.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            }
+        }
+    }
+
+    /**
+     * Enveloppe une connexion du primaire pour retenir son utilisateur s'il y écrit.
+     */
+    private Connection trackWrites(Connection connection) {
+        if (recentWriters == null || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return connection;
+        }
+        Optional<String> user = currentUser();
+        if (user.isEmpty()) {
+            return connection;
+        }
+        WriteTracker tracker = new WriteTracker(user.orElseThrow());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(tracker);
+        }
+        return (Connection) Proxy.newProxyInstance(
+            ReplicaRoutingDataSource.class.getClassLoader(),
+            new Class<?>[] { ConnectionProxy.class },
+            new WriteTrackingHandler(connection, tracker)
+        );
+    }
+
+    /**
+     * Une requête qui n'est pas une lecture : tout ce qui ne commence pas par {@code SELECT} ou {@code WITH}.
+     */
+    static boolean isWrite(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return !keyword.equals("select") && !keyword.equals("with");
+    }
+
+    /**
+     * L'utilisateur authentifié : son login, ou l'identifiant porté par son token JWT.
+     */
+    private static Optional<String> currentUser() {
+        if (!SecurityUtils.isAuthenticated()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    private String route(String target, String reason) {
+        counters
+            .computeIfAbsent(target + ":" + reason, key ->
+                Counter.builder("datasource.routing")
+                    .description("Connexions routées vers le primaire ou une réplique")
+                    .tag("target", target)
+                    .tag("reason", reason)
+                    .register(meterRegistry)
+            )
+            .increment();
+        return target;
+    }
+
+    /**
+     * Retient l'utilisateur d'une connexion qui a écrit : à la validation de la transaction, ou immédiatement hors
+     * transaction.
+     */
+    private final class WriteTracker implements TransactionSynchronization {
+
+        private final String user;
+        private volatile boolean wrote;
+
+        private WriteTracker(String user) {
+            this.user = user;
+        }
+
+        void onWrite() {
+            if (wrote) {
+                return;
+            }
+            wrote = true;
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            if (wrote) {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * Délègue tout à la connexion et signale au {@link WriteTracker} les requêtes qui écrivent : préparées
+     * ({@code prepareStatement}, {@code prepareCall}) ou passées à un {@link Statement}.
+     */
+    private static final class WriteTrackingHandler implements InvocationHandler {
+
+        private final Object target;
+        private final WriteTracker tracker;
+
+        private WriteTrackingHandler(Object target, WriteTracker tracker) {
+            this.target = target;
+            this.tracker = tracker;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getTargetConnection":
+                    return target;
+                case "prepareStatement", "prepareCall", "execute", "executeUpdate", "executeLargeUpdate", "addBatch":
+                    if (args != null && args.length > 0 && args[0] instanceof String sql && isWrite(sql)) {
+                        tracker.onWrite();
+                    }
+                    break;
+                default:
+                    break;
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            if (result instanceof Statement statement && !(result instanceof PreparedStatement)) {
+                return Proxy.newProxyInstance(
+                    ReplicaRoutingDataSource.class.getClassLoader(),
+                    new Class<?>[] { Statement.class },
+                    new WriteTrackingHandler(statement, tracker)
+                );
+            }
+            return result;
+        }
+    }
+}
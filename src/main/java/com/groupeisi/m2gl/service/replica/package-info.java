@@ -0,0 +1,4 @@
+/**
+ * Routing of read-only transactions to the MySQL read replicas.
+ */
+package com.groupeisi.m2gl.service.replica;
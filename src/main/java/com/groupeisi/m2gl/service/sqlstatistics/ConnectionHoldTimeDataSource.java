@@ -0,0 +1,79 @@
+package com.groupeisi.m2gl.service.sqlstatistics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Source de données qui mesure, pour le {@link ConnectionHoldTimeRecorder}, la durée entre l'emprunt de chaque
+ * connexion et sa fermeture, c'est-à-dire sa restitution au pool.
+ */
+public class ConnectionHoldTimeDataSource extends DelegatingDataSource {
+
+    private final ConnectionHoldTimeRecorder recorder;
+
+    public ConnectionHoldTimeDataSource(DataSource targetDataSource, ConnectionHoldTimeRecorder recorder) {
+        super(targetDataSource);
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    private Connection track(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+            ConnectionHoldTimeDataSource.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            new HoldTimeHandler(connection)
+        );
+    }
+
+    /**
+     * Délègue tout à la connexion empruntée et enregistre la durée d'emprunt à sa première fermeture.
+     */
+    private final class HoldTimeHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final long acquiredNanos = System.nanoTime();
+        private boolean closed;
+
+        private HoldTimeHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        recorder.record(System.nanoTime() - acquiredNanos);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
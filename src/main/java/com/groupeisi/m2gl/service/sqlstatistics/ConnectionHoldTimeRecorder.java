@@ -0,0 +1,120 @@
+package com.groupeisi.m2gl.service.sqlstatistics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure la durée pendant laquelle chaque connexion est empruntée au pool, par méthode appelante, pour les emprunts
+ * plus longs que {@code callerThresholdMs}.
+ * <p>
+ * Le timer {@code db.connection.hold} (tag {@code caller}, par exemple {@code TransfertService.executeTransfert})
+ * complète {@code hikaricp.connections.usage}, qui mesure tous les emprunts sans dire qui garde la connexion. Les
+ * emprunts plus courts que le seuil ne sont comptés que par ce dernier : la pile n'est parcourue que pour les emprunts
+ * qui le dépassent, à la restitution de la connexion. Elle est alors faite dans la méthode qui l'a empruntée, et
+ * l'appelant est la première méthode de l'application dans la pile : la méthode transactionnelle pour une transaction
+ * Spring, restituée à sa validation, la méthode appelante pour un dépôt utilisé hors transaction. Seuls les
+ * {@code maxCallers} premiers appelants ont leur propre timer, les suivants sont regroupés sous {@code other}.
+ */
+public class ConnectionHoldTimeRecorder implements MeterBinder {
+
+    static final String OTHER = "other";
+
+    private static final String APPLICATION_PACKAGE = "com.groupeisi.m2gl.";
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final int maxCallers;
+
+    private final long callerThresholdNanos;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry meterRegistry;
+
+    public ConnectionHoldTimeRecorder(int maxCallers, long callerThresholdMs) {
+        this.maxCallers = maxCallers;
+        this.callerThresholdNanos = TimeUnit.MILLISECONDS.toNanos(callerThresholdMs);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        meterRegistry = registry;
+    }
+
+    /**
+     * Enregistre la durée d'emprunt d'une connexion, à sa restitution, si elle dépasse le seuil.
+     *
+     * @param heldNanos la durée entre l'emprunt et la restitution de la connexion
+     */
+    public void record(long heldNanos) {
+        if (heldNanos < callerThresholdNanos || meterRegistry == null) {
+            return;
+        }
+        record(caller(), heldNanos);
+    }
+
+    void record(String caller, long heldNanos) {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            return;
+        }
+        Timer timer = timers.get(caller);
+        if (timer == null) {
+            timer = timers.size() < maxCallers ? timers.computeIfAbsent(caller, key -> timer(registry, key)) : timer(registry, OTHER);
+        }
+        timer.record(heldNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * La méthode de l'application qui restitue une connexion sur le thread courant.
+     */
+    private static String caller() {
+        return STACK_WALKER.walk(frames ->
+            frames.map(ConnectionHoldTimeRecorder::caller).flatMap(Optional::stream).findFirst().orElse(OTHER)
+        );
+    }
+
+    private static Timer timer(MeterRegistry registry, String caller) {
+        return Timer.builder("db.connection.hold")
+            .description("Durée des emprunts de connexions au pool plus longs que le seuil, par méthode appelante")
+            .tag("caller", caller)
+            .register(registry);
+    }
+
+    private static Optional<String> caller(StackWalker.StackFrame frame) {
+        String className = frame.getClassName();
+        if (!className.startsWith(APPLICATION_PACKAGE) || isMeasurement(className)) {
+            return Optional.empty();
+        }
+        // Proxy Spring (TransfertService$$SpringCGLIB$$0) : la méthode qu'il intercepte
+        int proxy = className.indexOf("$$");
+        if (proxy >= 0) {
+            className = className.substring(0, proxy);
+        }
+        return Optional.of(className.substring(className.lastIndexOf('.') + 1) + "." + methodName(frame.getMethodName()));
+    }
+
+    private static boolean isMeasurement(String className) {
+        String topLevelClassName = className.indexOf('$') < 0 ? className : className.substring(0, className.indexOf('$'));
+        return (
+            topLevelClassName.equals(ConnectionHoldTimeRecorder.class.getName()) ||
+            topLevelClassName.equals(ConnectionHoldTimeDataSource.class.getName())
+        );
+    }
+
+    /**
+     * Le nom de la méthode englobante d'une lambda ({@code lambda$completeInscription$0}).
+     */
+    static String methodName(String methodName) {
+        if (methodName.startsWith("lambda$")) {
+            int end = methodName.indexOf('$', "lambda$".length());
+            return end < 0 ? methodName : methodName.substring("lambda$".length(), end);
+        }
+        return methodName;
+    }
+}
@@ -0,0 +1,287 @@
+package com.groupeisi.m2gl.service.sqlstatistics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Chronomètre chaque requête SQL exécutée à travers la source de données (JPA comme {@code JdbcTemplate}).
+ * <p>
+ * Toutes les requêtes sont comptées par le timer {@code sql.statements} (tag {@code type} : select, insert, update,
+ * delete ou other). Les {@code maxQueries} premières requêtes distinctes, normalisées (littéraux et listes
+ * {@code IN} remplacés par {@code ?}), ont en plus leurs propres statistiques, servies par
+ * {@code /management/sqlstatistics} seulement : le texte d'une requête ferait une valeur de tag longue et non bornée.
+ * Les requêtes plus lentes que {@code slowQueryThresholdMs} sont journalisées et comptées par
+ * {@code sql.statements.slow}.
+ * <p>
+ * La durée est celle que mesure le proxy de la source de données ({@link ExecutionInfo#getElapsedTime()}), à la
+ * milliseconde. Les lignes ne sont comptées que pour les écritures (nombre de lignes modifiées) : compter les lignes
+ * lues demanderait d'intercepter chaque {@code ResultSet.next()}.
+ * <p>
+ * Le texte d'une requête préparée ne change pas d'une exécution à l'autre : la normalisation n'est faite qu'à sa
+ * première exécution, les suivantes ne coûtent qu'une lecture de table de hachage et quelques additions.
+ */
+public class SqlStatisticsRecorder implements QueryExecutionListener, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatisticsRecorder.class);
+
+    private static final int MAX_SQL_LENGTH = 1_000;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final long slowQueryThresholdNanos;
+    private final int maxQueries;
+
+    // Par texte SQL brut, puis par texte normalisé ; bornées par maxQueries
+    private final Map<String, QueryStatistics> byRawSql = new ConcurrentHashMap<>();
+    private final Map<String, QueryStatistics> byNormalizedSql = new ConcurrentHashMap<>();
+    private final AtomicInteger untracked = new AtomicInteger();
+
+    private volatile Map<String, Timer> statementTimers = Map.of();
+    private volatile Counter slowCounter;
+
+    public SqlStatisticsRecorder(long slowQueryThresholdMs, int maxQueries) {
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMs);
+        this.maxQueries = maxQueries;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Map<String, Timer> timers = new HashMap<>();
+        for (String type : List.of("select", "insert", "update", "delete", "other")) {
+            Timer timer = Timer.builder("sql.statements")
+                .description("Requêtes SQL exécutées par la source de données")
+                .tag("type", type)
+                .register(registry);
+            timers.put(type, timer);
+        }
+        statementTimers = Map.copyOf(timers);
+        slowCounter = Counter.builder("sql.statements.slow").description("Requêtes SQL plus lentes que le seuil").register(registry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // La durée est mesurée par le proxy
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedNanos = TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        long rows = affectedRows(execInfo.getResult());
+        for (QueryInfo queryInfo : queryInfoList) {
+            record(queryInfo.getQuery(), elapsedNanos, rows);
+        }
+    }
+
+    /**
+     * Enregistre une exécution.
+     *
+     * @param sql le texte de la requête, tel qu'envoyé au pilote
+     * @param elapsedNanos la durée de l'exécution
+     * @param rows le nombre de lignes modifiées, 0 pour une lecture
+     */
+    void record(String sql, long elapsedNanos, long rows) {
+        QueryStatistics statistics = byRawSql.get(sql);
+        if (statistics == null) {
+            statistics = track(sql);
+        }
+        Timer timer = statementTimers.get(statistics == null ? type(sql) : statistics.type);
+        if (timer != null) {
+            timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+        boolean slow = elapsedNanos >= slowQueryThresholdNanos;
+        if (statistics != null) {
+            statistics.record(elapsedNanos, rows, slow);
+        }
+        if (slow) {
+            Counter counter = slowCounter;
+            if (counter != null) {
+                counter.increment();
+            }
+            log.warn("Requête SQL lente ({} ms) : {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), normalize(sql));
+        }
+    }
+
+    private QueryStatistics track(String sql) {
+        if (byRawSql.size() >= maxQueries) {
+            // Les textes bruts ne sont plus retenus : la normalisation est refaite à chaque exécution, bornée
+            QueryStatistics known = byNormalizedSql.get(normalize(sql));
+            if (known == null) {
+                untracked.incrementAndGet();
+            }
+            return known;
+        }
+        String normalized = normalize(sql);
+        QueryStatistics statistics = byNormalizedSql.computeIfAbsent(normalized, key -> new QueryStatistics(key, type(key)));
+        byRawSql.putIfAbsent(sql, statistics);
+        return statistics;
+    }
+
+    /**
+     * @param limit le nombre maximal de requêtes renvoyées
+     * @return les requêtes suivies, de la plus coûteuse à la moins coûteuse en durée cumulée
+     */
+    public List<QueryStatistics> top(int limit) {
+        return byNormalizedSql
+            .values()
+            .stream()
+            .sorted(Comparator.comparingLong(QueryStatistics::getTotalNanos).reversed())
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * @return toutes les requêtes suivies
+     */
+    public Collection<QueryStatistics> queries() {
+        return byNormalizedSql.values();
+    }
+
+    /**
+     * @return le nombre d'exécutions de requêtes arrivées au-delà de {@code maxQueries} requêtes distinctes
+     */
+    public int getUntracked() {
+        return untracked.get();
+    }
+
+    /**
+     * Remet à zéro les statistiques par requête ; les compteurs Micrometer sont cumulatifs et ne changent pas.
+     */
+    public void reset() {
+        byNormalizedSql.values().forEach(QueryStatistics::reset);
+        untracked.set(0);
+    }
+
+    /**
+     * Normalise une requête : espaces regroupés, littéraux remplacés par {@code ?} et listes {@code IN (?, ?, …)}
+     * ramenées à {@code (?)}, texte tronqué à {@value #MAX_SQL_LENGTH} caractères.
+     */
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?)");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return normalized.length() > MAX_SQL_LENGTH ? normalized.substring(0, MAX_SQL_LENGTH) : normalized;
+    }
+
+    private static String type(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "insert", "update", "delete" -> keyword;
+            case "with" -> "select";
+            default -> "other";
+        };
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(0, count);
+        }
+        if (result instanceof Long count) {
+            return Math.max(0, count);
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(0, count);
+            }
+            return total;
+        }
+        return 0;
+    }
+
+    /**
+     * Statistiques d'une requête normalisée, cumulées depuis le démarrage ou la dernière remise à zéro.
+     */
+    public static final class QueryStatistics {
+
+        private final String sql;
+        private final String type;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder slowExecutions = new LongAdder();
+
+        QueryStatistics(String sql, String type) {
+            this.sql = sql;
+            this.type = type;
+        }
+
+        void record(long elapsedNanos, long affectedRows, boolean slow) {
+            executions.increment();
+            totalNanos.add(elapsedNanos);
+            if (elapsedNanos > maxNanos.get()) {
+                maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            }
+            if (affectedRows > 0) {
+                rows.add(affectedRows);
+            }
+            if (slow) {
+                slowExecutions.increment();
+            }
+        }
+
+        void reset() {
+            executions.reset();
+            totalNanos.reset();
+            maxNanos.set(0);
+            rows.reset();
+            slowExecutions.reset();
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public long getExecutions() {
+            return executions.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public long getRows() {
+            return rows.sum();
+        }
+
+        public long getSlowExecutions() {
+            return slowExecutions.sum();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.groupeisi.m2gl.service.sqlstatistics;
+
+import com.groupeisi.m2gl.config.ApplicationProperties;
+import com.groupeisi.m2gl.service.dto.SqlStatisticsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+/**
+ * Rassemble les statistiques SQL exposées par {@code /management/sqlstatistics} : les compteurs de Hibernate
+ * ({@code hibernate.generate_statistics}), son cache de second niveau par région, et les requêtes les plus coûteuses,
+ * côté Hibernate (HQL, avec les lignes lues) et côté source de données (SQL normalisé, y compris {@code JdbcTemplate}).
+ */
+@Service
+public class SqlStatisticsService {
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final Statistics statistics;
+    private final SqlStatisticsRecorder recorder;
+    private final int topQueries;
+
+    public SqlStatisticsService(
+        EntityManagerFactory entityManagerFactory,
+        SqlStatisticsRecorder recorder,
+        ApplicationProperties applicationProperties
+    ) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.recorder = recorder;
+        this.topQueries = applicationProperties.getSqlStatistics().getTopQueries();
+    }
+
+    /**
+     * @return les statistiques cumulées depuis le démarrage ou la dernière remise à zéro
+     */
+    public SqlStatisticsDTO getStatistics() {
+        SqlStatisticsDTO dto = new SqlStatisticsDTO();
+        dto.setHibernateActif(statistics.isStatisticsEnabled());
+        dto.setDepuis(statistics.getStart());
+        dto.setEntitesChargees(statistics.getEntityLoadCount());
+        dto.setEntitesRecuperees(statistics.getEntityFetchCount());
+        dto.setCollectionsChargees(statistics.getCollectionLoadCount());
+        dto.setCollectionsRecuperees(statistics.getCollectionFetchCount());
+        dto.setRequetesPreparees(statistics.getPrepareStatementCount());
+        dto.setRequetesHqlExecutees(statistics.getQueryExecutionCount());
+        dto.setDureeMaxHqlMs(statistics.getQueryExecutionMaxTime());
+        dto.setRequeteHqlLaPlusLente(statistics.getQueryExecutionMaxTimeQueryString());
+        dto.setCacheSucces(statistics.getSecondLevelCacheHitCount());
+        dto.setCacheEchecs(statistics.getSecondLevelCacheMissCount());
+        dto.setCacheRatio(ratio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()));
+        dto.setRegionsCache(regionsCache());
+        dto.setRequetesHql(requetesHql());
+        dto.setRequetesSql(
+            recorder
+                .top(topQueries)
+                .stream()
+                .map(query ->
+                    new SqlStatisticsDTO.Requete(
+                        query.getSql(),
+                        query.getExecutions(),
+                        query.getTotalNanos() / NANOS_PER_MILLI,
+                        query.getExecutions() == 0 ? 0 : query.getTotalNanos() / NANOS_PER_MILLI / query.getExecutions(),
+                        query.getMaxNanos() / NANOS_PER_MILLI,
+                        query.getRows(),
+                        query.getSlowExecutions()
+                    )
+                )
+                .toList()
+        );
+        dto.setExecutionsSqlNonSuivies(recorder.getUntracked());
+        return dto;
+    }
+
+    /**
+     * Remet à zéro les statistiques de Hibernate et celles des requêtes SQL.
+     */
+    public void reset() {
+        statistics.clear();
+        recorder.reset();
+    }
+
+    private List<SqlStatisticsDTO.RegionCache> regionsCache() {
+        List<SqlStatisticsDTO.RegionCache> regions = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                regions.add(
+                    new SqlStatisticsDTO.RegionCache(
+                        region,
+                        regionStatistics.getHitCount(),
+                        regionStatistics.getMissCount(),
+                        regionStatistics.getPutCount(),
+                        ratio(regionStatistics.getHitCount(), regionStatistics.getMissCount())
+                    )
+                );
+            }
+        }
+        return regions;
+    }
+
+    private List<SqlStatisticsDTO.Requete> requetesHql() {
+        return Arrays.stream(statistics.getQueries())
+            .map(query -> requeteHql(query, statistics.getQueryStatistics(query)))
+            .sorted(Comparator.comparingDouble(SqlStatisticsDTO.Requete::getDureeTotaleMs).reversed())
+            .limit(topQueries)
+            .toList();
+    }
+
+    private static SqlStatisticsDTO.Requete requeteHql(String query, QueryStatistics queryStatistics) {
+        return new SqlStatisticsDTO.Requete(
+            query,
+            queryStatistics.getExecutionCount(),
+            queryStatistics.getExecutionTotalTime(),
+            queryStatistics.getExecutionAvgTime(),
+            queryStatistics.getExecutionMaxTime(),
+            queryStatistics.getExecutionRowCount(),
+            0
+        );
+    }
+
+    private static Double ratio(long hits, long misses) {
+        return hits + misses == 0 ? null : (double) hits / (hits + misses);
+    }
+}
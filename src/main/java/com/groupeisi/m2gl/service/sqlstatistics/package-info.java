@@ -0,0 +1,4 @@
+/**
+ * Statistics of the SQL statements run by the application, from the datasource and from Hibernate.
+ */
+package com.groupeisi.m2gl.service.sqlstatistics;
@@ -0,0 +1,200 @@
+package com.groupeisi.m2gl.web.filter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.groupeisi.m2gl.service.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Rate limits the signup and login endpoints, per client IP and per phone number, before they reach Spring MVC.
+ * <p>
+ * Each path has a {@link Policy}. The IP bucket is checked first, without reading the request. The phone number is
+ * then read from the {@code telephone} field of the JSON body, which is replayed to the endpoint. Rejected requests
+ * get a bare 429 with a {@code Retry-After} header: no exception, no error page, no database access. Rejections are
+ * counted by {@code http.server.requests.rate.limited} (tags {@code policy} and {@code key}).
+ * <p>
+ * The client IP is {@link HttpServletRequest#getRemoteAddr()}: behind a proxy, {@code server.forward-headers-strategy}
+ * must be set so that it is read from the {@code X-Forwarded-For} header of the trusted proxies.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // The bodies of these endpoints hold a few short fields
+    private static final int MAX_BODY_SIZE = 4 * 1024;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final String TELEPHONE_FIELD = "telephone";
+
+    /**
+     * Limits of one group of endpoints.
+     */
+    public record Policy(String name, RateLimiter.Limit telephone, RateLimiter.Limit ip) {}
+
+    private final RateLimiter rateLimiter;
+    private final Map<String, Policy> policies;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param rateLimiter the bucket store
+     * @param policies the policy of each rate-limited path, relative to the context path
+     * @param meterRegistry the registry of the rejection counter
+     */
+    public RateLimitFilter(RateLimiter rateLimiter, Map<String, Policy> policies, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.policies = Map.copyOf(policies);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || policy(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        Policy policy = policy(request);
+        if (!rateLimiter.tryAcquire(policy.name() + ":ip:" + request.getRemoteAddr(), policy.ip())) {
+            reject(response, policy, "ip", policy.ip());
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_SIZE + 1);
+        if (body.length > MAX_BODY_SIZE) {
+            response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+        String telephone = telephone(body);
+        if (telephone != null && !rateLimiter.tryAcquire(policy.name() + ":telephone:" + telephone, policy.telephone())) {
+            reject(response, policy, "telephone", policy.telephone());
+            return;
+        }
+        filterChain.doFilter(new ReplayedBodyRequest(request, body), response);
+    }
+
+    private Policy policy(HttpServletRequest request) {
+        return policies.get(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    private void reject(HttpServletResponse response, Policy policy, String key, RateLimiter.Limit limit) {
+        meterRegistry.counter("http.server.requests.rate.limited", "policy", policy.name(), "key", key).increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(limit.intervalNanos() + 999_999_999));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    }
+
+    /**
+     * Reads the top-level {@code telephone} field, keeping only its digits and {@code +} so that formatting does not
+     * open new buckets. Returns {@code null} when the body is not a JSON object with this field: the endpoint
+     * rejects it anyway.
+     */
+    static String telephone(byte[] body) {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (TELEPHONE_FIELD.equals(field) && value == JsonToken.VALUE_STRING) {
+                    return normalize(parser.getText());
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            // Invalid JSON, rejected by the endpoint
+        }
+        return null;
+    }
+
+    private static String normalize(String telephone) {
+        StringBuilder normalized = new StringBuilder(telephone.length());
+        for (int i = 0; i < telephone.length(); i++) {
+            char c = telephone.charAt(i);
+            if (c == '+' || (c >= '0' && c <= '9')) {
+                normalized.append(c);
+            }
+        }
+        return normalized.isEmpty() ? null : normalized.toString();
+    }
+
+    /**
+     * Replays the body already read by the filter.
+     */
+    private static final class ReplayedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private ReplayedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() == null ? StandardCharsets.UTF_8 : Charset.forName(getCharacterEncoding());
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
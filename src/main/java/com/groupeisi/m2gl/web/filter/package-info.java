@@ -0,0 +1,4 @@
+/**
+ * Servlet filters.
+ */
+package com.groupeisi.m2gl.web.filter;
@@ -13,6 +13,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -27,6 +28,7 @@ public class AuthResource {
 
     private static final Logger log = LoggerFactory.getLogger(AuthResource.class);
     private static final String ENTITY_NAME = "auth";
+    private static final String BEARER_PREFIX = "Bearer ";
 
     private final AuthService authService;
     private final OtpService otpService;
@@ -254,6 +256,7 @@ public class AuthResource {
      * POST /api/auth/logout : Déconnecte un utilisateur.
      *
      * @param userId l'identifiant de l'utilisateur (optionnel, peut être extrait du token)
+     * @param authorization l'en-tête {@code Authorization: Bearer <token>} (optionnel)
      * @return le résultat de la déconnexion
      */
     @Operation(
@@ -272,12 +275,17 @@ public class AuthResource {
         }
     )
     @PostMapping("/logout")
-    public ResponseEntity<com.groupeisi.m2gl.service.dto.LogoutResponseDTO> logout(@RequestParam(required = false) String userId) {
+    public ResponseEntity<com.groupeisi.m2gl.service.dto.LogoutResponseDTO> logout(
+        @RequestParam(required = false) String userId,
+        @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization
+    ) {
         log.info("REST request pour déconnecter un utilisateur : {}", userId);
 
         try {
             if (userId != null && !userId.isEmpty()) {
                 authService.logout(userId);
+            } else if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+                authService.logoutWithToken(authorization.substring(BEARER_PREFIX.length()));
             }
             return ResponseEntity.ok(new com.groupeisi.m2gl.service.dto.LogoutResponseDTO("Déconnexion réussie", true));
         } catch (Exception e) {
@@ -0,0 +1,252 @@
+package com.groupeisi.m2gl.web.rest;
+
+import com.groupeisi.m2gl.service.CompteService;
+import com.groupeisi.m2gl.service.HistoriqueService;
+import com.groupeisi.m2gl.service.ReleveService;
+import com.groupeisi.m2gl.service.dto.CompteDTO;
+import com.groupeisi.m2gl.service.dto.HistoriqueDTO;
+import com.groupeisi.m2gl.service.dto.SoldeDTO;
+import com.groupeisi.m2gl.service.ledger.LedgerService;
+import com.groupeisi.m2gl.web.rest.errors.BadRequestAlertException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller pour la consultation des comptes, de leur solde, de leur historique et de leurs relevés.
+ */
+@RestController
+@RequestMapping("/api/comptes")
+@Tag(name = "Comptes", description = "API de consultation des comptes")
+public class CompteResource {
+
+    private static final Logger log = LoggerFactory.getLogger(CompteResource.class);
+    private static final String ENTITY_NAME = "compte";
+    private static final int HISTORIQUE_LIMIT_MAX = 100;
+
+    private final CompteService compteService;
+    private final HistoriqueService historiqueService;
+    private final LedgerService ledgerService;
+    private final ReleveService releveService;
+
+    public CompteResource(
+        CompteService compteService,
+        HistoriqueService historiqueService,
+        LedgerService ledgerService,
+        ReleveService releveService
+    ) {
+        this.compteService = compteService;
+        this.historiqueService = historiqueService;
+        this.ledgerService = ledgerService;
+        this.releveService = releveService;
+    }
+
+    /**
+     * GET /api/comptes/{id} : Récupère un compte et son solde.
+     *
+     * @param id l'identifiant du compte
+     * @return le compte, ou 404 s'il n'existe pas
+     */
+    @Operation(summary = "Consultation d'un compte", description = "Récupère un compte et son solde par son identifiant")
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Compte trouvé", content = @Content(schema = @Schema(implementation = CompteDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Compte inexistant"),
+        }
+    )
+    @GetMapping("/{id}")
+    public ResponseEntity<CompteDTO> getCompte(@PathVariable("id") Long id) {
+        log.debug("REST request pour récupérer le compte {}", id);
+        return ResponseUtil.wrapOrNotFound(compteService.findOne(id));
+    }
+
+    /**
+     * GET /api/comptes/numero/{numCompte} : Récupère un compte et son solde par son numéro.
+     *
+     * @param numCompte le numéro du compte
+     * @return le compte, ou 404 s'il n'existe pas
+     */
+    @Operation(summary = "Consultation d'un compte par numéro", description = "Récupère un compte et son solde par son numéro de compte")
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Compte trouvé", content = @Content(schema = @Schema(implementation = CompteDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Compte inexistant"),
+        }
+    )
+    @GetMapping("/numero/{numCompte}")
+    public ResponseEntity<CompteDTO> getCompteByNumCompte(@PathVariable("numCompte") String numCompte) {
+        log.debug("REST request pour récupérer le compte numéro {}", numCompte);
+        return ResponseUtil.wrapOrNotFound(compteService.findByNumCompte(numCompte));
+    }
+
+    /**
+     * GET /api/comptes/{id}/historique : Récupère une page de l'historique des transferts d'un compte.
+     * <p>
+     * Les mouvements sont renvoyés du plus récent au plus ancien. La page suivante est demandée avec le
+     * {@code curseurSuivant} de la page courante ; il est absent sur la dernière page.
+     *
+     * @param id l'identifiant du compte
+     * @param curseur le curseur de la page, absent pour la première page
+     * @param limit le nombre maximal de mouvements de la page
+     * @return la page de l'historique
+     */
+    @Operation(
+        summary = "Historique d'un compte",
+        description = "Récupère les transferts d'un compte, du plus récent au plus ancien, par pages de taille fixe"
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Page de l'historique",
+                content = @Content(schema = @Schema(implementation = HistoriqueDTO.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Curseur ou taille de page invalide"),
+        }
+    )
+    @GetMapping("/{id}/historique")
+    public ResponseEntity<HistoriqueDTO> getHistorique(
+        @PathVariable("id") Long id,
+        @Parameter(description = "Curseur renvoyé par la page précédente") @RequestParam(
+            value = "curseur",
+            required = false
+        ) String curseur,
+        @Parameter(description = "Nombre maximal de mouvements (1 à 100)") @RequestParam(
+            value = "limit",
+            defaultValue = "20"
+        ) int limit
+    ) {
+        log.debug("REST request pour récupérer l'historique du compte {}", id);
+
+        if (limit < 1 || limit > HISTORIQUE_LIMIT_MAX) {
+            throw new BadRequestAlertException(
+                "La taille de page doit être comprise entre 1 et " + HISTORIQUE_LIMIT_MAX,
+                ENTITY_NAME,
+                "limitinvalid"
+            );
+        }
+
+        try {
+            return ResponseEntity.ok(historiqueService.findHistorique(id, curseur, limit));
+        } catch (RuntimeException e) {
+            log.warn("Historique refusé : {}", e.getMessage());
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "historiquefailed");
+        }
+    }
+
+    /**
+     * GET /api/comptes/{id}/solde?date= : Récupère le solde d'un compte à une date passée.
+     *
+     * @param id l'identifiant du compte
+     * @param date la date du solde
+     * @return le solde du compte à cette date, ou 404 si le compte n'existe pas
+     */
+    @Operation(
+        summary = "Solde d'un compte à une date",
+        description = "Calcule le solde d'un compte à une date à partir du grand livre et de ses points de contrôle"
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Solde du compte", content = @Content(schema = @Schema(implementation = SoldeDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Compte inexistant"),
+        }
+    )
+    @GetMapping("/{id}/solde")
+    public ResponseEntity<SoldeDTO> getSoldeAt(
+        @PathVariable("id") Long id,
+        @Parameter(description = "Date du solde", example = "2025-01-15T10:30:00") @RequestParam("date") @DateTimeFormat(
+            iso = DateTimeFormat.ISO.DATE_TIME
+        ) LocalDateTime date
+    ) {
+        log.debug("REST request pour récupérer le solde du compte {} au {}", id, date);
+        return ResponseUtil.wrapOrNotFound(
+            compteService.findOne(id).map(compte -> new SoldeDTO(id, date, ledgerService.soldeAt(id, date)))
+        );
+    }
+
+    /**
+     * GET /api/comptes/{id}/releve : Exporte le relevé d'un compte sur une période, en CSV ou en NDJSON.
+     * <p>
+     * Le relevé est écrit au fil de sa lecture en base, éventuellement compressé en gzip : sa taille n'est pas limitée
+     * par la mémoire du serveur.
+     *
+     * @param id l'identifiant du compte
+     * @param debut le début de la période, inclus
+     * @param fin la fin de la période, exclue
+     * @param format {@code csv} ou {@code ndjson}
+     * @param gzip {@code true} pour compresser le relevé
+     * @return le relevé, ou 404 si le compte n'existe pas
+     */
+    @Operation(
+        summary = "Relevé d'un compte",
+        description = "Exporte les transferts d'un compte sur une période, du plus ancien au plus récent, en CSV ou en NDJSON"
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Relevé du compte"),
+            @ApiResponse(responseCode = "400", description = "Période ou format invalide"),
+            @ApiResponse(responseCode = "404", description = "Compte inexistant"),
+        }
+    )
+    @GetMapping("/{id}/releve")
+    public ResponseEntity<StreamingResponseBody> exportReleve(
+        @PathVariable("id") Long id,
+        @Parameter(description = "Début de la période, inclus", example = "2025-01-01T00:00:00") @RequestParam("debut") @DateTimeFormat(
+            iso = DateTimeFormat.ISO.DATE_TIME
+        ) LocalDateTime debut,
+        @Parameter(description = "Fin de la période, exclue", example = "2026-01-01T00:00:00") @RequestParam("fin") @DateTimeFormat(
+            iso = DateTimeFormat.ISO.DATE_TIME
+        ) LocalDateTime fin,
+        @Parameter(description = "csv ou ndjson") @RequestParam(value = "format", defaultValue = "csv") String format,
+        @Parameter(description = "Compresse le relevé en gzip") @RequestParam(value = "gzip", defaultValue = "false") boolean gzip
+    ) {
+        log.debug("REST request pour exporter le relevé du compte {} du {} au {}", id, debut, fin);
+
+        if (!debut.isBefore(fin)) {
+            throw new BadRequestAlertException("Le début de la période doit précéder sa fin", ENTITY_NAME, "periodeinvalid");
+        }
+        ReleveService.Format releveFormat;
+        try {
+            releveFormat = ReleveService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Format de relevé inconnu : " + format, ENTITY_NAME, "formatinvalid");
+        }
+        if (compteService.findOne(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024);
+                releveService.export(id, debut, fin, releveFormat, gzipOut);
+                gzipOut.finish();
+            } else {
+                releveService.export(id, debut, fin, releveFormat, out);
+            }
+        };
+        String extension = releveFormat == ReleveService.Format.CSV ? "csv" : "ndjson";
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(releveFormat == ReleveService.Format.CSV ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"releve-" + id + "." + extension + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
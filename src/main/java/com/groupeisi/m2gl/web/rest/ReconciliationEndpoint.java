@@ -0,0 +1,41 @@
+package com.groupeisi.m2gl.web.rest;
+
+import com.groupeisi.m2gl.service.dto.ReconciliationReportDTO;
+import com.groupeisi.m2gl.service.reconciliation.ReconciliationService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint de gestion du rapprochement des soldes ({@code /management/reconciliation}, réservé aux administrateurs).
+ * <p>
+ * {@code GET} renvoie l'état du rapprochement en cours ou du dernier rapprochement, avec les comptes en écart ;
+ * {@code POST} démarre un rapprochement sans attendre sa fin.
+ */
+@Component
+@Endpoint(id = "reconciliation")
+public class ReconciliationEndpoint {
+
+    private final ReconciliationService reconciliationService;
+
+    public ReconciliationEndpoint(ReconciliationService reconciliationService) {
+        this.reconciliationService = reconciliationService;
+    }
+
+    /**
+     * @return l'état du dernier rapprochement, ou une réponse 404 s'il n'y en a pas eu
+     */
+    @ReadOperation
+    public ReconciliationReportDTO rapport() {
+        return reconciliationService.getDernierRapport();
+    }
+
+    /**
+     * @return l'état du rapprochement démarré, ou du rapprochement déjà en cours
+     */
+    @WriteOperation
+    public ReconciliationReportDTO demarrer() {
+        return reconciliationService.start();
+    }
+}
@@ -0,0 +1,41 @@
+package com.groupeisi.m2gl.web.rest;
+
+import com.groupeisi.m2gl.service.dto.SqlStatisticsDTO;
+import com.groupeisi.m2gl.service.sqlstatistics.SqlStatisticsService;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint de gestion des statistiques SQL ({@code /management/sqlstatistics}, réservé aux administrateurs).
+ * <p>
+ * {@code GET} renvoie les compteurs de Hibernate, le cache de second niveau et les requêtes les plus coûteuses ;
+ * {@code DELETE} remet les statistiques à zéro, par exemple avant un test de charge.
+ */
+@Component
+@Endpoint(id = "sqlstatistics")
+public class SqlStatisticsEndpoint {
+
+    private final SqlStatisticsService sqlStatisticsService;
+
+    public SqlStatisticsEndpoint(SqlStatisticsService sqlStatisticsService) {
+        this.sqlStatisticsService = sqlStatisticsService;
+    }
+
+    /**
+     * @return les statistiques cumulées depuis le démarrage ou la dernière remise à zéro
+     */
+    @ReadOperation
+    public SqlStatisticsDTO statistiques() {
+        return sqlStatisticsService.getStatistics();
+    }
+
+    /**
+     * Remet les statistiques à zéro.
+     */
+    @DeleteOperation
+    public void reset() {
+        sqlStatisticsService.reset();
+    }
+}
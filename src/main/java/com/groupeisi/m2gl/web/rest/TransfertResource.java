@@ -0,0 +1,157 @@
+package com.groupeisi.m2gl.web.rest;
+
+import com.groupeisi.m2gl.security.AuthoritiesConstants;
+import com.groupeisi.m2gl.security.SecurityUtils;
+import com.groupeisi.m2gl.service.CompteService;
+import com.groupeisi.m2gl.service.TransfertIdempotencyService;
+import com.groupeisi.m2gl.service.TransfertRefusedException;
+import com.groupeisi.m2gl.service.TransfertService;
+import com.groupeisi.m2gl.service.dto.TransfertDTO;
+import com.groupeisi.m2gl.service.dto.TransfertImportDTO;
+import com.groupeisi.m2gl.service.dto.TransfertImportResponseDTO;
+import com.groupeisi.m2gl.service.dto.TransfertResponseDTO;
+import com.groupeisi.m2gl.web.rest.errors.BadRequestAlertException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.net.URI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller pour les transferts d'argent entre comptes.
+ */
+@RestController
+@RequestMapping("/api/transferts")
+@Tag(name = "Transferts", description = "API d'exécution des transferts d'argent")
+public class TransfertResource {
+
+    private static final Logger log = LoggerFactory.getLogger(TransfertResource.class);
+    private static final String ENTITY_NAME = "transfert";
+    private static final int IDEMPOTENCY_KEY_MAX_LENGTH = 100;
+
+    private final TransfertIdempotencyService transfertIdempotencyService;
+    private final TransfertService transfertService;
+    private final CompteService compteService;
+
+    public TransfertResource(
+        TransfertIdempotencyService transfertIdempotencyService,
+        TransfertService transfertService,
+        CompteService compteService
+    ) {
+        this.transfertIdempotencyService = transfertIdempotencyService;
+        this.transfertService = transfertService;
+        this.compteService = compteService;
+    }
+
+    /**
+     * POST /api/transferts : Exécute un transfert entre deux comptes.
+     * <p>
+     * Une requête du même utilisateur rejouée avec le même en-tête {@code Idempotency-Key} renvoie le transfert
+     * d'origine sans l'exécuter une seconde fois. Le compte émetteur doit être celui de l'utilisateur connecté (sujet
+     * du token JWT).
+     *
+     * @param dto la demande de transfert
+     * @param idempotencyKey la clé d'idempotence choisie par le client, optionnelle
+     * @return le transfert exécuté
+     */
+    @Operation(
+        summary = "Exécution d'un transfert",
+        description = "Débite le compte émetteur et crédite le compte récepteur dans une seule transaction. " +
+        "Avec l'en-tête Idempotency-Key, une requête rejouée renvoie le transfert d'origine."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(
+                responseCode = "201",
+                description = "Transfert exécuté avec succès",
+                content = @Content(schema = @Schema(implementation = TransfertResponseDTO.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Solde insuffisant, compte inexistant ou requête invalide"),
+            @ApiResponse(responseCode = "403", description = "Le compte émetteur n'appartient pas à l'utilisateur connecté"),
+            @ApiResponse(responseCode = "409", description = "Clé d'idempotence déjà utilisée pour un autre transfert"),
+            @ApiResponse(
+                responseCode = "503",
+                description = "Trop de transferts en attente : la requête peut être réessayée après le délai de Retry-After"
+            ),
+        }
+    )
+    @PostMapping("")
+    public ResponseEntity<TransfertResponseDTO> createTransfert(
+        @Valid @RequestBody TransfertDTO dto,
+        @Parameter(description = "Clé unique choisie par le client pour rejouer la requête sans double exécution") @RequestHeader(
+            value = "Idempotency-Key",
+            required = false
+        ) String idempotencyKey
+    ) {
+        log.debug("REST request pour exécuter un transfert du compte {} vers le compte {}", dto.getCompteEmetteurId(), dto.getCompteRecepteurId());
+
+        String userId = SecurityUtils.getCurrentUserId().orElse(null);
+        Long compteId = userId == null ? null : compteService.findIdByUserId(userId).orElse(null);
+        if (!dto.getCompteEmetteurId().equals(compteId)) {
+            throw new AccessDeniedException("Le compte émetteur n'appartient pas à l'utilisateur connecté");
+        }
+
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > IDEMPOTENCY_KEY_MAX_LENGTH)) {
+            throw new BadRequestAlertException(
+                "La clé d'idempotence doit contenir entre 1 et " + IDEMPOTENCY_KEY_MAX_LENGTH + " caractères",
+                ENTITY_NAME,
+                "idempotencykeyinvalid"
+            );
+        }
+
+        try {
+            TransfertResponseDTO response = transfertIdempotencyService.execute(dto, userId, idempotencyKey);
+            return ResponseEntity.created(URI.create("/api/transferts/" + response.getTransfertId())).body(response);
+        } catch (TransfertRefusedException e) {
+            log.warn("Transfert refusé : {}", e.getMessage());
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "transfertfailed");
+        }
+    }
+
+    /**
+     * POST /api/transferts/import : Importe un ensemble de transferts en une seule transaction.
+     * <p>
+     * Réservé aux administrateurs : les comptes émetteurs ne sont pas vérifiés.
+     *
+     * @param dto les transferts à importer
+     * @return le nombre et le montant total des transferts importés
+     */
+    @Operation(
+        summary = "Import en masse de transferts",
+        description = "Exécute jusqu'à 10000 transferts en une seule transaction : tous sont exécutés, ou aucun. " +
+        "Réservé aux administrateurs."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Transferts importés avec succès",
+                content = @Content(schema = @Schema(implementation = TransfertImportResponseDTO.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Un des transferts est invalide : aucun transfert n'a été exécuté"),
+            @ApiResponse(responseCode = "403", description = "L'utilisateur connecté n'est pas administrateur"),
+        }
+    )
+    @PostMapping("/import")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<TransfertImportResponseDTO> importTransferts(@Valid @RequestBody TransfertImportDTO dto) {
+        log.debug("REST request pour importer {} transferts", dto.getTransferts().size());
+
+        try {
+            return ResponseEntity.ok(transfertService.importTransferts(dto.getTransferts()));
+        } catch (TransfertRefusedException e) {
+            log.warn("Import de transferts refusé : {}", e.getMessage());
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "importfailed");
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.groupeisi.m2gl.web.rest.errors;
 
 import static org.springframework.core.annotation.AnnotatedElementUtils.findMergedAnnotation;
 
+import com.groupeisi.m2gl.service.IdempotencyKeyConflictException;
+import com.groupeisi.m2gl.service.TransfertQueueFullException;
 import jakarta.servlet.http.HttpServletRequest;
 import java.net.URI;
 import java.util.Arrays;
@@ -49,6 +51,7 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     private static final String MESSAGE_KEY = "message";
     private static final String PATH_KEY = "path";
     private static final boolean CASUAL_CHAIN_ENABLED = false;
+    private static final String QUEUE_FULL_RETRY_AFTER_SECONDS = "1";
 
     private static final Logger LOG = LoggerFactory.getLogger(ExceptionTranslator.class);
 
@@ -208,6 +211,8 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
         if (err instanceof AccessDeniedException) return HttpStatus.FORBIDDEN;
         if (err instanceof ConcurrencyFailureException) return HttpStatus.CONFLICT;
         if (err instanceof BadCredentialsException) return HttpStatus.UNAUTHORIZED;
+        if (err instanceof IdempotencyKeyConflictException) return HttpStatus.CONFLICT;
+        if (err instanceof TransfertQueueFullException) return HttpStatus.SERVICE_UNAVAILABLE;
         return null;
     }
 
@@ -217,6 +222,12 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     }
 
     private HttpHeaders buildHeaders(Throwable err) {
+        if (err instanceof TransfertQueueFullException) {
+            // The transfer was not executed: the client may safely retry it shortly
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, QUEUE_FULL_RETRY_AFTER_SECONDS);
+            return headers;
+        }
         return err instanceof BadRequestAlertException badRequestAlertException
             ? HeaderUtil.createFailureAlert(
                 applicationName,
@@ -0,0 +1,110 @@
+package com.groupeisi.m2gl.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Test class for {@link ConnectionLimitDataSource}.
+ */
+class ConnectionLimitDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DataSource targetDataSource;
+
+    private ConnectionLimitDataSource dataSource;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        targetDataSource = mock(DataSource.class);
+        when(targetDataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new ConnectionLimitDataSource(targetDataSource, 1, Duration.ofMillis(100), meterRegistry);
+    }
+
+    @Test
+    void shouldRejectBorrowWhenNoPermitIsReleasedInTime() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        assertThat(meterRegistry.get("db.connection.permits.active").gauge().value()).isEqualTo(1);
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(ConnectionLimitDataSource.PermitTimeoutException.class);
+        assertThat(meterRegistry.get("db.connection.permits.rejected").counter().count()).isEqualTo(1);
+        verify(targetDataSource, times(1)).getConnection();
+
+        connection.close();
+        assertThat(meterRegistry.get("db.connection.permits.active").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldWaitForConnectionToBeClosed() throws Exception {
+        ConnectionLimitDataSource waiting = new ConnectionLimitDataSource(targetDataSource, 1, Duration.ofSeconds(10), meterRegistry);
+        Connection connection = waiting.getConnection();
+
+        CompletableFuture<Connection> next = CompletableFuture.supplyAsync(() -> {
+            try {
+                return waiting.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertThat(next).isNotDone();
+
+        connection.close();
+        assertThat(next.get(10, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void shouldReleasePermitOnceOnClose() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        dataSource.getConnection();
+        assertThat(meterRegistry.get("db.connection.permits.active").gauge().value()).isEqualTo(1);
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(ConnectionLimitDataSource.PermitTimeoutException.class);
+    }
+
+    @Test
+    void shouldReleasePermitWhenBorrowFails() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        assertThat(meterRegistry.get("db.connection.permits.active").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldKeepProxyIdentity() throws SQLException {
+        Connection connection = dataSource.getConnection();
+
+        assertThat(connection).isEqualTo(connection);
+        assertThat(connection.hashCode()).isEqualTo(System.identityHashCode(connection));
+    }
+
+    @Test
+    void shouldAnswerRejectedBorrowWithServiceUnavailable() {
+        ResponseStatus status = AnnotatedElementUtils.findMergedAnnotation(
+            ConnectionLimitDataSource.PermitTimeoutException.class,
+            ResponseStatus.class
+        );
+
+        assertThat(status).isNotNull();
+        assertThat(status.value()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
@@ -0,0 +1,181 @@
+package com.groupeisi.m2gl.security.oauth2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+/**
+ * Test class for {@link CachingJwtDecoder}.
+ */
+class CachingJwtDecoderTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachingJwtDecoderTest.class);
+
+    private RSAKey rsaKey;
+
+    private JwtDecoder verifyingDecoder;
+
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setup() throws JOSEException {
+        rsaKey = new RSAKeyGenerator(2048).keyID("test").generate();
+        NimbusJwtDecoder nimbusJwtDecoder = NimbusJwtDecoder.withPublicKey(rsaKey.toRSAPublicKey()).build();
+        verifyingDecoder = token -> {
+            verifications.incrementAndGet();
+            return nimbusJwtDecoder.decode(token);
+        };
+    }
+
+    @Test
+    void shouldVerifyRepeatedTokenOnlyOnce() throws JOSEException {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(verifyingDecoder, 100, Duration.ofMinutes(5), meterRegistry);
+        String token = signedToken("user-1", Instant.now().plusSeconds(3600));
+
+        assertThat(decoder.decode(token).getSubject()).isEqualTo("user-1");
+        assertThat(decoder.decode(token).getSubject()).isEqualTo("user-1");
+
+        assertThat(verifications.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("security.jwt.decode").tag("cache", "hit").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("security.jwt.decode").tag("cache", "miss").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheRejectedToken() throws JOSEException {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(verifyingDecoder, 100, Duration.ofMinutes(5), meterRegistry);
+        String token = signedToken("user-1", Instant.now().plusSeconds(3600));
+        String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+        assertThatThrownBy(() -> decoder.decode(tampered)).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode(tampered)).isInstanceOf(BadJwtException.class);
+
+        assertThat(verifications.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotServeTokenPastItsExpiry() throws JOSEException {
+        MutableClock clock = new MutableClock(Instant.now());
+        CachingJwtDecoder decoder = new CachingJwtDecoder(verifyingDecoder, 100, Duration.ofMinutes(5), clock, meterRegistry);
+        String token = signedToken("user-1", clock.instant.plusSeconds(60));
+
+        decoder.decode(token);
+        clock.instant = clock.instant.plusSeconds(59);
+        decoder.decode(token);
+        assertThat(verifications.get()).isEqualTo(1);
+
+        // L'entrée a expiré avec le token : il est de nouveau vérifié (par le délégué, sur l'horloge réelle)
+        clock.instant = clock.instant.plusSeconds(2);
+        decoder.decode(token);
+        assertThat(verifications.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotServeTokenPastTtl() throws JOSEException {
+        MutableClock clock = new MutableClock(Instant.now());
+        CachingJwtDecoder decoder = new CachingJwtDecoder(verifyingDecoder, 100, Duration.ofMinutes(5), clock, meterRegistry);
+        String token = signedToken("user-1", clock.instant.plusSeconds(3600));
+
+        decoder.decode(token);
+        clock.instant = clock.instant.plus(Duration.ofMinutes(5)).plusSeconds(1);
+        decoder.decode(token);
+
+        assertThat(verifications.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldVerifyEveryCallWhenCacheIsOff() throws JOSEException {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(verifyingDecoder, 0, Duration.ofMinutes(5), meterRegistry);
+        String token = signedToken("user-1", Instant.now().plusSeconds(3600));
+
+        decoder.decode(token);
+        decoder.decode(token);
+
+        assertThat(verifications.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("security.jwt.decode").tag("cache", "off").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @Timeout(value = 2, unit = TimeUnit.MINUTES)
+    void reportDecodeLatencyWithCacheOnAndOff() throws JOSEException {
+        int requests = 20_000;
+        String token = signedToken("user-1", Instant.now().plusSeconds(3600));
+        CachingJwtDecoder cacheOff = new CachingJwtDecoder(verifyingDecoder, 0, Duration.ofMinutes(5), meterRegistry);
+        CachingJwtDecoder cacheOn = new CachingJwtDecoder(verifyingDecoder, 100, Duration.ofMinutes(5), meterRegistry);
+
+        for (int i = 0; i < requests; i++) {
+            cacheOff.decode(token);
+            cacheOn.decode(token);
+        }
+
+        Timer off = meterRegistry.get("security.jwt.decode").tag("cache", "off").timer();
+        Timer hit = meterRegistry.get("security.jwt.decode").tag("cache", "hit").timer();
+        LOG.info(
+            "Bearer token decode latency over {} requests: cache off mean {} µs, cache on (hit) mean {} µs",
+            requests,
+            String.format("%.1f", off.mean(TimeUnit.MICROSECONDS)),
+            String.format("%.1f", hit.mean(TimeUnit.MICROSECONDS))
+        );
+        assertThat(hit.mean(TimeUnit.NANOSECONDS)).isLessThan(off.mean(TimeUnit.NANOSECONDS));
+    }
+
+    private String signedToken(String subject, Instant expiresAt) throws JOSEException {
+        SignedJWT jwt = new SignedJWT(
+            new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(rsaKey.getKeyID()).build(),
+            new JWTClaimsSet.Builder().subject(subject).issueTime(new Date()).expirationTime(Date.from(expiresAt)).build()
+        );
+        jwt.sign(new RSASSASigner(rsaKey));
+        return jwt.serialize();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.groupeisi.m2gl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.groupeisi.m2gl.IntegrationTest;
+import com.groupeisi.m2gl.domain.Compte;
+import com.groupeisi.m2gl.domain.User;
+import com.groupeisi.m2gl.repository.AuthorityRepository;
+import com.groupeisi.m2gl.repository.CompteRepository;
+import com.groupeisi.m2gl.repository.UserRepository;
+import com.groupeisi.m2gl.security.AuthoritiesConstants;
+import com.groupeisi.m2gl.service.dto.AuthResponseDTO;
+import com.groupeisi.m2gl.service.dto.ConnexionDTO;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Integration tests for the login path of {@link AuthService}.
+ */
+@IntegrationTest
+class AuthServiceIT {
+
+    private static final String PASSWORD = "motdepasse";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private OtpService otpService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CompteRepository compteRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private User user;
+
+    private Compte compte;
+
+    @BeforeEach
+    void init() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        user = new User();
+        user.setId(UUID.randomUUID().toString());
+        user.setLogin("connexion_" + suffix);
+        user.setTelephone("+22178" + suffix);
+        user.setPassword(passwordHashingService.encode(PASSWORD));
+        user.setActivated(true);
+        user.setLangKey("fr");
+        user.setAuthorities(new HashSet<>(Set.of(authorityRepository.findById(AuthoritiesConstants.USER).orElseThrow())));
+        user = userRepository.saveAndFlush(user);
+
+        compte = new Compte();
+        compte.setUser(user);
+        compte.setSolde(BigDecimal.ZERO);
+        compte.setNumCompte("ACC" + suffix);
+        compte.setDateCreation(LocalDate.now());
+        compte = compteRepository.saveAndFlush(compte);
+    }
+
+    @AfterEach
+    void cleanup() {
+        statistics.setStatisticsEnabled(false);
+        if (compte != null) {
+            compteRepository.deleteById(compte.getId());
+        }
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void shouldAuthenticateWithASingleStatement() {
+        ConnexionDTO connexion = connexion(PASSWORD);
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+
+        AuthResponseDTO response = authService.authenticate(connexion);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(response.getUserId()).isEqualTo(user.getId());
+        assertThat(response.getCompteId()).isEqualTo(compte.getId());
+        assertThat(response.getNumCompte()).isEqualTo(compte.getNumCompte());
+        assertThat(tokenService.parseClaims(response.getToken()).orElseThrow().get("authorities")).isEqualTo(
+            List.of(Map.of("name", AuthoritiesConstants.USER))
+        );
+    }
+
+    @Test
+    void shouldRejectWrongPassword() {
+        assertThatThrownBy(() -> authService.authenticate(connexion("mauvais"))).hasMessage("Mot de passe incorrect");
+    }
+
+    @Test
+    void shouldRejectUserWithoutAccount() {
+        compteRepository.deleteById(compte.getId());
+        compte = null;
+
+        assertThatThrownBy(() -> authService.authenticate(connexion(PASSWORD))).hasMessage("Compte non trouvé");
+    }
+
+    @Test
+    void shouldUpgradeLegacyHashAfterSuccessfulLogin() {
+        user.setPassword(new BCryptPasswordEncoder(4).encode(PASSWORD));
+        user = userRepository.saveAndFlush(user);
+
+        authService.authenticate(connexion(PASSWORD));
+
+        String passwordHash = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertThat(passwordHash).startsWith("{bcrypt}");
+        assertThat(passwordHashingService.matches(PASSWORD, passwordHash)).isTrue();
+    }
+
+    @Test
+    void shouldNotUpgradeHashOfDeactivatedUser() {
+        String legacyHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        user.setPassword(legacyHash);
+        user.setActivated(false);
+        user = userRepository.saveAndFlush(user);
+
+        assertThatThrownBy(() -> authService.authenticate(connexion(PASSWORD))).hasMessage("Compte utilisateur désactivé");
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getPassword()).isEqualTo(legacyHash);
+    }
+
+    private ConnexionDTO connexion(String password) {
+        ConnexionDTO connexion = new ConnexionDTO();
+        connexion.setTelephone(user.getTelephone());
+        connexion.setCodeOtp(otpService.generateAndSendOtp(user.getTelephone()));
+        connexion.setPassword(password);
+        return connexion;
+    }
+}
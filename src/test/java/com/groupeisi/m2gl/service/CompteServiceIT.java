@@ -0,0 +1,85 @@
+package com.groupeisi.m2gl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groupeisi.m2gl.IntegrationTest;
+import com.groupeisi.m2gl.domain.Compte;
+import com.groupeisi.m2gl.service.dto.CompteDTO;
+import com.groupeisi.m2gl.service.dto.TransfertDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the {@link CompteService} read cache.
+ */
+@IntegrationTest
+class CompteServiceIT {
+
+    private static final BigDecimal SOLDE_INITIAL = new BigDecimal("1000.00");
+
+    @Autowired
+    private CompteService compteService;
+
+    @Autowired
+    private TransfertService transfertService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CompteTestData compteTestData;
+
+    private Compte emetteur;
+
+    private Compte recepteur;
+
+    @BeforeEach
+    void init() {
+        emetteur = compteTestData.createCompte(SOLDE_INITIAL);
+        recepteur = compteTestData.createCompte(SOLDE_INITIAL);
+    }
+
+    @AfterEach
+    void cleanup() {
+        compteService.evictAfterCommit(List.of(emetteur.getId(), recepteur.getId()));
+        compteTestData.deleteAll();
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        double hitsBefore = cacheHits("compte.by-id");
+
+        assertThat(compteService.findOne(emetteur.getId())).map(CompteDTO::getNumCompte).contains(emetteur.getNumCompte());
+        assertThat(compteService.findOne(emetteur.getId())).isPresent();
+        assertThat(compteService.findByNumCompte(emetteur.getNumCompte())).map(CompteDTO::getId).contains(emetteur.getId());
+        assertThat(compteService.findByUserId(emetteur.getUser().getId())).map(CompteDTO::getId).contains(emetteur.getId());
+
+        assertThat(cacheHits("compte.by-id") - hitsBefore).isEqualTo(3);
+    }
+
+    @Test
+    void shouldEvictComptesWhenTransfertCommits() {
+        assertThat(compteService.findOne(emetteur.getId())).map(CompteDTO::getSolde).contains(SOLDE_INITIAL);
+        assertThat(compteService.findByNumCompte(recepteur.getNumCompte())).map(CompteDTO::getSolde).contains(SOLDE_INITIAL);
+
+        transfertService.executeTransfert(new TransfertDTO(emetteur.getId(), recepteur.getId(), new BigDecimal("250.00")));
+
+        assertThat(compteService.findOne(emetteur.getId()).orElseThrow().getSolde()).isEqualByComparingTo("750.00");
+        assertThat(compteService.findByNumCompte(recepteur.getNumCompte()).orElseThrow().getSolde()).isEqualByComparingTo("1250.00");
+    }
+
+    @Test
+    void shouldNotCacheMissingCompte() {
+        assertThat(compteService.findOne(Long.MAX_VALUE)).isEmpty();
+        assertThat(compteService.findByNumCompte("ACC-INCONNU")).isEmpty();
+    }
+
+    private double cacheHits(String cache) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", "hit").functionCounter().count();
+    }
+}
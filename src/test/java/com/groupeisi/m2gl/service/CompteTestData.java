@@ -0,0 +1,115 @@
+package com.groupeisi.m2gl.service;
+
+import com.groupeisi.m2gl.domain.Compte;
+import com.groupeisi.m2gl.domain.LedgerCheckpoint;
+import com.groupeisi.m2gl.domain.User;
+import com.groupeisi.m2gl.repository.CompteRepository;
+import com.groupeisi.m2gl.repository.CreditEnAttenteRepository;
+import com.groupeisi.m2gl.repository.DetailsTransactionRepository;
+import com.groupeisi.m2gl.repository.IdempotencyKeyRepository;
+import com.groupeisi.m2gl.repository.LedgerCheckpointRepository;
+import com.groupeisi.m2gl.repository.LedgerEntryRepository;
+import com.groupeisi.m2gl.repository.OutboxEventRepository;
+import com.groupeisi.m2gl.repository.TransfertRepository;
+import com.groupeisi.m2gl.repository.UserRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+
+/**
+ * Comptes de test, chacun avec son utilisateur, et nettoyage des tables qu'alimentent les transferts.
+ */
+@Component
+public class CompteTestData {
+
+    private final UserRepository userRepository;
+    private final CompteRepository compteRepository;
+    private final TransfertRepository transfertRepository;
+    private final DetailsTransactionRepository detailsTransactionRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final LedgerCheckpointRepository ledgerCheckpointRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final CreditEnAttenteRepository creditEnAttenteRepository;
+
+    public CompteTestData(
+        UserRepository userRepository,
+        CompteRepository compteRepository,
+        TransfertRepository transfertRepository,
+        DetailsTransactionRepository detailsTransactionRepository,
+        LedgerEntryRepository ledgerEntryRepository,
+        LedgerCheckpointRepository ledgerCheckpointRepository,
+        OutboxEventRepository outboxEventRepository,
+        IdempotencyKeyRepository idempotencyKeyRepository,
+        CreditEnAttenteRepository creditEnAttenteRepository
+    ) {
+        this.userRepository = userRepository;
+        this.compteRepository = compteRepository;
+        this.transfertRepository = transfertRepository;
+        this.detailsTransactionRepository = detailsTransactionRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.ledgerCheckpointRepository = ledgerCheckpointRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.creditEnAttenteRepository = creditEnAttenteRepository;
+    }
+
+    /**
+     * Crée un utilisateur activé et son compte.
+     *
+     * @param solde le solde du compte
+     * @return le compte enregistré
+     */
+    public Compte createCompte(BigDecimal solde) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setId(UUID.randomUUID().toString());
+        user.setLogin("compte_" + suffix);
+        user.setTelephone("+22170" + suffix);
+        user.setActivated(true);
+        user.setLangKey("fr");
+        user = userRepository.saveAndFlush(user);
+
+        Compte compte = new Compte();
+        compte.setUser(user);
+        compte.setSolde(solde);
+        compte.setNumCompte("ACC" + suffix);
+        compte.setDateCreation(LocalDate.now());
+        return compteRepository.saveAndFlush(compte);
+    }
+
+    /**
+     * Crée un utilisateur activé et son compte, avec le point de contrôle d'ouverture qu'écrit {@link AuthService}.
+     *
+     * @param solde le solde du compte
+     * @param ouverture la date du point de contrôle d'ouverture
+     * @return le compte enregistré
+     */
+    public Compte createCompte(BigDecimal solde, LocalDateTime ouverture) {
+        Compte compte = createCompte(solde);
+        LedgerCheckpoint ouvertureCompte = new LedgerCheckpoint();
+        ouvertureCompte.setCompteId(compte.getId());
+        ouvertureCompte.setEntryId(0L);
+        ouvertureCompte.setSolde(solde);
+        ouvertureCompte.setDate(ouverture);
+        ledgerCheckpointRepository.saveAndFlush(ouvertureCompte);
+        return compte;
+    }
+
+    /**
+     * Supprime les comptes, leurs utilisateurs et tout ce qu'ont écrit les transferts, dans l'ordre des clés étrangères.
+     */
+    public void deleteAll() {
+        idempotencyKeyRepository.deleteAll();
+        creditEnAttenteRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        ledgerCheckpointRepository.deleteAll();
+        detailsTransactionRepository.deleteAll();
+        transfertRepository.deleteAll();
+        compteRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+}
@@ -0,0 +1,107 @@
+package com.groupeisi.m2gl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.groupeisi.m2gl.IntegrationTest;
+import com.groupeisi.m2gl.service.dto.HistoriqueDTO;
+import com.groupeisi.m2gl.service.dto.MouvementDTO;
+import com.groupeisi.m2gl.service.dto.TransfertDTO;
+import com.groupeisi.m2gl.service.dto.TransfertResponseDTO;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link HistoriqueService}.
+ */
+@IntegrationTest
+class HistoriqueServiceIT {
+
+    private static final BigDecimal SOLDE_INITIAL = new BigDecimal("1000.00");
+
+    @Autowired
+    private HistoriqueService historiqueService;
+
+    @Autowired
+    private TransfertService transfertService;
+
+    @Autowired
+    private CompteTestData compteTestData;
+
+    private Long compteA;
+
+    private Long compteB;
+
+    private Long compteC;
+
+    @BeforeEach
+    void init() {
+        compteA = compteTestData.createCompte(SOLDE_INITIAL).getId();
+        compteB = compteTestData.createCompte(SOLDE_INITIAL).getId();
+        compteC = compteTestData.createCompte(SOLDE_INITIAL).getId();
+    }
+
+    @AfterEach
+    void cleanup() {
+        compteTestData.deleteAll();
+    }
+
+    @Test
+    void shouldReturnDebitsAndCreditsFromMostRecentWithCursorPagination() {
+        List<TransfertResponseDTO> transferts = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            // Le compte A est tour à tour émetteur et récepteur ; B -> C ne le concerne pas
+            transferts.add(transfertService.executeTransfert(new TransfertDTO(compteA, compteB, BigDecimal.valueOf(i))));
+            transferts.add(transfertService.executeTransfert(new TransfertDTO(compteC, compteA, BigDecimal.valueOf(10 + i))));
+            transfertService.executeTransfert(new TransfertDTO(compteB, compteC, BigDecimal.ONE));
+        }
+        transferts.sort(
+            Comparator.comparing(TransfertResponseDTO::getDate).thenComparing(TransfertResponseDTO::getTransfertId).reversed()
+        );
+
+        List<MouvementDTO> mouvements = new ArrayList<>();
+        String curseur = null;
+        int pages = 0;
+        do {
+            HistoriqueDTO page = historiqueService.findHistorique(compteA, curseur, 3);
+            assertThat(page.getMouvements()).hasSizeLessThanOrEqualTo(3);
+            mouvements.addAll(page.getMouvements());
+            curseur = page.getCurseurSuivant();
+            pages++;
+        } while (curseur != null);
+
+        assertThat(pages).isEqualTo(5);
+        assertThat(mouvements).extracting(MouvementDTO::getTransfertId).containsExactlyElementsOf(
+            transferts.stream().map(TransfertResponseDTO::getTransfertId).toList()
+        );
+        MouvementDTO debit = mouvements.stream().filter(m -> m.getSens() == MouvementDTO.Sens.DEBIT).findFirst().orElseThrow();
+        assertThat(debit.getContrepartieId()).isEqualTo(compteB);
+        MouvementDTO credit = mouvements.stream().filter(m -> m.getSens() == MouvementDTO.Sens.CREDIT).findFirst().orElseThrow();
+        assertThat(credit.getContrepartieId()).isEqualTo(compteC);
+        assertThat(credit.getMontant()).isGreaterThan(BigDecimal.TEN);
+    }
+
+    @Test
+    void shouldReturnLastPageWithoutCursor() {
+        transfertService.executeTransfert(new TransfertDTO(compteA, compteB, BigDecimal.TEN));
+
+        HistoriqueDTO page = historiqueService.findHistorique(compteA, null, 1);
+
+        assertThat(page.getMouvements()).hasSize(1);
+        assertThat(page.getCurseurSuivant()).isNull();
+        assertThat(historiqueService.findHistorique(compteC, null, 10).getMouvements()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectInvalidCursor() {
+        assertThatThrownBy(() -> historiqueService.findHistorique(compteA, "pas-un-curseur", 10))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessage("Curseur d'historique invalide");
+    }
+}
@@ -0,0 +1,129 @@
+package com.groupeisi.m2gl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link NumCompteGenerator}.
+ */
+class NumCompteGeneratorTest {
+
+    private static final long NOW = 1_760_000_000_000L;
+
+    private final AtomicLong millis = new AtomicLong(NOW);
+
+    @Test
+    void shouldGenerateValidTimeOrderedAccountNumbers() {
+        NumCompteGenerator generator = new NumCompteGenerator(7, millis::get);
+
+        String first = generator.nextNumCompte();
+        String second = generator.nextNumCompte();
+        millis.incrementAndGet();
+        String third = generator.nextNumCompte();
+
+        assertThat(first).startsWith(NumCompteGenerator.PREFIX).hasSize(24);
+        assertThat(List.of(first, second, third)).allMatch(NumCompteGenerator::isValid).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldDetectSingleDigitErrorsAndTranspositions() {
+        String numCompte = new NumCompteGenerator(7, millis::get).nextNumCompte();
+        char[] digits = numCompte.toCharArray();
+
+        for (int i = NumCompteGenerator.PREFIX.length(); i < digits.length; i++) {
+            char[] altered = digits.clone();
+            altered[i] = altered[i] == '9' ? '0' : (char) (altered[i] + 1);
+            assertThat(NumCompteGenerator.isValid(new String(altered))).isFalse();
+        }
+        for (int i = NumCompteGenerator.PREFIX.length(); i < digits.length - 1; i++) {
+            if (digits[i] != digits[i + 1]) {
+                char[] swapped = digits.clone();
+                swapped[i] = digits[i + 1];
+                swapped[i + 1] = digits[i];
+                assertThat(NumCompteGenerator.isValid(new String(swapped))).isFalse();
+            }
+        }
+        assertThat(NumCompteGenerator.isValid("ACC17000000001234")).isFalse();
+    }
+
+    @Test
+    void shouldNotCollideBetweenInstancesInTheSameMillisecond() {
+        NumCompteGenerator instanceA = new NumCompteGenerator(1, millis::get);
+        NumCompteGenerator instanceB = new NumCompteGenerator(2, millis::get);
+        Set<String> numComptes = new HashSet<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            numComptes.add(instanceA.nextNumCompte());
+            numComptes.add(instanceB.nextNumCompte());
+        }
+
+        assertThat(numComptes).hasSize(20_000);
+    }
+
+    @Test
+    void shouldStayUniqueWhenTheClockGoesBackwards() {
+        NumCompteGenerator generator = new NumCompteGenerator(1, millis::get);
+        long before = generator.nextId();
+
+        millis.addAndGet(-1_000);
+
+        assertThat(generator.nextId()).isGreaterThan(before);
+    }
+
+    @Test
+    void shouldGenerateUniqueIdsConcurrently() throws Exception {
+        // Horloge figée : la séquence s'épuise et l'horodatage avance sans attendre
+        NumCompteGenerator generator = new NumCompteGenerator(1, millis::get);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(
+                    executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < 250_000; i++) {
+                            ids.add(generator.nextId());
+                        }
+                        return null;
+                    })
+                );
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ids).hasSize(2_000_000);
+    }
+
+    @Test
+    void shouldRequireConfiguredWorkerId() {
+        assertThatThrownBy(() -> NumCompteGenerator.workerId(-1)).isInstanceOf(IllegalStateException.class);
+        assertThat(NumCompteGenerator.workerId(12)).isEqualTo(12);
+    }
+
+    @Test
+    void shouldRejectWorkerIdOutOfRange() {
+        assertThatThrownBy(() -> new NumCompteGenerator(NumCompteGenerator.MAX_WORKER_ID + 1, millis::get)).isInstanceOf(
+            IllegalArgumentException.class
+        );
+    }
+}
@@ -0,0 +1,114 @@
+package com.groupeisi.m2gl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.groupeisi.m2gl.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Test class for {@link PasswordHashingService}.
+ */
+class PasswordHashingServiceTest {
+
+    private static final int STRENGTH = 6;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PasswordHashingService service;
+
+    @AfterEach
+    void stop() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void shouldEncodeAndMatchOnTheHashingExecutor() {
+        service = new PasswordHashingService(delegatingEncoder(STRENGTH), properties(2, 10), meterRegistry);
+
+        String hash = service.encode("secret");
+
+        assertThat(hash).startsWith("{bcrypt}");
+        assertThat(service.matches("secret", hash)).isTrue();
+        assertThat(service.matches("wrong", hash)).isFalse();
+        assertThat(service.upgradeEncoding(hash)).isFalse();
+        assertThat(meterRegistry.get("security.password.hash.queue.wait").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("security.password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldMatchAndUpgradeLegacyAndLowerCostHashes() {
+        service = new PasswordHashingService(delegatingEncoder(STRENGTH), properties(2, 10), meterRegistry);
+        String legacyHash = new BCryptPasswordEncoder(STRENGTH).encode("secret");
+        String lowerCostHash = "{bcrypt}" + new BCryptPasswordEncoder(STRENGTH - 2).encode("secret");
+
+        assertThat(service.matches("secret", legacyHash)).isTrue();
+        assertThat(service.upgradeEncoding(legacyHash)).isTrue();
+        assertThat(service.matches("secret", lowerCostHash)).isTrue();
+        assertThat(service.upgradeEncoding(lowerCostHash)).isTrue();
+    }
+
+    @Test
+    void shouldRejectImmediatelyWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        service = new PasswordHashingService(blockingEncoder, properties(1, 1), meterRegistry);
+
+        // Un calcul en cours et un en file : la demande suivante est rejetée
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("a"));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("b"));
+        while (meterRegistry.get("executor.queued").tag("name", "password-hash").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> service.encode("c")).hasMessageContaining("veuillez réessayer");
+        assertThat(meterRegistry.get("security.password.hash.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isEqualTo("a");
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isEqualTo("b");
+    }
+
+    private static PasswordEncoder delegatingEncoder(int strength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    private static ApplicationProperties properties(int threads, int queueCapacity) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSecurity().getPassword().setHashingThreads(threads);
+        applicationProperties.getSecurity().getPassword().setHashingQueueCapacity(queueCapacity);
+        return applicationProperties;
+    }
+}
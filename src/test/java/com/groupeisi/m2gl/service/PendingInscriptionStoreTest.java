@@ -0,0 +1,128 @@
+package com.groupeisi.m2gl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groupeisi.m2gl.service.dto.InscriptionEtape2DTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Test class for {@link PendingInscriptionStore}.
+ * <p>
+ * The heap soak test is opt-in, as it inserts millions of entries and its result depends on the JVM and its GC:
+ * {@code ./mvnw test -Dtest=PendingInscriptionStoreTest -Dsoak.inscriptions=3000000}.
+ */
+class PendingInscriptionStoreTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PendingInscriptionStoreTest.class);
+
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldExpireAbandonedInscription() {
+        PendingInscriptionStore store = new PendingInscriptionStore(100, TTL, nanos::get, meterRegistry);
+        store.put("+221770000001", newInscription("+221770000001"));
+
+        assertThat(store.get("+221770000001")).isPresent();
+        nanos.addAndGet(TTL.toNanos() + 1);
+
+        assertThat(store.get("+221770000001")).isEmpty();
+        assertThat(store.estimatedSize()).isZero();
+        assertThat(meterRegistry.get("inscription.pending.evictions").tag("cause", "expired").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRemoveCompletedInscription() {
+        PendingInscriptionStore store = new PendingInscriptionStore(100, TTL, nanos::get, meterRegistry);
+        store.put("+221770000001", newInscription("+221770000001"));
+
+        store.remove("+221770000001");
+
+        assertThat(store.get("+221770000001")).isEmpty();
+    }
+
+    @Test
+    void shouldStayBoundedUnderManyAbandonedInscriptions() {
+        int maxSize = 1_000;
+        int nbInscriptions = 100_000;
+        PendingInscriptionStore store = new PendingInscriptionStore(maxSize, TTL, nanos::get, meterRegistry);
+
+        for (int i = 0; i < nbInscriptions; i++) {
+            String telephone = "+221" + (700_000_000 + i);
+            store.put(telephone, newInscription(telephone));
+            if (i % 1_000 == 0) {
+                nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            }
+        }
+
+        assertThat(store.estimatedSize()).isLessThanOrEqualTo(maxSize);
+        double evictions = meterRegistry.find("inscription.pending.evictions").counters().stream().mapToDouble(c -> c.count()).sum();
+        assertThat(evictions).isGreaterThanOrEqualTo(nbInscriptions - maxSize);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    @EnabledIfSystemProperty(named = "soak.inscriptions", matches = "\\d+")
+    void shouldKeepHeapFlatUnderMillionsOfAbandonedInscriptions() {
+        int maxSize = 10_000;
+        int nbInscriptions = Integer.parseInt(System.getProperty("soak.inscriptions"));
+        PendingInscriptionStore store = new PendingInscriptionStore(maxSize, TTL, nanos::get, meterRegistry);
+
+        long heapAfterWarmup = 0;
+        for (int i = 0; i < nbInscriptions; i++) {
+            String telephone = "+221" + (700_000_000 + i);
+            store.put(telephone, newInscription(telephone));
+            // Une partie des inscriptions abandonnées expire, le reste est évincé par la borne de taille
+            if (i % 1_000 == 0) {
+                nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            }
+            if (i == maxSize * 10) {
+                heapAfterWarmup = usedHeap();
+            }
+        }
+        long heapAtEnd = usedHeap();
+
+        LOG.info(
+            "Pending inscription soak test: {} abandoned signups, {} kept, used heap {} MB after warmup, {} MB at end",
+            nbInscriptions,
+            store.estimatedSize(),
+            heapAfterWarmup / (1024 * 1024),
+            heapAtEnd / (1024 * 1024)
+        );
+
+        assertThat(store.estimatedSize()).isLessThanOrEqualTo(maxSize);
+        assertThat(heapAtEnd - heapAfterWarmup).isLessThan(32L * 1024 * 1024);
+        double evictions = meterRegistry.find("inscription.pending.evictions").counters().stream().mapToDouble(c -> c.count()).sum();
+        assertThat(evictions).isGreaterThanOrEqualTo(nbInscriptions - maxSize);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static InscriptionEtape2DTO newInscription(String telephone) {
+        InscriptionEtape2DTO dto = new InscriptionEtape2DTO();
+        dto.setTelephone(telephone);
+        dto.setNom("Diop");
+        dto.setPrenom("Awa");
+        dto.setNin("1" + telephone.substring(4));
+        dto.setDateNaissance(LocalDate.of(1990, 1, 1));
+        return dto;
+    }
+}
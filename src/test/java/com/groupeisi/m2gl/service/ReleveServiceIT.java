@@ -0,0 +1,82 @@
+package com.groupeisi.m2gl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groupeisi.m2gl.IntegrationTest;
+import com.groupeisi.m2gl.service.dto.TransfertDTO;
+import com.groupeisi.m2gl.service.dto.TransfertResponseDTO;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link ReleveService}.
+ */
+@IntegrationTest
+class ReleveServiceIT {
+
+    private static final BigDecimal SOLDE_INITIAL = new BigDecimal("1000.00");
+
+    @Autowired
+    private ReleveService releveService;
+
+    @Autowired
+    private TransfertService transfertService;
+
+    @Autowired
+    private CompteTestData compteTestData;
+
+    private Long compteA;
+
+    private Long compteB;
+
+    private Long compteC;
+
+    @BeforeEach
+    void init() {
+        compteA = compteTestData.createCompte(SOLDE_INITIAL).getId();
+        compteB = compteTestData.createCompte(SOLDE_INITIAL).getId();
+        compteC = compteTestData.createCompte(SOLDE_INITIAL).getId();
+    }
+
+    @AfterEach
+    void cleanup() {
+        compteTestData.deleteAll();
+    }
+
+    @Test
+    void shouldExportDebitsAndCreditsOfThePeriodInDateOrder() {
+        LocalDateTime debut = LocalDateTime.now().minusMinutes(1);
+        TransfertResponseDTO debit = transfertService.executeTransfert(new TransfertDTO(compteA, compteB, new BigDecimal("10.00")));
+        TransfertResponseDTO credit = transfertService.executeTransfert(new TransfertDTO(compteC, compteA, new BigDecimal("25.50")));
+        transfertService.executeTransfert(new TransfertDTO(compteB, compteC, BigDecimal.ONE));
+        LocalDateTime fin = LocalDateTime.now().plusMinutes(1);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = releveService.export(compteA, debut, fin, ReleveService.Format.CSV, out);
+
+        assertThat(count).isEqualTo(2);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0] + "\n").isEqualTo(ReleveService.CSV_HEADER);
+        assertThat(lines[1]).startsWith(debit.getTransfertId() + ",").endsWith(",DEBIT,10.00," + compteB);
+        assertThat(lines[2]).startsWith(credit.getTransfertId() + ",").endsWith(",CREDIT,25.50," + compteC);
+    }
+
+    @Test
+    void shouldExcludeMovementsOutsideThePeriod() {
+        transfertService.executeTransfert(new TransfertDTO(compteA, compteB, BigDecimal.TEN));
+        LocalDateTime demain = LocalDateTime.now().plusDays(1);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = releveService.export(compteA, demain, demain.plusDays(1), ReleveService.Format.NDJSON, out);
+
+        assertThat(count).isZero();
+        assertThat(out.size()).isZero();
+    }
+}
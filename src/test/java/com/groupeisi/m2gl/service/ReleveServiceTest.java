@@ -0,0 +1,117 @@
+package com.groupeisi.m2gl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groupeisi.m2gl.config.ApplicationProperties;
+import com.groupeisi.m2gl.service.dto.MouvementDTO;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link ReleveService}.
+ */
+class ReleveServiceTest {
+
+    private static final long ROWS = 10_000_000;
+
+    // Lignes lues mais pas encore reçues par le client : bornées par le tampon d'écriture (64 Ko)
+    private static final long MAX_ROWS_IN_FLIGHT = 10_000;
+
+    private static final LocalDateTime DEBUT = LocalDateTime.of(2015, 1, 1, 0, 0);
+
+    private final ReleveService releveService = new ReleveService(null, new ObjectMapper(), new ApplicationProperties());
+
+    @Test
+    void shouldStreamTenMillionRowsWithBoundedMemory() {
+        LineCountingOutputStream out = new LineCountingOutputStream();
+        long[] maxInFlight = { 0 };
+        Stream<MouvementDTO> mouvements = Stream.iterate(1L, i -> i + 1)
+            .limit(ROWS)
+            .map(i -> {
+                // Le client a reçu l'en-tête et toutes les lignes sauf celles encore dans le tampon
+                maxInFlight[0] = Math.max(maxInFlight[0], i - Math.max(0, out.lines - 1));
+                return mouvement(i);
+            });
+
+        long count = releveService.write(mouvements, ReleveService.Format.CSV, out);
+
+        assertThat(count).isEqualTo(ROWS);
+        assertThat(out.lines).isEqualTo(ROWS + 1);
+        assertThat(maxInFlight[0]).isLessThan(MAX_ROWS_IN_FLIGHT);
+    }
+
+    @Test
+    void shouldWriteOneJsonObjectPerLine() throws Exception {
+        StringBuilderOutputStream out = new StringBuilderOutputStream();
+
+        long count = releveService.write(Stream.of(mouvement(1), mouvement(2)), ReleveService.Format.NDJSON, out);
+
+        assertThat(count).isEqualTo(2);
+        String[] lines = out.toString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(new ObjectMapper().readTree(lines[0]).get("transfertId").asLong()).isEqualTo(1);
+        assertThat(new ObjectMapper().readTree(lines[1]).get("sens").asText()).isEqualTo("CREDIT");
+        assertThat(lines[1]).startsWith("{").endsWith("}");
+    }
+
+    @Test
+    void shouldWriteCsvHeaderAndRows() {
+        StringBuilderOutputStream out = new StringBuilderOutputStream();
+
+        releveService.write(Stream.of(mouvement(1)), ReleveService.Format.CSV, out);
+
+        assertThat(out.toString()).isEqualTo(ReleveService.CSV_HEADER + "1,2015-01-01T00:00:01,DEBIT,1.01,42\n");
+    }
+
+    private static MouvementDTO mouvement(long i) {
+        return new MouvementDTO(
+            i,
+            DEBUT.plusSeconds(i),
+            i % 2 == 1 ? MouvementDTO.Sens.DEBIT : MouvementDTO.Sens.CREDIT,
+            BigDecimal.valueOf(100 + i % 1000, 2),
+            42L
+        );
+    }
+
+    private static final class LineCountingOutputStream extends OutputStream {
+
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+
+    private static final class StringBuilderOutputStream extends OutputStream {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        @Override
+        public void write(int b) {
+            bytes.write(b);
+        }
+
+        @Override
+        public String toString() {
+            return bytes.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.groupeisi.m2gl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groupeisi.m2gl.domain.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Test class for {@link TokenService}.
+ */
+class TokenServiceTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TokenServiceTest.class);
+
+    private static final String SECRET = "MySecretKeyForJWTTokenGenerationThatShouldBeAtLeast256BitsLong";
+
+    private final TokenService tokenService = new TokenService(SECRET);
+
+    @Test
+    void shouldValidateAndExtractUserIdInOneCall() {
+        String token = tokenService.generateToken(newUser());
+
+        assertThat(tokenService.validateAndGetUserId(token)).contains("user-1");
+        assertThat(tokenService.validateToken(token)).isTrue();
+        assertThat(tokenService.getUserIdFromToken(token)).isEqualTo("user-1");
+        assertThat(tokenService.parseClaims(token)).get().extracting(claims -> claims.get("telephone")).isEqualTo("+221770000001");
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithAnotherKey() {
+        String token = new TokenService(SECRET + "-autre").generateToken(newUser());
+
+        assertThat(tokenService.validateToken(token)).isFalse();
+        assertThat(tokenService.getUserIdFromToken(token)).isNull();
+    }
+
+    @Test
+    void shouldRejectExpiredOrMalformedToken() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        String expired = Jwts.builder().subject("user-1").expiration(new Date(System.currentTimeMillis() - 1_000)).signWith(key).compact();
+
+        assertThat(tokenService.validateAndGetUserId(expired)).isEmpty();
+        assertThat(tokenService.validateAndGetUserId("pas.un.token")).isEmpty();
+        assertThat(tokenService.validateAndGetUserId(null)).isEmpty();
+    }
+
+    @Test
+    @Timeout(value = 2, unit = TimeUnit.MINUTES)
+    void benchmarkSharedParserAgainstPerCallKeyAndParser() {
+        String token = tokenService.generateToken(newUser());
+        int iterations = 50_000;
+
+        // Warmup
+        for (int i = 0; i < iterations; i++) {
+            parseWithPerCallKeyAndParser(token);
+            tokenService.validateAndGetUserId(token);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            // Ancien chemin : validateToken puis getUserIdFromToken, chacun dérivant la clé et construisant un parseur
+            parseWithPerCallKeyAndParser(token);
+            parseWithPerCallKeyAndParser(token);
+        }
+        long beforeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            tokenService.validateAndGetUserId(token);
+        }
+        long afterNanos = System.nanoTime() - start;
+
+        LOG.info(
+            "Token validation benchmark ({} tokens): per-call key and parser, parsed twice {} tokens/s, shared parser, parsed once {} tokens/s",
+            iterations,
+            String.format("%.0f", iterations / (beforeNanos / 1_000_000_000d)),
+            String.format("%.0f", iterations / (afterNanos / 1_000_000_000d))
+        );
+        assertThat(afterNanos).isLessThan(beforeNanos);
+    }
+
+    private static String parseWithPerCallKeyAndParser(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    private static User newUser() {
+        User user = new User();
+        user.setId("user-1");
+        user.setLogin("221770000001");
+        user.setTelephone("+221770000001");
+        return user;
+    }
+}
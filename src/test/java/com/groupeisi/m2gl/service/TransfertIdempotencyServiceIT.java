@@ -0,0 +1,166 @@
+package com.groupeisi.m2gl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.groupeisi.m2gl.IntegrationTest;
+import com.groupeisi.m2gl.config.ApplicationProperties;
+import com.groupeisi.m2gl.domain.Compte;
+import com.groupeisi.m2gl.domain.IdempotencyKeyId;
+import com.groupeisi.m2gl.repository.CompteRepository;
+import com.groupeisi.m2gl.repository.IdempotencyKeyRepository;
+import com.groupeisi.m2gl.repository.TransfertRepository;
+import com.groupeisi.m2gl.service.dto.TransfertDTO;
+import com.groupeisi.m2gl.service.dto.TransfertResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link TransfertIdempotencyService}.
+ */
+@IntegrationTest
+class TransfertIdempotencyServiceIT {
+
+    private static final BigDecimal SOLDE_INITIAL = new BigDecimal("1000.00");
+
+    @Autowired
+    private TransfertPipeline transfertPipeline;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private CompteTestData compteTestData;
+
+    @Autowired
+    private CompteRepository compteRepository;
+
+    @Autowired
+    private TransfertRepository transfertRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TransfertIdempotencyService idempotencyService;
+
+    private Long emetteurId;
+
+    private String userId;
+
+    private Long recepteurId;
+
+    @BeforeEach
+    void init() {
+        Compte emetteur = compteTestData.createCompte(SOLDE_INITIAL);
+        emetteurId = emetteur.getId();
+        userId = emetteur.getUser().getId();
+        recepteurId = compteTestData.createCompte(SOLDE_INITIAL).getId();
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyService = newIdempotencyService(meterRegistry);
+    }
+
+    @AfterEach
+    void cleanup() {
+        compteTestData.deleteAll();
+    }
+
+    @Test
+    void shouldReplayTransfertWithoutDebitingTwice() {
+        String key = UUID.randomUUID().toString();
+        TransfertDTO dto = new TransfertDTO(emetteurId, recepteurId, new BigDecimal("100.00"));
+
+        TransfertResponseDTO first = idempotencyService.execute(dto, userId, key);
+        TransfertResponseDTO replay = idempotencyService.execute(dto, userId, key);
+
+        assertThat(replay.getTransfertId()).isEqualTo(first.getTransfertId());
+        assertThat(transfertRepository.count()).isEqualTo(1);
+        assertThat(compteRepository.findById(emetteurId).orElseThrow().getSolde()).isEqualByComparingTo("900.00");
+        assertThat(lookups("miss")).isEqualTo(1);
+        assertThat(lookups("cache_hit")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReplayFromDatabaseWhenKeyIsNotCached() {
+        String key = UUID.randomUUID().toString();
+        TransfertDTO dto = new TransfertDTO(emetteurId, recepteurId, new BigDecimal("100.00"));
+        TransfertResponseDTO first = idempotencyService.execute(dto, userId, key);
+
+        // Nouvelle instance, cache vide : comme après un redémarrage ou sur une autre instance
+        SimpleMeterRegistry otherRegistry = new SimpleMeterRegistry();
+        TransfertResponseDTO replay = newIdempotencyService(otherRegistry).execute(dto, userId, key);
+
+        assertThat(replay.getTransfertId()).isEqualTo(first.getTransfertId());
+        assertThat(transfertRepository.count()).isEqualTo(1);
+        assertThat(otherRegistry.get("transfert.idempotency.lookups").tag("result", "database_hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectKeyReusedForAnotherTransfert() {
+        String key = UUID.randomUUID().toString();
+        idempotencyService.execute(new TransfertDTO(emetteurId, recepteurId, new BigDecimal("100.00")), userId, key);
+
+        assertThatThrownBy(() ->
+            idempotencyService.execute(new TransfertDTO(emetteurId, recepteurId, new BigDecimal("200.00")), userId, key)
+        )
+            .isInstanceOf(RuntimeException.class)
+            .hasMessage("Clé d'idempotence déjà utilisée pour un autre transfert");
+        assertThat(compteRepository.findById(emetteurId).orElseThrow().getSolde()).isEqualByComparingTo("900.00");
+    }
+
+    @Test
+    void shouldNotRecordKeyOfRefusedTransfert() {
+        String key = UUID.randomUUID().toString();
+        TransfertDTO dto = new TransfertDTO(emetteurId, recepteurId, SOLDE_INITIAL.add(BigDecimal.ONE));
+
+        assertThatThrownBy(() -> idempotencyService.execute(dto, userId, key)).hasMessage("Solde insuffisant");
+
+        assertThat(idempotencyKeyRepository.existsById(new IdempotencyKeyId(userId, key))).isFalse();
+    }
+
+    @Test
+    void shouldScopeKeysByUser() {
+        String key = UUID.randomUUID().toString();
+        Compte autre = compteTestData.createCompte(SOLDE_INITIAL);
+        TransfertDTO dto = new TransfertDTO(emetteurId, recepteurId, new BigDecimal("100.00"));
+        TransfertResponseDTO first = idempotencyService.execute(dto, userId, key);
+
+        // La même clé, choisie par un autre utilisateur, ne rejoue pas le transfert du premier
+        TransfertResponseDTO other = idempotencyService.execute(
+            new TransfertDTO(autre.getId(), recepteurId, new BigDecimal("100.00")),
+            autre.getUser().getId(),
+            key
+        );
+
+        assertThat(other.getTransfertId()).isNotEqualTo(first.getTransfertId());
+        assertThat(other.getCompteEmetteurId()).isEqualTo(autre.getId());
+        assertThat(transfertRepository.count()).isEqualTo(2);
+        assertThat(idempotencyKeyRepository.count()).isEqualTo(2);
+        assertThat(compteRepository.findById(autre.getId()).orElseThrow().getSolde()).isEqualByComparingTo("900.00");
+    }
+
+    @Test
+    void shouldExecuteEachTransfertWithoutKey() {
+        TransfertDTO dto = new TransfertDTO(emetteurId, recepteurId, new BigDecimal("100.00"));
+
+        idempotencyService.execute(dto, userId, null);
+        idempotencyService.execute(dto, userId, null);
+
+        assertThat(transfertRepository.count()).isEqualTo(2);
+        assertThat(idempotencyKeyRepository.count()).isZero();
+    }
+
+    private TransfertIdempotencyService newIdempotencyService(SimpleMeterRegistry registry) {
+        return new TransfertIdempotencyService(transfertPipeline, idempotencyKeyRepository, applicationProperties, registry);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("transfert.idempotency.lookups").tag("result", result).counter().count();
+    }
+}
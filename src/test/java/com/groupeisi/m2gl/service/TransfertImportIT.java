@@ -0,0 +1,141 @@
+package com.groupeisi.m2gl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.groupeisi.m2gl.IntegrationTest;
+import com.groupeisi.m2gl.domain.Compte;
+import com.groupeisi.m2gl.repository.CompteRepository;
+import com.groupeisi.m2gl.repository.DetailsTransactionRepository;
+import com.groupeisi.m2gl.repository.TransfertRepository;
+import com.groupeisi.m2gl.service.dto.TransfertDTO;
+import com.groupeisi.m2gl.service.dto.TransfertImportResponseDTO;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests and before/after throughput benchmark for {@link TransfertService#importTransferts(List)}.
+ * <p>
+ * Run against the MySQL test container with {@code ./mvnw -Pprod verify -Dit.test=TransfertImportIT}.
+ */
+@IntegrationTest
+class TransfertImportIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransfertImportIT.class);
+
+    private static final int NB_COMPTES = 50;
+    private static final int NB_TRANSFERTS = 3_000;
+    private static final BigDecimal SOLDE_INITIAL = new BigDecimal("1000000.00");
+
+    @Autowired
+    private TransfertService transfertService;
+
+    @Autowired
+    private CompteTestData compteTestData;
+
+    @Autowired
+    private CompteRepository compteRepository;
+
+    @Autowired
+    private TransfertRepository transfertRepository;
+
+    @Autowired
+    private DetailsTransactionRepository detailsTransactionRepository;
+
+    private final List<Long> compteIds = new ArrayList<>();
+
+    @BeforeEach
+    void init() {
+        for (int i = 0; i < NB_COMPTES; i++) {
+            compteIds.add(compteTestData.createCompte(SOLDE_INITIAL).getId());
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        compteTestData.deleteAll();
+        compteIds.clear();
+    }
+
+    @Test
+    void shouldImportAllTransfertsOrNone() {
+        List<TransfertDTO> transferts = List.of(
+            new TransfertDTO(compteIds.get(0), compteIds.get(1), new BigDecimal("10.00")),
+            new TransfertDTO(compteIds.get(1), compteIds.get(2), SOLDE_INITIAL.add(BigDecimal.TEN))
+        );
+
+        assertThatThrownBy(() -> transfertService.importTransferts(transferts))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessage("Solde insuffisant (transfert n°2)");
+
+        assertThat(transfertRepository.count()).isZero();
+        assertThat(compteRepository.findById(compteIds.get(0)).orElseThrow().getSolde()).isEqualByComparingTo(SOLDE_INITIAL);
+    }
+
+    @Test
+    void shouldApplyTransfertsInListOrder() {
+        // Le second transfert n'est couvert que grâce au crédit apporté par le premier
+        List<TransfertDTO> transferts = List.of(
+            new TransfertDTO(compteIds.get(0), compteIds.get(1), new BigDecimal("500.00")),
+            new TransfertDTO(compteIds.get(1), compteIds.get(2), SOLDE_INITIAL.add(new BigDecimal("500.00")))
+        );
+
+        TransfertImportResponseDTO response = transfertService.importTransferts(transferts);
+
+        assertThat(response.getNombreTransferts()).isEqualTo(2);
+        assertThat(compteRepository.findById(compteIds.get(1)).orElseThrow().getSolde()).isEqualByComparingTo("0.00");
+        assertThat(detailsTransactionRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void benchmarkUnitTransfertsAgainstBatchedImport() {
+        List<TransfertDTO> unitaires = randomTransferts();
+        long start = System.nanoTime();
+        for (TransfertDTO dto : unitaires) {
+            transfertService.executeTransfert(dto);
+        }
+        long unitNanos = System.nanoTime() - start;
+
+        List<TransfertDTO> lot = randomTransferts();
+        start = System.nanoTime();
+        transfertService.importTransferts(lot);
+        long importNanos = System.nanoTime() - start;
+
+        double unitTps = NB_TRANSFERTS / (unitNanos / 1_000_000_000d);
+        double importTps = NB_TRANSFERTS / (importNanos / 1_000_000_000d);
+        LOG.info(
+            "Transfert insert benchmark ({} transferts): one transaction per transfert {} transferts/s, batched import {} transferts/s",
+            NB_TRANSFERTS,
+            String.format("%.0f", unitTps),
+            String.format("%.0f", importTps)
+        );
+
+        assertThat(transfertRepository.count()).isEqualTo(2L * NB_TRANSFERTS);
+        assertThat(detailsTransactionRepository.count()).isEqualTo(2L * NB_TRANSFERTS);
+        BigDecimal total = compteRepository.findAllById(compteIds).stream().map(Compte::getSolde).reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(total).isEqualByComparingTo(SOLDE_INITIAL.multiply(BigDecimal.valueOf(NB_COMPTES)));
+        assertThat(importTps).isGreaterThan(unitTps);
+    }
+
+    private List<TransfertDTO> randomTransferts() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<TransfertDTO> transferts = new ArrayList<>(NB_TRANSFERTS);
+        for (int i = 0; i < NB_TRANSFERTS; i++) {
+            int a = random.nextInt(NB_COMPTES);
+            int b = (a + 1 + random.nextInt(NB_COMPTES - 1)) % NB_COMPTES;
+            transferts.add(new TransfertDTO(compteIds.get(a), compteIds.get(b), BigDecimal.valueOf(random.nextInt(1, 10_000), 2)));
+        }
+        return transferts;
+    }
+}
@@ -0,0 +1,212 @@
+package com.groupeisi.m2gl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groupeisi.m2gl.IntegrationTest;
+import com.groupeisi.m2gl.config.ApplicationProperties;
+import com.groupeisi.m2gl.domain.Compte;
+import com.groupeisi.m2gl.domain.LedgerEntry;
+import com.groupeisi.m2gl.domain.Transfert;
+import com.groupeisi.m2gl.repository.CompteRepository;
+import com.groupeisi.m2gl.repository.CreditEnAttenteRepository;
+import com.groupeisi.m2gl.repository.DetailsTransactionRepository;
+import com.groupeisi.m2gl.repository.LedgerEntryRepository;
+import com.groupeisi.m2gl.repository.TransfertRepository;
+import com.groupeisi.m2gl.service.dto.TransfertDTO;
+import com.groupeisi.m2gl.service.dto.TransfertResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the sharded mode of {@link TransfertPipeline}.
+ */
+@IntegrationTest
+class TransfertPipelineIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransfertPipelineIT.class);
+
+    private static final int NB_COMPTES = 20;
+    private static final BigDecimal SOLDE_INITIAL = new BigDecimal("1000.00");
+
+    @Autowired
+    private TransfertService transfertService;
+
+    @Autowired
+    private CompteTestData compteTestData;
+
+    @Autowired
+    private CompteRepository compteRepository;
+
+    @Autowired
+    private TransfertRepository transfertRepository;
+
+    @Autowired
+    private DetailsTransactionRepository detailsTransactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private CreditEnAttenteRepository creditEnAttenteRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<Long> compteIds = new ArrayList<>();
+
+    private TransfertPipeline pipeline;
+
+    @BeforeEach
+    void init() {
+        for (int i = 0; i < NB_COMPTES; i++) {
+            compteIds.add(compteTestData.createCompte(SOLDE_INITIAL).getId());
+        }
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getTransfert().getPipeline().setEnabled(true);
+        properties.getTransfert().getPipeline().setShards(4);
+        properties.getTransfert().getPipeline().setMaxBatchSize(50);
+        properties.getTransfert().getPipeline().setTimeoutMs(30_000);
+        properties.getTransfert().getPipeline().setCreditRecoveryIntervalMs(0);
+        pipeline = new TransfertPipeline(transfertService, properties, meterRegistry);
+        pipeline.start();
+    }
+
+    @AfterEach
+    void cleanup() {
+        pipeline.stop();
+        compteTestData.deleteAll();
+        compteIds.clear();
+    }
+
+    @Test
+    void shouldRegisterQueueDepthAndBatchSizeGauges() {
+        assertThat(meterRegistry.find("transfert.pipeline.queue.depth").gauges()).hasSize(4);
+        assertThat(meterRegistry.find("transfert.pipeline.batch.size").gauges()).hasSize(4);
+    }
+
+    @Test
+    void shouldApplyDebitsOfOneCompteInSubmissionOrder() {
+        Long emetteurId = compteIds.get(0);
+        Long recepteurId = compteIds.get(1);
+
+        List<CompletableFuture<TransfertResponseDTO>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(pipeline.submit(new TransfertDTO(emetteurId, recepteurId, new BigDecimal("100.00"))));
+        }
+
+        // Le solde initial couvre exactement les 10 premiers débits, dans l'ordre de soumission
+        for (int i = 0; i < futures.size(); i++) {
+            CompletableFuture<TransfertResponseDTO> future = futures.get(i);
+            future.handle((response, error) -> null).join();
+            assertThat(future.isCompletedExceptionally()).as("transfert %d", i).isEqualTo(i >= 10);
+        }
+        assertThat(compteRepository.findById(emetteurId).orElseThrow().getSolde()).isEqualByComparingTo("0.00");
+        assertThat(compteRepository.findById(recepteurId).orElseThrow().getSolde()).isEqualByComparingTo("2000.00");
+    }
+
+    @Test
+    void shouldRejectUnknownCompteWithoutFailingTheBatch() {
+        CompletableFuture<TransfertResponseDTO> refuse = pipeline.submit(new TransfertDTO(compteIds.get(0), Long.MAX_VALUE, BigDecimal.TEN));
+        CompletableFuture<TransfertResponseDTO> accepte = pipeline.submit(new TransfertDTO(compteIds.get(0), compteIds.get(1), BigDecimal.TEN));
+
+        assertThat(accepte.join().getTransfertId()).isNotNull();
+        assertThat(refuse).isCompletedExceptionally();
+        assertThat(compteRepository.findById(compteIds.get(0)).orElseThrow().getSolde()).isEqualByComparingTo("990.00");
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void shouldCreditOneRecepteurFromManyEmetteurs() {
+        Long recepteurId = compteIds.get(0);
+        int transfertsParEmetteur = 50;
+
+        List<CompletableFuture<TransfertResponseDTO>> futures = new ArrayList<>();
+        for (int i = 0; i < transfertsParEmetteur; i++) {
+            for (Long emetteurId : compteIds.subList(1, NB_COMPTES)) {
+                futures.add(pipeline.submit(new TransfertDTO(emetteurId, recepteurId, new BigDecimal("1.00"))));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        int nbTransferts = futures.size();
+        assertThat(compteRepository.findById(recepteurId).orElseThrow().getSolde()).isEqualByComparingTo(
+            SOLDE_INITIAL.add(BigDecimal.valueOf(nbTransferts))
+        );
+        assertThat(creditEnAttenteRepository.count()).isZero();
+        assertThat(detailsTransactionRepository.count()).isEqualTo(nbTransferts);
+        // Les crédits sont agrégés par lot : l'écriture de chacun porte quand même le solde qui la suit
+        List<LedgerEntry> entries = ledgerEntryRepository.findAllByCompteIdOrderById(recepteurId);
+        assertThat(entries).hasSize(nbTransferts);
+        BigDecimal solde = SOLDE_INITIAL;
+        for (LedgerEntry entry : entries) {
+            solde = solde.add(entry.getMontant());
+            assertThat(entry.getSolde()).isEqualByComparingTo(solde);
+        }
+    }
+
+    @Test
+    void shouldApplyPendingCreditOnRecovery() throws InterruptedException {
+        Long emetteurId = compteIds.get(0);
+        Long recepteurId = compteIds.get(1);
+        // Débit validé, crédit perdu : comme un arrêt de l'application entre les deux étapes
+        transfertService.debiterLot(List.of(new TransfertDTO(emetteurId, recepteurId, BigDecimal.TEN)), Collections.singletonList(null));
+        assertThat(creditEnAttenteRepository.count()).isEqualTo(1);
+        assertThat(compteRepository.findById(recepteurId).orElseThrow().getSolde()).isEqualByComparingTo(SOLDE_INITIAL);
+
+        pipeline.reprendreCreditsEnAttente();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (creditEnAttenteRepository.count() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(creditEnAttenteRepository.count()).isZero();
+        assertThat(compteRepository.findById(recepteurId).orElseThrow().getSolde()).isEqualByComparingTo("1010.00");
+        assertThat(detailsTransactionRepository.count()).isEqualTo(1);
+
+        // Un crédit déjà appliqué n'est pas appliqué deux fois
+        List<Long> transfertIds = transfertRepository.findAll().stream().map(Transfert::getId).toList();
+        assertThat(transfertService.crediterLot(transfertIds)).isZero();
+        assertThat(compteRepository.findById(recepteurId).orElseThrow().getSolde()).isEqualByComparingTo("1010.00");
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void shouldConserveTotalSoldeUnderConcurrentSubmissions() {
+        int nbTransferts = 5_000;
+        List<CompletableFuture<TransfertResponseDTO>> futures = new ArrayList<>(nbTransferts);
+        long start = System.nanoTime();
+        for (int i = 0; i < nbTransferts; i++) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int a = random.nextInt(NB_COMPTES);
+            int b = (a + 1 + random.nextInt(NB_COMPTES - 1)) % NB_COMPTES;
+            futures.add(pipeline.submit(new TransfertDTO(compteIds.get(a), compteIds.get(b), BigDecimal.valueOf(random.nextInt(1, 5_000), 2))));
+        }
+        CompletableFuture.allOf(futures.stream().map(f -> f.handle((response, error) -> null)).toArray(CompletableFuture[]::new)).join();
+        long elapsedNanos = System.nanoTime() - start;
+
+        long executes = futures.stream().filter(f -> !f.isCompletedExceptionally()).count();
+        LOG.info(
+            "Sharded transfert benchmark: {} transferts ({} exécutés) in {} ms -> {} transferts/s",
+            nbTransferts,
+            executes,
+            TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+            String.format("%.0f", nbTransferts / (elapsedNanos / 1_000_000_000d))
+        );
+
+        assertThat(transfertRepository.count()).isEqualTo(executes);
+        BigDecimal total = compteRepository.findAllById(compteIds).stream().map(Compte::getSolde).reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(total).isEqualByComparingTo(SOLDE_INITIAL.multiply(BigDecimal.valueOf(NB_COMPTES)));
+    }
+}
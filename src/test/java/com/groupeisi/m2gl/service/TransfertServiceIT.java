@@ -0,0 +1,187 @@
+package com.groupeisi.m2gl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.groupeisi.m2gl.IntegrationTest;
+import com.groupeisi.m2gl.domain.Compte;
+import com.groupeisi.m2gl.repository.CompteRepository;
+import com.groupeisi.m2gl.repository.DetailsTransactionRepository;
+import com.groupeisi.m2gl.repository.TransfertRepository;
+import com.groupeisi.m2gl.service.dto.TransfertDTO;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests and throughput benchmark for {@link TransfertService}.
+ * <p>
+ * The concurrent test only checks that balances are conserved. The benchmark is opt-in, as it runs
+ * {@value #NB_TRANSFERTS_BENCHMARK} transfers and is only meaningful against the MySQL test container:
+ * {@code ./mvnw -Pprod verify -Dit.test=TransfertServiceIT -Dbenchmark.transfert=true}. It fails below
+ * {@value #DEFAULT_MIN_TPS} transfers per second, or the floor given with {@code -Dbenchmark.transfert.min-tps=<n>}.
+ */
+@IntegrationTest
+class TransfertServiceIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransfertServiceIT.class);
+
+    private static final int NB_COMPTES = 20;
+    private static final int NB_TRANSFERTS = 2_000;
+    private static final int NB_THREADS = 8;
+    private static final int NB_TRANSFERTS_BENCHMARK = 50_000;
+    private static final int NB_THREADS_BENCHMARK = 32;
+    private static final BigDecimal SOLDE_INITIAL = new BigDecimal("1000.00");
+    private static final String DEFAULT_MIN_TPS = "2000";
+
+    @Autowired
+    private TransfertService transfertService;
+
+    @Autowired
+    private CompteTestData compteTestData;
+
+    @Autowired
+    private CompteRepository compteRepository;
+
+    @Autowired
+    private TransfertRepository transfertRepository;
+
+    @Autowired
+    private DetailsTransactionRepository detailsTransactionRepository;
+
+    private final List<Long> compteIds = new ArrayList<>();
+
+    @BeforeEach
+    void init() {
+        for (int i = 0; i < NB_COMPTES; i++) {
+            compteIds.add(compteTestData.createCompte(SOLDE_INITIAL).getId());
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        compteTestData.deleteAll();
+        compteIds.clear();
+    }
+
+    @Test
+    void shouldDebitAndCreditInOneTransfert() {
+        Long emetteurId = compteIds.get(0);
+        Long recepteurId = compteIds.get(1);
+
+        transfertService.executeTransfert(new TransfertDTO(emetteurId, recepteurId, new BigDecimal("250.00")));
+
+        assertThat(compteRepository.findById(emetteurId).orElseThrow().getSolde()).isEqualByComparingTo("750.00");
+        assertThat(compteRepository.findById(recepteurId).orElseThrow().getSolde()).isEqualByComparingTo("1250.00");
+        assertThat(transfertRepository.count()).isEqualTo(1);
+        assertThat(detailsTransactionRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectTransfertWhenSoldeIsInsufficient() {
+        Long emetteurId = compteIds.get(1);
+        Long recepteurId = compteIds.get(0);
+
+        assertThatThrownBy(() -> transfertService.executeTransfert(new TransfertDTO(emetteurId, recepteurId, new BigDecimal("1000.01"))))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessage("Solde insuffisant");
+
+        // Le crédit du compte de plus petit identifiant, appliqué en premier, doit avoir été annulé
+        assertThat(compteRepository.findById(recepteurId).orElseThrow().getSolde()).isEqualByComparingTo(SOLDE_INITIAL);
+        assertThat(compteRepository.findById(emetteurId).orElseThrow().getSolde()).isEqualByComparingTo(SOLDE_INITIAL);
+        assertThat(transfertRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldRejectTransfertToUnknownCompte() {
+        assertThatThrownBy(() -> transfertService.executeTransfert(new TransfertDTO(compteIds.get(0), Long.MAX_VALUE, BigDecimal.ONE)))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessage("Compte récepteur non trouvé");
+
+        assertThat(compteRepository.findById(compteIds.get(0)).orElseThrow().getSolde()).isEqualByComparingTo(SOLDE_INITIAL);
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void shouldConserveTotalSoldeUnderConcurrentOppositeTransferts() throws Exception {
+        runConcurrentTransferts(NB_TRANSFERTS, NB_THREADS);
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.MINUTES)
+    @EnabledIfSystemProperty(named = "benchmark.transfert", matches = "true")
+    void benchmarkConcurrentTransferts() throws Exception {
+        double tps = runConcurrentTransferts(NB_TRANSFERTS_BENCHMARK, NB_THREADS_BENCHMARK);
+
+        assertThat(tps).isGreaterThanOrEqualTo(Double.parseDouble(System.getProperty("benchmark.transfert.min-tps", DEFAULT_MIN_TPS)));
+    }
+
+    /**
+     * Runs random transfers between the test accounts and checks that the total balance is conserved.
+     *
+     * @return the throughput, in transfers per second
+     */
+    private double runConcurrentTransferts(int nbTransferts, int nbThreads) throws InterruptedException {
+        AtomicInteger executes = new AtomicInteger();
+        AtomicInteger refuses = new AtomicInteger();
+        List<Throwable> erreurs = Collections.synchronizedList(new ArrayList<>());
+
+        ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+        long start = System.nanoTime();
+        for (int i = 0; i < nbTransferts; i++) {
+            executor.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int a = random.nextInt(NB_COMPTES);
+                int b = (a + 1 + random.nextInt(NB_COMPTES - 1)) % NB_COMPTES;
+                BigDecimal montant = BigDecimal.valueOf(random.nextInt(1, 5_000), 2);
+                try {
+                    transfertService.executeTransfert(new TransfertDTO(compteIds.get(a), compteIds.get(b), montant));
+                    executes.incrementAndGet();
+                } catch (RuntimeException e) {
+                    if ("Solde insuffisant".equals(e.getMessage())) {
+                        refuses.incrementAndGet();
+                    } else {
+                        erreurs.add(e);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(9, TimeUnit.MINUTES)).isTrue();
+        long elapsedNanos = System.nanoTime() - start;
+
+        double tps = nbTransferts / (elapsedNanos / 1_000_000_000d);
+        LOG.info(
+            "Concurrent transferts: {} transferts ({} exécutés, {} refusés) on {} threads in {} ms -> {} transferts/s",
+            nbTransferts,
+            executes.get(),
+            refuses.get(),
+            nbThreads,
+            TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+            String.format("%.0f", tps)
+        );
+
+        assertThat(erreurs).isEmpty();
+        assertThat(executes.get() + refuses.get()).isEqualTo(nbTransferts);
+        assertThat(transfertRepository.count()).isEqualTo(executes.get());
+
+        BigDecimal total = compteRepository.findAllById(compteIds).stream().map(Compte::getSolde).reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(total).isEqualByComparingTo(SOLDE_INITIAL.multiply(BigDecimal.valueOf(NB_COMPTES)));
+        assertThat(compteRepository.findAllById(compteIds)).allSatisfy(compte -> assertThat(compte.getSolde()).isNotNegative());
+        return tps;
+    }
+}
@@ -0,0 +1,131 @@
+package com.groupeisi.m2gl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Compares random (version 4) and time-ordered (version 7) user ids as the {@code varchar} primary key of an InnoDB
+ * table shaped like {@code jhi_user}: insert throughput, then clustered index size and leaf page fill.
+ * <p>
+ * Opt-in, as it inserts millions of rows: {@code ./mvnw verify -Dit.test=UserIdBenchmarkIT -Dbenchmark.rows=5000000}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+class UserIdBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserIdBenchmarkIT.class);
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:9.2.0").withCommand(
+        "--innodb-buffer-pool-size=256M",
+        "--innodb-flush-log-at-trx-commit=2"
+    );
+
+    private record Result(String name, long rows, long millis, long leafPages, long totalPages, long indexBytes) {
+        long rowsPerSecond() {
+            return rows * 1_000 / Math.max(1, millis);
+        }
+    }
+
+    @Test
+    void compareRandomAndTimeOrderedIds() throws SQLException {
+        long rows = Long.getLong("benchmark.rows");
+        UuidV7Generator uuidV7Generator = new UuidV7Generator();
+        String url = mysql.getJdbcUrl() + "?rewriteBatchedStatements=true";
+        // root, to read mysql.innodb_index_stats; the container gives it the same password as the test user
+        try (Connection connection = DriverManager.getConnection(url, "root", mysql.getPassword())) {
+            Result v4 = run(connection, "bench_user_v4", rows, () -> UUID.randomUUID().toString());
+            Result v7 = run(connection, "bench_user_v7", rows, uuidV7Generator::nextId);
+
+            for (Result result : new Result[] { v4, v7 }) {
+                LOG.info(
+                    "{}: {} rows in {} ms ({} rows/s), clustered index {} MB in {} pages, {} leaf pages",
+                    result.name(),
+                    result.rows(),
+                    result.millis(),
+                    result.rowsPerSecond(),
+                    result.indexBytes() / (1024 * 1024),
+                    result.totalPages(),
+                    result.leafPages()
+                );
+            }
+            // Appends fill the leaf pages, random inserts leave them about half to two-thirds full after splits
+            assertThat(v7.leafPages()).isLessThan(v4.leafPages());
+        }
+    }
+
+    private static Result run(Connection connection, String table, long rows, Supplier<String> ids) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute(
+                "CREATE TABLE " +
+                table +
+                " (id varchar(100) NOT NULL PRIMARY KEY, login varchar(50) NOT NULL, telephone varchar(20)," +
+                " activated boolean NOT NULL, lang_key varchar(10), created_date timestamp NULL) ENGINE=InnoDB"
+            );
+        }
+
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        try (
+            PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, login, telephone, activated, lang_key, created_date) VALUES (?, ?, ?, true, 'fr', NOW())"
+            )
+        ) {
+            for (long i = 1; i <= rows; i++) {
+                insert.setString(1, ids.get());
+                insert.setString(2, "user_" + i);
+                insert.setString(3, "+221" + (770_000_000L + i));
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0 || i == rows) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        connection.setAutoCommit(true);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE " + table);
+            long pageSize = single(statement, "SELECT @@innodb_page_size");
+            long leafPages = single(statement, indexStat(table, "n_leaf_pages"));
+            long totalPages = single(statement, indexStat(table, "size"));
+            return new Result(table, rows, millis, leafPages, totalPages, totalPages * pageSize);
+        }
+    }
+
+    private static String indexStat(String table, String statName) {
+        return (
+            "SELECT stat_value FROM mysql.innodb_index_stats WHERE database_name = DATABASE() AND table_name = '" +
+            table +
+            "' AND index_name = 'PRIMARY' AND stat_name = '" +
+            statName +
+            "'"
+        );
+    }
+
+    private static long single(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.groupeisi.m2gl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link UuidV7Generator}.
+ */
+class UuidV7GeneratorTest {
+
+    private static final long NOW = 1_760_000_000_000L;
+
+    private final AtomicLong millis = new AtomicLong(NOW);
+
+    @Test
+    void shouldGenerateVersion7UuidsCarryingTheTimestamp() {
+        UUID uuid = new UuidV7Generator(millis::get).nextUuid();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.getMostSignificantBits() >>> 16).isEqualTo(NOW);
+    }
+
+    @Test
+    void shouldGenerateIdsSortedAsStrings() {
+        UuidV7Generator generator = new UuidV7Generator(millis::get);
+        List<String> ids = new ArrayList<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextId());
+            if (i % 100 == 0) {
+                millis.incrementAndGet();
+            }
+        }
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates().allMatch(id -> id.length() == 36);
+    }
+
+    @Test
+    void shouldStayOrderedWhenTheClockGoesBackwards() {
+        UuidV7Generator generator = new UuidV7Generator(millis::get);
+        String before = generator.nextId();
+
+        millis.addAndGet(-1_000);
+
+        assertThat(generator.nextId()).isGreaterThan(before);
+    }
+
+    @Test
+    void shouldGenerateUniqueIdsConcurrently() throws Exception {
+        // Horloge figée : la séquence de 12 bits s'épuise 500 fois
+        UuidV7Generator generator = new UuidV7Generator(millis::get);
+        Set<UUID> uuids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(
+                    executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < 250_000; i++) {
+                            uuids.add(generator.nextUuid());
+                        }
+                        return null;
+                    })
+                );
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(uuids).hasSize(2_000_000);
+    }
+}
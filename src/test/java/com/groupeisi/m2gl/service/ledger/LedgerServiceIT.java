@@ -0,0 +1,125 @@
+package com.groupeisi.m2gl.service.ledger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groupeisi.m2gl.IntegrationTest;
+import com.groupeisi.m2gl.domain.LedgerCheckpoint;
+import com.groupeisi.m2gl.domain.LedgerEntry;
+import com.groupeisi.m2gl.repository.CompteRepository;
+import com.groupeisi.m2gl.repository.LedgerCheckpointRepository;
+import com.groupeisi.m2gl.repository.LedgerEntryRepository;
+import com.groupeisi.m2gl.service.CompteTestData;
+import com.groupeisi.m2gl.service.TransfertService;
+import com.groupeisi.m2gl.service.dto.TransfertDTO;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link LedgerService}.
+ */
+@IntegrationTest
+class LedgerServiceIT {
+
+    private static final BigDecimal SOLDE_INITIAL = new BigDecimal("1000.00");
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private TransfertService transfertService;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private LedgerCheckpointRepository ledgerCheckpointRepository;
+
+    @Autowired
+    private CompteTestData compteTestData;
+
+    @Autowired
+    private CompteRepository compteRepository;
+
+    private LocalDateTime ouverture;
+
+    private Long compteA;
+
+    private Long compteB;
+
+    @BeforeEach
+    void init() {
+        ouverture = LocalDateTime.now().minusMinutes(1);
+        compteA = compteTestData.createCompte(SOLDE_INITIAL, ouverture).getId();
+        compteB = compteTestData.createCompte(SOLDE_INITIAL, ouverture).getId();
+    }
+
+    @AfterEach
+    void cleanup() {
+        compteTestData.deleteAll();
+    }
+
+    @Test
+    void shouldWriteDebitAndCreditEntriesWithRunningBalance() {
+        transfertService.executeTransfert(new TransfertDTO(compteA, compteB, new BigDecimal("100.00")));
+        transfertService.executeBatch(
+            List.of(
+                new TransfertDTO(compteB, compteA, new BigDecimal("30.00")),
+                new TransfertDTO(compteA, compteB, new BigDecimal("5000.00")),
+                new TransfertDTO(compteA, compteB, new BigDecimal("10.00"))
+            )
+        );
+        transfertService.importTransferts(List.of(new TransfertDTO(compteA, compteB, new BigDecimal("20.00"))));
+
+        List<LedgerEntry> entriesA = ledgerEntryRepository.findAllByCompteIdOrderById(compteA);
+        assertThat(entriesA).extracting(LedgerEntry::getMontant).containsExactly(
+            new BigDecimal("-100.00"),
+            new BigDecimal("30.00"),
+            new BigDecimal("-10.00"),
+            new BigDecimal("-20.00")
+        );
+        assertThat(entriesA).extracting(LedgerEntry::getSolde).containsExactly(
+            new BigDecimal("900.00"),
+            new BigDecimal("930.00"),
+            new BigDecimal("920.00"),
+            new BigDecimal("900.00")
+        );
+        assertThat(ledgerEntryRepository.findAllByCompteIdOrderById(compteB)).extracting(LedgerEntry::getSolde).containsExactly(
+            new BigDecimal("1100.00"),
+            new BigDecimal("1070.00"),
+            new BigDecimal("1080.00"),
+            new BigDecimal("1100.00")
+        );
+        assertThat(compteRepository.findById(compteA).orElseThrow().getSolde()).isEqualByComparingTo("900.00");
+        assertThat(ledgerEntryRepository.findAll().stream().map(LedgerEntry::getMontant).reduce(BigDecimal.ZERO, BigDecimal::add))
+            .isEqualByComparingTo("0");
+    }
+
+    @Test
+    void shouldComputeBalanceAsOfDateFromLastCheckpoint() {
+        transfertService.executeTransfert(new TransfertDTO(compteA, compteB, new BigDecimal("100.00")));
+        LocalDateTime apresPremierTransfert = LocalDateTime.now();
+        ledgerService.checkpoint();
+        transfertService.executeTransfert(new TransfertDTO(compteA, compteB, new BigDecimal("50.00")));
+
+        List<LedgerCheckpoint> checkpoints = ledgerCheckpointRepository
+            .findAll()
+            .stream()
+            .filter(checkpoint -> checkpoint.getCompteId().equals(compteA))
+            .toList();
+        assertThat(checkpoints).extracting(LedgerCheckpoint::getSolde).containsExactlyInAnyOrder(
+            new BigDecimal("1000.00"),
+            new BigDecimal("900.00")
+        );
+
+        assertThat(ledgerService.soldeAt(compteA, ouverture.minusMinutes(1))).isEqualByComparingTo("0");
+        assertThat(ledgerService.soldeAt(compteA, ouverture)).isEqualByComparingTo("1000.00");
+        assertThat(ledgerService.soldeAt(compteA, apresPremierTransfert)).isEqualByComparingTo("900.00");
+        assertThat(ledgerService.soldeAt(compteA, LocalDateTime.now())).isEqualByComparingTo("850.00");
+        assertThat(ledgerService.soldeAt(compteB, LocalDateTime.now())).isEqualByComparingTo("1150.00");
+    }
+}
@@ -0,0 +1,95 @@
+package com.groupeisi.m2gl.service.otp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link CaffeineOtpStore}.
+ */
+class CaffeineOtpStoreTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CaffeineOtpStore store;
+
+    @BeforeEach
+    void setup() {
+        store = new CaffeineOtpStore(1_000, nanos::get, meterRegistry);
+    }
+
+    @Test
+    void shouldConsumeValidOtpOnlyOnce() {
+        store.put("+221770000001", "1234", TTL);
+
+        assertThat(store.verifyAndConsume("+221770000001", "1234")).isEqualTo(OtpStore.Verification.VALID);
+        assertThat(store.verifyAndConsume("+221770000001", "1234")).isEqualTo(OtpStore.Verification.NOT_FOUND);
+    }
+
+    @Test
+    void shouldKeepOtpAfterInvalidAttempt() {
+        store.put("+221770000001", "1234", TTL);
+
+        assertThat(store.verifyAndConsume("+221770000001", "0000")).isEqualTo(OtpStore.Verification.INVALID);
+        assertThat(store.verifyAndConsume("+221770000001", "1234")).isEqualTo(OtpStore.Verification.VALID);
+    }
+
+    @Test
+    void shouldExpireOtpAfterTtl() {
+        store.put("+221770000001", "1234", TTL);
+
+        nanos.addAndGet(TTL.toNanos() + 1);
+
+        assertThat(store.verifyAndConsume("+221770000001", "1234")).isEqualTo(OtpStore.Verification.NOT_FOUND);
+    }
+
+    @Test
+    void shouldNotExtendTtlOnInvalidAttempt() {
+        store.put("+221770000001", "1234", TTL);
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(4));
+        assertThat(store.verifyAndConsume("+221770000001", "0000")).isEqualTo(OtpStore.Verification.INVALID);
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(2));
+
+        assertThat(store.verifyAndConsume("+221770000001", "1234")).isEqualTo(OtpStore.Verification.NOT_FOUND);
+    }
+
+    @Test
+    void shouldRestartTtlWhenOtpIsReplaced() {
+        store.put("+221770000001", "1234", TTL);
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(4));
+        store.put("+221770000001", "5678", TTL);
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(4));
+
+        assertThat(store.verifyAndConsume("+221770000001", "1234")).isEqualTo(OtpStore.Verification.INVALID);
+        assertThat(store.verifyAndConsume("+221770000001", "5678")).isEqualTo(OtpStore.Verification.VALID);
+    }
+
+    @Test
+    void shouldBoundPendingOtpsAndCountEvictions() {
+        for (int i = 0; i < 10_000; i++) {
+            store.put("+22177" + i, "1234", TTL);
+        }
+
+        assertThat(store.estimatedSize()).isLessThanOrEqualTo(1_000);
+        assertThat(meterRegistry.get("otp.store.evictions").tag("cause", "size").counter().count()).isGreaterThanOrEqualTo(9_000);
+    }
+
+    @Test
+    void shouldCountExpiredOtps() {
+        store.put("+221770000001", "1234", TTL);
+        nanos.addAndGet(TTL.toNanos() + 1);
+
+        assertThat(store.estimatedSize()).isZero();
+        assertThat(meterRegistry.get("otp.store.evictions").tag("cause", "expired").counter().count()).isEqualTo(1);
+    }
+}
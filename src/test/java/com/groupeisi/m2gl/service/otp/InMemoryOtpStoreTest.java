@@ -0,0 +1,60 @@
+package com.groupeisi.m2gl.service.otp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link InMemoryOtpStore}.
+ */
+class InMemoryOtpStoreTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final MutableClock clock = new MutableClock();
+
+    private final InMemoryOtpStore store = new InMemoryOtpStore(clock);
+
+    @Test
+    void shouldConsumeValidOtpOnlyOnce() {
+        store.put("+221770000001", "1234", TTL);
+
+        assertThat(store.verifyAndConsume("+221770000001", "0000")).isEqualTo(OtpStore.Verification.INVALID);
+        assertThat(store.verifyAndConsume("+221770000001", "1234")).isEqualTo(OtpStore.Verification.VALID);
+        assertThat(store.verifyAndConsume("+221770000001", "1234")).isEqualTo(OtpStore.Verification.NOT_FOUND);
+    }
+
+    @Test
+    void shouldExpireOtpAfterTtl() {
+        store.put("+221770000001", "1234", TTL);
+
+        clock.instant = clock.instant.plus(TTL).plusMillis(1);
+
+        assertThat(store.verifyAndConsume("+221770000001", "1234")).isEqualTo(OtpStore.Verification.NOT_FOUND);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2025-01-15T10:00:00Z");
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.groupeisi.m2gl.service.otp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Integration tests for {@link RedisOtpStore}, run against a local Redis container.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisOtpStoreIT {
+
+    @Container
+    private static final GenericContainer<?> redis = new GenericContainer<>("redis:7.2-alpine").withExposedPorts(6379);
+
+    private static RedisOtpStore store;
+
+    private static RedisOtpStore otherInstanceStore;
+
+    @BeforeAll
+    static void setup() {
+        String uri = "redis://" + redis.getHost() + ":" + redis.getMappedPort(6379);
+        store = new RedisOtpStore(uri);
+        otherInstanceStore = new RedisOtpStore(uri);
+    }
+
+    @AfterAll
+    static void teardown() {
+        store.close();
+        otherInstanceStore.close();
+    }
+
+    @Test
+    void shouldVerifyOtpGeneratedByAnotherInstance() {
+        store.put("+221770000001", "1234", Duration.ofMinutes(5));
+
+        assertThat(otherInstanceStore.verifyAndConsume("+221770000001", "0000")).isEqualTo(OtpStore.Verification.INVALID);
+        assertThat(otherInstanceStore.verifyAndConsume("+221770000001", "1234")).isEqualTo(OtpStore.Verification.VALID);
+        assertThat(store.verifyAndConsume("+221770000001", "1234")).isEqualTo(OtpStore.Verification.NOT_FOUND);
+    }
+
+    @Test
+    void shouldLetRedisExpireOtp() throws InterruptedException {
+        store.put("+221770000002", "1234", Duration.ofMillis(200));
+
+        Thread.sleep(500);
+
+        assertThat(store.verifyAndConsume("+221770000002", "1234")).isEqualTo(OtpStore.Verification.NOT_FOUND);
+    }
+}
@@ -0,0 +1,158 @@
+package com.groupeisi.m2gl.service.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.groupeisi.m2gl.IntegrationTest;
+import com.groupeisi.m2gl.config.ApplicationProperties;
+import com.groupeisi.m2gl.domain.OutboxEvent;
+import com.groupeisi.m2gl.repository.OutboxEventRepository;
+import com.groupeisi.m2gl.service.CompteTestData;
+import com.groupeisi.m2gl.service.TransfertService;
+import com.groupeisi.m2gl.service.dto.TransfertDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Integration tests for {@link OutboxService} and {@link OutboxRelay}.
+ */
+@IntegrationTest
+class OutboxRelayIT {
+
+    private static final BigDecimal SOLDE_INITIAL = new BigDecimal("1000.00");
+
+    @Autowired
+    private TransfertService transfertService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CompteTestData compteTestData;
+
+    private final InMemoryOutboxPublisher publisher = new InMemoryOutboxPublisher(1_000);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Long compteA;
+
+    private Long compteB;
+
+    @BeforeEach
+    void init() {
+        outboxEventRepository.deleteAll();
+        compteA = compteTestData.createCompte(SOLDE_INITIAL).getId();
+        compteB = compteTestData.createCompte(SOLDE_INITIAL).getId();
+    }
+
+    @AfterEach
+    void cleanup() {
+        compteTestData.deleteAll();
+    }
+
+    @Test
+    void shouldWriteDebitAndCreditEventsWithTheTransfer() {
+        transfertService.executeTransfert(transfert(compteA, compteB, "10.00"));
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertThat(events)
+            .extracting(OutboxEvent::getEventType, OutboxEvent::getAggregateId)
+            .containsExactly(
+                tuple(OutboxService.COMPTE_DEBITE, String.valueOf(compteA)),
+                tuple(OutboxService.COMPTE_CREDITE, String.valueOf(compteB))
+            );
+    }
+
+    @Test
+    void shouldNotWriteEventsOfARejectedTransfer() {
+        try {
+            transfertService.executeTransfert(transfert(compteA, compteB, "5000.00"));
+        } catch (RuntimeException e) {
+            // Solde insuffisant
+        }
+
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldPublishEventsInOrderPerAccountAndDeleteThem() {
+        transfertService.executeTransfert(transfert(compteA, compteB, "10.00"));
+        transfertService.executeTransfert(transfert(compteB, compteA, "20.00"));
+        transfertService.executeBatch(List.of(transfert(compteA, compteB, "30.00"), transfert(compteA, compteB, "40.00")));
+
+        newRelay(publisher).relay();
+
+        assertThat(outboxEventRepository.count()).isZero();
+        List<InMemoryOutboxPublisher.Message> messagesA = publisher
+            .getMessages()
+            .stream()
+            .filter(message -> message.getKey().equals(String.valueOf(compteA)))
+            .toList();
+        assertThat(messagesA)
+            .extracting(InMemoryOutboxPublisher.Message::getEventType)
+            .containsExactly(
+                OutboxService.COMPTE_DEBITE,
+                OutboxService.COMPTE_CREDITE,
+                OutboxService.COMPTE_DEBITE,
+                OutboxService.COMPTE_DEBITE
+            );
+        assertThat(messagesA).extracting(InMemoryOutboxPublisher.Message::getEventId).isSorted();
+        assertThat(messagesA).allMatch(message -> message.getTopic().equals("transactional-engine.compte"));
+        assertThat(meterRegistry.get("outbox.events.published").counter().count()).isEqualTo(8);
+    }
+
+    @Test
+    void shouldKeepFailedEventAndTheFollowingEventsOfItsAccount() {
+        transfertService.executeTransfert(transfert(compteA, compteB, "10.00"));
+        transfertService.executeTransfert(transfert(compteA, compteB, "20.00"));
+
+        // Le broker refuse le premier événement du compte B
+        AtomicBoolean failed = new AtomicBoolean();
+        OutboxPublisher failingOnce = (topic, event) -> {
+            if (event.getAggregateId().equals(String.valueOf(compteB)) && failed.compareAndSet(false, true)) {
+                return CompletableFuture.failedFuture(new IllegalStateException("broker indisponible"));
+            }
+            return publisher.publish(topic, event);
+        };
+        OutboxRelay relay = newRelay(failingOnce);
+
+        assertThat(relay.relayBatch()).isEqualTo(-1);
+        assertThat(outboxEventRepository.findAll())
+            .extracting(OutboxEvent::getAggregateId)
+            .containsOnly(String.valueOf(compteB))
+            .hasSize(2);
+        assertThat(meterRegistry.get("outbox.events.failed").counter().count()).isEqualTo(2);
+
+        publisher.clear();
+        relay.relay();
+
+        assertThat(outboxEventRepository.count()).isZero();
+        assertThat(publisher.getMessages())
+            .filteredOn(message -> message.getKey().equals(String.valueOf(compteB)))
+            .extracting(InMemoryOutboxPublisher.Message::getEventId)
+            .hasSize(2)
+            .isSorted();
+    }
+
+    private OutboxRelay newRelay(OutboxPublisher outboxPublisher) {
+        return new OutboxRelay(outboxEventRepository, outboxPublisher, applicationProperties, transactionManager, meterRegistry);
+    }
+
+    private static TransfertDTO transfert(Long emetteurId, Long recepteurId, String montant) {
+        return new TransfertDTO(emetteurId, recepteurId, new BigDecimal(montant));
+    }
+}
@@ -0,0 +1,105 @@
+package com.groupeisi.m2gl.service.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link InMemoryRateLimiter}.
+ */
+class InMemoryRateLimiterTest {
+
+    private static final RateLimiter.Limit LIMIT = new RateLimiter.Limit(3, Duration.ofMinutes(15));
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private InMemoryRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setup() {
+        rateLimiter = new InMemoryRateLimiter(1_000, nanos::get, meterRegistry);
+    }
+
+    @Test
+    void shouldAllowBurstUpToCapacityThenReject() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire("+221770000001", LIMIT)).isTrue();
+        }
+        assertThat(rateLimiter.tryAcquire("+221770000001", LIMIT)).isFalse();
+        assertThat(rateLimiter.tryAcquire("+221770000002", LIMIT)).isTrue();
+    }
+
+    @Test
+    void shouldRefillOneTokenPerInterval() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("+221770000001", LIMIT);
+        }
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(5) - 1);
+        assertThat(rateLimiter.tryAcquire("+221770000001", LIMIT)).isFalse();
+
+        nanos.addAndGet(1);
+        assertThat(rateLimiter.tryAcquire("+221770000001", LIMIT)).isTrue();
+        assertThat(rateLimiter.tryAcquire("+221770000001", LIMIT)).isFalse();
+    }
+
+    @Test
+    void shouldDropBucketsIdleForTheirPeriod() {
+        rateLimiter.tryAcquire("+221770000001", LIMIT);
+        rateLimiter.tryAcquire("+221770000002", LIMIT);
+        assertThat(rateLimiter.estimatedSize()).isEqualTo(2);
+
+        nanos.addAndGet(LIMIT.period().toNanos() + 1);
+
+        assertThat(rateLimiter.estimatedSize()).isZero();
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire("+221770000001", LIMIT)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldNeverGrantMoreThanCapacityUnderContention() throws Exception {
+        RateLimiter.Limit limit = new RateLimiter.Limit(100, Duration.ofHours(1));
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(
+                    executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < 1_000; i++) {
+                            if (rateLimiter.tryAcquire("127.0.0.1", limit)) {
+                                granted.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    })
+                );
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(granted.get()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,63 @@
+package com.groupeisi.m2gl.service.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Integration tests for {@link RedisRateLimiter}, run against a local Redis container.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisRateLimiterIT {
+
+    @Container
+    private static final GenericContainer<?> redis = new GenericContainer<>("redis:7.2-alpine").withExposedPorts(6379);
+
+    private static RedisRateLimiter rateLimiter;
+
+    private static RedisRateLimiter otherInstanceRateLimiter;
+
+    @BeforeAll
+    static void setup() {
+        String uri = "redis://" + redis.getHost() + ":" + redis.getMappedPort(6379);
+        rateLimiter = new RedisRateLimiter(uri);
+        otherInstanceRateLimiter = new RedisRateLimiter(uri);
+    }
+
+    @AfterAll
+    static void teardown() {
+        rateLimiter.close();
+        otherInstanceRateLimiter.close();
+    }
+
+    @Test
+    void shouldShareBucketsBetweenInstances() {
+        RateLimiter.Limit limit = new RateLimiter.Limit(3, Duration.ofMinutes(15));
+
+        assertThat(rateLimiter.tryAcquire("otp:telephone:+221770000001", limit)).isTrue();
+        assertThat(otherInstanceRateLimiter.tryAcquire("otp:telephone:+221770000001", limit)).isTrue();
+        assertThat(rateLimiter.tryAcquire("otp:telephone:+221770000001", limit)).isTrue();
+        assertThat(otherInstanceRateLimiter.tryAcquire("otp:telephone:+221770000001", limit)).isFalse();
+        assertThat(rateLimiter.tryAcquire("otp:telephone:+221770000002", limit)).isTrue();
+    }
+
+    @Test
+    void shouldRefillBucketOnServerClock() throws InterruptedException {
+        RateLimiter.Limit limit = new RateLimiter.Limit(2, Duration.ofMillis(400));
+
+        assertThat(rateLimiter.tryAcquire("connexion:ip:10.0.0.1", limit)).isTrue();
+        assertThat(rateLimiter.tryAcquire("connexion:ip:10.0.0.1", limit)).isTrue();
+        assertThat(rateLimiter.tryAcquire("connexion:ip:10.0.0.1", limit)).isFalse();
+
+        Thread.sleep(300);
+
+        assertThat(otherInstanceRateLimiter.tryAcquire("connexion:ip:10.0.0.1", limit)).isTrue();
+    }
+}
@@ -0,0 +1,115 @@
+package com.groupeisi.m2gl.service.reconciliation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groupeisi.m2gl.IntegrationTest;
+import com.groupeisi.m2gl.config.ApplicationProperties;
+import com.groupeisi.m2gl.domain.Compte;
+import com.groupeisi.m2gl.repository.CompteRepository;
+import com.groupeisi.m2gl.service.CompteTestData;
+import com.groupeisi.m2gl.service.TransfertService;
+import com.groupeisi.m2gl.service.dto.ReconciliationReportDTO;
+import com.groupeisi.m2gl.service.dto.TransfertDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Integration tests for {@link ReconciliationService}.
+ */
+@IntegrationTest
+class ReconciliationServiceIT {
+
+    private static final BigDecimal SOLDE_INITIAL = new BigDecimal("1000.00");
+
+    @Autowired
+    private TransfertService transfertService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CompteTestData compteTestData;
+
+    @Autowired
+    private CompteRepository compteRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReconciliationService reconciliationService;
+
+    private Long compteA;
+
+    private Long compteB;
+
+    private Long compteC;
+
+    @BeforeEach
+    void init() {
+        // Une plage par compte, pour répartir les comptes sur plusieurs tâches
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getReconciliation().setRangeSize(1);
+        reconciliationService = new ReconciliationService(jdbcTemplate, applicationProperties, transactionManager, meterRegistry);
+
+        LocalDateTime ouverture = LocalDateTime.now().minusMinutes(1);
+        compteA = compteTestData.createCompte(SOLDE_INITIAL, ouverture).getId();
+        compteB = compteTestData.createCompte(SOLDE_INITIAL, ouverture).getId();
+        compteC = compteTestData.createCompte(SOLDE_INITIAL, ouverture).getId();
+    }
+
+    @AfterEach
+    void cleanup() {
+        reconciliationService.stop();
+        compteTestData.deleteAll();
+    }
+
+    @Test
+    void shouldFindNoMismatchWhenBalancesMatchTransfers() {
+        transfertService.executeTransfert(new TransfertDTO(compteA, compteB, new BigDecimal("100.00")));
+        transfertService.executeBatch(
+            List.of(new TransfertDTO(compteB, compteC, new BigDecimal("30.00")), new TransfertDTO(compteC, compteA, new BigDecimal("5.50")))
+        );
+
+        ReconciliationReportDTO report = reconciliationService.reconcile();
+
+        assertThat(report.getStatut()).isEqualTo(ReconciliationReportDTO.Statut.TERMINE);
+        assertThat(report.getComptesVerifies()).isEqualTo(3);
+        assertThat(report.getPlagesTraitees()).isEqualTo(report.getPlagesTotal());
+        assertThat(report.getNombreEcarts()).isZero();
+        assertThat(report.getEcarts()).isEmpty();
+        assertThat(report.getConservation()).isTrue();
+        assertThat(report.getTotalSoldes()).isEqualByComparingTo("3000.00");
+        assertThat(meterRegistry.get("reconciliation.accounts").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("reconciliation.progress").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReportAccountWhoseBalanceDiffersFromItsTransfers() {
+        transfertService.executeTransfert(new TransfertDTO(compteA, compteB, new BigDecimal("100.00")));
+        Compte compte = compteRepository.findById(compteB).orElseThrow();
+        compte.setSolde(compte.getSolde().add(new BigDecimal("5.00")));
+        compteRepository.saveAndFlush(compte);
+
+        ReconciliationReportDTO report = reconciliationService.reconcile();
+
+        assertThat(report.getStatut()).isEqualTo(ReconciliationReportDTO.Statut.TERMINE);
+        assertThat(report.getNombreEcarts()).isEqualTo(1);
+        ReconciliationReportDTO.Ecart ecart = report.getEcarts().get(0);
+        assertThat(ecart.getCompteId()).isEqualTo(compteB);
+        assertThat(ecart.getSolde()).isEqualByComparingTo("1105.00");
+        assertThat(ecart.getSoldeAttendu()).isEqualByComparingTo("1100.00");
+        assertThat(report.getConservation()).isFalse();
+        assertThat(reconciliationService.getDernierRapport().getNombreEcarts()).isEqualTo(1);
+        assertThat(meterRegistry.get("reconciliation.mismatches").gauge().value()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,208 @@
+package com.groupeisi.m2gl.service.replica;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Routes transactions between a MySQL primary and a replica that replicates it (GTID replication between two
+ * containers), the way {@code ReadReplicaConfiguration} assembles them.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicaRoutingDataSourceIT {
+
+    private static final Network NETWORK = Network.newNetwork();
+
+    private static final int PRIMARY_SERVER_ID = 1;
+
+    private static final int REPLICA_SERVER_ID = 2;
+
+    @Container
+    private static final MySQLContainer<?> primary = new MySQLContainer<>("mysql:9.2.0")
+        .withNetwork(NETWORK)
+        .withNetworkAliases("primary")
+        .withCommand("--server-id=" + PRIMARY_SERVER_ID, "--log-bin=mysql-bin", "--gtid-mode=ON", "--enforce-gtid-consistency=ON");
+
+    @Container
+    private static final MySQLContainer<?> replica = new MySQLContainer<>("mysql:9.2.0")
+        .withNetwork(NETWORK)
+        .withCommand("--server-id=" + REPLICA_SERVER_ID, "--gtid-mode=ON", "--enforce-gtid-consistency=ON", "--skip-replica-start");
+
+    private static HikariDataSource primaryPool;
+
+    private static HikariDataSource replicaPool;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeAll
+    static void startReplication() throws Exception {
+        // root, for the replication statements; the container gives it the same password as the test user
+        String gtidExecuted;
+        try (Connection connection = root(primary); Statement statement = connection.createStatement()) {
+            ResultSet resultSet = statement.executeQuery("SELECT @@GLOBAL.gtid_executed");
+            resultSet.next();
+            gtidExecuted = resultSet.getString(1);
+        }
+        try (Connection connection = root(replica); Statement statement = connection.createStatement()) {
+            // Both servers created the test database and user: the replica skips what the primary did before
+            statement.execute("RESET BINARY LOGS AND GTIDS");
+            statement.execute("SET GLOBAL gtid_purged = '" + gtidExecuted + "'");
+            statement.execute(
+                "CHANGE REPLICATION SOURCE TO SOURCE_HOST = 'primary', SOURCE_PORT = 3306, SOURCE_USER = 'root', SOURCE_PASSWORD = '" +
+                primary.getPassword() +
+                "', SOURCE_AUTO_POSITION = 1, GET_SOURCE_PUBLIC_KEY = 1"
+            );
+            statement.execute("START REPLICA");
+        }
+        try (Connection connection = root(primary); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + primary.getDatabaseName() + ".replica_check (id int PRIMARY KEY, valeur varchar(20))");
+        }
+        awaitReplication();
+
+        primaryPool = pool(primary, "primary");
+        replicaPool = pool(replica, "replica1");
+    }
+
+    @AfterAll
+    static void closePools() {
+        primaryPool.close();
+        replicaPool.close();
+    }
+
+    @AfterEach
+    void cleanup() throws SQLException {
+        SecurityContextHolder.clearContext();
+        execute(replica, "START REPLICA SQL_THREAD");
+    }
+
+    @Test
+    void shouldSendReadOnlyTransactionsToReplicaAndWritesToPrimary() {
+        Routing routing = routing(Duration.ZERO);
+        routing.monitor().check();
+
+        assertThat(routing.monitor().getHealthyReplicas()).containsExactly("replica1");
+        assertThat(routing.serverId(true)).isEqualTo(REPLICA_SERVER_ID);
+        assertThat(routing.serverId(false)).isEqualTo(PRIMARY_SERVER_ID);
+    }
+
+    @Test
+    void shouldReadFromPrimaryWhenReplicationIsStopped() throws Exception {
+        Routing routing = routing(Duration.ZERO);
+        execute(replica, "STOP REPLICA SQL_THREAD");
+        routing.monitor().check();
+
+        assertThat(routing.monitor().getHealthyReplicas()).isEmpty();
+        assertThat(routing.serverId(true)).isEqualTo(PRIMARY_SERVER_ID);
+
+        execute(replica, "START REPLICA SQL_THREAD");
+        awaitReplication();
+        routing.monitor().check();
+        assertThat(routing.serverId(true)).isEqualTo(REPLICA_SERVER_ID);
+    }
+
+    @Test
+    void shouldReadOwnWritesFromPrimary() {
+        Routing routing = routing(Duration.ofMinutes(1));
+        routing.monitor().check();
+
+        authenticate("alice");
+        int id = (int) (System.nanoTime() & Integer.MAX_VALUE);
+        String insert = "INSERT INTO replica_check (id, valeur) VALUES (?, 'alice')";
+        routing.transactionTemplate(false).executeWithoutResult(status -> routing.jdbcTemplate().update(insert, id));
+        assertThat(
+            routing.transactionTemplate(true).execute(status ->
+                routing.jdbcTemplate().queryForObject("SELECT count(*) FROM replica_check WHERE id = ?", Integer.class, id)
+            )
+        ).isEqualTo(1);
+        assertThat(routing.serverId(true)).isEqualTo(PRIMARY_SERVER_ID);
+
+        authenticate("bob");
+        assertThat(routing.serverId(true)).isEqualTo(REPLICA_SERVER_ID);
+    }
+
+    private Routing routing(Duration readYourWrites) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(Map.of("replica1", replicaPool), 5, meterRegistry);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+            new ReplicaRoutingDataSource(primaryPool, monitor, readYourWrites, meterRegistry)
+        );
+        return new Routing(monitor, new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource));
+    }
+
+    private record Routing(ReplicaLagMonitor monitor, JdbcTemplate jdbcTemplate, DataSourceTransactionManager transactionManager) {
+        TransactionTemplate transactionTemplate(boolean readOnly) {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(readOnly);
+            return transactionTemplate;
+        }
+
+        Integer serverId(boolean readOnly) {
+            return transactionTemplate(readOnly).execute(status -> jdbcTemplate.queryForObject("SELECT @@server_id", Integer.class));
+        }
+    }
+
+    private static HikariDataSource pool(MySQLContainer<?> container, String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(container.getJdbcUrl());
+        // root, to read SHOW REPLICA STATUS on the replica
+        pool.setUsername("root");
+        pool.setPassword(container.getPassword());
+        pool.setPoolName(name);
+        pool.setAutoCommit(false);
+        pool.setMaximumPoolSize(2);
+        return pool;
+    }
+
+    private static void awaitReplication() throws Exception {
+        String gtidExecuted;
+        try (Connection connection = root(primary); Statement statement = connection.createStatement()) {
+            ResultSet resultSet = statement.executeQuery("SELECT @@GLOBAL.gtid_executed");
+            resultSet.next();
+            gtidExecuted = resultSet.getString(1);
+        }
+        try (Connection connection = root(replica); Statement statement = connection.createStatement()) {
+            ResultSet resultSet = statement.executeQuery("SELECT WAIT_FOR_EXECUTED_GTID_SET('" + gtidExecuted + "', 30)");
+            resultSet.next();
+            assertThat(resultSet.getInt(1)).as("replication caught up").isZero();
+        }
+    }
+
+    private static void execute(MySQLContainer<?> container, String sql) throws SQLException {
+        try (Connection connection = root(container); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static Connection root(MySQLContainer<?> container) throws SQLException {
+        return DriverManager.getConnection(container.getJdbcUrl(), "root", container.getPassword());
+    }
+
+    private static void authenticate(String login) {
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(login, "password", authorities));
+    }
+}
@@ -0,0 +1,206 @@
+package com.groupeisi.m2gl.service.replica;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+/**
+ * Test class for {@link ReplicaRoutingDataSource}.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final Map<String, Connection> connections = new HashMap<>();
+
+    private ReplicaLagMonitor lagMonitor;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica1", dataSource("replica1"));
+        replicas.put("replica2", dataSource("replica2"));
+        lagMonitor = new ReplicaLagMonitor(replicas, 5, meterRegistry);
+        lagMonitor.update(Map.of("replica1", 0L, "replica2", 1L));
+        routingDataSource = new ReplicaRoutingDataSource(
+            dataSource(ReplicaRoutingDataSource.PRIMARY),
+            lagMonitor,
+            Duration.ofMinutes(1),
+            meterRegistry
+        );
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldSendReadWriteTransactionsToPrimary() throws SQLException {
+        assertThat(target()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(meterRegistry.get("datasource.routing").tag("target", "primary").tag("reason", "write").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSpreadReadOnlyTransactionsOverReplicas() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(target()).isEqualTo("replica1");
+        assertThat(target()).isEqualTo("replica2");
+        assertThat(target()).isEqualTo("replica1");
+    }
+
+    @Test
+    void shouldSkipLaggingReplicas() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Map<String, Long> lags = new HashMap<>();
+        lags.put("replica1", 6L);
+        lags.put("replica2", 0L);
+        lagMonitor.update(lags);
+        assertThat(target()).isEqualTo("replica2");
+        assertThat(target()).isEqualTo("replica2");
+        assertThat(meterRegistry.get("db.replica.lag").tag("replica", "replica1").gauge().value()).isEqualTo(6);
+
+        // Réplication arrêtée : retard inconnu
+        lags.put("replica2", null);
+        lagMonitor.update(lags);
+        assertThat(target()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(meterRegistry.get("datasource.routing").tag("target", "primary").tag("reason", "lag").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("db.replica.lag").tag("replica", "replica2").gauge().value()).isNaN();
+    }
+
+    @Test
+    void shouldReadOwnWritesFromPrimary() throws SQLException {
+        authenticate("alice");
+        routingDataSource.getConnection().prepareStatement("insert into compte (id) values (?)");
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(target()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(
+            meterRegistry.get("datasource.routing").tag("target", "primary").tag("reason", "read-your-writes").counter().count()
+        ).isEqualTo(1);
+
+        authenticate("bob");
+        assertThat(target()).isEqualTo("replica1");
+    }
+
+    @Test
+    void shouldNotPinUserWhoOnlyReadInReadWriteTransaction() throws SQLException {
+        authenticate("alice");
+        Connection connection = routingDataSource.getConnection();
+        connection.prepareStatement("select * from compte where id = ? for update");
+        connection.prepareStatement("with t as (select 1) select * from t");
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(target()).isEqualTo("replica1");
+    }
+
+    @Test
+    void shouldPinUserOnlyAfterCommitOfTransactionThatWrote() throws SQLException {
+        authenticate("alice");
+        TransactionSynchronizationManager.initSynchronization();
+        routingDataSource.getConnection().createStatement().executeUpdate("update compte set solde = 0");
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(target()).isEqualTo("replica1");
+
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        assertThat(target()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void shouldNotPinUserAfterRollback() throws SQLException {
+        authenticate("alice");
+        TransactionSynchronizationManager.initSynchronization();
+        routingDataSource.getConnection().prepareStatement("delete from compte where id = ?");
+        TransactionSynchronizationManager.clearSynchronization();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(target()).isEqualTo("replica1");
+    }
+
+    @Test
+    void shouldDetectWriteStatements() {
+        assertThat(ReplicaRoutingDataSource.isWrite("  INSERT INTO compte VALUES (?)")).isTrue();
+        assertThat(ReplicaRoutingDataSource.isWrite("update compte set solde = ?")).isTrue();
+        assertThat(ReplicaRoutingDataSource.isWrite("select * from compte")).isFalse();
+    }
+
+    @Test
+    void shouldReadFromPrimaryWhenPinned() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(ReplicaRoutingDataSource.readFromPrimary(this::target)).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(
+            meterRegistry.get("datasource.routing").tag("target", "primary").tag("reason", "primary-only").counter().count()
+        ).isEqualTo(1);
+        assertThat(target()).isEqualTo("replica1");
+    }
+
+    @Test
+    void shouldNotTrackWritesWhenWindowIsZero() throws SQLException {
+        routingDataSource = new ReplicaRoutingDataSource(
+            dataSource(ReplicaRoutingDataSource.PRIMARY),
+            lagMonitor,
+            Duration.ZERO,
+            meterRegistry
+        );
+        authenticate("alice");
+        routingDataSource.getConnection().prepareStatement("insert into compte (id) values (?)");
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(target()).isEqualTo("replica1");
+    }
+
+    private String target() {
+        Connection connection;
+        try {
+            connection = routingDataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        Connection target = connection instanceof ConnectionProxy proxy ? proxy.getTargetConnection() : connection;
+        return connections.entrySet().stream().filter(entry -> entry.getValue() == target).findFirst().orElseThrow().getKey();
+    }
+
+    private DataSource dataSource(String name) throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        connections.put(name, connection);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+
+    private static void authenticate(String login) {
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(login, "password", authorities));
+    }
+}
@@ -0,0 +1,112 @@
+package com.groupeisi.m2gl.service.sqlstatistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link ConnectionHoldTimeDataSource}.
+ */
+class ConnectionHoldTimeDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final Connection target = mock(Connection.class);
+
+    private DataSource targetDataSource;
+
+    private ConnectionHoldTimeDataSource dataSource;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        targetDataSource = mock(DataSource.class);
+        when(targetDataSource.getConnection()).thenReturn(target);
+        ConnectionHoldTimeRecorder recorder = new ConnectionHoldTimeRecorder(2, 0);
+        recorder.bindTo(meterRegistry);
+        dataSource = new ConnectionHoldTimeDataSource(targetDataSource, recorder);
+    }
+
+    @Test
+    void shouldRecordHoldTimeOnceOnCloseTaggedWithCaller() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        connection.close();
+        connection.close();
+
+        verify(target).setAutoCommit(false);
+        verify(target, times(2)).close();
+        assertThat(
+            meterRegistry
+                .get("db.connection.hold")
+                .tag("caller", "ConnectionHoldTimeDataSourceTest.shouldRecordHoldTimeOnceOnCloseTaggedWithCaller")
+                .timer()
+                .count()
+        ).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTagLambdaWithEnclosingMethod() {
+        Runnable borrow = () -> {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        borrow.run();
+
+        assertThat(
+            meterRegistry
+                .get("db.connection.hold")
+                .tag("caller", "ConnectionHoldTimeDataSourceTest.shouldTagLambdaWithEnclosingMethod")
+                .timer()
+                .count()
+        ).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotRecordHoldsUnderTheThreshold() throws SQLException {
+        ConnectionHoldTimeRecorder recorder = new ConnectionHoldTimeRecorder(2, 60_000);
+        recorder.bindTo(meterRegistry);
+        new ConnectionHoldTimeDataSource(targetDataSource, recorder).getConnection().close();
+
+        assertThat(meterRegistry.find("db.connection.hold").timers()).isEmpty();
+    }
+
+    @Test
+    void shouldGroupCallersOverTheLimit() {
+        ConnectionHoldTimeRecorder recorder = new ConnectionHoldTimeRecorder(2, 0);
+        recorder.bindTo(meterRegistry);
+        recorder.record("A.a", 1_000);
+        recorder.record("B.b", 1_000);
+        recorder.record("C.c", 1_000);
+        recorder.record("A.a", 1_000);
+
+        assertThat(meterRegistry.get("db.connection.hold").tag("caller", "A.a").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("db.connection.hold").tag("caller", ConnectionHoldTimeRecorder.OTHER).timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("db.connection.hold").tag("caller", "C.c").timer()).isNull();
+    }
+
+    @Test
+    void shouldKeepProxyIdentity() throws SQLException {
+        Connection connection = dataSource.getConnection();
+
+        assertThat(connection).isEqualTo(connection).isNotEqualTo(target);
+        assertThat(connection.hashCode()).isEqualTo(System.identityHashCode(connection));
+    }
+
+    @Test
+    void shouldResolveLambdaMethodName() {
+        assertThat(ConnectionHoldTimeRecorder.methodName("lambda$completeInscription$0")).isEqualTo("completeInscription");
+        assertThat(ConnectionHoldTimeRecorder.methodName("executeTransfert")).isEqualTo("executeTransfert");
+    }
+}
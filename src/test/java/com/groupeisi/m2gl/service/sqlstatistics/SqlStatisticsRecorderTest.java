@@ -0,0 +1,106 @@
+package com.groupeisi.m2gl.service.sqlstatistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link SqlStatisticsRecorder}.
+ */
+class SqlStatisticsRecorderTest {
+
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldNormalizeLiteralsAndInLists() {
+        String sql = "select c1_0.id\n  from compte c1_0 where c1_0.id in (?, ?,?) and c1_0.num_compte = 'ACC''1' and solde > 10.5";
+
+        assertThat(SqlStatisticsRecorder.normalize(sql)).isEqualTo(
+            "select c1_0.id from compte c1_0 where c1_0.id in (?) and c1_0.num_compte = ? and solde > ?"
+        );
+    }
+
+    @Test
+    void shouldAggregateExecutionsOfTheSameNormalizedQuery() {
+        SqlStatisticsRecorder recorder = new SqlStatisticsRecorder(1_000, 10);
+
+        recorder.record("select * from compte where id in (?, ?)", 2 * MILLI, 0);
+        recorder.record("select * from compte where id in (?, ?, ?, ?)", 6 * MILLI, 0);
+        recorder.record("update compte set solde = solde + ? where id = ?", 1 * MILLI, 1);
+
+        List<SqlStatisticsRecorder.QueryStatistics> top = recorder.top(10);
+        assertThat(top).extracting(SqlStatisticsRecorder.QueryStatistics::getSql).containsExactly(
+            "select * from compte where id in (?)",
+            "update compte set solde = solde + ? where id = ?"
+        );
+        SqlStatisticsRecorder.QueryStatistics select = top.get(0);
+        assertThat(select.getType()).isEqualTo("select");
+        assertThat(select.getExecutions()).isEqualTo(2);
+        assertThat(select.getTotalNanos()).isEqualTo(8 * MILLI);
+        assertThat(select.getMaxNanos()).isEqualTo(6 * MILLI);
+        assertThat(top.get(1).getRows()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldBoundTheNumberOfTrackedQueries() {
+        SqlStatisticsRecorder recorder = new SqlStatisticsRecorder(1_000, 2);
+
+        recorder.record("select 1 from a", MILLI, 0);
+        recorder.record("select 1 from b", MILLI, 0);
+        recorder.record("select 1 from c", MILLI, 0);
+        recorder.record("select 2 from a", MILLI, 0);
+
+        assertThat(recorder.queries()).hasSize(2);
+        assertThat(recorder.top(10).get(0).getExecutions()).isEqualTo(2);
+        assertThat(recorder.getUntracked()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPublishMetersAndCountSlowQueries() {
+        SqlStatisticsRecorder recorder = new SqlStatisticsRecorder(5, 10);
+        recorder.record("select * from compte where id = ?", MILLI, 0);
+        recorder.bindTo(meterRegistry);
+
+        recorder.record("select * from compte where id = ?", 10 * MILLI, 0);
+        recorder.record("delete from idempotency_key where expires_at < ?", MILLI, 3);
+
+        assertThat(meterRegistry.get("sql.statements").tag("type", "select").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("sql.statements").tag("type", "delete").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("sql.statements.slow").counter().count()).isEqualTo(1);
+        // Les requêtes normalisées ne sont servies que par l'endpoint : pas de tag portant le texte SQL
+        assertThat(meterRegistry.getMeters()).allSatisfy(meter -> assertThat(meter.getId().getTag("sql")).isNull());
+        assertThat(recorder.top(10).get(0).getExecutions()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRecordElapsedTimeAndUpdateCountOfTheProxy() {
+        SqlStatisticsRecorder recorder = new SqlStatisticsRecorder(1_000, 10);
+        ExecutionInfo execInfo = new ExecutionInfo();
+        execInfo.setElapsedTime(7);
+        execInfo.setResult(4);
+
+        recorder.afterQuery(execInfo, List.of(new QueryInfo("update compte set solde = ? where id = ?")));
+
+        SqlStatisticsRecorder.QueryStatistics update = recorder.top(10).get(0);
+        assertThat(update.getTotalNanos()).isEqualTo(7 * MILLI);
+        assertThat(update.getRows()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldResetQueryStatistics() {
+        SqlStatisticsRecorder recorder = new SqlStatisticsRecorder(1_000, 10);
+        recorder.record("select * from compte", MILLI, 0);
+
+        recorder.reset();
+
+        assertThat(recorder.top(10).get(0).getExecutions()).isZero();
+        assertThat(recorder.top(10).get(0).getMaxNanos()).isZero();
+    }
+}
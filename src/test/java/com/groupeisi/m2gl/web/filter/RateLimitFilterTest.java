@@ -0,0 +1,164 @@
+package com.groupeisi.m2gl.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groupeisi.m2gl.service.ratelimit.InMemoryRateLimiter;
+import com.groupeisi.m2gl.service.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.catalina.filters.RemoteIpFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Test class for {@link RateLimitFilter}.
+ */
+class RateLimitFilterTest {
+
+    private static final RateLimitFilter.Policy OTP = new RateLimitFilter.Policy(
+        "otp",
+        new RateLimiter.Limit(2, Duration.ofMinutes(10)),
+        new RateLimiter.Limit(3, Duration.ofMinutes(10))
+    );
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setup() {
+        RateLimiter rateLimiter = new InMemoryRateLimiter(1_000, nanos::get, meterRegistry);
+        filter = new RateLimitFilter(rateLimiter, Map.of("/api/auth/connexion/otp", OTP), meterRegistry);
+    }
+
+    @Test
+    void shouldRejectPhoneNumberOverItsLimitWithoutCallingTheEndpoint() throws Exception {
+        assertThat(call("10.0.0.1", "{\"telephone\":\"+221770000001\"}").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(call("10.0.0.2", "{\"telephone\":\"+221 77 000 00 01\"}").getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        RecordingFilterChain chain = new RecordingFilterChain();
+        MockHttpServletResponse rejected = call("10.0.0.3", "{\"telephone\":\"+221770000001\"}", chain);
+
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("300");
+        assertThat(chain.body).isNull();
+        assertThat(meterRegistry.get("http.server.requests.rate.limited").tag("key", "telephone").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectClientIpOverItsLimit() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            assertThat(call("10.0.0.1", "{\"telephone\":\"+22177000000" + i + "\"}").getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+
+        assertThat(call("10.0.0.1", "{\"telephone\":\"+221770000009\"}").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(call("10.0.0.2", "{\"telephone\":\"+221770000009\"}").getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void shouldKeyClientIpFromForwardedForBehindTrustedProxy() throws Exception {
+        // Tomcat's RemoteIpFilter applies the same rules as the RemoteIpValve of server.forward-headers-strategy=native
+        RemoteIpFilter remoteIpFilter = new RemoteIpFilter();
+        remoteIpFilter.init(new MockFilterConfig());
+
+        for (int i = 1; i <= 3; i++) {
+            String body = "{\"telephone\":\"+22177000000" + i + "\"}";
+            assertThat(callThroughProxy(remoteIpFilter, "10.0.0.1", "41.82.0.1", body).getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+
+        String body = "{\"telephone\":\"+221770000009\"}";
+        assertThat(callThroughProxy(remoteIpFilter, "10.0.0.1", "41.82.0.1", body).getStatus()).isEqualTo(
+            HttpStatus.TOO_MANY_REQUESTS.value()
+        );
+        // Another client behind the same proxy keeps its own bucket
+        assertThat(callThroughProxy(remoteIpFilter, "10.0.0.1", "41.82.0.2", body).getStatus()).isEqualTo(HttpStatus.OK.value());
+        // A client that is not a trusted proxy cannot choose its bucket
+        assertThat(callThroughProxy(remoteIpFilter, "41.82.0.1", "41.82.0.3", body).getStatus()).isEqualTo(
+            HttpStatus.TOO_MANY_REQUESTS.value()
+        );
+    }
+
+    @Test
+    void shouldReplayBodyToTheEndpoint() throws Exception {
+        RecordingFilterChain chain = new RecordingFilterChain();
+
+        call("10.0.0.1", "{\"codeOtp\":\"1234\",\"telephone\":\"+221770000001\"}", chain);
+
+        assertThat(chain.body).isEqualTo("{\"codeOtp\":\"1234\",\"telephone\":\"+221770000001\"}");
+    }
+
+    @Test
+    void shouldIgnoreOtherPaths() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = request("10.0.0.1", "{\"telephone\":\"+221770000001\"}");
+            request.setRequestURI("/api/auth/inscription/etape2");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+    }
+
+    @Test
+    void shouldReadTopLevelTelephoneField() {
+        assertThat(RateLimitFilter.telephone(bytes("{\"user\":{\"telephone\":\"1\"},\"telephone\":\"+221 77-000\"}"))).isEqualTo(
+            "+22177000"
+        );
+        assertThat(RateLimitFilter.telephone(bytes("{\"telephone\":12}"))).isNull();
+        assertThat(RateLimitFilter.telephone(bytes("not json"))).isNull();
+    }
+
+    private MockHttpServletResponse call(String ip, String body) throws Exception {
+        return call(ip, body, new MockFilterChain());
+    }
+
+    private MockHttpServletResponse call(String ip, String body, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(ip, body), response, chain);
+        return response;
+    }
+
+    private MockHttpServletResponse callThroughProxy(RemoteIpFilter remoteIpFilter, String proxyIp, String clientIp, String body)
+        throws Exception {
+        MockHttpServletRequest request = request(proxyIp, body);
+        request.addHeader("X-Forwarded-For", clientIp);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        remoteIpFilter.doFilter(request, response, (req, res) -> filter.doFilter(req, res, new MockFilterChain()));
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String ip, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/connexion/otp");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(bytes(body));
+        return request;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class RecordingFilterChain extends MockFilterChain {
+
+        private String body;
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) throws IOException {
+            body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
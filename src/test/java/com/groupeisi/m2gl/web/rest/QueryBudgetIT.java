@@ -0,0 +1,105 @@
+package com.groupeisi.m2gl.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.groupeisi.m2gl.IntegrationTest;
+import com.groupeisi.m2gl.domain.Compte;
+import com.groupeisi.m2gl.service.CompteTestData;
+import com.groupeisi.m2gl.service.TransfertService;
+import com.groupeisi.m2gl.service.dto.TransfertDTO;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Query budget of the read endpoints: each one must run at most a fixed number of SQL statements, whatever the size
+ * of the data. An association loaded one row at a time (N+1) breaks the budget and fails the build.
+ * <p>
+ * Statements are counted by the Hibernate statistics, enabled around each request only.
+ */
+@AutoConfigureMockMvc
+@WithMockUser
+@IntegrationTest
+class QueryBudgetIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransfertService transfertService;
+
+    @Autowired
+    private CompteTestData compteTestData;
+
+    private Statistics statistics;
+
+    private Compte compte;
+
+    @BeforeEach
+    void init() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        compte = compteTestData.createCompte(new BigDecimal("1000.00"));
+        Compte autre = compteTestData.createCompte(new BigDecimal("1000.00"));
+        for (int i = 0; i < 5; i++) {
+            transfertService.executeTransfert(new TransfertDTO(compte.getId(), autre.getId(), new BigDecimal("10.00")));
+            transfertService.executeTransfert(new TransfertDTO(autre.getId(), compte.getId(), new BigDecimal("5.00")));
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        statistics.setStatisticsEnabled(false);
+        compteTestData.deleteAll();
+    }
+
+    @Test
+    void getCompte() throws Exception {
+        assertQueryBudget(1, get("/api/comptes/{id}", compte.getId()));
+    }
+
+    @Test
+    void getCompteByNumCompte() throws Exception {
+        assertQueryBudget(2, get("/api/comptes/numero/{numCompte}", compte.getNumCompte()));
+    }
+
+    @Test
+    void getHistorique() throws Exception {
+        assertQueryBudget(2, get("/api/comptes/{id}/historique", compte.getId()).param("limit", "100"));
+    }
+
+    @Test
+    void getSoldeAt() throws Exception {
+        assertQueryBudget(3, get("/api/comptes/{id}/solde", compte.getId()).param("date", LocalDateTime.now().plusDays(1).toString()));
+    }
+
+    @Test
+    void getAllPublicUsers() throws Exception {
+        assertQueryBudget(2, get("/api/users").param("size", "1"));
+    }
+
+    private void assertQueryBudget(int budget, MockHttpServletRequestBuilder request) throws Exception {
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            mockMvc.perform(request).andExpect(status().isOk());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+        assertThat(statistics.getPrepareStatementCount()).as("SQL statements run by the request").isLessThanOrEqualTo(budget);
+    }
+}
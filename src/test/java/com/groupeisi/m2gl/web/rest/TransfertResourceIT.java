@@ -0,0 +1,152 @@
+package com.groupeisi.m2gl.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groupeisi.m2gl.IntegrationTest;
+import com.groupeisi.m2gl.domain.Compte;
+import com.groupeisi.m2gl.repository.CompteRepository;
+import com.groupeisi.m2gl.repository.TransfertRepository;
+import com.groupeisi.m2gl.security.AuthoritiesConstants;
+import com.groupeisi.m2gl.service.CompteTestData;
+import com.groupeisi.m2gl.service.dto.TransfertDTO;
+import com.groupeisi.m2gl.service.dto.TransfertImportDTO;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Integration tests for {@link TransfertResource}.
+ */
+@AutoConfigureMockMvc
+@IntegrationTest
+class TransfertResourceIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CompteTestData compteTestData;
+
+    @Autowired
+    private CompteRepository compteRepository;
+
+    @Autowired
+    private TransfertRepository transfertRepository;
+
+    private Compte compteA;
+
+    private Compte compteB;
+
+    @BeforeEach
+    void init() {
+        compteA = compteTestData.createCompte(new BigDecimal("1000.00"));
+        compteB = compteTestData.createCompte(new BigDecimal("1000.00"));
+    }
+
+    @AfterEach
+    void cleanup() {
+        compteTestData.deleteAll();
+    }
+
+    @Test
+    void shouldDebitTheCallersAccount() throws Exception {
+        mockMvc
+            .perform(transfert(compteA.getUser().getId(), new TransfertDTO(compteA.getId(), compteB.getId(), new BigDecimal("10.00"))))
+            .andExpect(status().isCreated());
+
+        assertThat(compteRepository.findById(compteA.getId()).orElseThrow().getSolde()).isEqualByComparingTo("990.00");
+    }
+
+    @Test
+    void shouldRejectDebitOfAnotherUsersAccount() throws Exception {
+        mockMvc
+            .perform(transfert(compteB.getUser().getId(), new TransfertDTO(compteA.getId(), compteB.getId(), new BigDecimal("10.00"))))
+            .andExpect(status().isForbidden());
+
+        assertThat(compteRepository.findById(compteA.getId()).orElseThrow().getSolde()).isEqualByComparingTo("1000.00");
+        assertThat(transfertRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldAnswerInsufficientFundsWithBadRequest() throws Exception {
+        mockMvc
+            .perform(transfert(compteA.getUser().getId(), new TransfertDTO(compteA.getId(), compteB.getId(), new BigDecimal("5000.00"))))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.transfertfailed"));
+
+        assertThat(transfertRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldAnswerReusedIdempotencyKeyWithConflict() throws Exception {
+        mockMvc
+            .perform(
+                transfert(compteA.getUser().getId(), new TransfertDTO(compteA.getId(), compteB.getId(), new BigDecimal("10.00"))).header(
+                    "Idempotency-Key",
+                    "resource-it-conflict"
+                )
+            )
+            .andExpect(status().isCreated());
+
+        mockMvc
+            .perform(
+                transfert(compteA.getUser().getId(), new TransfertDTO(compteA.getId(), compteB.getId(), new BigDecimal("20.00"))).header(
+                    "Idempotency-Key",
+                    "resource-it-conflict"
+                )
+            )
+            .andExpect(status().isConflict());
+
+        assertThat(compteRepository.findById(compteA.getId()).orElseThrow().getSolde()).isEqualByComparingTo("990.00");
+    }
+
+    @Test
+    void shouldRestrictImportToAdmins() throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(
+            new TransfertImportDTO(List.of(new TransfertDTO(compteA.getId(), compteB.getId(), new BigDecimal("10.00"))))
+        );
+
+        mockMvc
+            .perform(
+                post("/api/transferts/import")
+                    .with(jwt().authorities(new SimpleGrantedAuthority(AuthoritiesConstants.USER)))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body)
+            )
+            .andExpect(status().isForbidden());
+        assertThat(transfertRepository.count()).isZero();
+
+        mockMvc
+            .perform(
+                post("/api/transferts/import")
+                    .with(jwt().authorities(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN)))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body)
+            )
+            .andExpect(status().isOk());
+        assertThat(transfertRepository.count()).isEqualTo(1);
+    }
+
+    private MockHttpServletRequestBuilder transfert(String userId, TransfertDTO dto) throws Exception {
+        return post("/api/transferts")
+            .with(jwt().jwt(token -> token.subject(userId)))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsBytes(dto));
+    }
+}
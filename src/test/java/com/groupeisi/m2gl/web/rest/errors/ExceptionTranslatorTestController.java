@@ -1,5 +1,7 @@
 package com.groupeisi.m2gl.web.rest.errors;
 
+import com.groupeisi.m2gl.service.IdempotencyKeyConflictException;
+import com.groupeisi.m2gl.service.TransfertQueueFullException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.dao.ConcurrencyFailureException;
@@ -47,6 +49,16 @@ public class ExceptionTranslatorTestController {
         throw new TestResponseStatusException();
     }
 
+    @GetMapping("/idempotency-key-conflict")
+    public void idempotencyKeyConflict() {
+        throw new IdempotencyKeyConflictException("test idempotency key conflict");
+    }
+
+    @GetMapping("/transfert-queue-full")
+    public void transfertQueueFull() {
+        throw new TransfertQueueFullException("test transfert queue full");
+    }
+
     @GetMapping("/internal-server-error")
     public void internalServerError() {
         throw new RuntimeException();